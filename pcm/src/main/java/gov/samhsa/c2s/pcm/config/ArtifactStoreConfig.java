@@ -0,0 +1,33 @@
+package gov.samhsa.c2s.pcm.config;
+
+import gov.samhsa.c2s.pcm.service.artifact.ArtifactStore;
+import gov.samhsa.c2s.pcm.service.artifact.DatabaseArtifactStore;
+import gov.samhsa.c2s.pcm.service.artifact.FileSystemArtifactStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class ArtifactStoreConfig {
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    @Bean
+    public ArtifactStore artifactStore(JdbcTemplate jdbcTemplate) {
+        final PcmProperties.ArtifactStore artifactStore = pcmProperties.getArtifactStore();
+        final DatabaseArtifactStore databaseArtifactStore = new DatabaseArtifactStore(jdbcTemplate);
+        switch (artifactStore.getType()) {
+            case FILESYSTEM:
+                Assert.notNull(artifactStore.getFileSystem(), "c2s.pcm.artifact-store.fileSystem is required for the filesystem artifact store");
+                // the database store still serves the artifacts written before the switch
+                return new FileSystemArtifactStore(Paths.get(artifactStore.getFileSystem().getRootDirectory()), databaseArtifactStore);
+            default:
+                return databaseArtifactStore;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package gov.samhsa.c2s.pcm.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ClinicalDocumentUploadConfig {
+
+    public static final String CLINICAL_DOCUMENT_UPLOAD_EXECUTOR = "clinicalDocumentUploadExecutor";
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    @Bean(name = CLINICAL_DOCUMENT_UPLOAD_EXECUTOR)
+    public ThreadPoolTaskExecutor clinicalDocumentUploadExecutor() {
+        final PcmProperties.ClinicalData.Upload upload = pcmProperties.getClinicaldata().getUpload();
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(upload.getPoolSize());
+        executor.setMaxPoolSize(upload.getPoolSize());
+        executor.setQueueCapacity(upload.getQueueCapacity());
+        executor.setThreadNamePrefix("clinical-document-upload-");
+        // Once the queue is full, the upload request thread runs the check itself. The request thread then runs the
+        // virus scan before it submits the validation, so both checks run one after the other and the upload timeout
+        // only applies to the check that was queued. poolSize and queueCapacity should cover the expected concurrent
+        // uploads (two checks each) so that this only happens under overload.
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
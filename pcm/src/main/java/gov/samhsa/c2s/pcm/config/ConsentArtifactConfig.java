@@ -0,0 +1,31 @@
+package gov.samhsa.c2s.pcm.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ConsentArtifactConfig {
+
+    public static final String CONSENT_ARTIFACT_EXECUTOR = "consentArtifactExecutor";
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    @Bean(name = CONSENT_ARTIFACT_EXECUTOR)
+    public ThreadPoolTaskExecutor consentArtifactExecutor() {
+        final PcmProperties.ConsentArtifact consentArtifact = pcmProperties.getConsentArtifact();
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(consentArtifact.getPoolSize());
+        executor.setMaxPoolSize(consentArtifact.getPoolSize());
+        executor.setQueueCapacity(consentArtifact.getQueueCapacity());
+        executor.setThreadNamePrefix("consent-artifact-");
+        // Once the queue is full, the saving request thread generates the artifact itself
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -9,7 +9,6 @@
 import gov.samhsa.c2s.common.consentgen.pg.XacmlXslUrlProviderImpl;
 import gov.samhsa.c2s.pcm.service.consentexport.ConsentDtoFactoryImpl;
 import gov.samhsa.c2s.pcm.service.consentexport.ConsentExportMapper;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -37,8 +36,7 @@ public XacmlXslUrlProvider xacmlXslUrlProvider() {
 
     @Bean
     public ConsentDtoFactory consentDtoFactory(ConsentRepository consentRepository,
-                                               ModelMapper modelMapper,
                                                ConsentExportMapper consentExportMapper) {
-        return new ConsentDtoFactoryImpl(consentRepository, modelMapper, consentExportMapper);
+        return new ConsentDtoFactoryImpl(consentRepository, consentExportMapper);
     }
 }
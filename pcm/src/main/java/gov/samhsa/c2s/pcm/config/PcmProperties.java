@@ -40,6 +40,26 @@ public class PcmProperties {
     @Valid
     private HieConnection hieConnection;
 
+    @NotNull
+    @Valid
+    private ConsentArtifact consentArtifact;
+
+    @NotNull
+    @Valid
+    private ArtifactStore artifactStore;
+
+    @NotNull
+    @Valid
+    private ProviderDirectory providerDirectory;
+
+    @NotNull
+    @Valid
+    private PhrProfileCache phrProfileCache;
+
+    @NotNull
+    @Valid
+    private Identifier identifier;
+
     @Data
     @Builder
     @AllArgsConstructor
@@ -113,6 +133,117 @@ public static class Fhir {
 
             @NotEmpty
             private String clientSocketTimeoutInMs;
+
+            @Min(1)
+            private int fragmentCacheMaxSize;
+
+            @Valid
+            private Outbox outbox;
+
+            @Data
+            public static class Outbox {
+                @Min(1)
+                private int batchSize;
+
+                @Min(1)
+                private long pollIntervalInMs;
+
+                @Min(1)
+                private int maxAttempts;
+
+                @Min(0)
+                private long initialBackoffInMs;
+
+                @Min(0)
+                private long maxBackoffInMs;
+
+                @Min(1)
+                private long leaseInMs;
+            }
+        }
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ConsentArtifact {
+        @Min(1)
+        private int poolSize;
+
+        @Min(0)
+        private int queueCapacity;
+
+        @Min(1)
+        private long timeoutInMs;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ProviderDirectory {
+        @Min(1)
+        private int maxSize;
+
+        @Min(0)
+        private long ttlInMs;
+
+        @Min(0)
+        private long staleWhileRevalidateInMs;
+
+        @Min(1)
+        private int refreshPoolSize;
+
+        private boolean warmUpEnabled;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PhrProfileCache {
+        @Min(1)
+        private int maxSize;
+
+        @Min(0)
+        private long ttlInMs;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Identifier {
+        @Min(1)
+        private int blockSize;
+
+        @NotEmpty
+        private String oidRoot;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ArtifactStore {
+        @NotNull
+        private Type type;
+
+        @Valid
+        private FileSystem fileSystem;
+
+        public enum Type {
+            DATABASE, FILESYSTEM
+        }
+
+        @Data
+        @Builder
+        @AllArgsConstructor
+        @NoArgsConstructor
+        public static class FileSystem {
+            @NotEmpty
+            private String rootDirectory;
         }
     }
 
@@ -126,5 +257,50 @@ public static class Fhir {
 
         @NotEmpty
         private String extensionsPermittedToUpload;
+
+        @NotNull
+        @Valid
+        private Upload upload;
+
+        @NotNull
+        @Valid
+        private Validation validation;
+
+        @Data
+        @Builder
+        @AllArgsConstructor
+        @NoArgsConstructor
+        public static class Upload {
+            @Min(2)
+            private int poolSize;
+
+            @Min(0)
+            private int queueCapacity;
+
+            @Min(1)
+            private long timeoutInMs;
+        }
+
+        @Data
+        @Builder
+        @AllArgsConstructor
+        @NoArgsConstructor
+        public static class Validation {
+            @NotNull
+            private Transport transport;
+
+            @NotEmpty
+            private String dssSchemaVersion;
+
+            @Min(1)
+            private int cacheMaxSize;
+
+            @Min(0)
+            private long cacheTtlInMs;
+
+            public enum Transport {
+                JSON, MULTIPART
+            }
+        }
     }
 }
\ No newline at end of file
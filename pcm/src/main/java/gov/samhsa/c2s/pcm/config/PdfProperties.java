@@ -9,6 +9,7 @@
 import org.springframework.validation.annotation.Validated;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import java.util.List;
 
@@ -22,6 +23,9 @@ public class PdfProperties {
     @Valid
     public List<PdfConfig> pdfConfigs;
 
+    @Min(1)
+    public int pdfTemplateCacheMaxSize;
+
     @Data
     public static class PdfConfig {
         @NotBlank
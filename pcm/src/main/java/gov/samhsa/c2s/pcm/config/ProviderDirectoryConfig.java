@@ -0,0 +1,27 @@
+package gov.samhsa.c2s.pcm.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ProviderDirectoryConfig {
+
+    public static final String PROVIDER_DIRECTORY_EXECUTOR = "providerDirectoryExecutor";
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    @Bean(name = PROVIDER_DIRECTORY_EXECUTOR)
+    public ThreadPoolTaskExecutor providerDirectoryExecutor() {
+        final PcmProperties.ProviderDirectory providerDirectory = pcmProperties.getProviderDirectory();
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(providerDirectory.getRefreshPoolSize());
+        executor.setMaxPoolSize(providerDirectory.getRefreshPoolSize());
+        // Background reloads are best effort; once the queue is full, the stale provider is served a while longer
+        executor.setQueueCapacity(providerDirectory.getMaxSize());
+        executor.setThreadNamePrefix("provider-directory-");
+        return executor;
+    }
+}
@@ -0,0 +1,142 @@
+package gov.samhsa.c2s.pcm.domain.audit;
+
+import org.hibernate.envers.RevisionType;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+/**
+ * Denormalized, read-only row of the activity history, written together with
+ * the revision it belongs to.
+ * <p>
+ * The revision username, timestamp and revision label are copied from the
+ * revision, so one page of the activity history is a range scan of the
+ * username index instead of a join over the whole audit history. The ids are
+ * allocated in revision order, so descending ids are newest first.
+ */
+@Entity
+@Table(name = "patient_activity", indexes = {
+		@Index(name = "patient_activity_username_id_idx", columnList = "username,id") })
+public class PatientActivity {
+
+	/** The revision labels, as they are seeded in the revision_type_code table. */
+	private static final String[] REC_TYPES = { "Create new entry",
+			"Changed entry", "Delete entry" };
+
+	/** The id. */
+	@Id
+	@GeneratedValue
+	private Long id;
+
+	/** The revision. */
+	@ManyToOne
+	private RevisionInfoEntity revision;
+
+	/** The username of the revision. */
+	private String username;
+
+	/** The timestamp of the revision. */
+	@Column(name = "revision_timestamp")
+	private long revisionTimestamp;
+
+	/** The revision type. */
+	private Byte revisionType;
+
+	/** The revision label. */
+	private String recType;
+
+	/** The entity class name. */
+	private String entityClassName;
+
+	/**
+	 * Instantiates a new patient activity.
+	 */
+	public PatientActivity() {
+	}
+
+	/**
+	 * Instantiates a new patient activity of a revision.
+	 *
+	 * @param revision the revision
+	 * @param entityClassName the entity class name
+	 * @param revisionType the revision type
+	 */
+	public PatientActivity(RevisionInfoEntity revision, String entityClassName,
+			RevisionType revisionType) {
+		this.revision = revision;
+		this.username = revision.getUsername();
+		this.revisionTimestamp = revision.getTimestamp();
+		this.revisionType = revisionType.getRepresentation();
+		this.recType = REC_TYPES[revisionType.getRepresentation()];
+		this.entityClassName = entityClassName;
+	}
+
+	/**
+	 * Gets the id.
+	 *
+	 * @return the id
+	 */
+	public Long getId() {
+		return id;
+	}
+
+	/**
+	 * Gets the revision.
+	 *
+	 * @return the revision
+	 */
+	public RevisionInfoEntity getRevision() {
+		return revision;
+	}
+
+	/**
+	 * Gets the username.
+	 *
+	 * @return the username
+	 */
+	public String getUsername() {
+		return username;
+	}
+
+	/**
+	 * Gets the revision timestamp.
+	 *
+	 * @return the revision timestamp
+	 */
+	public long getRevisionTimestamp() {
+		return revisionTimestamp;
+	}
+
+	/**
+	 * Gets the revision type.
+	 *
+	 * @return the revision type
+	 */
+	public Byte getRevisionType() {
+		return revisionType;
+	}
+
+	/**
+	 * Gets the revision label.
+	 *
+	 * @return the revision label
+	 */
+	public String getRecType() {
+		return recType;
+	}
+
+	/**
+	 * Gets the entity class name.
+	 *
+	 * @return the entity class name
+	 */
+	public String getEntityClassName() {
+		return entityClassName;
+	}
+
+}
@@ -31,6 +31,7 @@
 import org.hibernate.envers.RevisionEntity;
 import org.hibernate.envers.RevisionNumber;
 import org.hibernate.envers.RevisionTimestamp;
+import org.hibernate.envers.RevisionType;
 
 import javax.persistence.*;
 
@@ -61,6 +62,10 @@ public class RevisionInfoEntity {
 	@OneToMany(cascade = CascadeType.ALL, mappedBy = "revision")
 	private Set<ModifiedEntityTypeEntity> modifiedEntityTypes = new HashSet<ModifiedEntityTypeEntity>();
 
+	/** The activity history rows of this revision. */
+	@OneToMany(cascade = CascadeType.ALL, mappedBy = "revision")
+	private Set<PatientActivity> patientActivities = new HashSet<PatientActivity>();
+
 	/**
 	 * Adds the modified entity type.
 	 *
@@ -77,6 +82,27 @@ public void addModifiedEntityType(String entityClassName, Byte rt,
 		modifiedEntityTypes.add(mete);
 	}
 
+	/**
+	 * Adds the activity history row of a changed entity.
+	 *
+	 * @param entityClassName the entity class name
+	 * @param revisionType the revision type
+	 */
+	public void addPatientActivity(String entityClassName,
+			RevisionType revisionType) {
+		patientActivities.add(new PatientActivity(this, entityClassName,
+				revisionType));
+	}
+
+	/**
+	 * Gets the activity history rows.
+	 *
+	 * @return the activity history rows
+	 */
+	public Set<PatientActivity> getPatientActivities() {
+		return patientActivities;
+	}
+
 	/**
 	 * Gets the modified entity types.
 	 *
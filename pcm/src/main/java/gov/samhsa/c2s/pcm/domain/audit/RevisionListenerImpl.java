@@ -25,6 +25,7 @@
  ******************************************************************************/
 package gov.samhsa.c2s.pcm.domain.audit;
 
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
 import org.hibernate.envers.EntityTrackingRevisionListener;
 import org.hibernate.envers.RevisionListener;
 import org.hibernate.envers.RevisionType;
@@ -92,6 +93,11 @@ public void entityChanged(@SuppressWarnings("rawtypes") Class entityClass,
 		Byte rt = revisionType.getRepresentation();
 		((RevisionInfoEntity) revisionEntity).addModifiedEntityType(type, rt,
 				(RevisionInfoEntity) revisionEntity);
+		// Patient updates are not shown in the activity history
+		if (!(Patient.class.equals(entityClass) && revisionType == RevisionType.MOD)) {
+			((RevisionInfoEntity) revisionEntity).addPatientActivity(type,
+					revisionType);
+		}
 
 	}
 
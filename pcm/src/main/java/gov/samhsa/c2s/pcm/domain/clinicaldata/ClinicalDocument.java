@@ -69,6 +69,10 @@ public class ClinicalDocument {
 	@Basic(fetch = FetchType.LAZY)
 	private byte[] content;
 
+	/** The SHA-256 of the content. */
+	@Column(name = "content_hash", length = 64)
+	private String contentHash;
+
 	/** The content type. */
 	@NotNull
 	private String contentType;
@@ -176,6 +180,24 @@ public void setContent(byte[] content) {
 		this.content = content;
 	}
 
+	/**
+	 * Gets the content hash.
+	 *
+	 * @return the lowercase hex SHA-256 of the content
+	 */
+	public String getContentHash() {
+		return this.contentHash;
+	}
+
+	/**
+	 * Sets the content hash.
+	 *
+	 * @param contentHash the new content hash
+	 */
+	public void setContentHash(String contentHash) {
+		this.contentHash = contentHash;
+	}
+
 	/**
 	 * Gets the content type.
 	 *
@@ -0,0 +1,43 @@
+package gov.samhsa.c2s.pcm.domain.clinicaldata;
+
+/**
+ * The download metadata of a clinical document, selected without its content.
+ */
+public class ClinicalDocumentContentMetadata {
+
+	/** The clinical document id. */
+	private final Long id;
+
+	/** The SHA-256 of the content. */
+	private final String contentHash;
+
+	/** The document size. */
+	private final Long documentSize;
+
+	/** The content type. */
+	private final String contentType;
+
+	public ClinicalDocumentContentMetadata(Long id, String contentHash,
+			Long documentSize, String contentType) {
+		this.id = id;
+		this.contentHash = contentHash;
+		this.documentSize = documentSize;
+		this.contentType = contentType;
+	}
+
+	public Long getId() {
+		return this.id;
+	}
+
+	public String getContentHash() {
+		return this.contentHash;
+	}
+
+	public Long getDocumentSize() {
+		return this.documentSize;
+	}
+
+	public String getContentType() {
+		return this.contentType;
+	}
+}
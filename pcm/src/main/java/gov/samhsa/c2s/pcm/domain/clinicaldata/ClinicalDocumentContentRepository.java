@@ -0,0 +1,25 @@
+package gov.samhsa.c2s.pcm.domain.clinicaldata;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams the content of the clinical documents straight from the database
+ * without materializing the LOB in the persistence context.
+ */
+public interface ClinicalDocumentContentRepository {
+
+	/**
+	 * Copies {@code length} bytes of the document content starting at
+	 * {@code offset} to the output stream.
+	 *
+	 * @param id the clinical document id
+	 * @param out the output stream, which is left open
+	 * @param offset the offset of the first byte
+	 * @param length the number of bytes to copy
+	 * @return false if the clinical document does not exist
+	 * @throws IOException if the content cannot be copied
+	 */
+	boolean copyContentTo(Long id, OutputStream out, long offset, long length)
+			throws IOException;
+}
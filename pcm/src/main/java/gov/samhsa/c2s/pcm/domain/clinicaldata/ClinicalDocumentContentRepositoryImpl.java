@@ -0,0 +1,43 @@
+package gov.samhsa.c2s.pcm.domain.clinicaldata;
+
+import gov.samhsa.c2s.pcm.infrastructure.ChunkedBlobInputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@Repository
+public class ClinicalDocumentContentRepositoryImpl implements
+		ClinicalDocumentContentRepository {
+
+	private static final String COUNT_SQL = "SELECT COUNT(*) FROM clinical_document WHERE id = ?";
+
+	private static final String SELECT_CONTENT_CHUNK_SQL = "SELECT SUBSTRING(content, ?, ?) FROM clinical_document WHERE id = ?";
+
+	/**
+	 * The jdbc operations.
+	 */
+	@Autowired
+	private JdbcOperations jdbcOperations;
+
+	@Override
+	public boolean copyContentTo(Long id, OutputStream out, long offset,
+			long length) throws IOException {
+		if (jdbcOperations.queryForObject(COUNT_SQL, Integer.class, id) == 0) {
+			return false;
+		}
+		// only the requested range is read, one chunk at a time, instead of the whole document
+		if (length > 0) {
+			try (InputStream content = new ChunkedBlobInputStream(jdbcOperations,
+					SELECT_CONTENT_CHUNK_SQL, id, offset, length,
+					ChunkedBlobInputStream.DEFAULT_CHUNK_SIZE)) {
+				StreamUtils.copy(content, out);
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,126 @@
+package gov.samhsa.c2s.pcm.domain.clinicaldata;
+
+/**
+ * The listing details of a clinical document, selected without its content.
+ */
+public class ClinicalDocumentMetadata {
+
+	/** The clinical document id. */
+	private final Long id;
+
+	/** The version. */
+	private final Integer version;
+
+	/** The name. */
+	private final String name;
+
+	/** The description. */
+	private final String description;
+
+	/** The filename. */
+	private final String filename;
+
+	/** The content type. */
+	private final String contentType;
+
+	/** The document size. */
+	private final Long documentSize;
+
+	/** The document url. */
+	private final String documentUrl;
+
+	/** The patient id. */
+	private final Long patientId;
+
+	/** The clinical document type code, null when no type was given. */
+	private final String typeCode;
+
+	/** The clinical document type code system. */
+	private final String typeCodeSystem;
+
+	/** The clinical document type display name. */
+	private final String typeDisplayName;
+
+	/** The clinical document type code system name. */
+	private final String typeCodeSystemName;
+
+	/** The clinical document type original text. */
+	private final String typeOriginalText;
+
+	public ClinicalDocumentMetadata(Long id, Integer version, String name,
+			String description, String filename, String contentType,
+			Long documentSize, String documentUrl, Long patientId,
+			String typeCode, String typeCodeSystem, String typeDisplayName,
+			String typeCodeSystemName, String typeOriginalText) {
+		this.id = id;
+		this.version = version;
+		this.name = name;
+		this.description = description;
+		this.filename = filename;
+		this.contentType = contentType;
+		this.documentSize = documentSize;
+		this.documentUrl = documentUrl;
+		this.patientId = patientId;
+		this.typeCode = typeCode;
+		this.typeCodeSystem = typeCodeSystem;
+		this.typeDisplayName = typeDisplayName;
+		this.typeCodeSystemName = typeCodeSystemName;
+		this.typeOriginalText = typeOriginalText;
+	}
+
+	public Long getId() {
+		return this.id;
+	}
+
+	public Integer getVersion() {
+		return this.version;
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	public String getDescription() {
+		return this.description;
+	}
+
+	public String getFilename() {
+		return this.filename;
+	}
+
+	public String getContentType() {
+		return this.contentType;
+	}
+
+	public Long getDocumentSize() {
+		return this.documentSize;
+	}
+
+	public String getDocumentUrl() {
+		return this.documentUrl;
+	}
+
+	public Long getPatientId() {
+		return this.patientId;
+	}
+
+	public String getTypeCode() {
+		return this.typeCode;
+	}
+
+	public String getTypeCodeSystem() {
+		return this.typeCodeSystem;
+	}
+
+	public String getTypeDisplayName() {
+		return this.typeDisplayName;
+	}
+
+	public String getTypeCodeSystemName() {
+		return this.typeCodeSystemName;
+	}
+
+	public String getTypeOriginalText() {
+		return this.typeOriginalText;
+	}
+}
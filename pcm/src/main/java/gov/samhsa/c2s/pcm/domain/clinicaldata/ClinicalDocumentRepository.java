@@ -29,6 +29,8 @@
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -48,4 +50,75 @@ public interface ClinicalDocumentRepository extends
 	List<ClinicalDocument> findByPatientId(long id);
 
 	ClinicalDocument findClinicalDocumentById(Long id);
+
+	/**
+	 * Find the clinical document with the given id only if it belongs to the
+	 * patient with the given username.
+	 *
+	 * @param id the clinical document id
+	 * @param username the patient username
+	 * @return the clinical document, or null if it does not exist or is owned
+	 *         by another patient
+	 */
+	@Query("select d from ClinicalDocument d where d.id = :id and d.patient.username = :username")
+	ClinicalDocument findByIdAndPatientUsername(@Param("id") Long id,
+			@Param("username") String username);
+
+	/**
+	 * Find the download metadata of the clinical document with the given id,
+	 * without loading its content, only if it belongs to the patient with the
+	 * given username.
+	 *
+	 * @param id the clinical document id
+	 * @param username the patient username
+	 * @return the content metadata, or null if the document does not exist or
+	 *         is owned by another patient
+	 */
+	@Query("select new gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentContentMetadata(d.id, d.contentHash, d.documentSize, d.contentType) "
+			+ "from ClinicalDocument d where d.id = :id and d.patient.username = :username")
+	ClinicalDocumentContentMetadata findContentMetadataByIdAndPatientUsername(
+			@Param("id") Long id, @Param("username") String username);
+
+	/**
+	 * Find the listing details of the clinical documents of the patient,
+	 * without loading their content.
+	 *
+	 * @param patientId the patient id
+	 * @return the list
+	 */
+	@Query("select new gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentMetadata(d.id, d.version, d.name, d.description, "
+			+ "d.filename, d.contentType, d.documentSize, d.documentUrl, d.patient.id, t.code, t.codeSystem, t.displayName, "
+			+ "t.codeSystemName, t.originalText) "
+			+ "from ClinicalDocument d left join d.clinicalDocumentTypeCode t where d.patient.id = :patientId")
+	List<ClinicalDocumentMetadata> findMetadataByPatientId(
+			@Param("patientId") long patientId);
+
+	/**
+	 * Find the listing details of the clinical document with the given id,
+	 * without loading its content, only if it belongs to the patient with the
+	 * given username.
+	 *
+	 * @param id the clinical document id
+	 * @param username the patient username
+	 * @return the listing details, or null if the document does not exist or
+	 *         is owned by another patient
+	 */
+	@Query("select new gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentMetadata(d.id, d.version, d.name, d.description, "
+			+ "d.filename, d.contentType, d.documentSize, d.documentUrl, d.patient.id, t.code, t.codeSystem, t.displayName, "
+			+ "t.codeSystemName, t.originalText) "
+			+ "from ClinicalDocument d left join d.clinicalDocumentTypeCode t where d.id = :id and d.patient.username = :username")
+	ClinicalDocumentMetadata findMetadataByIdAndPatientUsername(
+			@Param("id") Long id, @Param("username") String username);
+
+	/**
+	 * Count the clinical documents with the given id that belong to the
+	 * patient with the given username.
+	 *
+	 * @param id the clinical document id
+	 * @param username the patient username
+	 * @return 1 if the patient owns the document, 0 otherwise
+	 */
+	@Query("select count(d) from ClinicalDocument d where d.id = :id and d.patient.username = :username")
+	long countByIdAndPatientUsername(@Param("id") Long id,
+			@Param("username") String username);
 }
@@ -46,12 +46,10 @@ public class AttestedConsent extends AbstractAttestedPDFDocument{
 	@Column(name = "id")
 	private Long id;
 
-	/** The attested pdf consent content. */
-	@Lob
+	/** The artifact key of the attested pdf consent content. */
 	@NotNull
-	@Basic(fetch = FetchType.LAZY)
-	@Column(name = "attested_pdf_consent")
-    private byte[] attestedPdfConsent;
+	@Column(name = "attested_pdf_consent_artifact_key", length = 64)
+    private String attestedPdfConsentArtifactKey;
 
 	@NotNull
 	@Column(name = "consent_terms_accepted")
@@ -63,28 +61,28 @@ public class AttestedConsent extends AbstractAttestedPDFDocument{
 	private ConsentTermsVersions consentTermsVersions;
 
 	/* (non-Javadoc)
-	 * @see gov.samhsa.consent2share.domain.consent.BinaryContentAccessible#getContent()
+	 * @see gov.samhsa.consent2share.domain.consent.BinaryContentAccessible#getContentArtifactKey()
 	 */
 	@Override
-	public byte[] getContent() {
-		return attestedPdfConsent;
+	public String getContentArtifactKey() {
+		return attestedPdfConsentArtifactKey;
 	}
 
     /**
-     * Alias for 'getContent()' method
+     * Alias for 'getContentArtifactKey()' method
      *
-     * @return the pdf document content
+     * @return the artifact key of the pdf document content
      */
-    public byte[] getAttestedPdfConsent() {
-		return getContent();
+    public String getAttestedPdfConsentArtifactKey() {
+		return getContentArtifactKey();
 	}
 
 	/* (non-Javadoc)
-	 * @see gov.samhsa.consent2share.domain.consent.BinaryContentAccessible#setContent(byte[])
+	 * @see gov.samhsa.consent2share.domain.consent.BinaryContentAccessible#setContentArtifactKey(java.lang.String, java.lang.Long)
 	 */
 	@Override
-	public void setContent(byte[] content, Long consentId) {
-		this.attestedPdfConsent=content;
+	public void setContentArtifactKey(String contentArtifactKey, Long consentId) {
+		this.attestedPdfConsentArtifactKey = contentArtifactKey;
 
 		//TODO (#4): It is really bad to put the following line in this weird method: need refactor the consent domain
 		DomainEventManager.raise(new ConsentSignedEvent(consentId));
@@ -108,8 +106,8 @@ public void setId(Long id) {
 		this.id = id;
 	}
 
-	public void setAttestedPdfConsent(byte[] attestedPdfConsent) {
-		this.attestedPdfConsent = attestedPdfConsent;
+	public void setAttestedPdfConsentArtifactKey(String attestedPdfConsentArtifactKey) {
+		this.attestedPdfConsentArtifactKey = attestedPdfConsentArtifactKey;
 	}
 
 	public boolean isConsentTermsAccepted() {
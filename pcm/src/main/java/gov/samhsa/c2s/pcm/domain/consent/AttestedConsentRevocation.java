@@ -46,12 +46,10 @@ public class AttestedConsentRevocation extends AbstractAttestedPDFDocument{
 	@Column(name = "id")
 	private Long id;
 
-	/** The attested pdf consent content. */
-	@Lob
+	/** The artifact key of the attested pdf consent content. */
 	@NotNull
-	@Basic(fetch = FetchType.LAZY)
-	@Column(name = "attested_pdf_consent_revoke")
-    private byte[] attestedPdfConsentRevoke;
+	@Column(name = "attested_pdf_consent_revoke_artifact_key", length = 64)
+    private String attestedPdfConsentRevokeArtifactKey;
 
 	@NotNull
 	@Column(name = "consent_revoke_terms_accepted")
@@ -63,19 +61,19 @@ public class AttestedConsentRevocation extends AbstractAttestedPDFDocument{
 	private ConsentRevocationTermsVersions consentRevocationTermsVersions;
 
 	/* (non-Javadoc)
-	 * @see gov.samhsa.consent2share.domain.consent.BinaryContentAccessible#getContent()
+	 * @see gov.samhsa.consent2share.domain.consent.BinaryContentAccessible#getContentArtifactKey()
 	 */
 	@Override
-	public byte[] getContent() {
-		return attestedPdfConsentRevoke;
+	public String getContentArtifactKey() {
+		return attestedPdfConsentRevokeArtifactKey;
 	}
 
 	/* (non-Javadoc)
-	 * @see gov.samhsa.consent2share.domain.consent.BinaryContentAccessible#setContent(byte[])
+	 * @see gov.samhsa.consent2share.domain.consent.BinaryContentAccessible#setContentArtifactKey(java.lang.String, java.lang.Long)
 	 */
 	@Override
-	public void setContent(byte[] content, Long consentId) {
-		this.attestedPdfConsentRevoke=content;
+	public void setContentArtifactKey(String contentArtifactKey, Long consentId) {
+		this.attestedPdfConsentRevokeArtifactKey = contentArtifactKey;
 
 		//TODO (#5): It is really bad to put the following line in this weird method: need refactor the consent domain
 		DomainEventManager.raise(new ConsentSignedEvent(consentId));
@@ -99,12 +97,12 @@ public void setId(Long id) {
 		this.id = id;
 	}
 
-	public byte[] getAttestedPdfConsentRevoke() {
-		return attestedPdfConsentRevoke;
+	public String getAttestedPdfConsentRevokeArtifactKey() {
+		return attestedPdfConsentRevokeArtifactKey;
 	}
 
-	public void setAttestedPdfConsentRevoke(byte[] attestedPdfConsentRevoke) {
-		this.attestedPdfConsentRevoke = attestedPdfConsentRevoke;
+	public void setAttestedPdfConsentRevokeArtifactKey(String attestedPdfConsentRevokeArtifactKey) {
+		this.attestedPdfConsentRevokeArtifactKey = attestedPdfConsentRevokeArtifactKey;
 	}
 
 	public boolean isConsentRevokeTermsAccepted() {
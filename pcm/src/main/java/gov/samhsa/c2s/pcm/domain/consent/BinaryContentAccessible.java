@@ -31,16 +31,16 @@
 public interface BinaryContentAccessible {
 	
 	/**
-	 * Gets the content.
+	 * Gets the artifact key of the content.
 	 *
-	 * @return the content
+	 * @return the artifact key of the content
 	 */
-	byte[] getContent();
+	String getContentArtifactKey();
 	
 	/**
-	 * Sets the content.
+	 * Sets the artifact key of the content.
 	 *
-	 * @param content the new content
+	 * @param contentArtifactKey the new artifact key of the content
 	 */
-	void setContent(byte[] content, Long consentId);
+	void setContentArtifactKey(String contentArtifactKey, Long consentId);
 }
@@ -45,7 +45,6 @@
 import javax.persistence.Id;
 import javax.persistence.Index;
 import javax.persistence.JoinColumn;
-import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
@@ -86,52 +85,45 @@ public class Consent {
 	private String consentReferenceId;
 
 	/** The exported CDA R2 consent. */
-	@Lob
-	@Basic(fetch = FetchType.LAZY)
 	@NotAudited
-	private byte[] exportedCDAR2Consent;
+	@Column(name = "exported_cdar2_consent_artifact_key", length = 64)
+	private String exportedCDAR2ConsentArtifactKey;
 
 	/** The exported XACML consent. */
-	@Lob
-	@Basic(fetch = FetchType.LAZY)
 	@NotAudited
-	private byte[] exportedXACMLConsent;
+	@Column(name = "exported_xacml_consent_artifact_key", length = 64)
+	private String exportedXACMLConsentArtifactKey;
 
 	/**
 	 * The XACML policy to give access to consentTo(Recipient) provider for ccd.
 	 */
-	@Lob
-	@Basic(fetch = FetchType.LAZY)
 	@NotAudited
-	private byte[] xacmlCcd;
+	@Column(name = "xacml_ccd_artifact_key", length = 64)
+	private String xacmlCcdArtifactKey;
 
 	/**
 	 * The XACML policy to give access to consentFrom(Intermediary) provider for
 	 * consent pdf.
 	 */
-	@Lob
-	@Basic(fetch = FetchType.LAZY)
 	@NotAudited
-	private byte[] xacmlPdfConsentFrom;
+	@Column(name = "xacml_pdf_consent_from_artifact_key", length = 64)
+	private String xacmlPdfConsentFromArtifactKey;
 
 	/**
 	 * The XACML policy to give access to consentTo(Recipient) provider for
 	 * consent pdf.
 	 */
-	@Lob
-	@Basic(fetch = FetchType.LAZY)
 	@NotAudited
-	private byte[] xacmlPdfConsentTo;
+	@Column(name = "xacml_pdf_consent_to_artifact_key", length = 64)
+	private String xacmlPdfConsentToArtifactKey;
 
-	@Lob
-	@Basic(fetch = FetchType.LAZY)
 	@NotAudited
-	private byte[] unAttestedPdfConsent;
+	@Column(name = "un_attested_pdf_consent_artifact_key", length = 64)
+	private String unAttestedPdfConsentArtifactKey;
 
-	@Lob
-	@Basic(fetch = FetchType.LAZY)
 	@NotAudited
-	private byte[] unAttestedPdfConsentRevoke;
+	@Column(name = "un_attested_pdf_consent_revoke_artifact_key", length = 64)
+	private String unAttestedPdfConsentRevokeArtifactKey;
 
 	/** The attested pdf consent. */
 	@OneToOne(cascade = CascadeType.ALL)
@@ -651,41 +643,41 @@ public void setDoNotShareClinicalConceptCodes(
 	}
 
 	/**
-	 * Gets the exported cda r2 consent.
+	 * Gets the artifact key of the exported cda r2 consent.
 	 *
-	 * @return the exported cda r2 consent
+	 * @return the artifact key of the exported cda r2 consent
 	 */
-	public byte[] getExportedCDAR2Consent() {
-		return exportedCDAR2Consent;
+	public String getExportedCDAR2ConsentArtifactKey() {
+		return exportedCDAR2ConsentArtifactKey;
 	}
 
 	/**
-	 * Sets the exported cda r2 consent.
+	 * Sets the artifact key of the exported cda r2 consent.
 	 *
-	 * @param exportedCDAR2Consent
-	 *            the new exported cda r2 consent
+	 * @param exportedCDAR2ConsentArtifactKey
+	 *            the new artifact key of the exported cda r2 consent
 	 */
-	public void setExportedCDAR2Consent(byte[] exportedCDAR2Consent) {
-		this.exportedCDAR2Consent = exportedCDAR2Consent;
+	public void setExportedCDAR2ConsentArtifactKey(String exportedCDAR2ConsentArtifactKey) {
+		this.exportedCDAR2ConsentArtifactKey = exportedCDAR2ConsentArtifactKey;
 	}
 
 	/**
-	 * Gets the exported xacml consent.
+	 * Gets the artifact key of the exported xacml consent.
 	 *
-	 * @return the exported xacml consent
+	 * @return the artifact key of the exported xacml consent
 	 */
-	public byte[] getExportedXACMLConsent() {
-		return exportedXACMLConsent;
+	public String getExportedXACMLConsentArtifactKey() {
+		return exportedXACMLConsentArtifactKey;
 	}
 
 	/**
-	 * Sets the exported xacml consent.
+	 * Sets the artifact key of the exported xacml consent.
 	 *
-	 * @param exportedXACMLConsent
-	 *            the new exported xacml consent
+	 * @param exportedXACMLConsentArtifactKey
+	 *            the new artifact key of the exported xacml consent
 	 */
-	public void setExportedXACMLConsent(byte[] exportedXACMLConsent) {
-		this.exportedXACMLConsent = exportedXACMLConsent;
+	public void setExportedXACMLConsentArtifactKey(String exportedXACMLConsentArtifactKey) {
+		this.exportedXACMLConsentArtifactKey = exportedXACMLConsentArtifactKey;
 	}
 
     /**
@@ -727,76 +719,76 @@ public void setConsentReferenceId(String consentReferenceId) {
 	}
 
 	/**
-	 * Gets the xacml ccd.
+	 * Gets the artifact key of the xacml ccd.
 	 *
-	 * @return the xacml ccd
+	 * @return the artifact key of the xacml ccd
 	 */
-	public byte[] getXacmlCcd() {
-		return xacmlCcd;
+	public String getXacmlCcdArtifactKey() {
+		return xacmlCcdArtifactKey;
 	}
 
 	/**
-	 * Sets the xacml ccd.
+	 * Sets the artifact key of the xacml ccd.
 	 *
-	 * @param xacmlCcd
-	 *            the new xacml ccd
+	 * @param xacmlCcdArtifactKey
+	 *            the new artifact key of the xacml ccd
 	 */
-	public void setXacmlCcd(byte[] xacmlCcd) {
-		this.xacmlCcd = xacmlCcd;
+	public void setXacmlCcdArtifactKey(String xacmlCcdArtifactKey) {
+		this.xacmlCcdArtifactKey = xacmlCcdArtifactKey;
 	}
 
 	/**
-	 * Gets the xacml pdf consent from.
+	 * Gets the artifact key of the xacml pdf consent from.
 	 *
-	 * @return the xacml pdf consent from
+	 * @return the artifact key of the xacml pdf consent from
 	 */
-	public byte[] getXacmlPdfConsentFrom() {
-		return xacmlPdfConsentFrom;
+	public String getXacmlPdfConsentFromArtifactKey() {
+		return xacmlPdfConsentFromArtifactKey;
 	}
 
 	/**
-	 * Sets the xacml pdf consent from.
+	 * Sets the artifact key of the xacml pdf consent from.
 	 *
-	 * @param xacmlPdfConsentFrom
-	 *            the new xacml pdf consent from
+	 * @param xacmlPdfConsentFromArtifactKey
+	 *            the new artifact key of the xacml pdf consent from
 	 */
-	public void setXacmlPdfConsentFrom(byte[] xacmlPdfConsentFrom) {
-		this.xacmlPdfConsentFrom = xacmlPdfConsentFrom;
+	public void setXacmlPdfConsentFromArtifactKey(String xacmlPdfConsentFromArtifactKey) {
+		this.xacmlPdfConsentFromArtifactKey = xacmlPdfConsentFromArtifactKey;
 	}
 
 	/**
-	 * Gets the xacml pdf consent to.
+	 * Gets the artifact key of the xacml pdf consent to.
 	 *
-	 * @return the xacml pdf consent to
+	 * @return the artifact key of the xacml pdf consent to
 	 */
-	public byte[] getXacmlPdfConsentTo() {
-		return xacmlPdfConsentTo;
+	public String getXacmlPdfConsentToArtifactKey() {
+		return xacmlPdfConsentToArtifactKey;
 	}
 
 	/**
-	 * Sets the xacml pdf consent to.
+	 * Sets the artifact key of the xacml pdf consent to.
 	 *
-	 * @param xacmlPdfConsentTo
-	 *            the new xacml pdf consent to
+	 * @param xacmlPdfConsentToArtifactKey
+	 *            the new artifact key of the xacml pdf consent to
 	 */
-	public void setXacmlPdfConsentTo(byte[] xacmlPdfConsentTo) {
-		this.xacmlPdfConsentTo = xacmlPdfConsentTo;
+	public void setXacmlPdfConsentToArtifactKey(String xacmlPdfConsentToArtifactKey) {
+		this.xacmlPdfConsentToArtifactKey = xacmlPdfConsentToArtifactKey;
 	}
 
-	public byte[] getUnAttestedPdfConsent() {
-		return unAttestedPdfConsent;
+	public String getUnAttestedPdfConsentArtifactKey() {
+		return unAttestedPdfConsentArtifactKey;
 	}
 
-	public void setUnAttestedPdfConsent(byte[] unAttestedPdfConsent) {
-		this.unAttestedPdfConsent = unAttestedPdfConsent;
+	public void setUnAttestedPdfConsentArtifactKey(String unAttestedPdfConsentArtifactKey) {
+		this.unAttestedPdfConsentArtifactKey = unAttestedPdfConsentArtifactKey;
 	}
 
-	public byte[] getUnAttestedPdfConsentRevoke() {
-		return unAttestedPdfConsentRevoke;
+	public String getUnAttestedPdfConsentRevokeArtifactKey() {
+		return unAttestedPdfConsentRevokeArtifactKey;
 	}
 
-	public void setUnAttestedPdfConsentRevoke(byte[] unAttestedPdfConsentRevoke) {
-		this.unAttestedPdfConsentRevoke = unAttestedPdfConsentRevoke;
+	public void setUnAttestedPdfConsentRevokeArtifactKey(String unAttestedPdfConsentRevokeArtifactKey) {
+		this.unAttestedPdfConsentRevokeArtifactKey = unAttestedPdfConsentRevokeArtifactKey;
 	}
 
 	public AttestedConsent getAttestedConsent() {
@@ -0,0 +1,164 @@
+package gov.samhsa.c2s.pcm.domain.consent;
+
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotNull;
+import java.util.Date;
+
+/**
+ * One canonical (from NPI, to NPI, purpose of use) tuple of a consent.
+ * <p>
+ * A consent is exploded into one fingerprint row per combination of its
+ * authorized providers, recipient providers and purposes of use, together with
+ * its effective date interval and revocation status. Two consents conflict when
+ * they share at least one such tuple and their intervals overlap, so the
+ * conflict check becomes a single indexed lookup instead of a walk over every
+ * consent of the patient.
+ */
+@Entity
+@Table(name = "consent_fingerprint", indexes = {
+        @Index(name = "consent_fingerprint_lookup_idx", columnList = "patient_id,revoked,from_npi,to_npi,purpose_of_use_code"),
+        @Index(name = "consent_fingerprint_consent_id_idx", columnList = "consent_id")})
+public class ConsentFingerprint {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "consent_id")
+    private Long consentId;
+
+    @NotNull
+    @Column(name = "patient_id")
+    private Long patientId;
+
+    @NotNull
+    @Column(name = "from_npi")
+    private String fromNpi;
+
+    @NotNull
+    @Column(name = "to_npi")
+    private String toNpi;
+
+    @NotNull
+    @Column(name = "purpose_of_use_code")
+    private String purposeOfUseCode;
+
+    @NotNull
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "start_date")
+    private Date startDate;
+
+    @NotNull
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "end_date")
+    private Date endDate;
+
+    @NotNull
+    @Column(name = "revoked")
+    private Boolean revoked;
+
+    public ConsentFingerprint() {
+    }
+
+    public ConsentFingerprint(Long consentId, Long patientId, String fromNpi, String toNpi,
+                              String purposeOfUseCode, Date startDate, Date endDate, Boolean revoked) {
+        this.consentId = consentId;
+        this.patientId = patientId;
+        this.fromNpi = fromNpi;
+        this.toNpi = toNpi;
+        this.purposeOfUseCode = purposeOfUseCode;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.revoked = revoked;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getConsentId() {
+        return consentId;
+    }
+
+    public void setConsentId(Long consentId) {
+        this.consentId = consentId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public String getFromNpi() {
+        return fromNpi;
+    }
+
+    public void setFromNpi(String fromNpi) {
+        this.fromNpi = fromNpi;
+    }
+
+    public String getToNpi() {
+        return toNpi;
+    }
+
+    public void setToNpi(String toNpi) {
+        this.toNpi = toNpi;
+    }
+
+    public String getPurposeOfUseCode() {
+        return purposeOfUseCode;
+    }
+
+    public void setPurposeOfUseCode(String purposeOfUseCode) {
+        this.purposeOfUseCode = purposeOfUseCode;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+    }
+
+    public Boolean getRevoked() {
+        return revoked;
+    }
+
+    public void setRevoked(Boolean revoked) {
+        this.revoked = revoked;
+    }
+
+    @Override
+    public String toString() {
+        return ReflectionToStringBuilder.toString(this,
+                ToStringStyle.SHORT_PREFIX_STYLE);
+    }
+}
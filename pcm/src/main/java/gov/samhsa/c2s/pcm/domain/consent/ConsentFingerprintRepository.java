@@ -0,0 +1,66 @@
+package gov.samhsa.c2s.pcm.domain.consent;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface ConsentFingerprintRepository extends JpaRepository<ConsentFingerprint, Long> {
+
+    /**
+     * Finds the ids of the non-revoked consents of a patient that share at least one
+     * (from NPI, to NPI, purpose of use) tuple with the given sets and whose effective
+     * interval overlaps the given one.
+     *
+     * @param patientId         the patient id
+     * @param excludedConsentId the id of the consent being edited, which never conflicts with itself
+     * @param fromNpis          the NPIs of the providers permitted to disclose
+     * @param toNpis            the NPIs of the providers disclosure is made to
+     * @param purposeOfUseCodes the purpose of use codes
+     * @param startDate         the start date of the selected consent term
+     * @param endDate           the end date of the selected consent term
+     * @return the conflicting consent ids in ascending order
+     */
+    @Query("select distinct f.consentId from ConsentFingerprint f where f.patientId = :patientId "
+            + "and f.revoked = false and f.consentId <> :excludedConsentId "
+            + "and f.fromNpi in :fromNpis and f.toNpi in :toNpis and f.purposeOfUseCode in :purposeOfUseCodes "
+            + "and f.startDate <= :endDate and f.endDate >= :startDate order by f.consentId")
+    List<Long> findConflictingConsentIdsByPatientId(@Param("patientId") Long patientId,
+                                                    @Param("excludedConsentId") Long excludedConsentId,
+                                                    @Param("fromNpis") Collection<String> fromNpis,
+                                                    @Param("toNpis") Collection<String> toNpis,
+                                                    @Param("purposeOfUseCodes") Collection<String> purposeOfUseCodes,
+                                                    @Param("startDate") Date startDate,
+                                                    @Param("endDate") Date endDate);
+
+    /**
+     * Same as {@link #findConflictingConsentIdsByPatientId} but resolves the patient by username
+     * in the same statement.
+     */
+    @Query("select distinct f.consentId from ConsentFingerprint f where "
+            + "f.patientId = (select p.id from Patient p where p.username = :username) "
+            + "and f.revoked = false and f.consentId <> :excludedConsentId "
+            + "and f.fromNpi in :fromNpis and f.toNpi in :toNpis and f.purposeOfUseCode in :purposeOfUseCodes "
+            + "and f.startDate <= :endDate and f.endDate >= :startDate order by f.consentId")
+    List<Long> findConflictingConsentIdsByPatientUsername(@Param("username") String username,
+                                                          @Param("excludedConsentId") Long excludedConsentId,
+                                                          @Param("fromNpis") Collection<String> fromNpis,
+                                                          @Param("toNpis") Collection<String> toNpis,
+                                                          @Param("purposeOfUseCodes") Collection<String> purposeOfUseCodes,
+                                                          @Param("startDate") Date startDate,
+                                                          @Param("endDate") Date endDate);
+
+    @Modifying
+    @Query("delete from ConsentFingerprint f where f.consentId = :consentId")
+    int deleteByConsentId(@Param("consentId") Long consentId);
+
+    @Modifying
+    @Query("update ConsentFingerprint f set f.revoked = true where f.consentId = :consentId")
+    int markRevokedByConsentId(@Param("consentId") Long consentId);
+}
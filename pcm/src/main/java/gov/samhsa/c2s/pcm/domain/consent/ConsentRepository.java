@@ -34,6 +34,8 @@
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -65,6 +67,21 @@ public interface ConsentRepository extends JpaSpecificationExecutor<Consent>,
 	 */
 	List<Consent> findAllByPatientUsername(String username);
 
+	/**
+	 * Find the consent with the given id only if it belongs to the patient
+	 * with the given username.
+	 *
+	 * @param id
+	 *            the consent id
+	 * @param username
+	 *            the patient username
+	 * @return the consent, or null if it does not exist or is owned by
+	 *         another patient
+	 */
+	@Query("select c from Consent c where c.id = :id and c.patient.username = :username")
+	Consent findByIdAndPatientUsername(@Param("id") Long id,
+			@Param("username") String username);
+
 	/**
 	 * Find by ConsentDoNotShareSensitivityPolicyCode by ValueSetCategory.
 	 *
@@ -0,0 +1,218 @@
+package gov.samhsa.c2s.pcm.domain.consent;
+
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotNull;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Denormalized, read-only view of a consent as shown in the patient's consent list.
+ * <p>
+ * The provider names and codes a consent refers to are flattened into newline separated columns, so one page of the
+ * consent list is a single query instead of a walk over every child collection of every consent.
+ */
+@Entity
+@Table(name = "consent_summary", indexes = {
+        @Index(name = "consent_summary_patient_id_start_date_idx", columnList = "patient_id,start_date")})
+public class ConsentSummary {
+
+    private static final String SEPARATOR = "\n";
+
+    @Id
+    @Column(name = "consent_id")
+    private Long consentId;
+
+    @NotNull
+    @Column(name = "patient_id")
+    private Long patientId;
+
+    @Column(name = "status")
+    private String status;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "start_date")
+    private Date startDate;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "end_date")
+    private Date endDate;
+
+    @Lob
+    @Column(name = "to_disclose_names", columnDefinition = "TEXT")
+    private String toDiscloseNames;
+
+    @Lob
+    @Column(name = "is_made_to_names", columnDefinition = "TEXT")
+    private String isMadeToNames;
+
+    @Lob
+    @Column(name = "do_not_share_clinical_document_type_names", columnDefinition = "TEXT")
+    private String doNotShareClinicalDocumentTypeNames;
+
+    @Lob
+    @Column(name = "do_not_share_sensitivity_policy_codes", columnDefinition = "TEXT")
+    private String doNotShareSensitivityPolicyCodes;
+
+    @Lob
+    @Column(name = "do_not_share_sensitivity_policy_names", columnDefinition = "TEXT")
+    private String doNotShareSensitivityPolicyNames;
+
+    @Lob
+    @Column(name = "share_for_purpose_of_use_codes", columnDefinition = "TEXT")
+    private String shareForPurposeOfUseCodes;
+
+    @Lob
+    @Column(name = "share_for_purpose_of_use_names", columnDefinition = "TEXT")
+    private String shareForPurposeOfUseNames;
+
+    @Lob
+    @Column(name = "do_not_share_clinical_concept_code_names", columnDefinition = "TEXT")
+    private String doNotShareClinicalConceptCodeNames;
+
+    /**
+     * Joins the values into a single column value, in sorted order.
+     *
+     * @param values the values
+     * @return the column value
+     */
+    public static String join(Collection<String> values) {
+        return String.join(SEPARATOR, new TreeSet<String>(values));
+    }
+
+    /**
+     * Splits a column value written by {@link #join(Collection)}.
+     *
+     * @param value the column value
+     * @return the values
+     */
+    public static Set<String> split(String value) {
+        if (value == null || value.isEmpty()) {
+            return new LinkedHashSet<String>();
+        }
+        return new LinkedHashSet<String>(Arrays.asList(value.split(SEPARATOR)));
+    }
+
+    public Long getConsentId() {
+        return consentId;
+    }
+
+    public void setConsentId(Long consentId) {
+        this.consentId = consentId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getToDiscloseNames() {
+        return toDiscloseNames;
+    }
+
+    public void setToDiscloseNames(String toDiscloseNames) {
+        this.toDiscloseNames = toDiscloseNames;
+    }
+
+    public String getIsMadeToNames() {
+        return isMadeToNames;
+    }
+
+    public void setIsMadeToNames(String isMadeToNames) {
+        this.isMadeToNames = isMadeToNames;
+    }
+
+    public String getDoNotShareClinicalDocumentTypeNames() {
+        return doNotShareClinicalDocumentTypeNames;
+    }
+
+    public void setDoNotShareClinicalDocumentTypeNames(String doNotShareClinicalDocumentTypeNames) {
+        this.doNotShareClinicalDocumentTypeNames = doNotShareClinicalDocumentTypeNames;
+    }
+
+    public String getDoNotShareSensitivityPolicyCodes() {
+        return doNotShareSensitivityPolicyCodes;
+    }
+
+    public void setDoNotShareSensitivityPolicyCodes(String doNotShareSensitivityPolicyCodes) {
+        this.doNotShareSensitivityPolicyCodes = doNotShareSensitivityPolicyCodes;
+    }
+
+    public String getDoNotShareSensitivityPolicyNames() {
+        return doNotShareSensitivityPolicyNames;
+    }
+
+    public void setDoNotShareSensitivityPolicyNames(String doNotShareSensitivityPolicyNames) {
+        this.doNotShareSensitivityPolicyNames = doNotShareSensitivityPolicyNames;
+    }
+
+    public String getShareForPurposeOfUseCodes() {
+        return shareForPurposeOfUseCodes;
+    }
+
+    public void setShareForPurposeOfUseCodes(String shareForPurposeOfUseCodes) {
+        this.shareForPurposeOfUseCodes = shareForPurposeOfUseCodes;
+    }
+
+    public String getShareForPurposeOfUseNames() {
+        return shareForPurposeOfUseNames;
+    }
+
+    public void setShareForPurposeOfUseNames(String shareForPurposeOfUseNames) {
+        this.shareForPurposeOfUseNames = shareForPurposeOfUseNames;
+    }
+
+    public String getDoNotShareClinicalConceptCodeNames() {
+        return doNotShareClinicalConceptCodeNames;
+    }
+
+    public void setDoNotShareClinicalConceptCodeNames(String doNotShareClinicalConceptCodeNames) {
+        this.doNotShareClinicalConceptCodeNames = doNotShareClinicalConceptCodeNames;
+    }
+
+    @Override
+    public String toString() {
+        return ReflectionToStringBuilder.toString(this,
+                ToStringStyle.SHORT_PREFIX_STYLE);
+    }
+}
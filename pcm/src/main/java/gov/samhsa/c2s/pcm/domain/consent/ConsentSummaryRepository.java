@@ -0,0 +1,19 @@
+package gov.samhsa.c2s.pcm.domain.consent;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ConsentSummaryRepository extends JpaRepository<ConsentSummary, Long> {
+
+    Page<ConsentSummary> findByPatientId(Long patientId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from ConsentSummary s where s.consentId = :consentId")
+    int deleteByConsentId(@Param("consentId") Long consentId);
+}
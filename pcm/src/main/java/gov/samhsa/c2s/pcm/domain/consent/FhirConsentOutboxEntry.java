@@ -0,0 +1,161 @@
+package gov.samhsa.c2s.pcm.domain.consent;
+
+import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.Date;
+
+/**
+ * A signed consent waiting to be published to the HIE as a FHIR Consent resource.
+ * <p>
+ * The entry is written in the same transaction as the consent attestation, with the FHIR resource already
+ * serialized, so the publishing itself can happen later, outside of the patient's request.
+ */
+@Entity
+@Table(name = "fhir_consent_outbox", indexes = {
+        @Index(name = "fhir_consent_outbox_status_next_attempt_idx", columnList = "status,next_attempt_date_time")})
+public class FhirConsentOutboxEntry {
+
+    public static final int LAST_ERROR_MAX_LENGTH = 2000;
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "consent_id")
+    private Long consentId;
+
+    @NotNull
+    @Lob
+    @Column(name = "fhir_consent", columnDefinition = "LONGTEXT")
+    private String fhirConsent;
+
+    @NotNull
+    @Column(name = "status")
+    private String status;
+
+    @NotNull
+    @Column(name = "attempts")
+    private Integer attempts;
+
+    @NotNull
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_date_time")
+    private Date createdDateTime;
+
+    @NotNull
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "next_attempt_date_time")
+    private Date nextAttemptDateTime;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "published_date_time")
+    private Date publishedDateTime;
+
+    @Size(max = LAST_ERROR_MAX_LENGTH)
+    @Column(name = "last_error", length = LAST_ERROR_MAX_LENGTH)
+    private String lastError;
+
+    public FhirConsentOutboxEntry() {
+    }
+
+    public FhirConsentOutboxEntry(Long consentId, String fhirConsent, Date createdDateTime) {
+        this.consentId = consentId;
+        this.fhirConsent = fhirConsent;
+        this.status = FhirConsentOutboxStatus.PENDING;
+        this.attempts = 0;
+        this.createdDateTime = createdDateTime;
+        this.nextAttemptDateTime = createdDateTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getConsentId() {
+        return consentId;
+    }
+
+    public void setConsentId(Long consentId) {
+        this.consentId = consentId;
+    }
+
+    public String getFhirConsent() {
+        return fhirConsent;
+    }
+
+    public void setFhirConsent(String fhirConsent) {
+        this.fhirConsent = fhirConsent;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Date getCreatedDateTime() {
+        return createdDateTime;
+    }
+
+    public void setCreatedDateTime(Date createdDateTime) {
+        this.createdDateTime = createdDateTime;
+    }
+
+    public Date getNextAttemptDateTime() {
+        return nextAttemptDateTime;
+    }
+
+    public void setNextAttemptDateTime(Date nextAttemptDateTime) {
+        this.nextAttemptDateTime = nextAttemptDateTime;
+    }
+
+    public Date getPublishedDateTime() {
+        return publishedDateTime;
+    }
+
+    public void setPublishedDateTime(Date publishedDateTime) {
+        this.publishedDateTime = publishedDateTime;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    @Override
+    public String toString() {
+        return new ReflectionToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .setExcludeFieldNames("fhirConsent").toString();
+    }
+}
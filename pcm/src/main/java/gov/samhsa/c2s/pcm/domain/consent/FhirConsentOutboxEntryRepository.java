@@ -0,0 +1,37 @@
+package gov.samhsa.c2s.pcm.domain.consent;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface FhirConsentOutboxEntryRepository extends JpaRepository<FhirConsentOutboxEntry, Long> {
+
+    /**
+     * Finds and write-locks the oldest entries with the given status that are due for an attempt, so that
+     * concurrent publishers never claim the same entry.
+     *
+     * @param status   the status
+     * @param now      the current time
+     * @param pageable the batch size
+     * @return the due entries in creation order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from FhirConsentOutboxEntry e where e.status = :status "
+            + "and e.nextAttemptDateTime <= :now order by e.id")
+    List<FhirConsentOutboxEntry> findDueForUpdate(@Param("status") String status,
+                                                  @Param("now") Date now,
+                                                  Pageable pageable);
+
+    long countByStatus(String status);
+
+    @Query("select min(e.createdDateTime) from FhirConsentOutboxEntry e where e.status = :status")
+    Date findOldestCreatedDateTimeByStatus(@Param("status") String status);
+}
@@ -0,0 +1,8 @@
+package gov.samhsa.c2s.pcm.domain.consent;
+
+public interface FhirConsentOutboxStatus {
+
+    public static final String PENDING = "PENDING";
+    public static final String PUBLISHED = "PUBLISHED";
+    public static final String DEAD_LETTER = "DEAD_LETTER";
+}
@@ -0,0 +1,34 @@
+package gov.samhsa.c2s.pcm.domain.patient;
+
+/**
+ * The name of a patient, selected without the rest of the patient.
+ */
+public class PatientName {
+
+    /** The username. */
+    private final String username;
+
+    /** The first name. */
+    private final String firstName;
+
+    /** The last name. */
+    private final String lastName;
+
+    public PatientName(String username, String firstName, String lastName) {
+        this.username = username;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    public String getUsername() {
+        return this.username;
+    }
+
+    public String getFirstName() {
+        return this.firstName;
+    }
+
+    public String getLastName() {
+        return this.lastName;
+    }
+}
@@ -31,6 +31,7 @@
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -51,6 +52,17 @@ public interface PatientRepository extends JpaRepository<Patient, Long>,
      */
     public abstract Patient findByUsername(String username);
 
+    /**
+     * Find the names of the patients with the given usernames.
+     *
+     * @param usernames
+     *            the usernames
+     * @return the names of the patients that exist
+     */
+    @Query("select new gov.samhsa.c2s.pcm.domain.patient.PatientName(p.username, p.firstName, p.lastName) from Patient p where p.username in ?1")
+    public abstract List<PatientName> findNamesByUsernameIn(
+            Collection<String> usernames);
+
     /**
      * Find all by first name likes and last name likes.
      *
@@ -27,8 +27,11 @@
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * The Interface IndividualProviderRepository.
  */
@@ -43,4 +46,12 @@ public interface IndividualProviderRepository extends JpaRepository<IndividualPr
 	 * @return the individual provider
 	 */
 	public abstract IndividualProvider findByNpi(String npi);
+
+	/**
+	 * Find the distinct npis of all the individual providers.
+	 *
+	 * @return the npis
+	 */
+	@Query("select distinct p.npi from IndividualProvider p")
+	public abstract List<String> findAllNpis();
 }
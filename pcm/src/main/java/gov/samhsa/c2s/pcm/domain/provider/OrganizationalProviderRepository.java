@@ -27,8 +27,11 @@
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * The Interface OrganizationalProviderRepository.
  */
@@ -42,4 +45,12 @@ public interface OrganizationalProviderRepository extends JpaRepository<Organiza
 	 * @return the organizational provider
 	 */
 	public abstract OrganizationalProvider findByNpi(String npi);
+
+	/**
+	 * Find the distinct npis of all the organizational providers.
+	 *
+	 * @return the npis
+	 */
+	@Query("select distinct p.npi from OrganizationalProvider p")
+	public abstract List<String> findAllNpis();
 }
@@ -26,6 +26,7 @@
 package gov.samhsa.c2s.pcm.domain.reference;
 
 import javax.persistence.Column;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -38,6 +39,7 @@
  * The Class AbstractLocalDBLookupCodedConcept.
  */
 @MappedSuperclass
+@EntityListeners(ReferenceCodeChangeListener.class)
 public abstract class AbstractLocalDBLookupCodedConcept {
 
 	/** The code. */
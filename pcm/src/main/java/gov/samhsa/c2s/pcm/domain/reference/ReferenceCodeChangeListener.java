@@ -0,0 +1,28 @@
+package gov.samhsa.c2s.pcm.domain.reference;
+
+import gov.samhsa.c2s.pcm.config.SpringContext;
+import org.springframework.context.ApplicationContext;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Publishes a {@link ReferenceCodeChangedEvent} for every change to a coded
+ * concept lookup table made through JPA.
+ * <p>
+ * JPA instantiates entity listeners itself, so the application context is
+ * looked up through {@link SpringContext}.
+ */
+public class ReferenceCodeChangeListener {
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void onChange(AbstractLocalDBLookupCodedConcept codedConcept) {
+		final ApplicationContext applicationContext = SpringContext.getApplicationContext();
+		if (applicationContext != null) {
+			applicationContext.publishEvent(new ReferenceCodeChangedEvent(codedConcept));
+		}
+	}
+}
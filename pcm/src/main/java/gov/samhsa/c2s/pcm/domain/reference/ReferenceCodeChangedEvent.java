@@ -0,0 +1,17 @@
+package gov.samhsa.c2s.pcm.domain.reference;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published whenever a coded concept lookup table row is inserted, updated or
+ * deleted, so that in-memory copies of the reference data can be reloaded once
+ * the change is committed.
+ */
+public class ReferenceCodeChangedEvent extends ApplicationEvent {
+
+	private static final long serialVersionUID = 1L;
+
+	public ReferenceCodeChangedEvent(AbstractLocalDBLookupCodedConcept source) {
+		super(source);
+	}
+}
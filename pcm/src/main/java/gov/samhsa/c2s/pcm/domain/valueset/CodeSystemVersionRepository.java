@@ -28,9 +28,20 @@
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CodeSystemVersionRepository  extends JpaRepository<CodeSystemVersion, Long> {
 
 	public List<CodeSystemVersion> findAllByCodeSystemCodeSystemOIdOrderByIdDesc(String codeSystemOid);
 
+	/**
+	 * Finds the latest version of every code system.
+	 *
+	 * @return rows of code system oid, code system version id and code system
+	 *         version name
+	 */
+	@Query("select cs.codeSystemOId, csv.id, csv.name from CodeSystemVersion csv, CodeSystem cs where csv.codeSystem.id = cs.id "
+			+ "AND csv.id = (select max(v.id) from CodeSystemVersion v where v.codeSystem.id = cs.id)")
+	public List<Object[]> findLatestVersionOfEachCodeSystem();
+
 }
@@ -25,6 +25,7 @@
  ******************************************************************************/
 package gov.samhsa.c2s.pcm.domain.valueset;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -57,6 +58,24 @@ public Page<ConceptCode> findAllByCodeLike(String searchTerm,
 
 	ConceptCode findByCodeAndCodeSystemVersionId(String code, Long id);
 
+	/**
+	 * Finds the concept codes of the given code system versions.
+	 *
+	 * @param codeSystemVersionIds the code system version ids
+	 * @return rows of concept code id, code system version id and code
+	 */
+	@Query("select c.id, c.codeSystemVersion.id, c.code from ConceptCode c where c.codeSystemVersion.id in ?1")
+	public List<Object[]> findIdAndCodeByCodeSystemVersionIds(Collection<Long> codeSystemVersionIds);
+
+	/**
+	 * Finds the concept codes of the given code system version.
+	 *
+	 * @param codeSystemVersionId the code system version id
+	 * @return rows of concept code id and code
+	 */
+	@Query("select c.id, c.code from ConceptCode c where c.codeSystemVersion.id = ?1")
+	public List<Object[]> findIdAndCodeByCodeSystemVersionId(Long codeSystemVersionId);
+
 	@Query("SELECT c.name, c.code, v.name FROM ConceptCode c, ConceptCodeValueSet cv, ValueSet v where c.id = cv.pk.conceptCode AND cv.pk.valueSet = v.id AND c.code LIKE ?1")
 	public Page<ConceptCode> findAllByFilter(String code, Pageable pageable);
 
@@ -25,10 +25,12 @@
  ******************************************************************************/
 package gov.samhsa.c2s.pcm.domain.valueset;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 public interface ConceptCodeValueSetRepository extends JpaRepository<ConceptCodeValueSet, ConceptCodeValueSetId>, JpaSpecificationExecutor<ConceptCodeValueSet>{ 
 
@@ -36,4 +38,27 @@ public interface ConceptCodeValueSetRepository extends JpaRepository<ConceptCode
 
 	List<ConceptCodeValueSet> findAllByPkConceptCodeId(Long id);
 
+	/**
+	 * Finds the value set category code of every concept code to value set
+	 * association.
+	 *
+	 * @return rows of concept code id and value set category code
+	 */
+	@Query("select cv.pk.conceptCode.id, vsc.code from ConceptCodeValueSet cv, ValueSet v, ValueSetCategory vsc "
+			+ "where cv.pk.valueSet.id = v.id AND v.valueSetCategory.id = vsc.id")
+	List<Object[]> findAllConceptCodeIdAndValueSetCategoryCode();
+
+	/**
+	 * Finds the associations between the concept codes of the given code
+	 * system version and the given value sets.
+	 *
+	 * @param codeSystemVersionId the code system version id
+	 * @param valueSetIds the value set ids
+	 * @return rows of concept code id and value set id
+	 */
+	@Query("select cv.pk.conceptCode.id, cv.pk.valueSet.id from ConceptCodeValueSet cv "
+			+ "where cv.pk.conceptCode.codeSystemVersion.id = ?1 AND cv.pk.valueSet.id in ?2")
+	List<Object[]> findConceptCodeIdAndValueSetIdByCodeSystemVersionId(Long codeSystemVersionId,
+			Collection<Long> valueSetIds);
+
 }
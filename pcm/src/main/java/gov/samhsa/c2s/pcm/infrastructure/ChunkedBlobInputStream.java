@@ -0,0 +1,140 @@
+package gov.samhsa.c2s.pcm.infrastructure;
+
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Reads a BLOB column one chunk per query, so that at most one chunk is held in memory. MySQL Connector/J reads a
+ * whole row, and so the whole BLOB, into memory even when the result set is streamed; selecting
+ * {@code SUBSTRING(column, ?, ?)} is the only way to bound it.
+ * <p>
+ * The chunk query takes the 1-based position, the chunk length and the row key as its parameters, in that order,
+ * for example {@code SELECT SUBSTRING(content, ?, ?) FROM artifact WHERE artifact_key = ?}. The content should not
+ * change while it is read, because every chunk is a query of its own.
+ */
+public class ChunkedBlobInputStream extends InputStream {
+
+    /**
+     * The default chunk size of 1 MB.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final JdbcOperations jdbcOperations;
+
+    private final String chunkSql;
+
+    private final Object key;
+
+    private final int chunkSize;
+
+    /**
+     * The 0-based offset of the next byte to query.
+     */
+    private long position;
+
+    /**
+     * The number of bytes that are left to query.
+     */
+    private long remaining;
+
+    private byte[] chunk = EMPTY;
+
+    private int chunkOffset;
+
+    private boolean endOfContent;
+
+    /**
+     * Creates a stream of the whole BLOB.
+     */
+    public ChunkedBlobInputStream(JdbcOperations jdbcOperations, String chunkSql, Object key) {
+        this(jdbcOperations, chunkSql, key, 0, Long.MAX_VALUE, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a stream of {@code length} bytes of the BLOB starting at {@code offset}, or of everything from the
+     * offset on when the length is {@link Long#MAX_VALUE}.
+     */
+    public ChunkedBlobInputStream(JdbcOperations jdbcOperations, String chunkSql, Object key, long offset,
+                                  long length, int chunkSize) {
+        this.jdbcOperations = jdbcOperations;
+        this.chunkSql = chunkSql;
+        this.key = key;
+        this.position = offset;
+        this.remaining = length;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int read() {
+        if (!fill()) {
+            return -1;
+        }
+        return chunk[chunkOffset++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        final int count = Math.min(len, chunk.length - chunkOffset);
+        System.arraycopy(chunk, chunkOffset, b, off, count);
+        chunkOffset += count;
+        return count;
+    }
+
+    /**
+     * Skips without querying the skipped bytes; skipping past the end of the content is only noticed by the next read.
+     */
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+        final int buffered = chunk.length - chunkOffset;
+        if (n <= buffered) {
+            chunkOffset += (int) n;
+            return n;
+        }
+        final long skipped = buffered + Math.min(n - buffered, remaining);
+        position += skipped - buffered;
+        remaining -= skipped - buffered;
+        chunk = EMPTY;
+        chunkOffset = 0;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return chunk.length - chunkOffset;
+    }
+
+    private boolean fill() {
+        if (chunkOffset < chunk.length) {
+            return true;
+        }
+        if (endOfContent || remaining <= 0) {
+            return false;
+        }
+        final int length = (int) Math.min(chunkSize, remaining);
+        final List<byte[]> rows = jdbcOperations.queryForList(chunkSql, byte[].class, position + 1, length, key);
+        final byte[] bytes = rows.isEmpty() ? null : rows.get(0);
+        if (bytes == null || bytes.length == 0) {
+            endOfContent = true;
+            return false;
+        }
+        endOfContent = bytes.length < length;
+        position += bytes.length;
+        remaining -= bytes.length;
+        chunk = bytes;
+        chunkOffset = 0;
+        return true;
+    }
+}
@@ -4,6 +4,7 @@
 import gov.samhsa.c2s.pcm.infrastructure.dto.ClinicalDocumentValidationResult;
 import org.springframework.cloud.netflix.feign.FeignClient;
 import org.springframework.http.MediaType;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -12,4 +13,7 @@
 public interface DssService {
     @RequestMapping(value = "/validateDocument", method = RequestMethod.POST, consumes = MediaType.APPLICATION_JSON_UTF8_VALUE)
     ClinicalDocumentValidationResult validateClinicalDocument(@RequestBody ClinicalDocumentValidationRequest validationRequest);
+
+    @RequestMapping(value = "/validateDocument", method = RequestMethod.POST, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    ClinicalDocumentValidationResult validateClinicalDocumentFile(@RequestBody MultiValueMap<String, Object> parts);
 }
@@ -8,4 +8,15 @@ public interface JdbcPagingRepository {
     public abstract <T> Page<T> findAll(Pageable pageable);
 
     public abstract <T> Page<T> findAllByArgs(Pageable pageable, Object... args);
+
+    /**
+     * Finds the rows with the given ids using seek pagination on the keyset column, newest first.
+     *
+     * @param beforeKey    the key the rows must be lower than, or null for the first slice
+     * @param size         the maximum number of rows
+     * @param includeTotal whether to also count all the rows with the given ids
+     * @param args         the ids
+     * @return the slice
+     */
+    public abstract <T> KeysetSlice<T> findAllByArgsBeforeKey(Long beforeKey, int size, boolean includeTotal, Object... args);
 }
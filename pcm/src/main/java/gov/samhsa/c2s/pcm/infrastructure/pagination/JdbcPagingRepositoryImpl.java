@@ -8,8 +8,15 @@
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -34,44 +41,121 @@ public class JdbcPagingRepositoryImpl implements JdbcPagingRepository {
     @Autowired
     private SetQueryInfoMapping queryInfoMapping;
 
+    /**
+     * The sql script split into its select and from clauses, which is done once when the repository starts.
+     */
+    private SqlRebuilder sqlRebuilder;
+
+    private SqlFromClause sqlFromClause;
+
+    /**
+     * The paged select statements by sort; they only differ in their order by clause.
+     */
+    private final ConcurrentMap<String, String> selectAllBySort = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, String> selectByIdBySort = new ConcurrentHashMap<>();
+
+    private String countQuery;
+
+    private String countByIdQuery;
+
+    private String selectByIdBeforeKeyQuery;
+
+    private String selectByIdFirstKeysQuery;
+
+    @PostConstruct
+    public void parseSqlScript() {
+        String sqlScript = sqlScriptProvider.getSqlScript();
+        sqlRebuilder = getSqlRebuilder(sqlScript);
+        sqlFromClause = getSqlFromClause(sqlScript);
+        countQuery = sqlRebuilder.count(sqlFromClause);
+        countByIdQuery = sqlRebuilder.countById(sqlFromClause);
+        selectByIdBeforeKeyQuery = sqlRebuilder.selectByIdBeforeKey(sqlFromClause, queryInfoMapping.getKeysetColumn());
+        selectByIdFirstKeysQuery = sqlRebuilder.selectByIdFirstKeys(sqlFromClause, queryInfoMapping.getKeysetColumn());
+    }
+
+    @SuppressWarnings("unchecked")
     @Override
     public <T> Page<T> findAll(Pageable pageable) {
         Page<T> pages = null;
         try {
-            SqlRebuilder sqlRebuilder = getSqlRebuilder();
-            SqlFromClause sqlFromClause = getSqlFromClause();
-            String query = sqlRebuilder.selectAll(sqlFromClause, pageable);
-            pages = new PageImpl<>(jdbcOperations.query(query, queryInfoMapping.getRowMapper()), pageable, count(sqlRebuilder, sqlFromClause));
+            RowMapper<T> rowMapper = queryInfoMapping.getRowMapper();
+            String query = selectAllBySort.computeIfAbsent(sortKey(pageable),
+                    sort -> sqlRebuilder.selectAll(sqlFromClause, pageable));
+            List<T> content = jdbcOperations.query(query, rowMapper,
+                    pageable.getOffset(), pageable.getPageSize());
+            pages = new PageImpl<>(content, pageable, total(pageable, content, countQuery));
         } catch (Exception e) {
             throw new JdbcPagingException(e);
         }
         return pages;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <T> Page<T> findAllByArgs(Pageable pageable, Object... args) {
         Page<T> pages = null;
         try {
-            SqlRebuilder sqlRebuilder = getSqlRebuilder();
-            SqlFromClause sqlFromClause = getSqlFromClause();
-            String query = sqlRebuilder.selectByIdPageable(sqlFromClause, pageable);
-            pages = new PageImpl<>(jdbcOperations.query(query, queryInfoMapping.getRowMapper(), args), pageable, countByArgs(sqlRebuilder, sqlFromClause, args[0]));
+            RowMapper<T> rowMapper = queryInfoMapping.getRowMapper();
+            String query = selectByIdBySort.computeIfAbsent(sortKey(pageable),
+                    sort -> sqlRebuilder.selectByIdPageable(sqlFromClause, pageable));
+            List<T> content = jdbcOperations.query(query, rowMapper,
+                    append(args, pageable.getOffset(), pageable.getPageSize()));
+            pages = new PageImpl<>(content, pageable, total(pageable, content, countByIdQuery, args));
         } catch (Exception e) {
             throw new JdbcPagingException(e);
         }
         return pages;
     }
 
-    private long count(SqlRebuilder sqlRebuilder, SqlFromClause sqlFromClause) {
-        return jdbcOperations.queryForObject(sqlRebuilder.count(sqlFromClause), Long.class);
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> KeysetSlice<T> findAllByArgsBeforeKey(Long beforeKey, int size, boolean includeTotal, Object... args) {
+        try {
+            // Reads one extra row to tell whether there is a next slice, and the key of each row as it is mapped
+            List<Long> keys = new ArrayList<>();
+            RowMapper<T> rowMapper = queryInfoMapping.getRowMapper();
+            RowMapper<T> keyCapturingRowMapper = (rs, rowNum) -> {
+                keys.add(rs.getLong(queryInfoMapping.getKeysetColumnLabel()));
+                return rowMapper.mapRow(rs, rowNum);
+            };
+            List<T> content = beforeKey == null
+                    ? jdbcOperations.query(selectByIdFirstKeysQuery, keyCapturingRowMapper, append(args, size + 1))
+                    : jdbcOperations.query(selectByIdBeforeKeyQuery, keyCapturingRowMapper, append(args, beforeKey, size + 1));
+            boolean hasNext = content.size() > size;
+            if (hasNext) {
+                content = content.subList(0, size);
+            }
+            Long lastKey = content.isEmpty() ? null : keys.get(content.size() - 1);
+            Long totalElements = includeTotal ? jdbcOperations.queryForObject(countByIdQuery, Long.class, args) : null;
+            return new KeysetSlice<>(content, size, hasNext, lastKey, totalElements);
+        } catch (Exception e) {
+            throw new JdbcPagingException(e);
+        }
+    }
+
+    /**
+     * Gets the total number of rows, which is only counted when the page content cannot tell it: a short page that
+     * is not empty, or a short first page, is the last one.
+     */
+    private long total(Pageable pageable, List<?> content, String countQuery, Object... args) {
+        if (content.size() < pageable.getPageSize() && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            return pageable.getOffset() + content.size();
+        }
+        return jdbcOperations.queryForObject(countQuery, Long.class, args);
     }
 
-    private long countByArgs(SqlRebuilder sqlRebuilder, SqlFromClause sqlFromClause, Object arg) {
-        return jdbcOperations.queryForObject(sqlRebuilder.countByArgs(sqlFromClause, arg), Long.class);
+    private static String sortKey(Pageable pageable) {
+        return String.valueOf(pageable.getSort());
     }
 
-    private SqlRebuilder getSqlRebuilder() {
-        String sqlScript = sqlScriptProvider.getSqlScript();
+    private static Object[] append(Object[] args, Object... params) {
+        Object[] allArgs = Arrays.copyOf(args, args.length + params.length);
+        System.arraycopy(params, 0, allArgs, args.length, params.length);
+        return allArgs;
+    }
+
+    private SqlRebuilder getSqlRebuilder(String sqlScript) {
         Pattern pattern = Pattern.compile(FROM_PATTERN);
         Matcher matcher = pattern.matcher(sqlScript);
         String selectClause = "*";
@@ -81,8 +165,7 @@ private SqlRebuilder getSqlRebuilder() {
         return new SqlRebuilder(selectClause);
     }
 
-    private SqlFromClause getSqlFromClause() {
-        String sqlScript = sqlScriptProvider.getSqlScript();
+    private SqlFromClause getSqlFromClause(String sqlScript) {
         Pattern pattern = Pattern.compile(FROM_PATTERN);
         Matcher matcher = pattern.matcher(sqlScript);
         String fromClause = null;
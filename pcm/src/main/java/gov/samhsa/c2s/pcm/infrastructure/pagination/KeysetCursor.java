@@ -0,0 +1,40 @@
+package gov.samhsa.c2s.pcm.infrastructure.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the key a {@link KeysetSlice} continues from as an opaque cursor, so clients do not build or depend on
+ * the keys themselves.
+ */
+public final class KeysetCursor {
+
+    private static final String PREFIX = "k1:";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(long key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + key).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor.
+     *
+     * @param cursor the cursor
+     * @return the key
+     * @throws IllegalArgumentException if the cursor was not made by {@link #encode(long)}
+     */
+    public static long decode(String cursor) {
+        final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        if (!decoded.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
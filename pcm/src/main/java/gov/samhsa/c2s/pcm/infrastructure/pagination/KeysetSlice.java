@@ -0,0 +1,42 @@
+package gov.samhsa.c2s.pcm.infrastructure.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+/**
+ * A slice of rows read with seek pagination on a keyset column, in descending key order.
+ */
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long lastKey;
+
+    private final Long totalElements;
+
+    public KeysetSlice(List<T> content, int size, boolean hasNext, Long lastKey, Long totalElements) {
+        super(content, new PageRequest(0, size), hasNext);
+        this.lastKey = lastKey;
+        this.totalElements = totalElements;
+    }
+
+    /**
+     * Gets the key of the last row, which the next slice starts below.
+     *
+     * @return the last key, or null if the slice is empty
+     */
+    public Long getLastKey() {
+        return lastKey;
+    }
+
+    /**
+     * Gets the total number of rows, if it was asked for.
+     *
+     * @return the total number of rows, or null
+     */
+    public Long getTotalElements() {
+        return totalElements;
+    }
+}
@@ -8,4 +8,14 @@ public interface SetQueryInfoMapping {
     public abstract String getTableName();
 
     public abstract String getIdColumn();
+
+    /**
+     * The unique, ascending column that seek pagination orders by, as it is written in the where clause.
+     */
+    public abstract String getKeysetColumn();
+
+    /**
+     * The label of the keyset column in the select clause.
+     */
+    public abstract String getKeysetColumnLabel();
 }
@@ -30,13 +30,8 @@ public String count(SqlFromClause fromClause) {
         return SELECT + "COUNT(*) " + FROM + fromClause.getFromClause();
     }
 
-    //TODO (#30): Refactor
-    public String countByArgs(SqlFromClause fromClause, Object arg) {
-        StringBuilder whereClause = new StringBuilder(WHERE);
-        for (String s : fromClause.getIdColumns()) {
-            whereClause.append(s).append(" = ");
-        }
-        return SELECT + "COUNT(*) " + FROM + fromClause.getFromClause() + whereClause + "'" + arg + "'";
+    public String countById(SqlFromClause fromClause) {
+        return count(fromClause) + whereByIdClause(fromClause);
     }
 
     public String selectAll(SqlFromClause fromClause) {
@@ -44,7 +39,7 @@ public String selectAll(SqlFromClause fromClause) {
     }
 
     public String selectAll(SqlFromClause fromClause, Pageable page) {
-        return selectAll(fromClause, page.getSort()) + limitClause(page);
+        return selectAll(fromClause, page.getSort()) + limitClause();
     }
 
     public String selectAll(SqlFromClause fromClause, Sort sort) {
@@ -56,12 +51,31 @@ public String selectById(SqlFromClause fromClause) {
     }
 
     public String selectByIdPageable(SqlFromClause fromClause, Pageable page) {
-        return selectAll(fromClause) + whereByIdClause(fromClause) + sortingClauseIfRequired(page.getSort()) + limitClause(page);
+        return selectAll(fromClause) + whereByIdClause(fromClause) + sortingClauseIfRequired(page.getSort()) + limitClause();
+    }
+
+    /**
+     * Selects the rows with the given ids whose keyset column is lower than a bound key, newest first. The ids,
+     * the key and the row count are bound parameters, in that order.
+     */
+    public String selectByIdBeforeKey(SqlFromClause fromClause, String keysetColumn) {
+        return selectAll(fromClause) + whereByIdClause(fromClause) + AND + keysetColumn + " < ?"
+                + ORDERBY + keysetColumn + " DESC" + LIMIT + "?";
+    }
+
+    /**
+     * Selects the first rows with the given ids, newest first. The ids and the row count are bound parameters.
+     */
+    public String selectByIdFirstKeys(SqlFromClause fromClause, String keysetColumn) {
+        return selectAll(fromClause) + whereByIdClause(fromClause)
+                + ORDERBY + keysetColumn + " DESC" + LIMIT + "?";
     }
 
-    private String limitClause(Pageable page) {
-        int offset = page.getPageNumber() * page.getPageSize();
-        return LIMIT + offset + COMMA + page.getPageSize();
+    /**
+     * Pages with bound offset and row count parameters, so the statement text is the same for every page.
+     */
+    private String limitClause() {
+        return LIMIT + "?" + COMMA + "?";
     }
 
     private String sortingClauseIfRequired(Sort sort) {
@@ -36,4 +36,12 @@ void addWrappedParagraphByLineBreaks(String content, PDFont font, float fontSize
                                          PDPage page, PDPageContentStream contentStream) throws IOException;
 
     void addUnorderedListContent(List<String> content, String itemMarkerSymbol, float xCoordinate, float yCoordinate, float cellWidth, PDFont font, float fontSize, PDPageContentStream contentStream) throws IOException;
+
+    /**
+     * Renders static content once with the configured page size of the PDF type, so that it can be drawn into any
+     * number of documents with {@link #addTemplate(PdfTemplate, PDDocument, PDPageContentStream)}.
+     */
+    PdfTemplate createTemplate(String typeOfPdf, PdfTemplateWriter templateWriter) throws IOException;
+
+    void addTemplate(PdfTemplate template, PDDocument document, PDPageContentStream contentStream) throws IOException;
 }
@@ -4,17 +4,24 @@
 import gov.samhsa.c2s.pcm.infrastructure.exception.InvalidTableAttributeException;
 import gov.samhsa.c2s.pcm.infrastructure.pdfbox.util.PdfBoxHandler;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.IOUtils;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.common.PDStream;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.awt.*;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -188,6 +195,28 @@ public void addUnorderedListContent(List<String> content, String itemMarkerSymbo
         addTableContent(contentStream, tableAttribute, tableContent);
     }
 
+    @Override
+    public PdfTemplate createTemplate(String typeOfPdf, PdfTemplateWriter templateWriter) throws IOException {
+        try (PDDocument templateDocument = new PDDocument()) {
+            PDPage page = generatePage(typeOfPdf, templateDocument);
+            try (PDPageContentStream contentStream = new PDPageContentStream(templateDocument, page)) {
+                templateWriter.write(page, contentStream);
+            }
+            try (InputStream content = page.getContents()) {
+                return new PdfTemplate(IOUtils.toByteArray(content), page.getMediaBox(), page.getResources().getCOSObject());
+            }
+        }
+    }
+
+    @Override
+    public void addTemplate(PdfTemplate template, PDDocument document, PDPageContentStream contentStream) throws IOException {
+        PDStream stream = new PDStream(document, new ByteArrayInputStream(template.getContent()), COSName.FLATE_DECODE);
+        PDFormXObject form = new PDFormXObject(stream);
+        form.setBBox(template.getBoundingBox());
+        form.setResources(new PDResources(template.getResources()));
+        contentStream.drawForm(form);
+    }
+
     private List<String> calculateLinesToWrap(String content, PDFont font, float fontSize, float width) throws IOException {
         final String multipleLineBreaks = "\n\n";
         final String multipleLineBreaksWithSpace = "\n \n ";
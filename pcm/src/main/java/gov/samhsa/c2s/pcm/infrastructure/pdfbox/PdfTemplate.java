@@ -0,0 +1,58 @@
+package gov.samhsa.c2s.pcm.infrastructure.pdfbox;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+
+import java.util.Map;
+
+/**
+ * Static page content rendered once and kept outside of any document, so that it can be drawn as a form XObject
+ * into any number of documents. Instances are immutable and can be shared between threads.
+ */
+public class PdfTemplate {
+    private final byte[] content;
+    private final float lowerLeftX;
+    private final float lowerLeftY;
+    private final float width;
+    private final float height;
+    private final COSDictionary resources;
+
+    PdfTemplate(byte[] content, PDRectangle boundingBox, COSDictionary resources) {
+        this.content = content;
+        this.lowerLeftX = boundingBox.getLowerLeftX();
+        this.lowerLeftY = boundingBox.getLowerLeftY();
+        this.width = boundingBox.getWidth();
+        this.height = boundingBox.getHeight();
+        this.resources = copyOf(resources);
+    }
+
+    /**
+     * Gets the decoded content stream. The returned array must not be modified.
+     */
+    byte[] getContent() {
+        return content;
+    }
+
+    PDRectangle getBoundingBox() {
+        return new PDRectangle(lowerLeftX, lowerLeftY, width, height);
+    }
+
+    /**
+     * Gets a copy of the resources for a new form XObject. The fonts are the standard 14 fonts, whose dictionaries
+     * are shared by all the documents the same way as when a page uses them directly.
+     */
+    COSDictionary getResources() {
+        return copyOf(resources);
+    }
+
+    private static COSDictionary copyOf(COSDictionary dictionary) {
+        final COSDictionary copy = new COSDictionary();
+        for (Map.Entry<COSName, COSBase> entry : dictionary.entrySet()) {
+            final COSBase value = entry.getValue();
+            copy.setItem(entry.getKey(), value instanceof COSDictionary ? copyOf((COSDictionary) value) : value);
+        }
+        return copy;
+    }
+}
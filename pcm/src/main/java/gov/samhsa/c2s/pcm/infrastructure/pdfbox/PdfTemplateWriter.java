@@ -0,0 +1,15 @@
+package gov.samhsa.c2s.pcm.infrastructure.pdfbox;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+
+import java.io.IOException;
+
+/**
+ * Draws the static content of a template on a page that has the configured page size.
+ */
+@FunctionalInterface
+public interface PdfTemplateWriter {
+
+    void write(PDPage page, PDPageContentStream contentStream) throws IOException;
+}
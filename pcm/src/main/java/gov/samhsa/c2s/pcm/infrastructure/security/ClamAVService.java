@@ -7,9 +7,14 @@
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Clock;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
 
 /**
  * The Class ClamAVService.
@@ -35,11 +40,39 @@ public class ClamAVService {
      */
     @Value("${c2s.pcm.clamd.connTimeOut}")
     private int connTimeOut;
+
+    /**
+     * Time an idle session is reused for before it is closed.
+     */
+    @Value("${c2s.pcm.clamd.sessionIdleTimeoutInMs}")
+    private long sessionIdleTimeoutInMs;
+
     /**
      * The scanner.
      */
     private ClamAVClient scanner;
 
+    /**
+     * Idle sessions, most recently used first.
+     */
+    private final BlockingDeque<ClamdSession> idleSessions = new LinkedBlockingDeque<>();
+
+    /**
+     * Bounds the number of sessions scanning at the same time.
+     */
+    private final Semaphore scanPermits;
+
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Instantiates a new ClamAV service.
+     *
+     * @param poolSize the maximum number of sessions scanning at the same time
+     */
+    public ClamAVService(@Value("${c2s.pcm.clamd.poolSize}") int poolSize) {
+        this.scanPermits = new Semaphore(Math.max(1, poolSize), true);
+    }
+
     /**
      * Gets the clamd host.
      *
@@ -105,6 +138,14 @@ public void afterPropertiesSet() {
         this.scanner = new ClamAVClient(clamdHost, clamdPort, connTimeOut);
     }
 
+    @PreDestroy
+    public void closeSessions() {
+        ClamdSession session;
+        while ((session = idleSessions.pollFirst()) != null) {
+            session.close();
+        }
+    }
+
     /**
      * Gets the clam av scanner client.
      *
@@ -160,4 +201,79 @@ public boolean fileScanner(InputStream fileInputStream) throws IOException, Clam
 
         return resScan;
     }
+
+    /**
+     * Scans the content over a pooled clamd session.
+     *
+     * @param content the content to scan
+     * @return true, if the content is clean
+     * @throws ClamAVClientNotAvailableException thrown if clamd cannot be reached, aborts the connection or cannot
+     *                                           scan the content
+     */
+    public boolean scan(byte[] content) throws ClamAVClientNotAvailableException {
+        try {
+            scanPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClamAVClientNotAvailableException("Interrupted while waiting for a ClamAV session.", e);
+        }
+        try {
+            ClamdSession session = borrowSession();
+            String reply;
+            try {
+                reply = session.scan(content);
+            } catch (IOException e) {
+                session.close();
+                if (!session.isReused()) {
+                    throw e;
+                }
+                // clamd may close an idle session at any time; the content is in memory, so scan it again
+                logger.debug("Pooled ClamAV session failed, scanning again on a new session: {}", e.getMessage());
+                session = openSession();
+                try {
+                    reply = session.scan(content);
+                } catch (IOException retryException) {
+                    session.close();
+                    throw retryException;
+                }
+            }
+
+            if (reply.endsWith("OK")) {
+                releaseSession(session);
+                return true;
+            }
+            if (reply.endsWith("FOUND")) {
+                releaseSession(session);
+                return false;
+            }
+            session.close();
+            throw new ClamAVClientNotAvailableException("ClamAV could not scan the file: " + reply);
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+            throw new ClamAVClientNotAvailableException("ClamAV service not available or server aborted connection.", e);
+        } finally {
+            scanPermits.release();
+        }
+    }
+
+    private ClamdSession borrowSession() throws IOException {
+        final long now = clock.millis();
+        ClamdSession session;
+        while ((session = idleSessions.pollFirst()) != null) {
+            if (!session.isExpired(now, sessionIdleTimeoutInMs)) {
+                return session;
+            }
+            session.close();
+        }
+        return openSession();
+    }
+
+    private ClamdSession openSession() throws IOException {
+        return ClamdSession.open(clamdHost, clamdPort, connTimeOut, clock.millis());
+    }
+
+    private void releaseSession(ClamdSession session) {
+        session.markIdle(clock.millis());
+        idleSessions.offerFirst(session);
+    }
 }
@@ -0,0 +1,116 @@
+package gov.samhsa.c2s.pcm.infrastructure.security;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A clamd connection in IDSESSION mode, so that several INSTREAM scans can be sent over the same socket.
+ * A session is used by one thread at a time.
+ */
+class ClamdSession implements Closeable {
+
+    private static final byte[] IDSESSION = "zIDSESSION\0".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INSTREAM = "zINSTREAM\0".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END = "zEND\0".getBytes(StandardCharsets.US_ASCII);
+    private static final int CHUNK_SIZE = 2048;
+
+    private final Socket socket;
+    private final DataOutputStream out;
+    private final InputStream in;
+    private long lastUsedAt;
+    private boolean reused;
+
+    private ClamdSession(Socket socket, long now) throws IOException {
+        this.socket = socket;
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), CHUNK_SIZE + 4));
+        this.in = new BufferedInputStream(socket.getInputStream());
+        this.lastUsedAt = now;
+    }
+
+    static ClamdSession open(String host, int port, int timeout, long now) throws IOException {
+        final Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), timeout);
+            socket.setSoTimeout(timeout);
+            final ClamdSession session = new ClamdSession(socket, now);
+            session.out.write(IDSESSION);
+            session.out.flush();
+            return session;
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Streams the content to clamd in chunks and returns the scan reply without its session id prefix.
+     */
+    String scan(byte[] content) throws IOException {
+        out.write(INSTREAM);
+        for (int offset = 0; offset < content.length; offset += CHUNK_SIZE) {
+            final int length = Math.min(CHUNK_SIZE, content.length - offset);
+            out.writeInt(length);
+            out.write(content, offset, length);
+        }
+        out.writeInt(0);
+        out.flush();
+        return stripSessionId(readReply());
+    }
+
+    boolean isExpired(long now, long idleTimeoutInMs) {
+        return now - lastUsedAt >= idleTimeoutInMs;
+    }
+
+    void markIdle(long now) {
+        this.lastUsedAt = now;
+        this.reused = true;
+    }
+
+    /**
+     * Whether the session has already served a scan, in which case clamd may have closed it in the meantime.
+     */
+    boolean isReused() {
+        return reused;
+    }
+
+    @Override
+    public void close() {
+        try {
+            out.write(END);
+            out.flush();
+        } catch (IOException e) {
+            // the session is being discarded anyway
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // nothing left to release
+        }
+    }
+
+    private String readReply() throws IOException {
+        final ByteArrayOutputStream reply = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) != 0) {
+            if (b == -1) {
+                throw new EOFException("clamd closed the session");
+            }
+            reply.write(b);
+        }
+        return new String(reply.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    private static String stripSessionId(String reply) {
+        final int separator = reply.indexOf(": ");
+        return separator < 0 ? reply : reply.substring(separator + 2);
+    }
+}
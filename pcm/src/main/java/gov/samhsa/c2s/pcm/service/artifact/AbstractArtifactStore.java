@@ -0,0 +1,92 @@
+package gov.samhsa.c2s.pcm.service.artifact;
+
+import gov.samhsa.c2s.pcm.service.exception.ArtifactStoreException;
+import gov.samhsa.c2s.pcm.service.util.ContentHashUtil;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Hashing and compression shared by the artifact store backends. Backends only persist and stream the
+ * gzip compressed bytes.
+ */
+public abstract class AbstractArtifactStore implements ArtifactStore {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 8192;
+
+    @Override
+    public String store(byte[] content) {
+        Assert.notNull(content, "Artifact content is required");
+        final String key = hash(content);
+        if (!contains(key)) {
+            write(key, compress(content), content.length);
+        }
+        return key;
+    }
+
+    @Override
+    public void copyTo(String key, OutputStream out) {
+        copyTo(key, out, 0, Long.MAX_VALUE);
+    }
+
+    @Override
+    public byte[] read(String key) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        copyTo(key, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Persists the compressed content under the key. Concurrent writers of the same key write the same
+     * bytes, so implementations only need to make sure a reader never sees a partial artifact.
+     *
+     * @param key               the artifact key
+     * @param compressedContent the gzip compressed content
+     * @param size              the uncompressed size in bytes
+     */
+    protected abstract void write(String key, byte[] compressedContent, long size);
+
+    protected static void assertValidKey(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new ArtifactStoreException("Invalid artifact key: " + key);
+        }
+    }
+
+    /**
+     * Copies {@code length} uncompressed bytes starting at {@code offset}, or everything from the offset on
+     * when the length is {@link Long#MAX_VALUE}.
+     */
+    protected static void copy(InputStream in, boolean compressed, OutputStream out, long offset, long length)
+            throws IOException {
+        final InputStream source = compressed ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+        if (offset == 0 && length == Long.MAX_VALUE) {
+            StreamUtils.copy(source, out);
+        } else if (length == Long.MAX_VALUE) {
+            StreamUtils.copyRange(source, out, offset, Long.MAX_VALUE - 1);
+        } else if (length > 0) {
+            StreamUtils.copyRange(source, out, offset, offset + length - 1);
+        }
+    }
+
+    static String hash(byte[] content) {
+        return ContentHashUtil.sha256Hex(content);
+    }
+
+    static byte[] compress(byte[] content) {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed, BUFFER_SIZE)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new ArtifactStoreException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,68 @@
+package gov.samhsa.c2s.pcm.service.artifact;
+
+import java.io.OutputStream;
+
+/**
+ * Content-addressed store for the generated and signed consent documents.
+ * <p>
+ * Every artifact is keyed by the lowercase hex SHA-256 of its uncompressed content, so storing the
+ * same document twice keeps a single copy and returns the same key.
+ */
+public interface ArtifactStore {
+
+    /**
+     * Stores the content unless an artifact with the same key already exists.
+     *
+     * @param content the artifact content
+     * @return the artifact key
+     */
+    String store(byte[] content);
+
+    /**
+     * Checks whether an artifact is stored under the key.
+     *
+     * @param key the artifact key
+     * @return true if the artifact exists
+     */
+    boolean contains(String key);
+
+    /**
+     * Streams the uncompressed content of the artifact to the output stream without holding the whole
+     * artifact in memory.
+     *
+     * @param key the artifact key
+     * @param out the output stream, which is left open
+     * @throws gov.samhsa.c2s.pcm.service.exception.ArtifactStoreException if the artifact does not exist or cannot be read
+     */
+    void copyTo(String key, OutputStream out);
+
+    /**
+     * Streams {@code length} bytes of the uncompressed content starting at {@code offset}, as used to answer
+     * HTTP range requests.
+     *
+     * @param key    the artifact key
+     * @param out    the output stream, which is left open
+     * @param offset the offset of the first byte in the uncompressed content
+     * @param length the number of bytes to copy, or {@link Long#MAX_VALUE} to copy up to the end
+     * @throws gov.samhsa.c2s.pcm.service.exception.ArtifactStoreException if the artifact does not exist or cannot be read
+     */
+    void copyTo(String key, OutputStream out, long offset, long length);
+
+    /**
+     * Gets the uncompressed size of the artifact without reading its content.
+     *
+     * @param key the artifact key
+     * @return the size in bytes
+     * @throws gov.samhsa.c2s.pcm.service.exception.ArtifactStoreException if the artifact does not exist or cannot be read
+     */
+    long getSize(String key);
+
+    /**
+     * Reads the whole uncompressed content of the artifact.
+     *
+     * @param key the artifact key
+     * @return the artifact content
+     * @throws gov.samhsa.c2s.pcm.service.exception.ArtifactStoreException if the artifact does not exist or cannot be read
+     */
+    byte[] read(String key);
+}
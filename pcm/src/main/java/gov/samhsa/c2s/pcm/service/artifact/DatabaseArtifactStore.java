@@ -0,0 +1,77 @@
+package gov.samhsa.c2s.pcm.service.artifact;
+
+import gov.samhsa.c2s.pcm.infrastructure.ChunkedBlobInputStream;
+import gov.samhsa.c2s.pcm.service.exception.ArtifactStoreException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Keeps the artifacts in the {@code artifact} table, outside of the consent rows. Writes join the
+ * surrounding transaction, so an artifact stored while saving a consent is rolled back with it. Reads
+ * fetch the content in chunks, so a large artifact is never held in memory as a whole.
+ */
+public class DatabaseArtifactStore extends AbstractArtifactStore {
+
+    private static final String CONTAINS_SQL = "SELECT COUNT(*) FROM artifact WHERE artifact_key = ?";
+    private static final String INSERT_SQL = "INSERT IGNORE INTO artifact "
+            + "(artifact_key, content, compressed, size, created_date_time) VALUES (?, ?, 1, ?, ?)";
+    private static final String SELECT_COMPRESSED_SQL = "SELECT compressed FROM artifact WHERE artifact_key = ?";
+    private static final String SELECT_CHUNK_SQL = "SELECT SUBSTRING(content, ?, ?) FROM artifact WHERE artifact_key = ?";
+    private static final String SELECT_SIZE_SQL = "SELECT size FROM artifact WHERE artifact_key = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseArtifactStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean contains(String key) {
+        assertValidKey(key);
+        return jdbcTemplate.queryForObject(CONTAINS_SQL, Integer.class, key) > 0;
+    }
+
+    @Override
+    public void copyTo(String key, OutputStream out, long offset, long length) {
+        assertValidKey(key);
+        final List<Boolean> compressedFlags = jdbcTemplate.queryForList(SELECT_COMPRESSED_SQL, Boolean.class, key);
+        if (compressedFlags.isEmpty()) {
+            throw new ArtifactStoreException("Artifact not found: " + key);
+        }
+        // legacy artifacts moved out of the consent tables by the migration are not compressed, so only their
+        // range is read; a compressed artifact is inflated from its start
+        final boolean compressed = Boolean.TRUE.equals(compressedFlags.get(0));
+        try (InputStream content = compressed
+                ? new ChunkedBlobInputStream(jdbcTemplate, SELECT_CHUNK_SQL, key)
+                : new ChunkedBlobInputStream(jdbcTemplate, SELECT_CHUNK_SQL, key, offset, length,
+                ChunkedBlobInputStream.DEFAULT_CHUNK_SIZE)) {
+            if (compressed) {
+                copy(content, true, out, offset, length);
+            } else {
+                copy(content, false, out, 0, Long.MAX_VALUE);
+            }
+        } catch (IOException e) {
+            throw new ArtifactStoreException("Cannot read artifact " + key, e);
+        }
+    }
+
+    @Override
+    public long getSize(String key) {
+        assertValidKey(key);
+        final List<Long> sizes = jdbcTemplate.queryForList(SELECT_SIZE_SQL, Long.class, key);
+        if (sizes.isEmpty()) {
+            throw new ArtifactStoreException("Artifact not found: " + key);
+        }
+        return sizes.get(0);
+    }
+
+    @Override
+    protected void write(String key, byte[] compressedContent, long size) {
+        jdbcTemplate.update(INSERT_SQL, key, compressedContent, size, new Timestamp(System.currentTimeMillis()));
+    }
+}
@@ -0,0 +1,109 @@
+package gov.samhsa.c2s.pcm.service.artifact;
+
+import gov.samhsa.c2s.pcm.service.exception.ArtifactStoreException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Keeps every artifact in its own gzip file under {@code <root>/<key[0..2]>/<key[2..4]>/<key>.gz}.
+ * <p>
+ * Artifacts written before the store was switched to the file system are still read from the
+ * fallback store.
+ */
+public class FileSystemArtifactStore extends AbstractArtifactStore {
+
+    private static final String FILE_EXTENSION = ".gz";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final int GZIP_SIZE_LENGTH = 4;
+
+    private final Path rootDirectory;
+    private final ArtifactStore fallbackArtifactStore;
+
+    public FileSystemArtifactStore(Path rootDirectory, ArtifactStore fallbackArtifactStore) {
+        this.rootDirectory = rootDirectory;
+        this.fallbackArtifactStore = fallbackArtifactStore;
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return Files.exists(resolve(key))
+                || (fallbackArtifactStore != null && fallbackArtifactStore.contains(key));
+    }
+
+    @Override
+    public void copyTo(String key, OutputStream out, long offset, long length) {
+        final Path file = resolve(key);
+        if (!Files.exists(file) && fallbackArtifactStore != null) {
+            fallbackArtifactStore.copyTo(key, out, offset, length);
+            return;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            copy(in, true, out, offset, length);
+        } catch (IOException e) {
+            throw new ArtifactStoreException("Cannot read artifact " + key, e);
+        }
+    }
+
+    @Override
+    public long getSize(String key) {
+        final Path file = resolve(key);
+        if (!Files.exists(file) && fallbackArtifactStore != null) {
+            return fallbackArtifactStore.getSize(key);
+        }
+        // the gzip trailer ends with the uncompressed size modulo 2^32, little endian
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            final ByteBuffer trailer = ByteBuffer.allocate(GZIP_SIZE_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+            channel.position(channel.size() - GZIP_SIZE_LENGTH);
+            while (trailer.hasRemaining()) {
+                if (channel.read(trailer) < 0) {
+                    throw new EOFException("Truncated artifact " + key);
+                }
+            }
+            trailer.flip();
+            return trailer.getInt() & 0xffffffffL;
+        } catch (IOException e) {
+            throw new ArtifactStoreException("Cannot read artifact " + key, e);
+        }
+    }
+
+    @Override
+    protected void write(String key, byte[] compressedContent, long size) {
+        final Path file = resolve(key);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(file.getParent());
+            // write next to the target and rename, so readers never see a partially written artifact
+            tempFile = Files.createTempFile(file.getParent(), key, TEMP_FILE_EXTENSION);
+            Files.write(tempFile, compressedContent);
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ArtifactStoreException("Cannot write artifact " + key, e);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private Path resolve(String key) {
+        assertValidKey(key);
+        return rootDirectory.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key + FILE_EXTENSION);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                // a leftover temp file never shadows an artifact
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package gov.samhsa.c2s.pcm.service.audit;
+
+import gov.samhsa.c2s.pcm.service.audit.domain.ActivityHistory;
+import gov.samhsa.c2s.pcm.service.dto.HistoryDto;
+
+/**
+ * Maps activity history rows to history DTOs with plain getters and setters.
+ */
+public interface ActivityHistoryMapper {
+
+    HistoryDto toHistoryDto(ActivityHistory activityHistory);
+}
@@ -0,0 +1,26 @@
+package gov.samhsa.c2s.pcm.service.audit;
+
+import gov.samhsa.c2s.pcm.service.audit.domain.ActivityHistory;
+import gov.samhsa.c2s.pcm.service.dto.HistoryDto;
+import org.springframework.stereotype.Service;
+
+/**
+ * The Class ActivityHistoryMapperImpl.
+ */
+@Service
+public class ActivityHistoryMapperImpl implements ActivityHistoryMapper {
+
+    @Override
+    public HistoryDto toHistoryDto(ActivityHistory activityHistory) {
+        HistoryDto historyDto = new HistoryDto();
+        historyDto.setActivityId(activityHistory.getId());
+        if (activityHistory.getRevisionid() != null) {
+            historyDto.setRevisionid(activityHistory.getRevisionid());
+        }
+        historyDto.setChangedDateTime(activityHistory.getChangedDateTime());
+        historyDto.setChangedBy(activityHistory.getChangedBy());
+        historyDto.setRecType(activityHistory.getRecType());
+        historyDto.setType(activityHistory.getType());
+        return historyDto;
+    }
+}
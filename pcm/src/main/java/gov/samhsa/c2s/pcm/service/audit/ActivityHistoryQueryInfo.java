@@ -13,11 +13,21 @@ public RowMapper getRowMapper() {
 
     @Override
     public String getTableName() {
-        return "revinfo";
+        return "patient_activity";
     }
 
     @Override
     public String getIdColumn() {
-        return "r.username";
+        return "pa.username";
+    }
+
+    @Override
+    public String getKeysetColumn() {
+        return "pa.id";
+    }
+
+    @Override
+    public String getKeysetColumnLabel() {
+        return "activity_id";
     }
 }
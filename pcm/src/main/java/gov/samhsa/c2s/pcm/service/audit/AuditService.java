@@ -26,6 +26,7 @@
 package gov.samhsa.c2s.pcm.service.audit;
 
 import gov.samhsa.c2s.pcm.service.dto.ActivityHistoryListDto;
+import gov.samhsa.c2s.pcm.service.dto.ActivityHistorySliceDto;
 
 /**
  * The Interface AuditService.
@@ -40,4 +41,13 @@ public interface AuditService {
      * @return
      */
     ActivityHistoryListDto findAllActivityHistoryPageable(String username, int pageNumber);
+
+    /**
+     * Find Activity History newest first, continuing from a cursor
+     * @param username
+     * @param cursor the next cursor of the previous slice, or null for the newest activities
+     * @param includeTotal whether to count all the activities
+     * @return
+     */
+    ActivityHistorySliceDto findActivityHistorySlice(String username, String cursor, boolean includeTotal);
 }
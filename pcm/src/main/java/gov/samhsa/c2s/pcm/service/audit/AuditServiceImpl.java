@@ -26,15 +26,17 @@
 package gov.samhsa.c2s.pcm.service.audit;
 
 import gov.samhsa.c2s.pcm.config.PcmProperties;
-import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.domain.patient.PatientName;
 import gov.samhsa.c2s.pcm.domain.patient.PatientRepository;
 import gov.samhsa.c2s.pcm.infrastructure.pagination.JdbcPagingException;
 import gov.samhsa.c2s.pcm.infrastructure.pagination.JdbcPagingRepository;
+import gov.samhsa.c2s.pcm.infrastructure.pagination.KeysetCursor;
+import gov.samhsa.c2s.pcm.infrastructure.pagination.KeysetSlice;
 import gov.samhsa.c2s.pcm.service.audit.domain.ActivityHistory;
 import gov.samhsa.c2s.pcm.service.dto.ActivityHistoryListDto;
+import gov.samhsa.c2s.pcm.service.dto.ActivityHistorySliceDto;
 import gov.samhsa.c2s.pcm.service.dto.HistoryDto;
 import gov.samhsa.c2s.pcm.service.exception.ViewActivitiesException;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,8 +49,18 @@
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
 /**
  * The Class AuditServiceImpl.
@@ -59,6 +71,12 @@ public class AuditServiceImpl implements AuditService {
 
     private static final String ID_COLUMN = "activity_id";
 
+    /**
+     * The number of client locales whose translations are kept. Only a few locales are in use at a time, but the
+     * locale comes from the request, so the cache must not grow with every locale a client sends.
+     */
+    private static final int MAX_CACHED_LOCALES = 16;
+
     /**
      * The logger.
      */
@@ -74,7 +92,7 @@ public class AuditServiceImpl implements AuditService {
     private JdbcPagingRepository jdbcPagingRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ActivityHistoryMapper activityHistoryMapper;
 
     @Autowired
     private PcmProperties pcmProperties;
@@ -82,6 +100,23 @@ public class AuditServiceImpl implements AuditService {
     @Autowired
     private MessageSource messageSource;
 
+    /**
+     * The entity type names by revision entity class name.
+     */
+    private final ConcurrentMap<String, String> typesByClassName = new ConcurrentHashMap<>();
+
+    /**
+     * The translated entity type names and revision labels by locale. Guarded by itself; iterates in access order so
+     * that the eldest entry is the least recently used locale.
+     */
+    private final Map<Locale, ConcurrentMap<String, String>> translationsByLocale =
+            new LinkedHashMap<Locale, ConcurrentMap<String, String>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Locale, ConcurrentMap<String, String>> eldest) {
+                    return size() > MAX_CACHED_LOCALES;
+                }
+            };
+
     public AuditServiceImpl() {
     }
 
@@ -104,15 +139,6 @@ public ActivityHistoryListDto findAllActivityHistoryPageable(String username, in
 
             if (pages != null) {
                 activityHistoryDtoList = activityHistoryToHistoryDtoList(pages.getContent());
-                activityHistoryDtoList
-                        .stream()
-                        .forEach(
-                                a -> {
-                                    a.setChangedBy(getFullName(a.getChangedBy()));
-                                    a.setRecType(convertAttestedConsentRevType(a.getRecType(), convertRevClassNameToType(a.getType())));
-                                    a.setType(convertRevClassNameToTypeWithLang(a.getType()));
-                                });
-
             } else {
                 logger.error("No pages found for current page: " + pageNumber);
             }
@@ -133,72 +159,112 @@ public ActivityHistoryListDto findAllActivityHistoryPageable(String username, in
         }
     }
 
+    @Override
+    public ActivityHistorySliceDto findActivityHistorySlice(String username, String cursor, boolean includeTotal) {
+        try {
+            Long beforeKey = cursor == null ? null : KeysetCursor.decode(cursor);
+            KeysetSlice<ActivityHistory> slice = jdbcPagingRepository.findAllByArgsBeforeKey(beforeKey,
+                    pcmProperties.getPagination().getItemsPerPage(), includeTotal, username);
+
+            ActivityHistorySliceDto activityHistorySliceDto = new ActivityHistorySliceDto();
+            activityHistorySliceDto.setHistoryDtoList(activityHistoryToHistoryDtoList(slice.getContent()));
+            activityHistorySliceDto.setNextCursor(slice.hasNext() ? KeysetCursor.encode(slice.getLastKey()) : null);
+            activityHistorySliceDto.setItemsPerPage(slice.getSize());
+            activityHistorySliceDto.setTotalItems(slice.getTotalElements());
+            return activityHistorySliceDto;
+        } catch (JdbcPagingException pageException) {
+            logger.error(pageException.getMessage());
+            throw pageException;
+        } catch (Exception e) {
+            logger.error("View activity history failed: " + e.getMessage());
+            throw new ViewActivitiesException();
+        }
+    }
+
     private List<HistoryDto> activityHistoryToHistoryDtoList(List<ActivityHistory> listOfActivityHistory) {
         List<HistoryDto> historyDtoList = new ArrayList<>();
         for (ActivityHistory activityHistory : listOfActivityHistory) {
-            HistoryDto historyDto = modelMapper.map(activityHistory, HistoryDto.class);
+            HistoryDto historyDto = activityHistoryMapper.toHistoryDto(activityHistory);
             historyDtoList.add(historyDto);
         }
+        enrichHistoryDtoList(historyDtoList);
         return historyDtoList;
     }
 
-    private String getFullName(String username) {
-        Patient patient = patientRepository.findByUsername(username);
-        return patient.getLastName().concat(", ").concat(patient.getFirstName());
+    /**
+     * Replaces the usernames, entity class names and revision labels of a page of history with what is shown, looking
+     * up the names of all the users on the page in one query.
+     */
+    private void enrichHistoryDtoList(List<HistoryDto> historyDtoList) {
+        if (historyDtoList.isEmpty()) {
+            return;
+        }
+        Map<String, String> fullNames = getFullNames(historyDtoList.stream()
+                .map(HistoryDto::getChangedBy)
+                .filter(Objects::nonNull)
+                .collect(toSet()));
+        Locale locale = LocaleContextHolder.getLocale();
+        for (HistoryDto historyDto : historyDtoList) {
+            String type = convertRevClassNameToType(historyDto.getType());
+            historyDto.setChangedBy(fullNames.getOrDefault(historyDto.getChangedBy(), historyDto.getChangedBy()));
+            historyDto.setRecType(convertAttestedConsentRevType(historyDto.getRecType(), type, locale));
+            historyDto.setType(translate(type, locale));
+        }
     }
 
-    private String convertRevClassNameToType(String revClassName) {
-        String type = revClassName
-                .substring(revClassName.lastIndexOf('.') + 1).trim()
-                .replaceAll("(\\p{Ll})(\\p{Lu})", "$1 $2");
-
-        switch (type) {
-            case "Individual Provider":
-            case "Organizational Provider":
-                type = "Patient Provider";
-                break;
-            default:
-                return type;
+    private Map<String, String> getFullNames(Set<String> usernames) {
+        if (usernames.isEmpty()) {
+            return Collections.emptyMap();
         }
-        return type;
+        return patientRepository.findNamesByUsernameIn(usernames).stream()
+                .collect(toMap(PatientName::getUsername,
+                        patientName -> patientName.getLastName().concat(", ").concat(patientName.getFirstName())));
     }
 
-    //convert type name with desired language
-    private String convertRevClassNameToTypeWithLang(String revType) {
-        String type = convertRevClassNameToType (revType);
-        if (LocaleContextHolder.getLocale().getLanguage().equalsIgnoreCase("en")) {
-            return type;
-        } else {
-            return replaceWithDesignedLang(type);
-        }
+    private String convertRevClassNameToType(String revClassName) {
+        return typesByClassName.computeIfAbsent(revClassName, className -> {
+            String type = className
+                    .substring(className.lastIndexOf('.') + 1).trim()
+                    .replaceAll("(\\p{Ll})(\\p{Lu})", "$1 $2");
+
+            switch (type) {
+                case "Individual Provider":
+                case "Organizational Provider":
+                    return "Patient Provider";
+                default:
+                    return type;
+            }
+        });
     }
 
-    private String convertAttestedConsentRevType(String revType, String type) {
-        boolean returnRevType = false;
+    private String convertAttestedConsentRevType(String revType, String type, Locale locale) {
         switch (type) {
             case "Attested Consent":
-                type = "Sign entry";
-                break;
+                return translate("Sign entry", locale);
             case "Attested Consent Revocation":
-                type = "Revoke entry";
-                break;
+                return translate("Revoke entry", locale);
             default:
-                returnRevType = true;
+                return translate(revType, locale);
         }
-        if (LocaleContextHolder.getLocale().getLanguage().equalsIgnoreCase("en")) {
-            return returnRevType ? revType : type;
-        } else {
-            return returnRevType ? replaceWithDesignedLang(revType) : replaceWithDesignedLang(type);
+    }
+
+    //convert type name with desired language
+    private String translate(String str, Locale locale) {
+        if (locale.getLanguage().equalsIgnoreCase("en") || str == null) {
+            return str;
         }
-        //return type;
+        final ConcurrentMap<String, String> translations;
+        synchronized (translationsByLocale) {
+            translations = translationsByLocale.computeIfAbsent(locale, l -> new ConcurrentHashMap<>());
+        }
+        return translations.computeIfAbsent(str, s -> replaceWithDesignedLang(s, locale));
     }
 
     /**
      * get type name in designed language
      *
      * */
-    private String replaceWithDesignedLang(String str) {
-        Locale locale = LocaleContextHolder.getLocale();
+    private String replaceWithDesignedLang(String str, Locale locale) {
         switch (str) {
             case "Patient Provider":
                 return messageSource.getMessage("REV.TYPE.PATIENT.PROVIDER", null, locale);
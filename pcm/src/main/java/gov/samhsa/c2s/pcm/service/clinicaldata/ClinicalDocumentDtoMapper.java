@@ -0,0 +1,18 @@
+package gov.samhsa.c2s.pcm.service.clinicaldata;
+
+import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocument;
+import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentMetadata;
+import gov.samhsa.c2s.pcm.service.dto.ClinicalDocumentDto;
+
+/**
+ * Maps clinical document entities to clinical document DTOs with plain getters and setters.
+ */
+public interface ClinicalDocumentDtoMapper {
+
+    ClinicalDocumentDto toClinicalDocumentDto(ClinicalDocument clinicalDocument);
+
+    /**
+     * Maps the listing details of a clinical document; the content is left unset.
+     */
+    ClinicalDocumentDto toClinicalDocumentDto(ClinicalDocumentMetadata metadata);
+}
@@ -0,0 +1,74 @@
+package gov.samhsa.c2s.pcm.service.clinicaldata;
+
+import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocument;
+import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentMetadata;
+import gov.samhsa.c2s.pcm.domain.reference.ClinicalDocumentTypeCode;
+import gov.samhsa.c2s.pcm.service.dto.ClinicalDocumentDto;
+import gov.samhsa.c2s.pcm.service.dto.LookupDto;
+import org.springframework.stereotype.Service;
+
+/**
+ * The Class ClinicalDocumentDtoMapperImpl.
+ */
+@Service
+public class ClinicalDocumentDtoMapperImpl implements ClinicalDocumentDtoMapper {
+
+    @Override
+    public ClinicalDocumentDto toClinicalDocumentDto(ClinicalDocument clinicalDocument) {
+        ClinicalDocumentDto clinicalDocumentDto = new ClinicalDocumentDto();
+        clinicalDocumentDto.setId(clinicalDocument.getId() == null ? null : clinicalDocument.getId().toString());
+        clinicalDocumentDto.setVersion(clinicalDocument.getVersion());
+        clinicalDocumentDto.setName(clinicalDocument.getName());
+        clinicalDocumentDto.setClinicalDocumentTypeCode(toLookupDto(clinicalDocument.getClinicalDocumentTypeCode()));
+        clinicalDocumentDto.setDescription(clinicalDocument.getDescription());
+        clinicalDocumentDto.setFilename(clinicalDocument.getFilename());
+        clinicalDocumentDto.setContent(clinicalDocument.getContent());
+        clinicalDocumentDto.setContentHash(clinicalDocument.getContentHash());
+        clinicalDocumentDto.setContentType(clinicalDocument.getContentType());
+        clinicalDocumentDto.setDocumentSize(clinicalDocument.getDocumentSize());
+        clinicalDocumentDto.setDocumentUrl(clinicalDocument.getDocumentUrl());
+        if (clinicalDocument.getPatient() != null && clinicalDocument.getPatient().getId() != null) {
+            clinicalDocumentDto.setPatientId(clinicalDocument.getPatient().getId());
+        }
+        return clinicalDocumentDto;
+    }
+
+    @Override
+    public ClinicalDocumentDto toClinicalDocumentDto(ClinicalDocumentMetadata metadata) {
+        ClinicalDocumentDto clinicalDocumentDto = new ClinicalDocumentDto();
+        clinicalDocumentDto.setId(metadata.getId() == null ? null : metadata.getId().toString());
+        clinicalDocumentDto.setVersion(metadata.getVersion());
+        clinicalDocumentDto.setName(metadata.getName());
+        if (metadata.getTypeCode() != null) {
+            LookupDto lookupDto = new LookupDto();
+            lookupDto.setCode(metadata.getTypeCode());
+            lookupDto.setCodeSystem(metadata.getTypeCodeSystem());
+            lookupDto.setDisplayName(metadata.getTypeDisplayName());
+            lookupDto.setCodeSystemName(metadata.getTypeCodeSystemName());
+            lookupDto.setOriginalText(metadata.getTypeOriginalText());
+            clinicalDocumentDto.setClinicalDocumentTypeCode(lookupDto);
+        }
+        clinicalDocumentDto.setDescription(metadata.getDescription());
+        clinicalDocumentDto.setFilename(metadata.getFilename());
+        clinicalDocumentDto.setContentType(metadata.getContentType());
+        clinicalDocumentDto.setDocumentSize(metadata.getDocumentSize());
+        clinicalDocumentDto.setDocumentUrl(metadata.getDocumentUrl());
+        if (metadata.getPatientId() != null) {
+            clinicalDocumentDto.setPatientId(metadata.getPatientId());
+        }
+        return clinicalDocumentDto;
+    }
+
+    private static LookupDto toLookupDto(ClinicalDocumentTypeCode clinicalDocumentTypeCode) {
+        if (clinicalDocumentTypeCode == null) {
+            return null;
+        }
+        LookupDto lookupDto = new LookupDto();
+        lookupDto.setCode(clinicalDocumentTypeCode.getCode());
+        lookupDto.setCodeSystem(clinicalDocumentTypeCode.getCodeSystem());
+        lookupDto.setDisplayName(clinicalDocumentTypeCode.getDisplayName());
+        lookupDto.setCodeSystemName(clinicalDocumentTypeCode.getCodeSystemName());
+        lookupDto.setOriginalText(clinicalDocumentTypeCode.getOriginalText());
+        return lookupDto;
+    }
+}
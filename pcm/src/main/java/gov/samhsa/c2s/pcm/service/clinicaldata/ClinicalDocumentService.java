@@ -29,6 +29,7 @@
 import gov.samhsa.c2s.pcm.domain.patient.Patient;
 import gov.samhsa.c2s.pcm.service.dto.CCDDto;
 import gov.samhsa.c2s.pcm.service.dto.ClinicalDocumentDto;
+import gov.samhsa.c2s.pcm.service.dto.DownloadDto;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -108,6 +109,16 @@ public interface ClinicalDocumentService {
      */
     public abstract ClinicalDocumentDto findClinicalDocumentDto(String usrename, long documentId);
 
+    /**
+     * Find the clinical document dto without its content.
+     *
+     * @param username   the patient username
+     * @param documentId the document id
+     * @return the clinical document dto, with no content
+     * @throws java.util.NoSuchElementException if the document does not belong to the patient
+     */
+    ClinicalDocumentDto findClinicalDocumentMetadataDto(String username, long documentId);
+
 
     /**
      * Find by patient.
@@ -151,9 +162,27 @@ public interface ClinicalDocumentService {
      */
     public abstract CCDDto findCCDDto(String username, long documentId);
 
+    /**
+     * Finds the streamed download of the clinical document content.
+     *
+     * @param username   the patient username
+     * @param documentId the clinical document id
+     * @return the download dto
+     * @throws java.util.NoSuchElementException if the document does not belong to the patient
+     */
+    DownloadDto findClinicalDocumentDownloadDto(String username, long documentId);
+
     boolean isDocumentOversized(MultipartFile file);
 
     boolean isDocumentExtensionPermitted(MultipartFile file);
 
     void validate(MultipartFile file) throws IOException;
+
+    /**
+     * Validates the clinical document content with DSS.
+     *
+     * @param content     the clinical document content
+     * @param contentHash the hex encoded SHA-256 of the content
+     */
+    void validate(byte[] content, String contentHash);
 }
@@ -27,17 +27,19 @@
 
 import gov.samhsa.c2s.pcm.config.PcmProperties;
 import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocument;
+import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentContentMetadata;
+import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentContentRepository;
+import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentMetadata;
 import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentRepository;
 import gov.samhsa.c2s.pcm.domain.patient.Patient;
 import gov.samhsa.c2s.pcm.domain.patient.PatientRepository;
 import gov.samhsa.c2s.pcm.domain.reference.ClinicalDocumentTypeCodeRepository;
-import gov.samhsa.c2s.pcm.infrastructure.DssService;
-import gov.samhsa.c2s.pcm.infrastructure.dto.ClinicalDocumentValidationRequest;
-import gov.samhsa.c2s.pcm.infrastructure.dto.ClinicalDocumentValidationResult;
 import gov.samhsa.c2s.pcm.service.dto.CCDDto;
 import gov.samhsa.c2s.pcm.service.dto.ClinicalDocumentDto;
+import gov.samhsa.c2s.pcm.service.dto.DownloadDto;
 import gov.samhsa.c2s.pcm.service.dto.LookupDto;
-import org.modelmapper.ModelMapper;
+import gov.samhsa.c2s.pcm.service.exception.InternalServerErrorException;
+import gov.samhsa.c2s.pcm.service.util.ContentHashUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -50,10 +52,13 @@
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -63,6 +68,11 @@
 @Service
 public class ClinicalDocumentServiceImpl implements ClinicalDocumentService {
 
+    /**
+     * The initial buffer size for content of documents stored without a size.
+     */
+    private static final int DEFAULT_CONTENT_BUFFER_SIZE = 8192;
+
     /**
      * The logger.
      */
@@ -92,6 +102,12 @@ public class ClinicalDocumentServiceImpl implements ClinicalDocumentService {
     @Autowired
     private ClinicalDocumentRepository clinicalDocumentRepository;
 
+    /**
+     * The clinical document content repository.
+     */
+    @Autowired
+    private ClinicalDocumentContentRepository clinicalDocumentContentRepository;
+
     /**
      * The clinical document type code repository.
      */
@@ -99,10 +115,10 @@ public class ClinicalDocumentServiceImpl implements ClinicalDocumentService {
     private ClinicalDocumentTypeCodeRepository clinicalDocumentTypeCodeRepository;
 
     /**
-     * The model mapper.
+     * The clinical document dto mapper.
      */
     @Autowired
-    private ModelMapper modelMapper;
+    private ClinicalDocumentDtoMapper clinicalDocumentDtoMapper;
 
     /**
      * The patient repository.
@@ -117,7 +133,7 @@ public class ClinicalDocumentServiceImpl implements ClinicalDocumentService {
     private Validator validator;
 
     @Autowired
-    private DssService dssService;
+    private ClinicalDocumentValidator clinicalDocumentValidator;
 
     public ClinicalDocumentServiceImpl() {
     }
@@ -128,7 +144,7 @@ public ClinicalDocumentServiceImpl() {
      * @param pcmProperties                      PCM properties
      * @param clinicalDocumentRepository         the clinical document repository
      * @param clinicalDocumentTypeCodeRepository the clinical document type code repository
-     * @param modelMapper                        the model mapper
+     * @param clinicalDocumentDtoMapper          the clinical document dto mapper
      * @param patientRepository                  the patient repository
      * @param validator                          the validator
      */
@@ -136,14 +152,15 @@ public ClinicalDocumentServiceImpl(
             PcmProperties pcmProperties,
             ClinicalDocumentRepository clinicalDocumentRepository,
             ClinicalDocumentTypeCodeRepository clinicalDocumentTypeCodeRepository,
-            ModelMapper modelMapper, PatientRepository patientRepository, Validator validator) {
+            ClinicalDocumentDtoMapper clinicalDocumentDtoMapper, PatientRepository patientRepository,
+            Validator validator) {
         super();
         this.pcmProperties = pcmProperties;
         this.maxFileSize = pcmProperties.getClinicaldata().getMaximumUploadFileSize();
         this.permittedExtensions = pcmProperties.getClinicaldata().getExtensionsPermittedToUpload();
         this.clinicalDocumentRepository = clinicalDocumentRepository;
         this.clinicalDocumentTypeCodeRepository = clinicalDocumentTypeCodeRepository;
-        this.modelMapper = modelMapper;
+        this.clinicalDocumentDtoMapper = clinicalDocumentDtoMapper;
         this.patientRepository = patientRepository;
         this.validator = validator;
     }
@@ -195,10 +212,8 @@ public void deleteClinicalDocument(Long documentId) {
      */
     @Override
     public ClinicalDocument findClinicalDocument(String username, Long id) {
-        return patientRepository.findByUsername(username).getClinicalDocuments()
-                .stream()
-                .filter(doc -> doc.getId().equals(id))
-                .findAny()
+        return Optional.ofNullable(clinicalDocumentRepository
+                .findByIdAndPatientUsername(id, username))
                 .get();
     }
 
@@ -268,23 +283,59 @@ public ClinicalDocument updateClinicalDocument(
      */
     @Override
     public ClinicalDocumentDto findClinicalDocumentDto(String username, long documentId) {
+        // the mapper takes the patient id from the document, which is owned by this username
         ClinicalDocument clinicalDocument = findClinicalDocument(username, documentId);
-        ClinicalDocumentDto clinicalDocumentDto = modelMapper.map(
-                clinicalDocument, ClinicalDocumentDto.class);
+        return clinicalDocumentDtoMapper.toClinicalDocumentDto(clinicalDocument);
+    }
 
-        // manual mapping without using model mapper
-        clinicalDocumentDto.setPatientId(patientRepository.findByUsername(
-                username).getId());
-        return clinicalDocumentDto;
+    @Override
+    @Transactional(readOnly = true)
+    public ClinicalDocumentDto findClinicalDocumentMetadataDto(String username, long documentId) {
+        final ClinicalDocumentMetadata metadata = Optional.ofNullable(clinicalDocumentRepository
+                .findMetadataByIdAndPatientUsername(documentId, username))
+                .get();
+        return clinicalDocumentDtoMapper.toClinicalDocumentDto(metadata);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CCDDto findCCDDto(String username, long documentId) {
-        ClinicalDocument clinicalDocument = findClinicalDocument(username, documentId);
-        ClinicalDocumentDto clinicalDocumentDto = modelMapper.map(clinicalDocument, ClinicalDocumentDto.class);
-        clinicalDocumentDto.setPatientId(patientRepository.findByUsername(username).getId());
-        CCDDto ccdDto = new CCDDto(clinicalDocumentDto.getContent());
-        return ccdDto;
+        final ClinicalDocumentContentMetadata metadata = Optional.ofNullable(clinicalDocumentRepository
+                .findContentMetadataByIdAndPatientUsername(documentId, username))
+                .get();
+        // copy the content straight from the LOB instead of loading the whole entity; documents stored without a size
+        // are copied to the end of the LOB into a buffer that grows as needed
+        final Long documentSize = metadata.getDocumentSize();
+        final ByteArrayOutputStream content = new ByteArrayOutputStream(
+                documentSize != null ? documentSize.intValue() : DEFAULT_CONTENT_BUFFER_SIZE);
+        try {
+            if (!clinicalDocumentContentRepository.copyContentTo(metadata.getId(), content, 0,
+                    documentSize != null ? documentSize : Long.MAX_VALUE)) {
+                throw new NoSuchElementException("Clinical document " + documentId + " not found");
+            }
+        } catch (IOException e) {
+            throw new InternalServerErrorException("Resource Not Found", e);
+        }
+        return new CCDDto(content.toByteArray());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DownloadDto findClinicalDocumentDownloadDto(String username, long documentId) {
+        final ClinicalDocumentContentMetadata metadata = Optional.ofNullable(clinicalDocumentRepository
+                .findContentMetadataByIdAndPatientUsername(documentId, username))
+                .get();
+        return DownloadDto.builder()
+                .etag(metadata.getContentHash())
+                .contentType(metadata.getContentType())
+                .contentLength(metadata.getDocumentSize())
+                .immutable(false)
+                .contentWriter((out, offset, length) -> {
+                    if (!clinicalDocumentContentRepository.copyContentTo(metadata.getId(), out, offset, length)) {
+                        throw new InternalServerErrorException("Resource Not Found");
+                    }
+                })
+                .build();
     }
 
     /*
@@ -337,10 +388,11 @@ public List<ClinicalDocumentDto> findClinicalDocumentDtoByPatientId(
     public boolean isDocumentBelongsToThisUser(
             String username,
             ClinicalDocumentDto clinicalDocumentDto) {
-        Patient patient = patientRepository.findByUsername(username);
-        List<ClinicalDocumentDto> clinicaldocumentDtos = findDtoByPatient(patient);
-        return clinicaldocumentDtos.stream()
-                .anyMatch(doc -> doc.getId().equals(clinicalDocumentDto.getId()));
+        if (clinicalDocumentDto == null || clinicalDocumentDto.getId() == null) {
+            return false;
+        }
+        return clinicalDocumentRepository.countByIdAndPatientUsername(
+                Long.valueOf(clinicalDocumentDto.getId()), username) > 0;
     }
 
     /*
@@ -386,19 +438,13 @@ public boolean isDocumentExtensionPermitted(MultipartFile file) {
 
     @Override
     public void validate(MultipartFile file) throws IOException {
-        byte[] clinicalDocument = file.getBytes();
-        invokeDssService(clinicalDocument);
+        final byte[] content = file.getBytes();
+        validate(content, ContentHashUtil.sha256Hex(content));
     }
 
-    private ClinicalDocumentValidationResult invokeDssService(byte[] document) {
-        ClinicalDocumentValidationRequest request = createValidationRequest(document);
-        return dssService.validateClinicalDocument(request);
-    }
-
-    private ClinicalDocumentValidationRequest createValidationRequest(byte[] document) {
-        ClinicalDocumentValidationRequest validationRequest = new ClinicalDocumentValidationRequest();
-        validationRequest.setDocument(document);
-        return validationRequest;
+    @Override
+    public void validate(byte[] content, String contentHash) {
+        clinicalDocumentValidator.validate(content, contentHash);
     }
 
     /**
@@ -424,14 +470,13 @@ boolean validateClinicalDocumentDtoFields(
      * @return the list
      */
     List<ClinicalDocumentDto> findDtoByPatient(Patient patient) {
-        List<ClinicalDocument> documents = clinicalDocumentRepository
-                .findByPatientId(patient.getId());
+        // the listing never needs the content, so select the metadata only and leave the LOB column alone
+        List<ClinicalDocumentMetadata> documents = clinicalDocumentRepository
+                .findMetadataByPatientId(patient.getId());
         List<ClinicalDocumentDto> dtos = new ArrayList<ClinicalDocumentDto>();
-        for (ClinicalDocument doc : documents) {
-            ClinicalDocumentDto clinicalDocumentDto = modelMapper.map(doc,
-                    ClinicalDocumentDto.class);
+        for (ClinicalDocumentMetadata doc : documents) {
+            ClinicalDocumentDto clinicalDocumentDto = clinicalDocumentDtoMapper.toClinicalDocumentDto(doc);
 
-            // manual mapping without using model mapper
             clinicalDocumentDto.setPatientId(patient.getId());
             dtos.add(clinicalDocumentDto);
         }
@@ -455,6 +500,10 @@ private ClinicalDocument getClinicalDocumenFromDto(
         clinicalDocument.setName(clinicalDocumentDto.getName());
         clinicalDocument.setFilename(clinicalDocumentDto.getFilename());
         clinicalDocument.setContent(clinicalDocumentDto.getContent());
+        if (clinicalDocumentDto.getContentHash() != null)
+            clinicalDocument.setContentHash(clinicalDocumentDto.getContentHash());
+        else if (clinicalDocumentDto.getContent() != null)
+            clinicalDocument.setContentHash(ContentHashUtil.sha256Hex(clinicalDocumentDto.getContent()));
         clinicalDocument.setContentType(clinicalDocumentDto.getContentType());
         clinicalDocument.setDocumentSize(clinicalDocumentDto.getDocumentSize());
 
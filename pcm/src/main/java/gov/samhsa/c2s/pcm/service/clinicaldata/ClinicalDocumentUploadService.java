@@ -0,0 +1,24 @@
+package gov.samhsa.c2s.pcm.service.clinicaldata;
+
+import gov.samhsa.c2s.pcm.service.dto.ClinicalDocumentDto;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Runs the checks an uploaded clinical document has to pass before it is saved.
+ */
+public interface ClinicalDocumentUploadService {
+
+    /**
+     * Checks the size and the extension of the upload, then reads it once to virus scan it, hash it and validate it
+     * with DSS, the scan and the validation running side by side.
+     *
+     * @param file the uploaded file
+     * @return a clinical document dto with the content, file details and content hash set
+     * @throws gov.samhsa.c2s.pcm.service.exception.OversizedFileException          if the file is too large
+     * @throws gov.samhsa.c2s.pcm.service.exception.InvalidFileExtensionException   if the extension is not permitted
+     * @throws gov.samhsa.c2s.pcm.infrastructure.security.InfectedFileException      if a virus is detected
+     * @throws gov.samhsa.c2s.pcm.service.exception.InvalidClinicalDocumentException if DSS rejects the document
+     * @throws gov.samhsa.c2s.pcm.service.exception.InternalServerErrorException    if the file cannot be checked
+     */
+    ClinicalDocumentDto prepareUpload(MultipartFile file);
+}
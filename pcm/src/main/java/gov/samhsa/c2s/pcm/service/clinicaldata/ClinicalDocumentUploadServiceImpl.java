@@ -0,0 +1,167 @@
+package gov.samhsa.c2s.pcm.service.clinicaldata;
+
+import gov.samhsa.c2s.pcm.config.ClinicalDocumentUploadConfig;
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.infrastructure.security.ClamAVClientNotAvailableException;
+import gov.samhsa.c2s.pcm.infrastructure.security.ClamAVService;
+import gov.samhsa.c2s.pcm.infrastructure.security.InfectedFileException;
+import gov.samhsa.c2s.pcm.service.dto.ClinicalDocumentDto;
+import gov.samhsa.c2s.pcm.service.exception.InternalServerErrorException;
+import gov.samhsa.c2s.pcm.service.exception.InvalidClinicalDocumentException;
+import gov.samhsa.c2s.pcm.service.exception.InvalidFileExtensionException;
+import gov.samhsa.c2s.pcm.service.exception.OversizedFileException;
+import gov.samhsa.c2s.pcm.service.util.ContentHashUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class ClinicalDocumentUploadServiceImpl implements ClinicalDocumentUploadService {
+
+    private static final String METRIC_NAME = "clinical.document.upload.";
+    private static final String UNKNOWN_ERROR = "An unknown error has occured.";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    @Qualifier(ClinicalDocumentUploadConfig.CLINICAL_DOCUMENT_UPLOAD_EXECUTOR)
+    private AsyncTaskExecutor clinicalDocumentUploadExecutor;
+
+    @Autowired
+    private ClinicalDocumentService clinicalDocumentService;
+
+    @Autowired
+    private ClamAVService clamAVService;
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    @Autowired
+    private GaugeService gaugeService;
+
+    @Autowired
+    private CounterService counterService;
+
+    @Override
+    public ClinicalDocumentDto prepareUpload(MultipartFile file) {
+        // The cheap checks only look at the multipart headers, so a rejected upload is never read
+        if (clinicalDocumentService.isDocumentOversized(file))
+            throw new OversizedFileException("Size over limits");
+        if (!clinicalDocumentService.isDocumentExtensionPermitted(file))
+            throw new InvalidFileExtensionException("Extension not permitted");
+
+        final byte[] content;
+        try {
+            content = file.getBytes();
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+            throw new InternalServerErrorException(UNKNOWN_ERROR, e);
+        }
+
+        // The hash is taken once, before the checks start, so that the DSS validation cache can look the document up
+        // by it and the stored document reuses it
+        final String contentHash = ContentHashUtil.sha256Hex(content);
+
+        final long startTime = System.currentTimeMillis();
+        final CompletableFuture<Void> scan = CompletableFuture.runAsync(() -> scan(content),
+                clinicalDocumentUploadExecutor);
+        final CompletableFuture<Void> validation = CompletableFuture.runAsync(() -> validate(content, contentHash),
+                clinicalDocumentUploadExecutor);
+        awaitBoth(scan, validation);
+        gaugeService.submit("timer." + METRIC_NAME + "checks", System.currentTimeMillis() - startTime);
+
+        final ClinicalDocumentDto clinicalDocumentDto = new ClinicalDocumentDto();
+        clinicalDocumentDto.setContent(content);
+        clinicalDocumentDto.setContentHash(contentHash);
+        clinicalDocumentDto.setFilename(file.getOriginalFilename());
+        clinicalDocumentDto.setContentType(file.getContentType());
+        clinicalDocumentDto.setDocumentSize(file.getSize());
+        return clinicalDocumentDto;
+    }
+
+    private void scan(byte[] content) {
+        final boolean clean;
+        try {
+            clean = clamAVService.scan(content);
+        } catch (ClamAVClientNotAvailableException e) {
+            logger.error(e.getMessage());
+            counterService.increment(METRIC_NAME + "scan.failure");
+            throw new InternalServerErrorException(UNKNOWN_ERROR, e);
+        }
+        if (!clean) {
+            counterService.increment(METRIC_NAME + "infected");
+            throw new InfectedFileException("Virus detected");
+        }
+    }
+
+    private void validate(byte[] content, String contentHash) {
+        try {
+            clinicalDocumentService.validate(content, contentHash);
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            counterService.increment(METRIC_NAME + "invalid");
+            throw new InvalidClinicalDocumentException("Invalid Clinical Document");
+        }
+    }
+
+    /**
+     * Waits for both checks, but returns as soon as the virus scan fails instead of waiting for the validation. A
+     * failed validation still waits for the scan, so an infected file is always reported as infected rather than as
+     * an invalid document.
+     */
+    private void awaitBoth(CompletableFuture<Void> scan, CompletableFuture<Void> validation) {
+        final CompletableFuture<Void> firstFailureOrBoth = new CompletableFuture<>();
+        scan.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                firstFailureOrBoth.completeExceptionally(throwable);
+            }
+        });
+        validation.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                scan.whenComplete((scanResult, scanThrowable) -> firstFailureOrBoth.completeExceptionally(
+                        scanThrowable != null ? scanThrowable : throwable));
+            }
+        });
+        CompletableFuture.allOf(scan, validation).thenRun(() -> firstFailureOrBoth.complete(null));
+
+        final long timeoutInMs = pcmProperties.getClinicaldata().getUpload().getTimeoutInMs();
+        try {
+            firstFailureOrBoth.get(timeoutInMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // the outcome of the other check no longer matters
+            scan.cancel(false);
+            validation.cancel(false);
+            throw unwrap(e.getCause());
+        } catch (TimeoutException e) {
+            scan.cancel(false);
+            validation.cancel(false);
+            counterService.increment(METRIC_NAME + "timeout");
+            throw new InternalServerErrorException("Checking the clinical document timed out after " + timeoutInMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scan.cancel(false);
+            validation.cancel(false);
+            throw new InternalServerErrorException("Interrupted while checking the clinical document", e);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable throwable) {
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        return cause instanceof RuntimeException
+                ? (RuntimeException) cause : new InternalServerErrorException(UNKNOWN_ERROR, cause);
+    }
+}
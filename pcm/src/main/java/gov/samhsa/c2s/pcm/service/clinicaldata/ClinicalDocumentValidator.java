@@ -0,0 +1,20 @@
+package gov.samhsa.c2s.pcm.service.clinicaldata;
+
+import gov.samhsa.c2s.pcm.infrastructure.dto.ClinicalDocumentValidationResult;
+
+/**
+ * Validates clinical documents with DSS, reusing the result for documents DSS has already validated.
+ */
+public interface ClinicalDocumentValidator {
+
+    /**
+     * Validates the clinical document content. Results are cached by the SHA-256 of the content and the configured
+     * DSS schema version; failed validations are not cached.
+     *
+     * @param content     the clinical document content
+     * @param contentHash the hex encoded SHA-256 of the content, as computed by
+     *                    {@link gov.samhsa.c2s.pcm.service.util.ContentHashUtil#sha256Hex(byte[])}
+     * @return the validation result, shared with other callers and not to be modified
+     */
+    ClinicalDocumentValidationResult validate(byte[] content, String contentHash);
+}
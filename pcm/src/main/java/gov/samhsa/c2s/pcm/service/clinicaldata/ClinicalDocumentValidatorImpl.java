@@ -0,0 +1,103 @@
+package gov.samhsa.c2s.pcm.service.clinicaldata;
+
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.infrastructure.DssService;
+import gov.samhsa.c2s.pcm.infrastructure.dto.ClinicalDocumentValidationRequest;
+import gov.samhsa.c2s.pcm.infrastructure.dto.ClinicalDocumentValidationResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps DSS validation results in a size-bounded LRU map, so that a patient uploading the same export again does
+ * not post it to DSS again.
+ */
+@Service
+public class ClinicalDocumentValidatorImpl implements ClinicalDocumentValidator {
+
+    static final String DOCUMENT_PART = "document";
+
+    private static final String METRIC_NAME = "dss.validation.";
+
+    @SuppressWarnings("SpringJavaAutowiringInspection")
+    @Autowired
+    private DssService dssService;
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    @Autowired
+    private CounterService counterService;
+
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Guarded by itself; iterates in access order so that the eldest entry is the least recently used one.
+     */
+    private final Map<String, CachedResult> cachedResults = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+            return size() > pcmProperties.getClinicaldata().getValidation().getCacheMaxSize();
+        }
+    };
+
+    @Override
+    public ClinicalDocumentValidationResult validate(byte[] content, String contentHash) {
+        final PcmProperties.ClinicalData.Validation validation = pcmProperties.getClinicaldata().getValidation();
+        final String key = validation.getDssSchemaVersion() + ':' + contentHash;
+        final long now = clock.millis();
+        synchronized (cachedResults) {
+            final CachedResult cachedResult = cachedResults.get(key);
+            if (cachedResult != null && now - cachedResult.validatedAt < validation.getCacheTtlInMs()) {
+                counterService.increment(METRIC_NAME + "cache.hit");
+                return cachedResult.result;
+            }
+        }
+
+        counterService.increment(METRIC_NAME + "cache.miss");
+        final ClinicalDocumentValidationResult result = validation.getTransport() == PcmProperties.ClinicalData.Validation.Transport.MULTIPART
+                ? dssService.validateClinicalDocumentFile(toParts(content))
+                : dssService.validateClinicalDocument(toRequest(content));
+        if (result != null) {
+            synchronized (cachedResults) {
+                cachedResults.put(key, new CachedResult(result, now));
+            }
+        }
+        return result;
+    }
+
+    private static ClinicalDocumentValidationRequest toRequest(byte[] content) {
+        final ClinicalDocumentValidationRequest validationRequest = new ClinicalDocumentValidationRequest();
+        validationRequest.setDocument(content);
+        return validationRequest;
+    }
+
+    private static MultiValueMap<String, Object> toParts(byte[] content) {
+        final MultiValueMap<String, Object> parts = new LinkedMultiValueMap<>();
+        // the form converter only writes a part as a file when the resource has a file name
+        parts.add(DOCUMENT_PART, new ByteArrayResource(content) {
+            @Override
+            public String getFilename() {
+                return DOCUMENT_PART + ".xml";
+            }
+        });
+        return parts;
+    }
+
+    private static final class CachedResult {
+        private final ClinicalDocumentValidationResult result;
+        private final long validatedAt;
+
+        private CachedResult(ClinicalDocumentValidationResult result, long validatedAt) {
+            this.result = result;
+            this.validatedAt = validatedAt;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package gov.samhsa.c2s.pcm.service.consent;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+
+/**
+ * Marks the entries of a C32 document that segmentation removed, so that they can be shown as redacted.
+ * Documents are streamed; only one entry at a time is held in memory.
+ */
+public interface C32SegmentationTagger {
+
+    /**
+     * Collects the ids of the entries of a C32 document, usually the segmented one. Plain C32 entries are identified
+     * by the root of their {@code id}; smart C32 entries are identified by the value of the reference in the text of
+     * their entry relationship, and only entries of problem, medication, result and allergy sections are read.
+     *
+     * @param c32   the C32 document, which is left open
+     * @param smart whether the document is a smart C32
+     * @return the entry ids
+     * @throws XMLStreamException if the document is not well-formed
+     */
+    Set<String> collectEntryIds(InputStream c32, boolean smart) throws XMLStreamException;
+
+    /**
+     * Copies the original C32 document to the output stream, adding {@code redact="redact"} to every entry with an
+     * id that is not among the segmented entry ids.
+     *
+     * @param originalC32       the original C32 document, which is left open
+     * @param segmentedEntryIds the entry ids of the segmented document
+     * @param smart             whether the document is a smart C32
+     * @param out               the output stream, which is left open
+     * @throws XMLStreamException if the document is not well-formed or cannot be written
+     */
+    void tagRedactedEntries(InputStream originalC32, Set<String> segmentedEntryIds, boolean smart, OutputStream out)
+            throws XMLStreamException;
+}
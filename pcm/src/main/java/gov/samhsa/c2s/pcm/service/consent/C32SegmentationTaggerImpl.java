@@ -0,0 +1,271 @@
+package gov.samhsa.c2s.pcm.service.consent;
+
+import org.springframework.stereotype.Service;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartDocument;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+@Service
+public class C32SegmentationTaggerImpl implements C32SegmentationTagger {
+
+    private static final String ENTRY = "entry";
+    private static final String SECTION = "section";
+    private static final String TITLE = "title";
+    private static final String REDACT = "redact";
+    private static final Pattern REDACTABLE_SECTION_TITLE = Pattern.compile("PROBLEMS|MEDICATIONS|RESULTS|ALLERGIES");
+
+    private final XMLInputFactory inputFactory;
+    private final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+    private final XMLEventFactory eventFactory = XMLEventFactory.newInstance();
+
+    public C32SegmentationTaggerImpl() {
+        inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    @Override
+    public Set<String> collectEntryIds(InputStream c32, boolean smart) throws XMLStreamException {
+        final Set<String> entryIds = new HashSet<>();
+        final XMLEventReader reader = inputFactory.createXMLEventReader(c32);
+        try {
+            final SectionTracker sections = new SectionTracker();
+            EntryIdReader entry = null;
+            while (reader.hasNext()) {
+                final XMLEvent event = reader.nextEvent();
+                sections.accept(event);
+                if (entry != null) {
+                    entry.accept(event);
+                    if (entry.isComplete()) {
+                        entryIds.addAll(entry.ids);
+                        entry = null;
+                    }
+                } else if (isEntryStart(event, smart, sections)) {
+                    entry = new EntryIdReader(smart);
+                    entry.accept(event);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return entryIds;
+    }
+
+    @Override
+    public void tagRedactedEntries(InputStream originalC32, Set<String> segmentedEntryIds, boolean smart,
+                                   OutputStream out) throws XMLStreamException {
+        final XMLEventReader reader = inputFactory.createXMLEventReader(originalC32);
+        XMLEventWriter writer = null;
+        try {
+            final SectionTracker sections = new SectionTracker();
+            // the redact attribute goes on the entry start tag, but the ids only follow inside the entry
+            final List<XMLEvent> entryEvents = new ArrayList<>();
+            EntryIdReader entry = null;
+            while (reader.hasNext()) {
+                final XMLEvent event = reader.nextEvent();
+                if (writer == null) {
+                    writer = createWriter(event, out);
+                }
+                sections.accept(event);
+                if (entry != null) {
+                    entryEvents.add(event);
+                    entry.accept(event);
+                    if (entry.isComplete()) {
+                        writeEntry(writer, entryEvents, entry.hasIdNotIn(segmentedEntryIds));
+                        entryEvents.clear();
+                        entry = null;
+                    }
+                } else if (isEntryStart(event, smart, sections)) {
+                    entry = new EntryIdReader(smart);
+                    entryEvents.add(event);
+                    entry.accept(event);
+                } else {
+                    writer.add(event);
+                }
+            }
+            if (writer != null) {
+                writer.flush();
+            }
+        } finally {
+            reader.close();
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    private XMLEventWriter createWriter(XMLEvent firstEvent, OutputStream out) throws XMLStreamException {
+        // keep the declared encoding so that the copied prolog stays truthful
+        if (firstEvent.isStartDocument() && ((StartDocument) firstEvent).encodingSet()) {
+            return outputFactory.createXMLEventWriter(out, ((StartDocument) firstEvent).getCharacterEncodingScheme());
+        }
+        return outputFactory.createXMLEventWriter(out, StandardCharsets.UTF_8.name());
+    }
+
+    private void writeEntry(XMLEventWriter writer, List<XMLEvent> entryEvents, boolean redact)
+            throws XMLStreamException {
+        final Iterator<XMLEvent> events = entryEvents.iterator();
+        final StartElement start = events.next().asStartElement();
+        writer.add(redact ? withRedactAttribute(start) : start);
+        while (events.hasNext()) {
+            writer.add(events.next());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private StartElement withRedactAttribute(StartElement start) {
+        final List<Attribute> attributes = new ArrayList<>();
+        final Iterator<Attribute> existing = start.getAttributes();
+        while (existing.hasNext()) {
+            final Attribute attribute = existing.next();
+            if (!REDACT.equals(attribute.getName().getLocalPart())) {
+                attributes.add(attribute);
+            }
+        }
+        attributes.add(eventFactory.createAttribute(REDACT, REDACT));
+        final QName name = start.getName();
+        return eventFactory.createStartElement(name.getPrefix(), name.getNamespaceURI(), name.getLocalPart(),
+                attributes.iterator(), start.getNamespaces(), start.getNamespaceContext());
+    }
+
+    private static boolean isEntryStart(XMLEvent event, boolean smart, SectionTracker sections) {
+        return event.isStartElement()
+                && ENTRY.equals(event.asStartElement().getName().getLocalPart())
+                && (!smart || sections.isRedactable());
+    }
+
+    /**
+     * Tracks whether the innermost section has a title of a section that can be redacted.
+     */
+    private static final class SectionTracker {
+        private final Deque<String> elementNames = new ArrayDeque<>();
+        private final Deque<Boolean> redactableSections = new ArrayDeque<>();
+        private StringBuilder title;
+        private int titleDepth;
+
+        void accept(XMLEvent event) {
+            if (event.isStartElement()) {
+                final String name = event.asStartElement().getName().getLocalPart();
+                if (TITLE.equals(name) && SECTION.equals(elementNames.peek())) {
+                    title = new StringBuilder();
+                    titleDepth = elementNames.size() + 1;
+                }
+                elementNames.push(name);
+                if (SECTION.equals(name)) {
+                    redactableSections.push(Boolean.FALSE);
+                }
+            } else if (event.isCharacters() && title != null) {
+                title.append(event.asCharacters().getData());
+            } else if (event.isEndElement()) {
+                if (title != null && elementNames.size() == titleDepth) {
+                    redactableSections.pop();
+                    redactableSections.push(REDACTABLE_SECTION_TITLE.matcher(
+                            title.toString().toUpperCase(Locale.ROOT)).find());
+                    title = null;
+                }
+                if (SECTION.equals(elementNames.pop())) {
+                    redactableSections.pop();
+                }
+            }
+        }
+
+        boolean isRedactable() {
+            return !redactableSections.isEmpty() && redactableSections.peek();
+        }
+    }
+
+    /**
+     * Reads the ids of one entry. Plain C32 ids are the {@code root} of an {@code id} grandchild of the entry; smart
+     * C32 ids are the {@code value} of the first element in the {@code text} of the first element of an
+     * {@code entryRelationship} grandchild.
+     */
+    private static final class EntryIdReader {
+        private final boolean smart;
+        private final List<String> elementNames = new ArrayList<>();
+        private final List<Integer> siblingIndexes = new ArrayList<>();
+        private final List<Integer> childCounts = new ArrayList<>();
+        private final List<String> ids = new ArrayList<>(2);
+        private boolean started;
+
+        EntryIdReader(boolean smart) {
+            this.smart = smart;
+        }
+
+        void accept(XMLEvent event) {
+            if (event.isStartElement()) {
+                start(event.asStartElement());
+            } else if (event.isEndElement()) {
+                final int last = elementNames.size() - 1;
+                elementNames.remove(last);
+                siblingIndexes.remove(last);
+                childCounts.remove(last);
+            }
+        }
+
+        boolean isComplete() {
+            return started && elementNames.isEmpty();
+        }
+
+        boolean hasIdNotIn(Set<String> entryIds) {
+            for (String id : ids) {
+                if (!entryIds.contains(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void start(StartElement element) {
+            started = true;
+            final int parent = elementNames.size() - 1;
+            final int siblingIndex = parent < 0 ? 0 : childCounts.get(parent);
+            if (parent >= 0) {
+                childCounts.set(parent, siblingIndex + 1);
+            }
+            final String name = element.getName().getLocalPart();
+            elementNames.add(name);
+            siblingIndexes.add(siblingIndex);
+            childCounts.add(0);
+
+            final int depth = elementNames.size() - 1;
+            if (!smart) {
+                if (depth == 2 && "id".equalsIgnoreCase(name)) {
+                    addAttributeValue(element, "root");
+                }
+            } else if (depth == 5 && siblingIndex == 0 && siblingIndexes.get(3) == 0
+                    && "entryRelationship".equalsIgnoreCase(elementNames.get(2))
+                    && "text".equalsIgnoreCase(elementNames.get(4))) {
+                addAttributeValue(element, "value");
+            }
+        }
+
+        private void addAttributeValue(StartElement element, String attributeName) {
+            final Attribute attribute = element.getAttributeByName(new QName(attributeName));
+            if (attribute != null) {
+                ids.add(attribute.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package gov.samhsa.c2s.pcm.service.consent;
+
+import gov.samhsa.c2s.common.consentgen.ConsentGenException;
+import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+
+/**
+ * The Interface ConsentArtifactGenerator.
+ */
+public interface ConsentArtifactGenerator {
+
+    /**
+     * Generates the unattested consent pdf, the xacml policies and the CDA R2
+     * consent directive of a consent in parallel and sets them on the consent
+     * once all of them are ready. The policies are generated on worker threads
+     * from a detached copy of the consent; the pdf is rendered on the calling
+     * thread, which owns the consent and patient entities.
+     *
+     * @param consent the consent, fully built but not yet persisted
+     * @param patient the patient
+     * @param terms   the consent terms text
+     * @throws ConsentGenException if the xacml or CDA R2 generation fails
+     */
+    void generateArtifacts(Consent consent, Patient patient, String terms) throws ConsentGenException;
+}
@@ -0,0 +1,211 @@
+package gov.samhsa.c2s.pcm.service.consent;
+
+import gov.samhsa.c2s.common.consentgen.ConsentDto;
+import gov.samhsa.c2s.common.consentgen.ConsentGenException;
+import gov.samhsa.c2s.pcm.config.ConsentArtifactConfig;
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.service.artifact.ArtifactStore;
+import gov.samhsa.c2s.pcm.service.consentexport.ConsentExportMapper;
+import gov.samhsa.c2s.pcm.service.consentexport.ConsentExportService;
+import gov.samhsa.c2s.pcm.service.exception.ConsentArtifactGenerationException;
+import gov.samhsa.c2s.pcm.service.exception.ConsentPdfGenerationException;
+import gov.samhsa.c2s.pcm.service.pdf.ConsentPdfGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The Class ConsentArtifactGeneratorImpl.
+ */
+@Service
+public class ConsentArtifactGeneratorImpl implements ConsentArtifactGenerator {
+
+    static final String UNATTESTED_PDF = "unattested-pdf";
+    static final String XACML = "xacml";
+    static final String XACML_PDF_CONSENT_FROM = "xacml-pdf-consent-from";
+    static final String XACML_PDF_CONSENT_TO = "xacml-pdf-consent-to";
+    static final String CDAR2_CONSENT_DIRECTIVE = "cdar2-consent-directive";
+
+    private static final String METRIC_NAME = "consent.artifact.";
+
+    /**
+     * The logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    @Qualifier(ConsentArtifactConfig.CONSENT_ARTIFACT_EXECUTOR)
+    private AsyncTaskExecutor consentArtifactExecutor;
+
+    @Autowired
+    private ConsentPdfGenerator consentPdfGenerator;
+
+    @Autowired
+    private ConsentExportService consentExportService;
+
+    @Autowired
+    private ConsentExportMapper consentExportMapper;
+
+    @Autowired
+    private ArtifactStore artifactStore;
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    @Autowired
+    private GaugeService gaugeService;
+
+    @Autowired
+    private CounterService counterService;
+
+    @Override
+    public void generateArtifacts(Consent consent, Patient patient, String terms) throws ConsentGenException {
+        // The worker threads only get a detached copy of the consent: the entity graph belongs to the persistence
+        // context of the calling thread and must not be read, or lazily loaded, from another thread
+        final ConsentDto consentDto = consentExportMapper.map(consent);
+
+        final long startTime = System.currentTimeMillis();
+        final Map<String, Future<byte[]>> futures = new LinkedHashMap<>();
+        final Map<String, Long> deadlines = new HashMap<>();
+        final long timeoutInMs = pcmProperties.getConsentArtifact().getTimeoutInMs();
+
+        submit(futures, deadlines, timeoutInMs, XACML,
+                () -> consentExportService.exportConsent2XACML(consentDto).getBytes());
+        // xacml for consentFrom provider to give access to consent pdf
+        submit(futures, deadlines, timeoutInMs, XACML_PDF_CONSENT_FROM,
+                () -> consentExportService.exportConsent2XacmlPdfConsentFrom(consentDto).getBytes());
+        submit(futures, deadlines, timeoutInMs, XACML_PDF_CONSENT_TO,
+                () -> consentExportService.exportConsent2XacmlPdfConsentTo(consentDto).getBytes());
+        submit(futures, deadlines, timeoutInMs, CDAR2_CONSENT_DIRECTIVE,
+                () -> consentExportService.exportConsent2CDAR2ConsentDirective(consentDto).getBytes());
+
+        final Map<String, byte[]> artifacts = new HashMap<>();
+        final Map<String, Throwable> failures = new LinkedHashMap<>();
+        // The pdf reads the consent and patient entities themselves, so it is rendered here, on the thread owning
+        // them, while the workers build the policies
+        generate(artifacts, failures, UNATTESTED_PDF,
+                () -> consentPdfGenerator.generateConsentPdf(consent, patient, false, null, terms));
+        for (Map.Entry<String, Future<byte[]>> entry : futures.entrySet()) {
+            final String artifactName = entry.getKey();
+            final Future<byte[]> future = entry.getValue();
+            final long remainingInMs = Math.max(0, deadlines.get(artifactName) - System.currentTimeMillis());
+            try {
+                artifacts.put(artifactName, future.get(remainingInMs, TimeUnit.MILLISECONDS));
+            } catch (ExecutionException e) {
+                failures.put(artifactName, e.getCause());
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                counterService.increment(METRIC_NAME + artifactName + ".timeout");
+                failures.put(artifactName, new ConsentArtifactGenerationException(
+                        "Generating " + artifactName + " timed out after " + timeoutInMs + " ms"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll(futures);
+                throw new ConsentArtifactGenerationException("Interrupted while waiting for " + artifactName, e);
+            }
+        }
+        gaugeService.submit("timer." + METRIC_NAME + "all", System.currentTimeMillis() - startTime);
+
+        if (!failures.isEmpty()) {
+            rethrow(failures);
+        }
+
+        consent.setUnAttestedPdfConsentArtifactKey(store(artifacts.get(UNATTESTED_PDF)));
+        consent.setXacmlCcdArtifactKey(store(artifacts.get(XACML)));
+        consent.setXacmlPdfConsentFromArtifactKey(store(artifacts.get(XACML_PDF_CONSENT_FROM)));
+        consent.setXacmlPdfConsentToArtifactKey(store(artifacts.get(XACML_PDF_CONSENT_TO)));
+        consent.setExportedCDAR2ConsentArtifactKey(store(artifacts.get(CDAR2_CONSENT_DIRECTIVE)));
+    }
+
+    private String store(byte[] artifact) {
+        return artifact == null ? null : artifactStore.store(artifact);
+    }
+
+    private void generate(Map<String, byte[]> artifacts, Map<String, Throwable> failures, String artifactName,
+                          Callable<byte[]> generator) {
+        final long startTime = System.currentTimeMillis();
+        try {
+            artifacts.put(artifactName, generator.call());
+        } catch (Exception e) {
+            counterService.increment(METRIC_NAME + artifactName + ".failure");
+            failures.put(artifactName, e);
+        } finally {
+            gaugeService.submit("timer." + METRIC_NAME + artifactName, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private void submit(Map<String, Future<byte[]>> futures, Map<String, Long> deadlines, long timeoutInMs,
+                        String artifactName, Callable<byte[]> generator) {
+        // The xacml generators resolve i18n messages through the request locale
+        final LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        deadlines.put(artifactName, System.currentTimeMillis() + timeoutInMs);
+        futures.put(artifactName, consentArtifactExecutor.submit(() -> {
+            final LocaleContext previousLocaleContext = LocaleContextHolder.getLocaleContext();
+            LocaleContextHolder.setLocaleContext(localeContext);
+            final long startTime = System.currentTimeMillis();
+            try {
+                return generator.call();
+            } catch (Exception e) {
+                counterService.increment(METRIC_NAME + artifactName + ".failure");
+                throw e;
+            } finally {
+                gaugeService.submit("timer." + METRIC_NAME + artifactName, System.currentTimeMillis() - startTime);
+                LocaleContextHolder.setLocaleContext(previousLocaleContext);
+            }
+        }));
+    }
+
+    private void cancelAll(Map<String, Future<byte[]>> futures) {
+        futures.values().forEach(future -> future.cancel(true));
+    }
+
+    /**
+     * Rethrows the failure of the first artifact in generation order, the same one the sequential generation used to
+     * surface, with the failures of the other artifacts attached as suppressed exceptions.
+     */
+    private void rethrow(Map<String, Throwable> failures) throws ConsentGenException {
+        RuntimeException runtimeException = null;
+        ConsentGenException consentGenException = null;
+        for (Map.Entry<String, Throwable> failure : failures.entrySet()) {
+            final Throwable cause = failure.getValue();
+            logger.error("Error in generating consent " + failure.getKey(), cause);
+            if (runtimeException == null && consentGenException == null) {
+                if (cause instanceof ConsentGenException) {
+                    consentGenException = (ConsentGenException) cause;
+                } else if (cause instanceof IOException) {
+                    runtimeException = new ConsentPdfGenerationException(cause);
+                } else if (cause instanceof RuntimeException) {
+                    runtimeException = (RuntimeException) cause;
+                } else {
+                    runtimeException = new ConsentArtifactGenerationException(
+                            "Error in generating consent " + failure.getKey(), cause);
+                }
+            } else {
+                (runtimeException != null ? runtimeException : consentGenException).addSuppressed(cause);
+            }
+        }
+        if (runtimeException != null) {
+            throw runtimeException;
+        }
+        throw consentGenException;
+    }
+}
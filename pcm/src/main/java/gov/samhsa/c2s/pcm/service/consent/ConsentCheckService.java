@@ -1,5 +1,6 @@
 package gov.samhsa.c2s.pcm.service.consent;
 
+import gov.samhsa.c2s.pcm.domain.consent.Consent;
 import gov.samhsa.c2s.pcm.service.dto.ConsentDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentValidationDto;
 
@@ -7,4 +8,29 @@ public interface ConsentCheckService {
 
 	public ConsentValidationDto getConflictConsent(ConsentDto consentDto);
 
+	/**
+	 * Replaces the conflict fingerprint of the consent with one built from its
+	 * current providers, purposes of use, term and status.
+	 *
+	 * @param consent
+	 *            the persisted consent
+	 */
+	public void updateConsentFingerprint(Consent consent);
+
+	/**
+	 * Marks the conflict fingerprint of the consent as revoked.
+	 *
+	 * @param consentId
+	 *            the consent id
+	 */
+	public void revokeConsentFingerprint(Long consentId);
+
+	/**
+	 * Removes the conflict fingerprint of the consent.
+	 *
+	 * @param consentId
+	 *            the consent id
+	 */
+	public void deleteConsentFingerprint(Long consentId);
+
 }
@@ -1,17 +1,24 @@
 package gov.samhsa.c2s.pcm.service.consent;
 
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentFingerprint;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentFingerprintRepository;
 import gov.samhsa.c2s.pcm.domain.consent.ConsentRepository;
-import gov.samhsa.c2s.pcm.domain.patient.PatientRepository;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentShareForPurposeOfUseCode;
 import gov.samhsa.c2s.pcm.service.dto.ConsentDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentValidationDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * The Class ConsentCheckServiceImpl.
@@ -19,6 +26,9 @@
 @Service
 public class ConsentCheckServiceImpl implements ConsentCheckService {
 
+	/** Consent id that never matches a persisted consent. */
+	private static final Long NO_CONSENT_ID = -1L;
+
 	/** The logger. */
 	private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
@@ -26,9 +36,9 @@ public class ConsentCheckServiceImpl implements ConsentCheckService {
 	@Autowired
 	private ConsentRepository consentRepository;
 
-	/** The patient repository. */
+	/** The consent fingerprint repository. */
 	@Autowired
-	private PatientRepository patientRepository;
+	private ConsentFingerprintRepository consentFingerprintRepository;
 
 	/** The consent helper. */
 	@Autowired
@@ -36,80 +46,139 @@ public class ConsentCheckServiceImpl implements ConsentCheckService {
 
 	/*
 	 * (non-Javadoc)
-	 * 
+	 *
 	 * @see gov.samhsa.consent2share.service.consent.ConsentCheckService#
 	 * getConflictConsent(gov.samhsa.consent2share.service.dto.ConsentDto)
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public ConsentValidationDto getConflictConsent(ConsentDto consentDto) {
 
 		ConsentValidationDto consentValidationDto = null;
-		List<Consent> consents;
 
-		// 1. Get all consents for that user
+		Set<String> fromNpis = consentHelper
+				.getDtoProviderToDiscloseToNpi(consentDto);
+		Set<String> toNpis = consentHelper.getDtoProviderIsMadeToNpi(consentDto);
+		Set<String> purposeOfUseCodes = consentDto
+				.getShareForPurposeOfUseCodes();
+
+		// a consent without providers on either side or without purposes of
+		// use cannot share a tuple with any existing consent
+		if (fromNpis.isEmpty() || toNpis.isEmpty()
+				|| purposeOfUseCodes == null || purposeOfUseCodes.isEmpty()) {
+			logger.debug("is conflict found: false");
+			return null;
+		}
+
+		// editing the existing consent then skip that consent
+		Long excludedConsentId = toConsentId(consentDto.getId());
+
+		List<Long> conflictingConsentIds;
 		if (consentDto.getUsername() != null
 				&& !consentDto.getUsername().isEmpty()) {
-			consents = consentRepository.findAllByPatientUsername(consentDto
-					.getUsername());
+			conflictingConsentIds = consentFingerprintRepository
+					.findConflictingConsentIdsByPatientUsername(
+							consentDto.getUsername(), excludedConsentId,
+							fromNpis, toNpis, purposeOfUseCodes,
+							consentDto.getConsentStart(),
+							consentDto.getConsentEnd());
 		} else {
-			consents = consentRepository.findByPatient(patientRepository
-					.findOne(consentDto.getPatientId()));
+			conflictingConsentIds = consentFingerprintRepository
+					.findConflictingConsentIdsByPatientId(
+							consentDto.getPatientId(), excludedConsentId,
+							fromNpis, toNpis, purposeOfUseCodes,
+							consentDto.getConsentStart(),
+							consentDto.getConsentEnd());
 		}
-		boolean isConflict = false;
-		for (Consent consent : consents) {
-
-			// editing the existing consent then skip that consent
-			if (consent.getId().toString().equalsIgnoreCase(consentDto.getId()))
-				continue;
-
-			boolean isOverlap = false;
-			boolean isPOUMatch = false;
-			boolean isProviderMatch = false;
-			boolean isConsentRevoked = false;
-			// check if the selected consent terms overlaps with the existing
-			// consent
-			isOverlap = consentHelper.isConsentTermOverlap(consentDto,
-					consent.getStartDate(), consent.getEndDate());
-			if (isOverlap) {
-				// if it overlaps
-				// Check if the selected POU codes belongs to the existing
-				// consent
-				isPOUMatch = consentHelper.isPOUMatches(
-						consentDto.getShareForPurposeOfUseCodes(),
-						consent.getShareForPurposeOfUseCodes());
-				if (isPOUMatch) {
-
-					// check the provider combination match
-					isProviderMatch = consentHelper.isProviderComboMatch(
-							consent, consentDto);
-					if (isProviderMatch) {
-
-						// check if the existing consent is in revoked state
-						// if its revoked then its not a duplicate consent
-						isConsentRevoked = consentHelper
-								.isConsentRevoked(consent);
-						if (!isConsentRevoked) {
-							isConflict = true;
-							consentValidationDto = consentHelper
-									.convertConsentToConsentListDto(consent,
-											consentDto);
-							break;
-						}
-					} else {
-						continue;
-					}
-				} else {
-					// no conflicts so check the next consent
-					continue;
-				}
 
-			} else {
-				// no conflicts so check the next consent
-				continue;
-			}
+		boolean isConflict = !conflictingConsentIds.isEmpty();
+		if (isConflict) {
+			Consent consent = consentRepository.findOne(conflictingConsentIds
+					.get(0));
+			consentValidationDto = consentHelper
+					.convertConsentToConsentListDto(consent, consentDto);
 		}
 
 		logger.debug("is conflict found: " + isConflict);
 		return consentValidationDto;
 	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see gov.samhsa.c2s.pcm.service.consent.ConsentCheckService#
+	 * updateConsentFingerprint(gov.samhsa.c2s.pcm.domain.consent.Consent)
+	 */
+	@Override
+	@Transactional
+	public void updateConsentFingerprint(Consent consent) {
+		consentFingerprintRepository.deleteByConsentId(consent.getId());
+		consentFingerprintRepository.save(makeConsentFingerprints(consent));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see gov.samhsa.c2s.pcm.service.consent.ConsentCheckService#
+	 * revokeConsentFingerprint(java.lang.Long)
+	 */
+	@Override
+	@Transactional
+	public void revokeConsentFingerprint(Long consentId) {
+		consentFingerprintRepository.markRevokedByConsentId(consentId);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see gov.samhsa.c2s.pcm.service.consent.ConsentCheckService#
+	 * deleteConsentFingerprint(java.lang.Long)
+	 */
+	@Override
+	@Transactional
+	public void deleteConsentFingerprint(Long consentId) {
+		consentFingerprintRepository.deleteByConsentId(consentId);
+	}
+
+	/**
+	 * Makes the canonical fingerprint of the consent: one row per (from NPI, to
+	 * NPI, purpose of use code) tuple, in sorted order.
+	 *
+	 * @param consent
+	 *            the consent
+	 * @return the consent fingerprints
+	 */
+	protected List<ConsentFingerprint> makeConsentFingerprints(Consent consent) {
+		SortedSet<String> fromNpis = new TreeSet<String>(
+				consentHelper.getProviderToDiscloseToNpi(consent));
+		SortedSet<String> toNpis = new TreeSet<String>(
+				consentHelper.getProviderIsMadeToNpi(consent));
+		SortedSet<String> purposeOfUseCodes = new TreeSet<String>();
+		for (ConsentShareForPurposeOfUseCode item : consent
+				.getShareForPurposeOfUseCodes()) {
+			purposeOfUseCodes.add(item.getPurposeOfUseCode().getCode());
+		}
+		boolean revoked = consentHelper.isConsentRevoked(consent);
+
+		List<ConsentFingerprint> consentFingerprints = new ArrayList<ConsentFingerprint>();
+		for (String fromNpi : fromNpis) {
+			for (String toNpi : toNpis) {
+				for (String purposeOfUseCode : purposeOfUseCodes) {
+					consentFingerprints.add(new ConsentFingerprint(consent
+							.getId(), consent.getPatient().getId(), fromNpi,
+							toNpi, purposeOfUseCode, consent.getStartDate(),
+							consent.getEndDate(), revoked));
+				}
+			}
+		}
+		return consentFingerprints;
+	}
+
+	private Long toConsentId(String id) {
+		try {
+			return id == null ? NO_CONSENT_ID : Long.valueOf(id);
+		} catch (NumberFormatException e) {
+			return NO_CONSENT_ID;
+		}
+	}
 }
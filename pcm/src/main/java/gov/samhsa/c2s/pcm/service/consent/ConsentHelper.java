@@ -15,8 +15,8 @@
 import gov.samhsa.c2s.pcm.service.dto.ConsentValidationDto;
 import gov.samhsa.c2s.pcm.service.dto.SpecificMedicalInfoDto;
 
-import org.modelmapper.internal.util.Assert;
 import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
 
 /**
  * The Class ConsentHelper.
@@ -36,6 +36,7 @@
 import gov.samhsa.c2s.pcm.service.dto.ConsentPdfDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentRevocationAttestationDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentRevokationPdfDto;
+import gov.samhsa.c2s.pcm.service.dto.DownloadDto;
 import gov.samhsa.c2s.pcm.service.dto.XacmlDto;
 
 import java.util.ArrayList;
@@ -50,6 +51,11 @@
  */
 public interface ConsentService {
 
+    /**
+     * The largest page of the consent list a client can request.
+     */
+    int MAX_CONSENT_PAGE_SIZE = 100;
+
     /**
      * Count all consents.
      *
@@ -121,6 +127,38 @@ public interface ConsentService {
      */
     byte[] getAttestedConsentRevokedPdf(Long consentId) throws ConsentGenException;
 
+    /**
+     * Find the streamed download of the consent pdf, which is the attested pdf once the consent is signed.
+     *
+     * @param consentId the consent id
+     * @return the consent pdf download dto
+     */
+    DownloadDto findConsentPdfDownloadDto(Long consentId);
+
+    /**
+     * Find the streamed download of the consent revokation pdf.
+     *
+     * @param consentId the consent id
+     * @return the consent revokation pdf download dto
+     */
+    DownloadDto findConsentRevokationPdfDownloadDto(Long consentId);
+
+    /**
+     * Gets the streamed download of the attested consent pdf.
+     *
+     * @param consentId the consent id
+     * @return the attested consent pdf download dto
+     */
+    DownloadDto getAttestedConsentPdfDownloadDto(Long consentId);
+
+    /**
+     * Gets the streamed download of the attested consent revocation pdf.
+     *
+     * @param consentId the consent id
+     * @return the attested consent revocation pdf download dto
+     */
+    DownloadDto getAttestedConsentRevokedPdfDownloadDto(Long consentId);
+
     /**
      * Create the attested consent.
      *
@@ -281,7 +319,15 @@ Object saveConsent(ConsentDto consentDto, long patientId)
 
     byte[] getConsentDirective(Long consentId);
 
-    Map<String, Object> findAllConsentsDtoByPatientAndPage(Long patientId, String pageNumber);
+    /**
+     * Finds one page of the consent list of a patient.
+     *
+     * @param patientId  the patient id
+     * @param pageNumber the zero based page number
+     * @param pageSize   the page size, capped at {@link #MAX_CONSENT_PAGE_SIZE}
+     * @return the page results map
+     */
+    Map<String, Object> findAllConsentsDtoByPatientAndPage(Long patientId, String pageNumber, int pageSize);
 
     ConsentAttestationDto getConsentAttestationDto(String userName, Long consentId);
 
@@ -59,9 +59,8 @@
 import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCodeRepository;
 import gov.samhsa.c2s.pcm.domain.valueset.ValueSetCategory;
 import gov.samhsa.c2s.pcm.domain.valueset.ValueSetCategoryRepository;
-import gov.samhsa.c2s.pcm.infrastructure.PhrService;
 import gov.samhsa.c2s.pcm.infrastructure.dto.PatientDto;
-import gov.samhsa.c2s.pcm.service.consentexport.ConsentExportService;
+import gov.samhsa.c2s.pcm.service.artifact.ArtifactStore;
 import gov.samhsa.c2s.pcm.service.dto.AbstractPdfDto;
 import gov.samhsa.c2s.pcm.service.dto.AttestationDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentAttestationDto;
@@ -71,18 +70,20 @@
 import gov.samhsa.c2s.pcm.service.dto.ConsentRevocationAttestationDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentRevokationPdfDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentValidationDto;
+import gov.samhsa.c2s.pcm.service.dto.DownloadDto;
 import gov.samhsa.c2s.pcm.service.dto.SpecificMedicalInfoDto;
 import gov.samhsa.c2s.pcm.service.dto.XacmlDto;
+import gov.samhsa.c2s.pcm.service.exception.ArtifactStoreException;
 import gov.samhsa.c2s.pcm.service.exception.AttestedConsentException;
 import gov.samhsa.c2s.pcm.service.exception.AttestedConsentRevocationException;
 import gov.samhsa.c2s.pcm.service.exception.ConsentPdfGenerationException;
 import gov.samhsa.c2s.pcm.service.exception.ConsentRevocationPdfGenerationException;
 import gov.samhsa.c2s.pcm.service.exception.XacmlNotFoundException;
-import gov.samhsa.c2s.pcm.service.fhir.FhirConsentService;
+import gov.samhsa.c2s.pcm.service.fhir.FhirConsentOutboxService;
 import gov.samhsa.c2s.pcm.service.patient.PatientService;
+import gov.samhsa.c2s.pcm.service.patient.PhrProfileCache;
 import gov.samhsa.c2s.pcm.service.pdf.ConsentPdfGenerator;
 import gov.samhsa.c2s.pcm.service.pdf.ConsentRevocationPdfGenerator;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -91,12 +92,10 @@
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -130,7 +129,7 @@ public class ConsentServiceImpl implements ConsentService {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     @Autowired
-    FhirConsentService fhirConsentService;
+    FhirConsentOutboxService fhirConsentOutboxService;
 
     @Autowired
     private PcmProperties pcmProperties;
@@ -189,10 +188,22 @@ public class ConsentServiceImpl implements ConsentService {
     private PurposeOfUseCodeRepository purposeOfUseCodeRepository;
 
     /**
-     * The consent export service.
+     * The consent summary service.
      */
     @Autowired
-    private ConsentExportService consentExportService;
+    private ConsentSummaryService consentSummaryService;
+
+    /**
+     * The consent artifact generator.
+     */
+    @Autowired
+    private ConsentArtifactGenerator consentArtifactGenerator;
+
+    /**
+     * The artifact store.
+     */
+    @Autowired
+    private ArtifactStore artifactStore;
 
     /**
      * The consent builder.
@@ -242,9 +253,8 @@ public class ConsentServiceImpl implements ConsentService {
     @Autowired
     private DocumentAccessor documentAccessor;
 
-    @SuppressWarnings("SpringJavaAutowiringInspection")
     @Autowired
-    private PhrService phrService;
+    private PhrProfileCache phrProfileCache;
 
     @Autowired
     private PatientService patientService;
@@ -255,12 +265,6 @@ public class ConsentServiceImpl implements ConsentService {
     @Autowired
     private ConsentRevocationTermsVersionsService consentRevocationTermsVersionsService;
 
-    /**
-     * The model mapper.
-     */
-    @Autowired
-    private ModelMapper modelMapper;
-
     @Autowired
     private MessageSource messageSource;
 
@@ -431,6 +435,8 @@ public boolean deleteConsent(Long consentId) {
 
         try {
             consentRepository.delete(consent);
+            consentCheckService.deleteConsentFingerprint(consentId);
+            consentSummaryService.deleteConsentSummary(consentId);
         } catch (final IllegalArgumentException e) {
             logger.warn("Attempted to call consentRepository.delete(consent) with null or invalid consent from deleteConsent(Long consentId) method in ConsentService.");
             logger.warn("The exception stack trace is: " + e);
@@ -472,18 +478,11 @@ public List<ConsentListDto> findAllConsentsDtoByPatient(Long patientId) {
 
     @Override
     @Transactional(readOnly = true)
-    public Map<String, Object> findAllConsentsDtoByPatientAndPage(Long patientId, String pageNumber) {
-        final Patient patient = patientRepository.findOne(patientId);
-
-        PageRequest page = new PageRequest(Integer.parseInt(pageNumber), 5,
-                Direction.DESC, "startDate");
-
-
-        final Page<Consent> pages = consentRepository.findByPatient(patient, page);
-        List<ConsentListDto> consentListDtos = makeConsentListDtos();
-        if (pages != null) {
-            consentListDtos = consentListToConsentListDtosConverter(pages.getContent());
-        }
+    public Map<String, Object> findAllConsentsDtoByPatientAndPage(Long patientId, String pageNumber, int pageSize) {
+        final int boundedPageSize = Math.max(1, Math.min(pageSize, MAX_CONSENT_PAGE_SIZE));
+        final Page<ConsentListDto> pages = consentSummaryService.findConsentListDtosByPatientId(patientId,
+                Integer.parseInt(pageNumber), boundedPageSize);
+        final List<ConsentListDto> consentListDtos = pages.getContent();
 
         Map<String, Object> pageResultsMap = new HashMap<String, Object>();
         pageResultsMap.put("results", consentListDtos);
@@ -500,16 +499,15 @@ public ConsentAttestationDto getConsentAttestationDto(String userName, Long cons
 
         Consent consent = null;
         ConsentAttestationDto consentAttestationDto = null;
-        Optional<Consent> findConsentOptional = patientRepository.findByUsername(userName).getConsents().stream()
-                .filter(c -> consentId.equals(c.getId()))
-                .findAny();
+        Optional<Consent> findConsentOptional = Optional.ofNullable(
+                consentRepository.findByIdAndPatientUsername(consentId, userName));
         if (findConsentOptional.isPresent()) {
             consent = findConsentOptional.get();
 
             consentAttestationDto = new ConsentAttestationDto();
             consentAttestationDto.setConsentReferenceNumber(consent.getConsentReferenceId());
 
-            final PatientDto patientProfile = phrService.getPatientProfile();
+            final PatientDto patientProfile = phrProfileCache.getPatientProfile();
 
             if (consentAttestationDto != null) {
                 consentAttestationDto.setPatientDateOfBirth(patientProfile.getBirthDate());
@@ -608,9 +606,8 @@ public ConsentRevocationAttestationDto getConsentRevocationAttestationDto(String
         Consent consent = null;
         ConsentRevocationAttestationDto consentRevocationAttestationDto = null;
 
-        Optional<Consent> findConsentOptional = patientRepository.findByUsername(userName).getConsents().stream()
-                .filter(c -> consentId.equals(c.getId()))
-                .findAny();
+        Optional<Consent> findConsentOptional = Optional.ofNullable(
+                consentRepository.findByIdAndPatientUsername(consentId, userName));
 
         if (findConsentOptional.isPresent()) {
             consent = findConsentOptional.get();
@@ -618,7 +615,7 @@ public ConsentRevocationAttestationDto getConsentRevocationAttestationDto(String
             consentRevocationAttestationDto = new ConsentRevocationAttestationDto();
             consentRevocationAttestationDto.setConsentReferenceId(consent.getConsentReferenceId());
 
-            final PatientDto patientProfile = phrService.getPatientProfile();
+            final PatientDto patientProfile = phrProfileCache.getPatientProfile();
 
             if (patientProfile != null) {
                 consentRevocationAttestationDto.setAttesterLastName(patientProfile.getLastName());
@@ -686,9 +683,8 @@ public Consent findConsent(Long id) {
     public ConsentDto findConsentById(String username, Long consentId) {
         Consent consent = null;
         ConsentDto consentDto = null;
-        Optional<Consent> findConsentOptional = patientRepository.findByUsername(username).getConsents().stream()
-                .filter(c -> consentId.equals(c.getId()))
-                .findAny();
+        Optional<Consent> findConsentOptional = Optional.ofNullable(
+                consentRepository.findByIdAndPatientUsername(consentId, username));
         if (findConsentOptional.isPresent()) {
             consent = findConsentOptional.get();
 
@@ -839,9 +835,8 @@ public ConsentDto findConsentById(String username, Long consentId) {
     public List<String> findObligationsConsentById(String username, Long consentId) {
         Consent consent = null;
         final Set<String> obligationCodes = new HashSet<String>();
-        Optional<Consent> findConsentOptional = patientRepository.findByUsername(username).getConsents().stream()
-                .filter(c -> consentId.equals(c.getId()))
-                .findAny();
+        Optional<Consent> findConsentOptional = Optional.ofNullable(
+                consentRepository.findByIdAndPatientUsername(consentId, username));
         if (findConsentOptional.isPresent()) {
             consent = findConsentOptional.get();
 
@@ -926,9 +921,9 @@ public ConsentPdfDto findConsentPdfDto(Long consentId) {
         final Consent consent = consentRepository.findOne(consentId);
         final ConsentPdfDto consentPdfDto = makeConsentPdfDto();
         if (consent.getStatus().equals(ConsentStatus.CONSENT_SIGNED) || consent.getStatus().equals(ConsentStatus.REVOCATION_REVOKED)) {
-            consentPdfDto.setContent(consent.getAttestedConsent().getAttestedPdfConsent());
+            consentPdfDto.setContent(readArtifact(consent.getAttestedConsent().getAttestedPdfConsentArtifactKey()));
         } else {
-            consentPdfDto.setContent(consent.getUnAttestedPdfConsent());
+            consentPdfDto.setContent(readArtifact(consent.getUnAttestedPdfConsentArtifactKey()));
         }
 
         consentPdfDto.setFilename(consent.getPatient().getFirstName() + "_"
@@ -942,12 +937,12 @@ public ConsentPdfDto findConsentPdfDto(Long consentId) {
     @Override
     public byte[] getAttestedConsentPdf(Long consentId) throws ConsentGenException {
         final Consent consent = consentRepository.findOne(consentId);
-        PatientDto patientDto = phrService.getPatientProfile();
+        PatientDto patientDto = phrProfileCache.getPatientProfile();
         final ConsentPdfDto consentPdfDto = makeConsentPdfDto();
         byte[] attestedConsentPdf = null;
 
-        if (consent != null && patientDto != null && consent.getAttestedConsent() != null && consent.getAttestedConsent().getAttestedPdfConsent() != null) {
-            attestedConsentPdf = consent.getAttestedConsent().getAttestedPdfConsent();
+        if (consent != null && patientDto != null && consent.getAttestedConsent() != null && consent.getAttestedConsent().getAttestedPdfConsentArtifactKey() != null) {
+            attestedConsentPdf = artifactStore.read(consent.getAttestedConsent().getAttestedPdfConsentArtifactKey());
         } else {
             logger.error("Error in getting attested consent pdf.");
             throw new AttestedConsentException("Error in getting attested consent pdf.");
@@ -958,13 +953,13 @@ public byte[] getAttestedConsentPdf(Long consentId) throws ConsentGenException {
     @Override
     public byte[] getAttestedConsentRevokedPdf(Long consentId) throws ConsentGenException {
         final Consent consent = consentRepository.findOne(consentId);
-        PatientDto patientDto = phrService.getPatientProfile();
+        PatientDto patientDto = phrProfileCache.getPatientProfile();
         final ConsentPdfDto consentPdfDto = makeConsentPdfDto();
         byte[] attestedConsentRevocationPdf = null;
 
-        if (consent != null && patientDto != null && consent.getAttestedConsent() != null && consent.getAttestedConsent().getAttestedPdfConsent() != null
+        if (consent != null && patientDto != null && consent.getAttestedConsent() != null && consent.getAttestedConsent().getAttestedPdfConsentArtifactKey() != null
                 && consent.getStatus().equals(ConsentStatus.REVOCATION_REVOKED)) {
-            attestedConsentRevocationPdf = consent.getAttestedConsentRevocation().getAttestedPdfConsentRevoke();
+            attestedConsentRevocationPdf = readArtifact(consent.getAttestedConsentRevocation().getAttestedPdfConsentRevokeArtifactKey());
         } else {
             logger.error("Error in getting attested consent revocation pdf");
             throw new AttestedConsentRevocationException("Error in getting attested consent revocation pdf");
@@ -972,6 +967,50 @@ public byte[] getAttestedConsentRevokedPdf(Long consentId) throws ConsentGenExce
         return attestedConsentRevocationPdf;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public DownloadDto findConsentPdfDownloadDto(Long consentId) {
+        final Consent consent = consentRepository.findOne(consentId);
+        if (consent.getStatus().equals(ConsentStatus.CONSENT_SIGNED) || consent.getStatus().equals(ConsentStatus.REVOCATION_REVOKED)) {
+            return makeArtifactDownloadDto(consent.getAttestedConsent().getAttestedPdfConsentArtifactKey(), true);
+        }
+        // the unattested pdf is regenerated whenever the consent is edited
+        return makeArtifactDownloadDto(consent.getUnAttestedPdfConsentArtifactKey(), false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DownloadDto findConsentRevokationPdfDownloadDto(Long consentId) {
+        final Consent consent = consentRepository.findOne(consentId);
+        if (!consent.getStatus().equals(ConsentStatus.REVOCATION_REVOKED)) {
+            throw new IllegalStateException("The status field of this consent object has an invalid value.");
+        }
+        return makeArtifactDownloadDto(consent.getAttestedConsentRevocation().getAttestedPdfConsentRevokeArtifactKey(), true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DownloadDto getAttestedConsentPdfDownloadDto(Long consentId) {
+        final Consent consent = consentRepository.findOne(consentId);
+        if (consent == null || consent.getAttestedConsent() == null || consent.getAttestedConsent().getAttestedPdfConsentArtifactKey() == null) {
+            logger.error("Error in getting attested consent pdf.");
+            throw new AttestedConsentException("Error in getting attested consent pdf.");
+        }
+        return makeArtifactDownloadDto(consent.getAttestedConsent().getAttestedPdfConsentArtifactKey(), true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DownloadDto getAttestedConsentRevokedPdfDownloadDto(Long consentId) {
+        final Consent consent = consentRepository.findOne(consentId);
+        if (consent == null || consent.getAttestedConsentRevocation() == null || consent.getAttestedConsentRevocation().getAttestedPdfConsentRevokeArtifactKey() == null
+                || !consent.getStatus().equals(ConsentStatus.REVOCATION_REVOKED)) {
+            logger.error("Error in getting attested consent revocation pdf");
+            throw new AttestedConsentRevocationException("Error in getting attested consent revocation pdf");
+        }
+        return makeArtifactDownloadDto(consent.getAttestedConsentRevocation().getAttestedPdfConsentRevokeArtifactKey(), true);
+    }
+
 
     @Override
     public void attestConsent(AttestationDto attestationDto) {
@@ -980,11 +1019,7 @@ public void attestConsent(AttestationDto attestationDto) {
 
         final Consent consent = consentRepository.findOne(consentId);
         //Updating the patient data with data from phr api
-        PatientDto patientDto = phrService.getPatientProfile();
-
-        if (pcmProperties.getHieConnection().getFhir().isEnabled()) {
-            fhirConsentService.publishFhirConsentToHie(consent, patientDto);
-        }
+        PatientDto patientDto = phrProfileCache.getPatientProfile();
 
         if (consent != null && consent.getAttestedConsent() == null && patientDto != null && consentId != null && attesterIdAddress != null) {
             patientService.updatePatientFromPHR(patientDto);
@@ -1018,7 +1053,7 @@ public void attestConsent(AttestationDto attestationDto) {
             }
 
             try {
-                attestedConsent.setAttestedPdfConsent(consentPdfGenerator.generateConsentPdf(consent, patient, true, attestedOn, term));
+                attestedConsent.setAttestedPdfConsentArtifactKey(artifactStore.store(consentPdfGenerator.generateConsentPdf(consent, patient, true, attestedOn, term)));
             } catch (IOException e) {
                 logger.error(e.getMessage(), e);
                 throw new ConsentPdfGenerationException(e);
@@ -1028,6 +1063,12 @@ public void attestConsent(AttestationDto attestationDto) {
             consent.setSignedDate(new Date());
             consent.setStatus(ConsentStatus.CONSENT_SIGNED);
             consentRepository.save(consent);
+            consentSummaryService.updateConsentSummary(consent);
+
+            // Published to the HIE by FhirConsentOutboxPublisher once this transaction commits
+            if (pcmProperties.getHieConnection().getFhir().isEnabled()) {
+                fhirConsentOutboxService.enqueue(consent, patientDto);
+            }
         } else {
             logger.error("Error in creating attested consent");
             throw new AttestedConsentRevocationException("Error in creating attested consent");
@@ -1041,7 +1082,7 @@ public void attestConsentRevocation(AttestationDto attestationDto) {
 
         final Consent consent = consentRepository.findOne(consentId);
         //Updating the patient data with data from phr api
-        PatientDto patientDto = phrService.getPatientProfile();
+        PatientDto patientDto = phrProfileCache.getPatientProfile();
 
         if (consent != null && consent.getAttestedConsentRevocation() == null && patientDto != null && consentId != null && attesterIdAddress != null) {
             patientService.updatePatientFromPHR(patientDto);
@@ -1068,7 +1109,7 @@ public void attestConsentRevocation(AttestationDto attestationDto) {
 
             String consentRevocationTerm = getConsentRevocationTerm();
             try {
-                attestedConsentRevocation.setAttestedPdfConsentRevoke(consentRevocationPdfGenerator.generateConsentRevocationPdf(consent, patient, revokedOn, consentRevocationTerm));
+                attestedConsentRevocation.setAttestedPdfConsentRevokeArtifactKey(artifactStore.store(consentRevocationPdfGenerator.generateConsentRevocationPdf(consent, patient, revokedOn, consentRevocationTerm)));
             } catch (IOException e) {
                 logger.error(e.getMessage(), e);
                 throw new ConsentRevocationPdfGenerationException(e);
@@ -1078,6 +1119,8 @@ public void attestConsentRevocation(AttestationDto attestationDto) {
             consent.setRevocationDate(new Date());
             consent.setStatus(ConsentStatus.REVOCATION_REVOKED);
             consentRepository.save(consent);
+            consentCheckService.revokeConsentFingerprint(consent.getId());
+            consentSummaryService.updateConsentSummary(consent);
         } else {
             logger.error("Error in creating attested consent revocation.");
             throw new AttestedConsentRevocationException("Error in creating attested consent revocation.");
@@ -1098,7 +1141,7 @@ public ConsentRevokationPdfDto findConsentRevokationPdfDto(Long consentId) {
         final String consentStatus = consent.getStatus();
 
         if (consentStatus.equals(ConsentStatus.REVOCATION_REVOKED)) {
-            consentRevokationPdfDto.setContent(consent.getAttestedConsentRevocation().getAttestedPdfConsentRevoke());
+            consentRevokationPdfDto.setContent(readArtifact(consent.getAttestedConsentRevocation().getAttestedPdfConsentRevokeArtifactKey()));
         } else {
             throw new IllegalStateException("The status field of this consent object has an invalid value.");
         }
@@ -1129,64 +1172,6 @@ public String getConsentStatus(Long consentId) {
         return signStatus;
     }
 
-    /**
-     * Gets the ids.
-     *
-     * @param c32List the c32 list
-     * @return the ids
-     */
-    public List<String> getIds(NodeList c32List) {
-        final List<String> listOfIdsInC32 = new ArrayList<String>();
-
-        for (int i = 0; i < c32List.getLength(); i++) {
-
-            final NodeList childNodes = c32List.item(i).getChildNodes();
-
-            for (int childIndex = 0; childIndex < childNodes.getLength(); childIndex++) {
-                final Node childNode = childNodes.item(childIndex);
-
-                if (childNode.getNodeType() == Node.ELEMENT_NODE) {
-
-                    final NodeList grandChildNodeList = childNode
-                            .getChildNodes();
-
-                    for (int grandChildIndex = 0; grandChildIndex < grandChildNodeList
-                            .getLength(); grandChildIndex++) {
-                        final Node grandChildNode = grandChildNodeList
-                                .item(grandChildIndex);
-
-                        if (grandChildNode.getNodeName().equalsIgnoreCase("ID")) {
-                            listOfIdsInC32.add(grandChildNode.getAttributes()
-                                    .getNamedItem("root").getNodeValue());
-                        }
-
-                    }
-                }
-            }
-        }
-        return listOfIdsInC32;
-    }
-
-    /**
-     * Gets the ids to tag.
-     *
-     * @param originalC32Ids  the original c32 ids
-     * @param segmentedC32Ids the segmented c32 ids
-     * @return the ids to tag
-     */
-    public List<String> getIdsToTag(List<String> originalC32Ids,
-                                    List<String> segmentedC32Ids) {
-        final List<String> idsToTag = new ArrayList<String>();
-
-        for (int i = 0; i < originalC32Ids.size(); i++) {
-            if (!segmentedC32Ids.contains(originalC32Ids.get(i))) {
-                idsToTag.add(originalC32Ids.get(i));
-            }
-        }
-
-        return idsToTag;
-    }
-
     /*
      * (non-Javadoc)
      *
@@ -1197,7 +1182,7 @@ public List<String> getIdsToTag(List<String> originalC32Ids,
     @Override
     @Transactional(readOnly = true)
     public byte[] getXacmlCcd(Long consentId) {
-        return consentRepository.findOne(consentId).getXacmlCcd();
+        return readArtifact(consentRepository.findOne(consentId).getXacmlCcdArtifactKey());
     }
 
     /*
@@ -1208,7 +1193,7 @@ public byte[] getXacmlCcd(Long consentId) {
      * .lang.Long)
      */
     public byte[] getConsentDirective(Long consentId) {
-        return consentRepository.findOne(consentId).getExportedCDAR2Consent();
+        return readArtifact(consentRepository.findOne(consentId).getExportedCDAR2ConsentArtifactKey());
     }
 
     /**
@@ -1322,7 +1307,7 @@ public Object saveConsent(ConsentDto consentDto, long patientId)
             patient = patientRepository.findOne(patientId);
         } else {
             //Updating the patient data with data from phr api
-            patientService.updatePatientFromPHR(phrService.getPatientProfile());
+            patientService.updatePatientFromPHR(phrProfileCache.getPatientProfile());
             patient = patientRepository.findByUsername(consentDto.getUsername());
         }
         final Map<String, AbstractProvider> providerMap = new HashMap<String, AbstractProvider>();
@@ -1492,161 +1477,19 @@ public Object saveConsent(ConsentDto consentDto, long patientId)
             terms = messageSource.getMessage("CONSENT.TERMS.TEXT", null, LocaleContextHolder.getLocale());
         }
 
-        try {
-            consent.setUnAttestedPdfConsent(consentPdfGenerator.generateConsentPdf(consent, patient, false, null, terms));
-        } catch (IOException e) {
-            logger.error(e.getMessage(), e);
-            throw new ConsentPdfGenerationException(e);
-        }
-
-        try {
-            consent.setXacmlCcd(consentExportService.exportConsent2XACML(
-                    consent).getBytes());
-
-            // set xacml for consentFrom provider to give access
-            // to consent pdf
-            consent.setXacmlPdfConsentFrom(consentExportService
-                    .exportConsent2XacmlPdfConsentFrom(consent).getBytes());
-
-            consent.setXacmlPdfConsentTo(consentExportService
-                    .exportConsent2XacmlPdfConsentTo(consent).getBytes());
-
-            consent.setExportedCDAR2Consent(consentExportService.exportConsent2CDAR2ConsentDirective(consent).getBytes());
-
-        } catch (final ConsentGenException e) {
-            logger.error("Error in saving consent in xacml format", e);
-            throw new ConsentGenException(e.getMessage());
-        }
+        consentArtifactGenerator.generateArtifacts(consent, patient, terms);
 
         if (consent.getId() != null) {
             consentRepository.save(consent);
         } else {
             consentFactory.createNewConsent(consent);
         }
+        consentCheckService.updateConsentFingerprint(consent);
+        consentSummaryService.updateConsentSummary(consent);
 
         return consentDto;
     }
 
-    /**
-     * Tag c32 document.
-     *
-     * @param taggedC32List the tagged c32 list
-     * @param taggedC32Ids  the tagged c32 ids
-     */
-    public void tagC32Document(NodeList taggedC32List, List<String> taggedC32Ids) {
-
-        for (int i = 0; i < taggedC32List.getLength(); i++) {
-            final Element elementToAddAttribute = (Element) taggedC32List
-                    .item(i);
-
-            final NodeList childNodes = taggedC32List.item(i).getChildNodes();
-
-            for (int childIndex = 0; childIndex < childNodes.getLength(); childIndex++) {
-                final Node childNode = childNodes.item(childIndex);
-
-                if (childNode.getNodeType() == Node.ELEMENT_NODE) {
-                    final NodeList grandChildNodeList = childNode
-                            .getChildNodes();
-
-                    for (int grandChildIndex = 0; grandChildIndex < grandChildNodeList
-                            .getLength(); grandChildIndex++) {
-                        final Node grandChildNode = grandChildNodeList
-                                .item(grandChildIndex);
-
-                        if (grandChildNode.getNodeName().equalsIgnoreCase("ID")) {
-
-                            // tag c32 by adding redact attribute to ids that
-                            // were segmented
-                            if (taggedC32Ids.contains(grandChildNode
-                                    .getAttributes().getNamedItem("root")
-                                    .getNodeValue())) {
-                                logger.info("Match!");
-                                elementToAddAttribute.setAttribute("redact",
-                                        "redact");
-                            }
-                        }
-                    }
-                }
-            }
-        }
-    }
-
-    /**
-     * Tag smart c32 document.
-     *
-     * @param taggedC32List the tagged c32 list
-     * @param taggedC32Ids  the tagged c32 ids
-     */
-    public void tagSmartC32Document(NodeList taggedC32List,
-                                    List<String> taggedC32Ids) {
-
-        for (int i = 0; i < taggedC32List.getLength(); i++) {
-            final Element elementToAddAttribute = (Element) taggedC32List
-                    .item(i);
-
-            final NodeList childNodes = taggedC32List.item(i).getChildNodes();
-
-            if (!isRedactableSection(taggedC32List.item(i))) {
-                continue;
-            }
-
-            for (int childIndex = 0; childIndex < childNodes.getLength(); childIndex++) {
-                final Node childNode = childNodes.item(childIndex);
-
-                if (childNode.getNodeType() == Node.ELEMENT_NODE) {
-
-                    final NodeList grandChildNodeList = childNode
-                            .getChildNodes();
-
-                    for (int grandChildIndex = 0; grandChildIndex < grandChildNodeList
-                            .getLength(); grandChildIndex++) {
-                        final Node grandChildNode = grandChildNodeList
-                                .item(grandChildIndex);
-
-                        if (grandChildNode.getNodeName().equalsIgnoreCase(
-                                "entryRelationship")) {
-                            final Node observationNode = grandChildNode
-                                    .getChildNodes().item(1);
-                            final NodeList observationChildNodes = observationNode
-                                    .getChildNodes();
-
-                            for (int observationIndex = 0; observationIndex < observationChildNodes
-                                    .getLength(); observationIndex++) {
-
-                                final Node observationChildNode = observationChildNodes
-                                        .item(observationIndex);
-
-                                if (childNode.getNodeType() == Node.ELEMENT_NODE) {
-
-                                    if (observationChildNode.getNodeName()
-                                            .equalsIgnoreCase("text")) {
-
-                                        final Node referenceNode = observationChildNode
-                                                .getChildNodes().item(1);
-                                        final Node referenceValue = referenceNode
-                                                .getAttributes().getNamedItem(
-                                                        "value");
-                                        logger.info("Reference value is: "
-                                                + referenceValue.getNodeValue());
-
-                                        if (taggedC32Ids
-                                                .contains(referenceValue
-                                                        .getNodeValue())) {
-                                            logger.info("Match!");
-                                            elementToAddAttribute.setAttribute(
-                                                    "redact", "redact");
-                                        }
-                                    }
-                                }
-                            }
-                        }
-
-                    }
-                }
-            }
-        }
-    }
-
     /**
      * Update consent.
      *
@@ -1680,6 +1523,37 @@ public boolean validateConsentDate(Date startDate, Date endDate) {
         return false;
     }
 
+    /**
+     * Reads the artifact content, keeping a missing artifact key as a missing content.
+     *
+     * @param artifactKey the artifact key
+     * @return the artifact content, or null if the key is null
+     */
+    private byte[] readArtifact(String artifactKey) {
+        return artifactKey == null ? null : artifactStore.read(artifactKey);
+    }
+
+    /**
+     * Makes the streamed pdf download of an artifact. The artifact key is the hash of the content, so it
+     * doubles as the strong ETag.
+     *
+     * @param artifactKey the artifact key
+     * @param immutable   whether the document can no longer change, as for the signed documents
+     * @return the download dto
+     */
+    private DownloadDto makeArtifactDownloadDto(String artifactKey, boolean immutable) {
+        if (artifactKey == null) {
+            throw new ArtifactStoreException("Consent pdf not found");
+        }
+        return DownloadDto.builder()
+                .etag(artifactKey)
+                .contentType(MediaType.APPLICATION_PDF_VALUE)
+                .contentLength(artifactStore.getSize(artifactKey))
+                .immutable(immutable)
+                .contentWriter((out, offset, length) -> artifactStore.copyTo(artifactKey, out, offset, length))
+                .build();
+    }
+
     /**
      * Returns xacmlFile based on consent id.
      *
@@ -1691,7 +1565,7 @@ private String findConsentXACMLById(Long consentId) {
 
         if (consentRepository.findOne(consentId) != null) {
             final Consent consent = consentRepository.findOne(consentId);
-            final byte[] xacmlByte = consent.getXacmlCcd();
+            final byte[] xacmlByte = readArtifact(consent.getXacmlCcdArtifactKey());
             try {
                 xacmlFile = new String(xacmlByte, "UTF-8");
             } catch (final UnsupportedEncodingException e) {
@@ -1706,7 +1580,8 @@ private String findConsentXACMLById(Long consentId) {
     public XacmlDto findXACMLForCCDByConsentId(Long consentId) {
         Assert.notNull(consentId, "Consent ID is required to find XACML");
         byte[] xacmlForCCD = Optional.ofNullable(consentRepository.findOne(consentId))
-                .map(Consent::getXacmlCcd)
+                .map(Consent::getXacmlCcdArtifactKey)
+                .map(artifactStore::read)
                 .orElseThrow(() -> new XacmlNotFoundException("XACML for CCD not found with consent id: " + consentId));
         return new XacmlDto(xacmlForCCD);
     }
@@ -1736,129 +1611,6 @@ private String generatePolicyId(ConsentDto consentDto, String mrn) {
         return policyId;
     }
 
-    /**
-     * Gets the ids for smart.
-     *
-     * @param c32List the c32 list
-     * @return the ids for smart
-     */
-    private List<String> getIdsForSmart(NodeList c32List) {
-        final List<String> listOfIdsInC32 = new ArrayList<String>();
-
-        for (int i = 0; i < c32List.getLength(); i++) {
-
-            final NodeList childNodes = c32List.item(i).getChildNodes();
-
-            if (!isRedactableSection(c32List.item(i))) {
-                continue;
-            }
-
-            for (int childIndex = 0; childIndex < childNodes.getLength(); childIndex++) {
-                final Node childNode = childNodes.item(childIndex);
-
-                if (childNode.getNodeType() == Node.ELEMENT_NODE) {
-
-                    final NodeList grandChildNodeList = childNode
-                            .getChildNodes();
-
-                    for (int grandChildIndex = 0; grandChildIndex < grandChildNodeList
-                            .getLength(); grandChildIndex++) {
-                        final Node grandChildNode = grandChildNodeList
-                                .item(grandChildIndex);
-
-                        if (grandChildNode.getNodeName().equalsIgnoreCase(
-                                "entryRelationship")) {
-                            final Node observationNode = grandChildNode
-                                    .getChildNodes().item(1);
-                            final NodeList observationChildNodes = observationNode
-                                    .getChildNodes();
-
-                            for (int observationIndex = 0; observationIndex < observationChildNodes
-                                    .getLength(); observationIndex++) {
-
-                                final Node observationChildNode = observationChildNodes
-                                        .item(observationIndex);
-
-                                if (childNode.getNodeType() == Node.ELEMENT_NODE) {
-
-                                    if (observationChildNode.getNodeName()
-                                            .equalsIgnoreCase("text")) {
-
-                                        final Node referenceNode = observationChildNode
-                                                .getChildNodes().item(1);
-                                        final Node referenceValue = referenceNode
-                                                .getAttributes().getNamedItem(
-                                                        "value");
-                                        logger.info("Reference value is: "
-                                                + referenceValue.getNodeValue());
-
-                                        listOfIdsInC32.add(referenceValue
-                                                .getNodeValue());
-                                    }
-                                }
-                            }
-                        }
-
-                    }
-                }
-            }
-        }
-        return listOfIdsInC32;
-    }
-
-    /**
-     * Checks if is redactable section.
-     *
-     * @param entryNode the entry node
-     * @return true, if is redactable section
-     */
-    private boolean isRedactableSection(Node entryNode) {
-        boolean isRedactable = false;
-        while (entryNode.getPreviousSibling() != null) {
-            final Node previousSibling = entryNode.getPreviousSibling();
-            if (previousSibling.getNodeType() == Node.ELEMENT_NODE) {
-                if (previousSibling.getNodeName().equalsIgnoreCase("title")) {
-                    final NodeList c = previousSibling.getChildNodes();
-                    isRedactable = validationSection(previousSibling
-                            .getChildNodes().item(0).getNodeValue());
-                }
-            }
-            entryNode = previousSibling;
-        }
-        return isRedactable;
-    }
-
-    /**
-     * Checks if is smart c32.
-     *
-     * @param originalC32 the original c32
-     * @return true, if is smart c32
-     */
-    private boolean isSmartC32(String originalC32) {
-        if (originalC32.contains("content")) {
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Validation section.
-     *
-     * @param nodeValue the node value
-     * @return true, if successful
-     */
-    private boolean validationSection(String nodeValue) {
-        boolean redacted = false;
-        if (nodeValue.toUpperCase().matches(
-                "^.*?(PROBLEMS|MEDICATIONS|RESULTS|ALLERGIES).*$")) {
-            redacted = true;
-        }
-
-        logger.info("Node value: " + nodeValue + "   Is redactable: "
-                + redacted);
-        return redacted;
-    }
-
     /**
      * get regarding terms text based on locale
      */
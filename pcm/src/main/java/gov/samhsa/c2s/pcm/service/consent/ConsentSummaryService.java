@@ -0,0 +1,27 @@
+package gov.samhsa.c2s.pcm.service.consent;
+
+import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.service.dto.ConsentListDto;
+import org.springframework.data.domain.Page;
+
+public interface ConsentSummaryService {
+
+    /**
+     * Replaces the consent list summary of the consent with one built from its current state.
+     *
+     * @param consent the persisted consent
+     */
+    void updateConsentSummary(Consent consent);
+
+    void deleteConsentSummary(Long consentId);
+
+    /**
+     * Finds one page of the consent list of a patient, most recent start date first.
+     *
+     * @param patientId  the patient id
+     * @param pageNumber the zero based page number
+     * @param pageSize   the page size
+     * @return the page of consent list dtos
+     */
+    Page<ConsentListDto> findConsentListDtosByPatientId(Long patientId, int pageNumber, int pageSize);
+}
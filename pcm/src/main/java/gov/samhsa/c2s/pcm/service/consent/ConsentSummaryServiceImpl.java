@@ -0,0 +1,188 @@
+package gov.samhsa.c2s.pcm.service.consent;
+
+import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentDoNotShareClinicalDocumentTypeCode;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentDoNotShareSensitivityPolicyCode;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentIndividualProviderDisclosureIsMadeTo;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentIndividualProviderPermittedToDisclose;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentOrganizationalProviderDisclosureIsMadeTo;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentOrganizationalProviderPermittedToDisclose;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentShareForPurposeOfUseCode;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentSummary;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentSummaryRepository;
+import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
+import gov.samhsa.c2s.pcm.domain.reference.ClinicalConceptCode;
+import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCode;
+import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCodeRepository;
+import gov.samhsa.c2s.pcm.service.dto.ConsentListDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Transactional
+public class ConsentSummaryServiceImpl implements ConsentSummaryService {
+
+    @Autowired
+    private ConsentSummaryRepository consentSummaryRepository;
+
+    @Autowired
+    private PurposeOfUseCodeRepository purposeOfUseCodeRepository;
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Override
+    public void updateConsentSummary(Consent consent) {
+        consentSummaryRepository.save(makeConsentSummary(consent));
+    }
+
+    @Override
+    public void deleteConsentSummary(Long consentId) {
+        consentSummaryRepository.deleteByConsentId(consentId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ConsentListDto> findConsentListDtosByPatientId(Long patientId, int pageNumber, int pageSize) {
+        final Page<ConsentSummary> consentSummaries = consentSummaryRepository.findByPatientId(patientId,
+                new PageRequest(pageNumber, pageSize, Direction.DESC, "startDate"));
+
+        // the purpose of use reference table is tiny, so one lookup serves the whole page
+        final Map<String, PurposeOfUseCode> purposeOfUseCodes = new HashMap<String, PurposeOfUseCode>();
+        if (consentSummaries.hasContent()) {
+            for (final PurposeOfUseCode purposeOfUseCode : purposeOfUseCodeRepository.findAll()) {
+                purposeOfUseCodes.put(purposeOfUseCode.getCode(), purposeOfUseCode);
+            }
+        }
+
+        final Locale locale = LocaleContextHolder.getLocale();
+        return consentSummaries.map(consentSummary -> toConsentListDto(consentSummary, purposeOfUseCodes, locale));
+    }
+
+    /**
+     * Makes the consent list summary of the consent.
+     *
+     * @param consent the consent
+     * @return the consent summary
+     */
+    protected ConsentSummary makeConsentSummary(Consent consent) {
+        final Set<String> toDiscloseNames = new HashSet<String>();
+        for (final ConsentIndividualProviderPermittedToDisclose item : consent
+                .getProvidersPermittedToDisclose()) {
+            toDiscloseNames.add(getName(item.getIndividualProvider()));
+        }
+        for (final ConsentOrganizationalProviderPermittedToDisclose item : consent
+                .getOrganizationalProvidersPermittedToDisclose()) {
+            toDiscloseNames.add(item.getOrganizationalProvider().getOrgName());
+        }
+
+        final Set<String> isMadeToNames = new HashSet<String>();
+        for (final ConsentIndividualProviderDisclosureIsMadeTo item : consent
+                .getProvidersDisclosureIsMadeTo()) {
+            isMadeToNames.add(getName(item.getIndividualProvider()));
+        }
+        for (final ConsentOrganizationalProviderDisclosureIsMadeTo item : consent
+                .getOrganizationalProvidersDisclosureIsMadeTo()) {
+            isMadeToNames.add(item.getOrganizationalProvider().getOrgName());
+        }
+
+        final Set<String> clinicalDocumentTypeNames = new HashSet<String>();
+        for (final ConsentDoNotShareClinicalDocumentTypeCode item : consent
+                .getDoNotShareClinicalDocumentTypeCodes()) {
+            clinicalDocumentTypeNames.add(item.getClinicalDocumentTypeCode().getDisplayName());
+        }
+
+        final Set<String> sensitivityPolicyCodes = new HashSet<String>();
+        final Set<String> sensitivityPolicyNames = new HashSet<String>();
+        for (final ConsentDoNotShareSensitivityPolicyCode item : consent
+                .getDoNotShareSensitivityPolicyCodes()) {
+            sensitivityPolicyCodes.add(item.getValueSetCategory().getCode());
+            sensitivityPolicyNames.add(item.getValueSetCategory().getName());
+        }
+
+        final Set<String> purposeOfUseCodes = new HashSet<String>();
+        final Set<String> purposeOfUseNames = new HashSet<String>();
+        for (final ConsentShareForPurposeOfUseCode item : consent
+                .getShareForPurposeOfUseCodes()) {
+            purposeOfUseCodes.add(item.getPurposeOfUseCode().getCode());
+            purposeOfUseNames.add(item.getPurposeOfUseCode().getDisplayName());
+        }
+
+        final Set<String> clinicalConceptCodeNames = new HashSet<String>();
+        for (final ClinicalConceptCode item : consent
+                .getDoNotShareClinicalConceptCodes()) {
+            clinicalConceptCodeNames.add(item.getDisplayName());
+        }
+
+        final ConsentSummary consentSummary = new ConsentSummary();
+        consentSummary.setConsentId(consent.getId());
+        consentSummary.setPatientId(consent.getPatient().getId());
+        consentSummary.setStatus(consent.getStatus());
+        consentSummary.setStartDate(consent.getStartDate());
+        consentSummary.setEndDate(consent.getEndDate());
+        consentSummary.setToDiscloseNames(ConsentSummary.join(toDiscloseNames));
+        consentSummary.setIsMadeToNames(ConsentSummary.join(isMadeToNames));
+        consentSummary.setDoNotShareClinicalDocumentTypeNames(ConsentSummary.join(clinicalDocumentTypeNames));
+        consentSummary.setDoNotShareSensitivityPolicyCodes(ConsentSummary.join(sensitivityPolicyCodes));
+        consentSummary.setDoNotShareSensitivityPolicyNames(ConsentSummary.join(sensitivityPolicyNames));
+        consentSummary.setShareForPurposeOfUseCodes(ConsentSummary.join(purposeOfUseCodes));
+        consentSummary.setShareForPurposeOfUseNames(ConsentSummary.join(purposeOfUseNames));
+        consentSummary.setDoNotShareClinicalConceptCodeNames(ConsentSummary.join(clinicalConceptCodeNames));
+        return consentSummary;
+    }
+
+    private ConsentListDto toConsentListDto(ConsentSummary consentSummary,
+                                            Map<String, PurposeOfUseCode> purposeOfUseCodes, Locale locale) {
+        final boolean isEnglish = locale.getLanguage().equalsIgnoreCase("en");
+        final Set<String> purposeOfUseCodeSet = ConsentSummary.split(consentSummary.getShareForPurposeOfUseCodes());
+
+        final Set<PurposeOfUseCode> shareForPurposeOfUse = new HashSet<PurposeOfUseCode>();
+        for (final String code : purposeOfUseCodeSet) {
+            shareForPurposeOfUse.add(purposeOfUseCodes.get(code));
+        }
+
+        final ConsentListDto consentListDto = new ConsentListDto();
+        consentListDto.setId(Long.toString(consentSummary.getConsentId()));
+        consentListDto.setConsentStage(consentSummary.getStatus());
+        consentListDto.setToDiscloseName(ConsentSummary.split(consentSummary.getToDiscloseNames()));
+        consentListDto.setIsMadeToName(ConsentSummary.split(consentSummary.getIsMadeToNames()));
+        consentListDto.setDoNotShareClinicalDocumentTypeCodes(
+                ConsentSummary.split(consentSummary.getDoNotShareClinicalDocumentTypeNames()));
+        consentListDto.setDoNotShareSensitivityPolicyCodes(isEnglish
+                ? ConsentSummary.split(consentSummary.getDoNotShareSensitivityPolicyNames())
+                : getLocalizedNames(consentSummary.getDoNotShareSensitivityPolicyCodes(), locale));
+        consentListDto.setShareForPurposeOfUseCodes(isEnglish
+                ? ConsentSummary.split(consentSummary.getShareForPurposeOfUseNames())
+                : getLocalizedNames(consentSummary.getShareForPurposeOfUseCodes(), locale));
+        consentListDto.setShareForPurposeOfUse(shareForPurposeOfUse);
+        consentListDto.setDoNotShareClinicalConceptCodes(
+                ConsentSummary.split(consentSummary.getDoNotShareClinicalConceptCodeNames()));
+        consentListDto.setConsentStart(consentSummary.getStartDate());
+        consentListDto.setConsentEnd(consentSummary.getEndDate());
+        return consentListDto;
+    }
+
+    private Set<String> getLocalizedNames(String codes, Locale locale) {
+        final Set<String> names = new HashSet<String>();
+        for (final String code : ConsentSummary.split(codes)) {
+            names.add(messageSource.getMessage(code + ".NAME", null, locale));
+        }
+        return names;
+    }
+
+    private static String getName(IndividualProvider individualProvider) {
+        return individualProvider.getLastName() + ", " + individualProvider.getFirstName();
+    }
+}
@@ -1,12 +1,10 @@
 package gov.samhsa.c2s.pcm.service.consent;
 
 import gov.samhsa.c2s.pcm.config.PcmProperties;
-import gov.samhsa.c2s.pcm.domain.consent.ConsentRepository;
 import gov.samhsa.c2s.pcm.service.dto.ConsentDto;
-import gov.samhsa.c2s.common.util.UniqueValueGenerator;
-import org.apache.commons.lang3.RandomStringUtils;
+import gov.samhsa.c2s.pcm.service.identifier.IdentifierGenerator;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
@@ -17,18 +15,16 @@
 public class PolicyIdServiceImpl implements PolicyIdService {
 
     /**
-     * The Constant RANDOM_STRING_LENGTH.
+     * The length of the generated suffix. It is longer than the six random characters of the suffixes generated
+     * before, so a generated policy id cannot repeat one of them.
      */
-    private static final int RANDOM_STRING_LENGTH = 6;
+    private static final int SUFFIX_LENGTH = 7;
 
     @Autowired
     private PcmProperties pcmProperties;
 
-    /**
-     * The consent repository.
-     */
     @Autowired
-    private ConsentRepository consentRepository;
+    private IdentifierGenerator identifierGenerator;
 
     /*
      * (non-Javadoc)
@@ -39,21 +35,17 @@ public class PolicyIdServiceImpl implements PolicyIdService {
      */
     @Override
     public String generatePolicyId(ConsentDto consentDto, String mrn) {
-        final short iterationLimit = 3;
-        return UniqueValueGenerator
-                .generateUniqueValue(() -> generateRandomPolicyId(consentDto, mrn),
-                        generatedValue -> consentRepository.findAllByConsentReferenceId(generatedValue)
-                                .size() == 0, iterationLimit);
+        return buildPolicyId(consentDto, mrn);
     }
 
     /**
-     * Generate random policy id.
+     * Build policy id.
      *
      * @param consentDto the consent dto
      * @param mrn        the mrn
      * @return the string
      */
-    private String generateRandomPolicyId(ConsentDto consentDto, String mrn) {
+    private String buildPolicyId(ConsentDto consentDto, String mrn) {
         Assert.hasText(mrn, "The patient must have an local c2s identifier.");
         StringBuilder consentReferenceIdBuilder = new StringBuilder();
         consentReferenceIdBuilder.append(mrn);
@@ -93,8 +85,10 @@ private String generateRandomPolicyId(ConsentDto consentDto, String mrn) {
                     .getProvidersPermittedToDiscloseNpi().toArray()[0]);
         }
         consentReferenceIdBuilder.append(":");
-        consentReferenceIdBuilder.append(RandomStringUtils
-                .randomAlphanumeric((RANDOM_STRING_LENGTH)));
+        // the sequence value is unique across nodes, so the policy id is unique without querying the consents
+        final long suffix = identifierGenerator.nextValue(IdentifierGenerator.Sequence.POLICY_ID);
+        consentReferenceIdBuilder.append(StringUtils.leftPad(Long.toString(suffix, Character.MAX_RADIX),
+                SUFFIX_LENGTH, '0'));
         return consentReferenceIdBuilder.toString().toUpperCase();
     }
 }
@@ -4,7 +4,6 @@
 import gov.samhsa.c2s.pcm.domain.consent.ConsentRepository;
 import gov.samhsa.c2s.common.consentgen.ConsentDto;
 import gov.samhsa.c2s.common.consentgen.ConsentDtoFactory;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,10 +16,6 @@ public class ConsentDtoFactoryImpl implements ConsentDtoFactory {
      * The logger.
      */
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
-    /**
-     * The model mapper.
-     */
-    ModelMapper modelMapper;
     /**
      * The consent repository.
      */
@@ -34,14 +29,12 @@ public class ConsentDtoFactoryImpl implements ConsentDtoFactory {
      * Instantiates a new consent dto factory impl.
      *
      * @param consentRepository   the consent repository
-     * @param modelMapper         the model mapper
      * @param consentExportMapper the consent export mapper
      */
     public ConsentDtoFactoryImpl(ConsentRepository consentRepository,
-                                 ModelMapper modelMapper, ConsentExportMapper consentExportMapper) {
+                                 ConsentExportMapper consentExportMapper) {
         super();
         this.consentRepository = consentRepository;
-        this.modelMapper = modelMapper;
         this.consentExportMapper = consentExportMapper;
     }
 
@@ -74,6 +67,9 @@ public ConsentDto createConsentDto(Object obj) {
                 consentDto = consentExportMapper.map(consent);
             } else if (obj instanceof Consent) {
                 consentDto = consentExportMapper.map((Consent) obj);
+            } else if (obj instanceof ConsentDto) {
+                // already mapped, e.g. before the export was handed to another thread
+                consentDto = (ConsentDto) obj;
             }
         }
         return consentDto;
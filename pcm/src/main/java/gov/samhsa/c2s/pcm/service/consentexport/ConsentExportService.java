@@ -26,6 +26,7 @@
 package gov.samhsa.c2s.pcm.service.consentexport;
 
 
+import gov.samhsa.c2s.common.consentgen.ConsentDto;
 import gov.samhsa.c2s.common.consentgen.ConsentGenException;
 import gov.samhsa.c2s.pcm.domain.consent.Consent;
 
@@ -86,4 +87,55 @@ public String exportConsent2XacmlPdfConsentFrom(Consent consent)
 	 */
 	public String exportConsent2XacmlPdfConsentTo(Consent consent)
 			throws ConsentGenException;
+
+	/**
+	 * Export consent to CDAR2 consent directive format from a consent that
+	 * is already mapped, without reading the consent entity.
+	 *
+	 * @param consentDto
+	 *            the mapped consent
+	 * @return the string
+	 * @throws ConsentGenException
+	 *             the consent gen exception
+	 */
+	String exportConsent2CDAR2ConsentDirective(ConsentDto consentDto)
+			throws ConsentGenException;
+
+	/**
+	 * Export consent to xacml format from a consent that is already mapped,
+	 * without reading the consent entity.
+	 *
+	 * @param consentDto
+	 *            the mapped consent
+	 * @return the string
+	 * @throws ConsentGenException
+	 *             the consent gen exception
+	 */
+	String exportConsent2XACML(ConsentDto consentDto) throws ConsentGenException;
+
+	/**
+	 * Export consent2 xacml for consentFrom provider from a consent that is
+	 * already mapped, without reading the consent entity.
+	 *
+	 * @param consentDto
+	 *            the mapped consent
+	 * @return the string
+	 * @throws ConsentGenException
+	 *             the consent gen exception
+	 */
+	String exportConsent2XacmlPdfConsentFrom(ConsentDto consentDto)
+			throws ConsentGenException;
+
+	/**
+	 * Export consent2 xacml for consentTo provider from a consent that is
+	 * already mapped, without reading the consent entity.
+	 *
+	 * @param consentDto
+	 *            the mapped consent
+	 * @return the string
+	 * @throws ConsentGenException
+	 *             the consent gen exception
+	 */
+	String exportConsent2XacmlPdfConsentTo(ConsentDto consentDto)
+			throws ConsentGenException;
 }
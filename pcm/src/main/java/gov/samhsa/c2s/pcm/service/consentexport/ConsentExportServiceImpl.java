@@ -29,11 +29,13 @@
 
 import gov.samhsa.c2s.pcm.domain.consent.Consent;
 import gov.samhsa.c2s.common.consentgen.ConsentBuilder;
+import gov.samhsa.c2s.common.consentgen.ConsentDto;
 import gov.samhsa.c2s.common.consentgen.ConsentGenException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -117,4 +119,34 @@ public String exportConsent2XacmlPdfConsentTo(Consent consent)
 			throws ConsentGenException {
 		return consentBuilder.buildConsent2XacmlPdfConsentTo(consent);
 	}
+
+	// The mapped consent needs no database access, so these exports do not
+	// start a transaction of their own when called from a worker thread
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public String exportConsent2CDAR2ConsentDirective(ConsentDto consentDto)
+			throws ConsentGenException {
+		return consentBuilder.buildConsent2Cdar2ConsentDirective(consentDto);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public String exportConsent2XACML(ConsentDto consentDto)
+			throws ConsentGenException {
+		return consentBuilder.buildConsent2Xacml(consentDto);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public String exportConsent2XacmlPdfConsentFrom(ConsentDto consentDto)
+			throws ConsentGenException {
+		return consentBuilder.buildConsent2XacmlPdfConsentFrom(consentDto);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public String exportConsent2XacmlPdfConsentTo(ConsentDto consentDto)
+			throws ConsentGenException {
+		return consentBuilder.buildConsent2XacmlPdfConsentTo(consentDto);
+	}
 }
@@ -0,0 +1,42 @@
+package gov.samhsa.c2s.pcm.service.dto;
+
+import java.util.List;
+
+public class ActivityHistorySliceDto {
+    private List<HistoryDto> historyDtoList;
+    private String nextCursor;
+    private int itemsPerPage;
+    private Long totalItems;
+
+    public List<HistoryDto> getHistoryDtoList() {
+        return historyDtoList;
+    }
+
+    public void setHistoryDtoList(List<HistoryDto> historyDtoList) {
+        this.historyDtoList = historyDtoList;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getItemsPerPage() {
+        return itemsPerPage;
+    }
+
+    public void setItemsPerPage(int itemsPerPage) {
+        this.itemsPerPage = itemsPerPage;
+    }
+
+    public Long getTotalItems() {
+        return totalItems;
+    }
+
+    public void setTotalItems(Long totalItems) {
+        this.totalItems = totalItems;
+    }
+}
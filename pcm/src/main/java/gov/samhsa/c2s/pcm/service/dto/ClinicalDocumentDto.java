@@ -25,6 +25,7 @@
  ******************************************************************************/
 package gov.samhsa.c2s.pcm.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.hibernate.validator.constraints.NotEmpty;
 
 import javax.persistence.Lob;
@@ -56,6 +57,10 @@ public class ClinicalDocumentDto implements HasId {
     @Lob
     private byte[] content;
 
+    /** The SHA-256 of the content, when it was computed while the upload was scanned. */
+    @JsonIgnore
+    private String contentHash;
+
     /** The content type. */
     @NotEmpty
     private String contentType;
@@ -169,6 +174,25 @@ public void setContent(byte[] content) {
         this.content = content;
     }
 
+    /**
+     * Gets the content hash.
+     *
+     * @return the content hash
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Sets the content hash.
+     *
+     * @param contentHash
+     *            the new content hash
+     */
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     /**
      * Gets the content type.
      *
@@ -0,0 +1,47 @@
+package gov.samhsa.c2s.pcm.service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A downloadable document whose content is streamed from its persisted source on demand.
+ */
+@Data
+@Builder
+public class DownloadDto {
+
+    /** The lowercase hex SHA-256 of the content, used as the strong ETag. */
+    private String etag;
+
+    /** The content type. */
+    private String contentType;
+
+    /** The content length in bytes. */
+    private long contentLength;
+
+    /** Whether the content can never change under the same URL, as for signed documents. */
+    private boolean immutable;
+
+    /** The writer of the content. */
+    private ContentWriter contentWriter;
+
+    /**
+     * Writes a byte range of the content.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+
+        /**
+         * Writes {@code length} bytes of the content starting at {@code offset}.
+         *
+         * @param out    the output stream, which is left open
+         * @param offset the offset of the first byte
+         * @param length the number of bytes to write
+         * @throws IOException if the content cannot be written
+         */
+        void write(OutputStream out, long offset, long length) throws IOException;
+    }
+}
@@ -0,0 +1,27 @@
+package gov.samhsa.c2s.pcm.service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+public class ArtifactStoreException extends RuntimeException {
+    public ArtifactStoreException() {
+        super();
+    }
+
+    public ArtifactStoreException(String message) {
+        super(message);
+    }
+
+    public ArtifactStoreException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ArtifactStoreException(Throwable cause) {
+        super(cause);
+    }
+
+    protected ArtifactStoreException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,27 @@
+package gov.samhsa.c2s.pcm.service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+public class ConsentArtifactGenerationException extends RuntimeException {
+    public ConsentArtifactGenerationException() {
+        super();
+    }
+
+    public ConsentArtifactGenerationException(String message) {
+        super(message);
+    }
+
+    public ConsentArtifactGenerationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ConsentArtifactGenerationException(Throwable cause) {
+        super(cause);
+    }
+
+    protected ConsentArtifactGenerationException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,9 @@
+package gov.samhsa.c2s.pcm.service.fhir;
+
+public interface FhirConsentOutboxPublisher {
+
+    /**
+     * Publishes the next batch of due FHIR consent outbox entries to the HIE.
+     */
+    void publishDueConsents();
+}
@@ -0,0 +1,131 @@
+package gov.samhsa.c2s.pcm.service.fhir;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.DataFormatException;
+import ca.uhn.fhir.parser.IParser;
+import ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException;
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.domain.consent.FhirConsentOutboxEntry;
+import org.hl7.fhir.dstu3.model.Consent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class FhirConsentOutboxPublisherImpl implements FhirConsentOutboxPublisher {
+
+    private static final String METRIC_NAME = "fhir.consent.outbox.";
+
+    /**
+     * The logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private FhirConsentOutboxService fhirConsentOutboxService;
+
+    @Autowired
+    private FhirConsentService fhirConsentService;
+
+    @Autowired
+    private FhirContext fhirContext;
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    @Autowired
+    private GaugeService gaugeService;
+
+    @Autowired
+    private CounterService counterService;
+
+    @Override
+    @Scheduled(fixedDelayString = "${c2s.pcm.hie-connection.fhir.outbox.pollIntervalInMs}")
+    public void publishDueConsents() {
+        if (!pcmProperties.getHieConnection().getFhir().isEnabled()) {
+            return;
+        }
+
+        List<FhirConsentOutboxEntry> entries = fhirConsentOutboxService.claimDueEntries();
+        if (!entries.isEmpty()) {
+            long startTime = System.currentTimeMillis();
+            publish(entries);
+            gaugeService.submit("timer." + METRIC_NAME + "batch", System.currentTimeMillis() - startTime);
+        }
+
+        gaugeService.submit(METRIC_NAME + "lag", fhirConsentOutboxService.getLagInMs());
+        gaugeService.submit(METRIC_NAME + "pending", fhirConsentOutboxService.countPendingEntries());
+    }
+
+    private void publish(List<FhirConsentOutboxEntry> entries) {
+        // entries whose resource cannot be parsed or validated will never be accepted by the HIE
+        IParser parser = fhirContext.newJsonParser();
+        Map<Long, Consent> fhirConsents = new LinkedHashMap<>();
+        for (FhirConsentOutboxEntry entry : entries) {
+            try {
+                Consent fhirConsent = parser.parseResource(Consent.class, entry.getFhirConsent());
+                fhirConsentService.validateFhirConsent(fhirConsent);
+                fhirConsents.put(entry.getId(), fhirConsent);
+            } catch (DataFormatException | FHIRFormatErrorException e) {
+                recordFailure(entry.getId(), e, false);
+            }
+        }
+        if (fhirConsents.isEmpty()) {
+            return;
+        }
+
+        try {
+            fhirConsentService.publishFhirConsentsToHie(new ArrayList<>(fhirConsents.values()));
+            recordSuccess(new ArrayList<>(fhirConsents.keySet()));
+        } catch (RuntimeException e) {
+            if (fhirConsents.size() == 1) {
+                recordFailure(fhirConsents.keySet().iterator().next(), e, isRetryable(e));
+                return;
+            }
+            // a transaction Bundle is all or nothing, so retry the entries one by one to isolate the failing ones
+            logger.warn("Publishing a batch of " + fhirConsents.size()
+                    + " FHIR consents failed, publishing them one by one: " + e);
+            fhirConsents.forEach((entryId, fhirConsent) -> {
+                try {
+                    fhirConsentService.publishFhirConsentsToHie(Collections.singletonList(fhirConsent));
+                    recordSuccess(Collections.singletonList(entryId));
+                } catch (RuntimeException singleFailure) {
+                    recordFailure(entryId, singleFailure, isRetryable(singleFailure));
+                }
+            });
+        }
+    }
+
+    private void recordSuccess(List<Long> entryIds) {
+        fhirConsentOutboxService.markPublished(entryIds);
+        entryIds.forEach(entryId -> counterService.increment(METRIC_NAME + "published"));
+    }
+
+    private void recordFailure(Long entryId, Exception error, boolean retryable) {
+        counterService.increment(METRIC_NAME + "failed");
+        if (fhirConsentOutboxService.markFailed(entryId, error, retryable)) {
+            counterService.increment(METRIC_NAME + "dead-letter");
+        }
+    }
+
+    /**
+     * Client errors other than timeouts and throttling mean the HIE rejected the resource itself.
+     */
+    private boolean isRetryable(RuntimeException e) {
+        if (e instanceof BaseServerResponseException) {
+            int statusCode = ((BaseServerResponseException) e).getStatusCode();
+            return statusCode < 400 || statusCode >= 500 || statusCode == 408 || statusCode == 429;
+        }
+        return true;
+    }
+}
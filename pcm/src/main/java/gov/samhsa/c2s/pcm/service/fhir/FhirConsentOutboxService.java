@@ -0,0 +1,47 @@
+package gov.samhsa.c2s.pcm.service.fhir;
+
+import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.domain.consent.FhirConsentOutboxEntry;
+import gov.samhsa.c2s.pcm.infrastructure.dto.PatientDto;
+
+import java.util.List;
+
+public interface FhirConsentOutboxService {
+
+    /**
+     * Builds the FHIR consent resource of a signed consent and stores it in the outbox, in the transaction of the
+     * caller.
+     *
+     * @param consent    the signed consent
+     * @param patientDto the patient profile
+     */
+    void enqueue(Consent consent, PatientDto patientDto);
+
+    /**
+     * Claims the next batch of pending entries that are due for an attempt. Claimed entries are not returned to any
+     * other caller until their lease expires or their outcome is recorded.
+     *
+     * @return the claimed entries
+     */
+    List<FhirConsentOutboxEntry> claimDueEntries();
+
+    void markPublished(List<Long> entryIds);
+
+    /**
+     * Records a failed attempt and schedules the next one with an exponential backoff, or moves the entry to the dead
+     * letter status when the failure is permanent or the maximum number of attempts is reached.
+     *
+     * @param entryId   the entry id
+     * @param error     the failure
+     * @param retryable whether another attempt may succeed
+     * @return true if the entry was moved to the dead letter status
+     */
+    boolean markFailed(Long entryId, Exception error, boolean retryable);
+
+    long countPendingEntries();
+
+    /**
+     * @return the age in milliseconds of the oldest pending entry, 0 if there is none
+     */
+    long getLagInMs();
+}
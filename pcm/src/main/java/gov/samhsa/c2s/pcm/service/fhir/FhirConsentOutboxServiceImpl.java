@@ -0,0 +1,126 @@
+package gov.samhsa.c2s.pcm.service.fhir;
+
+import ca.uhn.fhir.context.FhirContext;
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.domain.consent.FhirConsentOutboxEntry;
+import gov.samhsa.c2s.pcm.domain.consent.FhirConsentOutboxEntryRepository;
+import gov.samhsa.c2s.pcm.domain.consent.FhirConsentOutboxStatus;
+import gov.samhsa.c2s.pcm.infrastructure.dto.PatientDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+@Service
+@Transactional
+public class FhirConsentOutboxServiceImpl implements FhirConsentOutboxService {
+
+    /**
+     * The logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private FhirConsentService fhirConsentService;
+
+    @Autowired
+    private FhirContext fhirContext;
+
+    @Autowired
+    private FhirConsentOutboxEntryRepository fhirConsentOutboxEntryRepository;
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    @Override
+    public void enqueue(Consent consent, PatientDto patientDto) {
+        org.hl7.fhir.dstu3.model.Consent fhirConsent = fhirConsentService.createFhirConsent(consent, patientDto);
+        String encodedFhirConsent = fhirContext.newJsonParser().encodeResourceToString(fhirConsent);
+        fhirConsentOutboxEntryRepository.save(new FhirConsentOutboxEntry(consent.getId(), encodedFhirConsent, new Date()));
+    }
+
+    @Override
+    public List<FhirConsentOutboxEntry> claimDueEntries() {
+        PcmProperties.HieConnection.Fhir.Outbox outbox = getOutbox();
+        Date now = new Date();
+        List<FhirConsentOutboxEntry> entries = fhirConsentOutboxEntryRepository.findDueForUpdate(
+                FhirConsentOutboxStatus.PENDING, now, new PageRequest(0, outbox.getBatchSize()));
+
+        // a publisher that dies in the middle of a batch leaves it to be picked up again once the lease expires
+        Date leaseExpiry = new Date(now.getTime() + outbox.getLeaseInMs());
+        for (FhirConsentOutboxEntry entry : entries) {
+            entry.setAttempts(entry.getAttempts() + 1);
+            entry.setNextAttemptDateTime(leaseExpiry);
+        }
+        return entries;
+    }
+
+    @Override
+    public void markPublished(List<Long> entryIds) {
+        Date now = new Date();
+        for (FhirConsentOutboxEntry entry : fhirConsentOutboxEntryRepository.findAll(entryIds)) {
+            entry.setStatus(FhirConsentOutboxStatus.PUBLISHED);
+            entry.setPublishedDateTime(now);
+            entry.setLastError(null);
+        }
+    }
+
+    @Override
+    public boolean markFailed(Long entryId, Exception error, boolean retryable) {
+        FhirConsentOutboxEntry entry = fhirConsentOutboxEntryRepository.findOne(entryId);
+        entry.setLastError(truncate(String.valueOf(error)));
+
+        PcmProperties.HieConnection.Fhir.Outbox outbox = getOutbox();
+        if (!retryable || entry.getAttempts() >= outbox.getMaxAttempts()) {
+            logger.error("Moving FHIR consent outbox entry " + entryId + " of consent " + entry.getConsentId()
+                    + " to dead letter after " + entry.getAttempts() + " attempt(s)", error);
+            entry.setStatus(FhirConsentOutboxStatus.DEAD_LETTER);
+            return true;
+        }
+
+        long backoffInMs = getBackoffInMs(entry.getAttempts(), outbox);
+        logger.warn("Publishing consent " + entry.getConsentId() + " to the HIE failed, retrying in " + backoffInMs
+                + " ms: " + error);
+        entry.setNextAttemptDateTime(new Date(System.currentTimeMillis() + backoffInMs));
+        return false;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countPendingEntries() {
+        return fhirConsentOutboxEntryRepository.countByStatus(FhirConsentOutboxStatus.PENDING);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getLagInMs() {
+        Date oldest = fhirConsentOutboxEntryRepository.findOldestCreatedDateTimeByStatus(FhirConsentOutboxStatus.PENDING);
+        return oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.getTime());
+    }
+
+    /**
+     * Doubles the initial backoff for every attempt after the first one, capped at the maximum backoff.
+     */
+    long getBackoffInMs(int attempts, PcmProperties.HieConnection.Fhir.Outbox outbox) {
+        long backoffInMs = outbox.getInitialBackoffInMs();
+        for (int i = 1; i < attempts && backoffInMs < outbox.getMaxBackoffInMs(); i++) {
+            backoffInMs *= 2;
+        }
+        return Math.min(backoffInMs, outbox.getMaxBackoffInMs());
+    }
+
+    private PcmProperties.HieConnection.Fhir.Outbox getOutbox() {
+        return pcmProperties.getHieConnection().getFhir().getOutbox();
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= FhirConsentOutboxEntry.LAST_ERROR_MAX_LENGTH
+                ? error : error.substring(0, FhirConsentOutboxEntry.LAST_ERROR_MAX_LENGTH);
+    }
+}
@@ -3,9 +3,26 @@
 import gov.samhsa.c2s.pcm.infrastructure.dto.PatientDto;
 import org.hl7.fhir.dstu3.model.Consent;
 
+import java.util.List;
+
 public interface FhirConsentService {
     public Consent createFhirConsent(gov.samhsa.c2s.pcm.domain.consent.Consent consent, PatientDto patientDto);
     public void publishFhirConsentToHie(Consent fhirConsent);
     public void publishFhirConsentToHie(gov.samhsa.c2s.pcm.domain.consent.Consent consent, PatientDto patientDto);
 
+    /**
+     * Validates the FHIR consent resource.
+     *
+     * @param fhirConsent the FHIR consent
+     * @throws FHIRFormatErrorException if the resource is not valid
+     */
+    public void validateFhirConsent(Consent fhirConsent);
+
+    /**
+     * Publishes already validated FHIR consents to the HIE in a single FHIR transaction Bundle.
+     *
+     * @param fhirConsents the FHIR consents
+     */
+    public void publishFhirConsentsToHie(List<Consent> fhirConsents);
+
 }
@@ -2,6 +2,7 @@
 
 import ca.uhn.fhir.context.FhirContext;
 import ca.uhn.fhir.rest.client.IGenericClient;
+import ca.uhn.fhir.util.UrlUtil;
 import ca.uhn.fhir.validation.FhirValidator;
 import ca.uhn.fhir.validation.ValidationResult;
 import gov.samhsa.c2s.common.log.Logger;
@@ -14,22 +15,18 @@
 import gov.samhsa.c2s.pcm.domain.consent.ConsentOrganizationalProviderDisclosureIsMadeTo;
 import gov.samhsa.c2s.pcm.domain.consent.ConsentOrganizationalProviderPermittedToDisclose;
 import gov.samhsa.c2s.pcm.domain.consent.ConsentShareForPurposeOfUseCode;
-import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
-import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProvider;
 import gov.samhsa.c2s.pcm.domain.reference.ClinicalConceptCode;
-import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCode;
 import gov.samhsa.c2s.pcm.infrastructure.dto.PatientDto;
 import gov.samhsa.c2s.pcm.service.dto.SensitivePolicyCodeEnum;
-import org.hl7.fhir.dstu3.model.CodeableConcept;
+import org.hl7.fhir.dstu3.model.Bundle;
 import org.hl7.fhir.dstu3.model.Coding;
 import org.hl7.fhir.dstu3.model.Consent;
-import org.hl7.fhir.dstu3.model.HumanName;
 import org.hl7.fhir.dstu3.model.IdType;
 import org.hl7.fhir.dstu3.model.Organization;
 import org.hl7.fhir.dstu3.model.Patient;
 import org.hl7.fhir.dstu3.model.Practitioner;
 import org.hl7.fhir.dstu3.model.Reference;
-import org.hl7.fhir.dstu3.model.codesystems.V3ActReason;
+import org.hl7.fhir.dstu3.model.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -39,7 +36,6 @@
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.Function;
 
 @Service
 public class FhirConsentServiceImpl implements FhirConsentService {
@@ -67,6 +63,9 @@ public class FhirConsentServiceImpl implements FhirConsentService {
     @Autowired
     private FHIRProperties fhirProperties;
 
+    @Autowired
+    private FhirFragmentCache fhirFragmentCache;
+
 
 
     // FHIR resource identifiers for inline/embedded objects
@@ -76,13 +75,7 @@ public class FhirConsentServiceImpl implements FhirConsentService {
     @Override
     public void publishFhirConsentToHie(Consent fhirConsent) {
         //validate the resource
-        ValidationResult validationResult =  fhirValidator.validateWithResult(fhirConsent);
-
-        logger.debug("validationResult.isSuccessful(): " + validationResult.isSuccessful());
-        //throw format error if the validation is not successful
-        if (!validationResult.isSuccessful()) {
-            throw new FHIRFormatErrorException("Consent Validation is not successful" + validationResult.getMessages());
-        }
+        validateFhirConsent(fhirConsent);
 
         /*
         Use the client to store a new consent resource instance
@@ -91,8 +84,57 @@ Invoke the server create method (and send pretty-printed JSON
         instead of the default which is non-pretty printed XML)
         invoke Consent service
         */
-       fhirClient.create().resource(fhirConsent).execute();
+       fhirClient.create().resource(fhirConsent).conditionalByUrl("Consent?" + toIdentifierSearch(fhirConsent)).execute();
+
+    }
+
+    @Override
+    public void validateFhirConsent(Consent fhirConsent) {
+        // contained providers that were already validated on their own are swapped for id-only stubs, so that
+        // the local references still resolve but their content is not validated again for every consent
+        final List<Resource> contained = fhirConsent.getContained();
+        final List<Resource> stubbedContained = new ArrayList<>(contained.size());
+        for (Resource resource : contained) {
+            stubbedContained.add(fhirFragmentCache.isValidatedFragment(resource) ? toStub(resource) : resource);
+        }
+        final ValidationResult validationResult;
+        fhirConsent.setContained(stubbedContained);
+        try {
+            validationResult = fhirValidator.validateWithResult(fhirConsent);
+        } finally {
+            fhirConsent.setContained(contained);
+        }
+
+        logger.debug("validationResult.isSuccessful(): " + validationResult.isSuccessful());
+        //throw format error if the validation is not successful
+        if (!validationResult.isSuccessful()) {
+            throw new FHIRFormatErrorException("Consent Validation is not successful" + validationResult.getMessages());
+        }
+    }
 
+    @Override
+    public void publishFhirConsentsToHie(List<Consent> fhirConsents) {
+        Bundle bundle = new Bundle();
+        bundle.setType(Bundle.BundleType.TRANSACTION);
+        // a conditional create, so that retrying a bundle the server committed before the call timed out does not
+        // create the consents again
+        fhirConsents.forEach(fhirConsent -> bundle.addEntry()
+                .setResource(fhirConsent)
+                .getRequest()
+                .setMethod(Bundle.HTTPVerb.POST)
+                .setUrl("Consent")
+                .setIfNoneExist(toIdentifierSearch(fhirConsent)));
+
+        // the server applies the whole bundle or none of it
+        fhirClient.transaction().withBundle(bundle).execute();
+    }
+
+    /**
+     * Builds the search that matches a consent by its identifier, for a conditional create.
+     */
+    private static String toIdentifierSearch(Consent fhirConsent) {
+        return "identifier=" + UrlUtil.escape(fhirConsent.getIdentifier().getSystem() + "|"
+                + fhirConsent.getIdentifier().getValue());
     }
 
     @Override
@@ -132,9 +174,7 @@ private Consent createBasicConsent(gov.samhsa.c2s.pcm.domain.consent.Consent c2s
         // Author :: Organizational Provider
         Organization sourceOrganizationResource = null;
         for (ConsentOrganizationalProviderPermittedToDisclose orgPermittedTo : c2sConsent.getOrganizationalProvidersPermittedToDisclose()) {
-            Set<OrganizationalProvider> sourceOrgPermittedTo = new HashSet<>();
-            sourceOrgPermittedTo.add(orgPermittedTo.getOrganizationalProvider());
-            sourceOrganizationResource = setOrganizationProvider(sourceOrgPermittedTo);
+            sourceOrganizationResource = fhirFragmentCache.getOrganization(orgPermittedTo.getOrganizationalProvider());
         }
 
         if (null != sourceOrganizationResource) {
@@ -145,9 +185,7 @@ private Consent createBasicConsent(gov.samhsa.c2s.pcm.domain.consent.Consent c2s
             // Author :: Individual Provider
             Practitioner sourcePractitioner = null;
             for (ConsentIndividualProviderPermittedToDisclose indPermittedTo : c2sConsent.getProvidersPermittedToDisclose()) {
-                Set<IndividualProvider> sourceindPermittedTo = new HashSet<>();
-                sourceindPermittedTo.add(indPermittedTo.getIndividualProvider());
-                sourcePractitioner = setPractitionerProvider(sourceindPermittedTo);
+                sourcePractitioner = fhirFragmentCache.getPractitioner(indPermittedTo.getIndividualProvider());
             }
             if (null != sourcePractitioner) {
                 fhirConsent.getContained().add(sourcePractitioner);
@@ -162,9 +200,7 @@ private Consent createBasicConsent(gov.samhsa.c2s.pcm.domain.consent.Consent c2s
         // Specify Recipients, the providers disclosure is made to Recipient :: Organizational Provider
         Organization recipientOrganization = null;
         for (ConsentOrganizationalProviderDisclosureIsMadeTo orgMadeTo : c2sConsent.getOrganizationalProvidersDisclosureIsMadeTo()) {
-            Set<OrganizationalProvider> recipientOrgMadeTo = new HashSet<>();
-            recipientOrgMadeTo.add(orgMadeTo.getOrganizationalProvider());
-            recipientOrganization = setOrganizationProvider(recipientOrgMadeTo);
+            recipientOrganization = fhirFragmentCache.getOrganization(orgMadeTo.getOrganizationalProvider());
         }
         if (null != recipientOrganization) {
             fhirConsent.getContained().add(recipientOrganization);
@@ -173,9 +209,7 @@ private Consent createBasicConsent(gov.samhsa.c2s.pcm.domain.consent.Consent c2s
             // Recipient :: Individual Provider
             Practitioner recipientPractitioner = null;
             for (ConsentIndividualProviderDisclosureIsMadeTo indPermittedTo : c2sConsent.getProvidersDisclosureIsMadeTo()) {
-                Set<IndividualProvider> recipientIndPermittedTo = new HashSet<>();
-                recipientIndPermittedTo.add(indPermittedTo.getIndividualProvider());
-                recipientPractitioner = setPractitionerProvider(recipientIndPermittedTo);
+                recipientPractitioner = fhirFragmentCache.getPractitioner(indPermittedTo.getIndividualProvider());
             }
             if(null != recipientPractitioner) {
                 fhirConsent.getContained().add(recipientPractitioner);
@@ -186,9 +220,7 @@ private Consent createBasicConsent(gov.samhsa.c2s.pcm.domain.consent.Consent c2s
 
         // set POU
         for (ConsentShareForPurposeOfUseCode pou : c2sConsent.getShareForPurposeOfUseCodes()) {
-            String fhirPou = getPurposeOfUseCode.apply(pou.getPurposeOfUseCode());
-            Coding coding = new Coding(fhirProperties.getPou().getSystem(), fhirPou, pou.getPurposeOfUseCode().getCode());
-            fhirConsent.getPurpose().add(coding);
+            fhirConsent.getPurpose().add(fhirFragmentCache.getPurposeOfUseCoding(pou.getPurposeOfUseCode()));
         }
 
         // set terms of consent and intended recipient(s)
@@ -201,76 +233,11 @@ private Consent createBasicConsent(gov.samhsa.c2s.pcm.domain.consent.Consent c2s
         fhirConsent.getIdentifier().setSystem(fhirProperties.getPid().getDomain().getSystem()).setValue(c2sConsent.getConsentReferenceId());
 
         //set category
-        CodeableConcept categoryConcept = new CodeableConcept();
-
-        //TODO need to replace DISL from enum value
-        categoryConcept.addCoding(new Coding().setCode(fhirProperties.getConsentType().getCode())
-                                              .setSystem(fhirProperties.getConsentType().getSystem())
-                                              .setDisplay(fhirProperties.getConsentType().getLabel()));
-        fhirConsent.getCategory().add(categoryConcept);
+        fhirConsent.getCategory().add(fhirFragmentCache.getCategory());
 
         return fhirConsent;
     }
 
-    private Organization setOrganizationProvider(Set<OrganizationalProvider> orgProviders) {
-        Organization sourceOrganizationResource = new Organization();
-
-        orgProviders.forEach((OrganizationalProvider organizationalProvider) ->
-        {
-            sourceOrganizationResource.setId(new IdType(organizationalProvider.getNpi()));
-            sourceOrganizationResource.addIdentifier().setSystem(fhirProperties.getNpi().getSystem()).setValue(organizationalProvider.getNpi());
-            sourceOrganizationResource.setName(organizationalProvider.getOrgName());
-            sourceOrganizationResource.addAddress().addLine(organizationalProvider.getFirstLinePracticeLocationAddress())
-                    .setCity(organizationalProvider.getPracticeLocationAddressCityName())
-                    .setState(organizationalProvider.getPracticeLocationAddressStateName())
-                    .setPostalCode(organizationalProvider.getPracticeLocationAddressPostalCode());
-        });
-        return sourceOrganizationResource;
-    }
-
-    private Practitioner setPractitionerProvider(Set<IndividualProvider> individualProviders) {
-        Practitioner sourcePractitionerResource = new Practitioner();
-
-        individualProviders.forEach((IndividualProvider individualProvider) ->
-        {
-            sourcePractitionerResource.setId(new IdType(individualProvider.getNpi()));
-            sourcePractitionerResource.addIdentifier().setSystem(fhirProperties.getNpi().getSystem()).setValue(individualProvider.getNpi());
-            //setting the name element
-            HumanName indName = new HumanName();
-            indName.setFamily(individualProvider.getLastName());
-            indName.addGiven(individualProvider.getFirstName());
-            sourcePractitionerResource.addName(indName);
-            //setting the address
-            sourcePractitionerResource.addAddress().addLine(individualProvider.getFirstLinePracticeLocationAddress())
-                    .setCity(individualProvider.getPracticeLocationAddressCityName())
-                    .setState(individualProvider.getPracticeLocationAddressStateName())
-                    .setPostalCode(individualProvider.getPracticeLocationAddressPostalCode());
-
-        });
-
-        return sourcePractitionerResource;
-    }
-
-    private Function<PurposeOfUseCode, String> getPurposeOfUseCode = new Function<PurposeOfUseCode, String>() {
-         @Override
-        public String apply(PurposeOfUseCode pou) {
-            String codeString = pou.getCode();
-            if (codeString != null && !"".equals(codeString) || codeString != null && !"".equals(codeString)) {
-                if ("TREATMENT".equalsIgnoreCase(codeString)) {
-                    return  V3ActReason.TREAT.toString();
-                } else if ("PAYMENT".equalsIgnoreCase(codeString)) {
-                    return  V3ActReason.HPAYMT.toString();
-                } else if ("RESEARCH".equalsIgnoreCase(codeString)) {
-                    return  V3ActReason.HRESCH.toString();
-                } else {
-                    throw new IllegalArgumentException("Unknown Purpose of Use code \'" + codeString + "\'");
-                }
-            } else {
-                return "";
-            }
-        }
-    };
-
     private Consent createGranularConsent(gov.samhsa.c2s.pcm.domain.consent.Consent c2sConsent, PatientDto patientDto) {
         // get basic consent details
         Consent fhirConsent = createBasicConsent(c2sConsent, patientDto);
@@ -284,10 +251,10 @@ private Consent createGranularConsent(gov.samhsa.c2s.pcm.domain.consent.Consent
         for (SensitivePolicyCodeEnum codesEnum : SensitivePolicyCodeEnum.values()) {
             if (excludeCodes.contains(codesEnum.getCode())) {
                 // exclude it
-                 excludeCodingList.add(new Coding(codesEnum.getCodeSystem(), codesEnum.getCode(), codesEnum.getDisplayName()));
+                 excludeCodingList.add(fhirFragmentCache.getSensitivePolicyCoding(codesEnum));
               } else {
                 // include it
-                includeCodingList.add(new Coding(codesEnum.getCodeSystem(), codesEnum.getCode(), codesEnum.getDisplayName()));
+                includeCodingList.add(fhirFragmentCache.getSensitivePolicyCoding(codesEnum));
              }
         }
 
@@ -335,6 +302,12 @@ private List<String> getConsentObligations(gov.samhsa.c2s.pcm.domain.consent.Con
     }
 
 
+    private Resource toStub(Resource resource) {
+        final Resource stub = resource instanceof Organization ? new Organization() : new Practitioner();
+        stub.setIdElement(resource.getIdElement().copy());
+        return stub;
+    }
+
     private void logFHIRConsent(Consent fhirConsent) {
         logger.debug(() -> fhirContext.newXmlParser().setPrettyPrint(true)
                 .encodeResourceToString(fhirConsent));
@@ -0,0 +1,40 @@
+package gov.samhsa.c2s.pcm.service.fhir;
+
+import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
+import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProvider;
+import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCode;
+import gov.samhsa.c2s.pcm.service.dto.SensitivePolicyCodeEnum;
+import org.hl7.fhir.dstu3.model.CodeableConcept;
+import org.hl7.fhir.dstu3.model.Coding;
+import org.hl7.fhir.dstu3.model.Organization;
+import org.hl7.fhir.dstu3.model.Practitioner;
+import org.hl7.fhir.dstu3.model.Resource;
+
+/**
+ * Builds the parts of a FHIR consent that are the same across consents, and validates the provider resources once
+ * per distinct content. Every returned element is a new instance that the caller owns.
+ */
+public interface FhirFragmentCache {
+
+    /**
+     * Gets the Organization resource of the provider, validated once per distinct content.
+     */
+    Organization getOrganization(OrganizationalProvider organizationalProvider);
+
+    /**
+     * Gets the Practitioner resource of the provider, validated once per distinct content.
+     */
+    Practitioner getPractitioner(IndividualProvider individualProvider);
+
+    Coding getPurposeOfUseCoding(PurposeOfUseCode purposeOfUseCode);
+
+    CodeableConcept getCategory();
+
+    Coding getSensitivePolicyCoding(SensitivePolicyCodeEnum sensitivePolicyCode);
+
+    /**
+     * Checks whether the contained resource has the same content as a cached fragment that passed validation, so
+     * that validating a consent does not need to validate it again.
+     */
+    boolean isValidatedFragment(Resource containedResource);
+}
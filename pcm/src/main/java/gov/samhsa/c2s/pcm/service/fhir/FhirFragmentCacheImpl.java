@@ -0,0 +1,217 @@
+package gov.samhsa.c2s.pcm.service.fhir;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.validation.FhirValidator;
+import ca.uhn.fhir.validation.ValidationResult;
+import gov.samhsa.c2s.common.log.Logger;
+import gov.samhsa.c2s.common.log.LoggerFactory;
+import gov.samhsa.c2s.pcm.config.FHIRProperties;
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.domain.provider.AbstractProvider;
+import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
+import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProvider;
+import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCode;
+import gov.samhsa.c2s.pcm.service.dto.SensitivePolicyCodeEnum;
+import org.hl7.fhir.dstu3.model.CodeableConcept;
+import org.hl7.fhir.dstu3.model.Coding;
+import org.hl7.fhir.dstu3.model.HumanName;
+import org.hl7.fhir.dstu3.model.IdType;
+import org.hl7.fhir.dstu3.model.Organization;
+import org.hl7.fhir.dstu3.model.Practitioner;
+import org.hl7.fhir.dstu3.model.Resource;
+import org.hl7.fhir.dstu3.model.codesystems.V3ActReason;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Keeps the validation results of provider resources in a size-bounded LRU map keyed by resource type and content,
+ * so provider rows of different patients that share an NPI never see each other's name or address. Codings only
+ * depend on configuration and are built once. Every call hands out a new or copied element, because the HAPI
+ * model objects are mutable and end up in many consents.
+ */
+@Service
+public class FhirFragmentCacheImpl implements FhirFragmentCache {
+
+    private static final String ORGANIZATION = "Organization/";
+    private static final String PRACTITIONER = "Practitioner/";
+
+    /**
+     * The logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private FhirContext fhirContext;
+
+    @Autowired
+    private FhirValidator fhirValidator;
+
+    @Autowired
+    private FHIRProperties fhirProperties;
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    /**
+     * Guarded by itself; iterates in access order so that the eldest entry is the least recently used one.
+     */
+    private final Map<String, Boolean> providerFragments = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > pcmProperties.getHieConnection().getFhir().getFragmentCacheMaxSize();
+        }
+    };
+
+    private final ConcurrentMap<String, Coding> purposeOfUseCodings = new ConcurrentHashMap<>();
+
+    private final Map<SensitivePolicyCodeEnum, Coding> sensitivePolicyCodings = new EnumMap<>(SensitivePolicyCodeEnum.class);
+
+    private CodeableConcept category;
+
+    @PostConstruct
+    public void afterPropertiesSet() {
+        for (SensitivePolicyCodeEnum codesEnum : SensitivePolicyCodeEnum.values()) {
+            sensitivePolicyCodings.put(codesEnum,
+                    new Coding(codesEnum.getCodeSystem(), codesEnum.getCode(), codesEnum.getDisplayName()));
+        }
+        //TODO need to replace DISL from enum value
+        category = new CodeableConcept();
+        category.addCoding(new Coding().setCode(fhirProperties.getConsentType().getCode())
+                .setSystem(fhirProperties.getConsentType().getSystem())
+                .setDisplay(fhirProperties.getConsentType().getLabel()));
+    }
+
+    @Override
+    public Organization getOrganization(OrganizationalProvider organizationalProvider) {
+        return (Organization) getProviderFragment(ORGANIZATION, organizationalProvider,
+                provider -> toOrganization((OrganizationalProvider) provider));
+    }
+
+    @Override
+    public Practitioner getPractitioner(IndividualProvider individualProvider) {
+        return (Practitioner) getProviderFragment(PRACTITIONER, individualProvider,
+                provider -> toPractitioner((IndividualProvider) provider));
+    }
+
+    @Override
+    public Coding getPurposeOfUseCoding(PurposeOfUseCode purposeOfUseCode) {
+        return purposeOfUseCodings.computeIfAbsent(purposeOfUseCode.getCode(), code ->
+                new Coding(fhirProperties.getPou().getSystem(), getPurposeOfUseCode.apply(code), code)).copy();
+    }
+
+    @Override
+    public CodeableConcept getCategory() {
+        return category.copy();
+    }
+
+    @Override
+    public Coding getSensitivePolicyCoding(SensitivePolicyCodeEnum sensitivePolicyCode) {
+        return sensitivePolicyCodings.get(sensitivePolicyCode).copy();
+    }
+
+    @Override
+    public boolean isValidatedFragment(Resource containedResource) {
+        final String prefix;
+        if (containedResource instanceof Organization) {
+            prefix = ORGANIZATION;
+        } else if (containedResource instanceof Practitioner) {
+            prefix = PRACTITIONER;
+        } else {
+            return false;
+        }
+
+        final Boolean valid;
+        synchronized (providerFragments) {
+            valid = providerFragments.get(prefix + toContentKey(containedResource));
+        }
+        return Boolean.TRUE.equals(valid);
+    }
+
+    private Resource getProviderFragment(String prefix, AbstractProvider provider,
+                                         Function<AbstractProvider, Resource> builder) {
+        // building the resource is cheap next to validating it, and a new one is never shared between consents
+        final Resource resource = builder.apply(provider);
+        final String key = prefix + toContentKey(resource);
+        synchronized (providerFragments) {
+            if (providerFragments.get(key) != null) {
+                return resource;
+            }
+        }
+
+        final ValidationResult validationResult = fhirValidator.validateWithResult(resource);
+        if (!validationResult.isSuccessful()) {
+            // the consent is still built; validating the whole consent reports the problem
+            logger.debug(() -> prefix + provider.getNpi() + " is not valid: " + validationResult.getMessages());
+        }
+        synchronized (providerFragments) {
+            providerFragments.put(key, validationResult.isSuccessful());
+        }
+        return resource;
+    }
+
+    /**
+     * Encodes the content of the resource without its id, which a parsed contained resource may carry as a local
+     * reference.
+     */
+    private String toContentKey(Resource resource) {
+        final Resource content = resource.copy();
+        content.setIdElement(null);
+        return fhirContext.newJsonParser().encodeResourceToString(content);
+    }
+
+    private Organization toOrganization(OrganizationalProvider organizationalProvider) {
+        Organization organization = new Organization();
+        organization.setId(new IdType(organizationalProvider.getNpi()));
+        organization.addIdentifier().setSystem(fhirProperties.getNpi().getSystem()).setValue(organizationalProvider.getNpi());
+        organization.setName(organizationalProvider.getOrgName());
+        organization.addAddress().addLine(organizationalProvider.getFirstLinePracticeLocationAddress())
+                .setCity(organizationalProvider.getPracticeLocationAddressCityName())
+                .setState(organizationalProvider.getPracticeLocationAddressStateName())
+                .setPostalCode(organizationalProvider.getPracticeLocationAddressPostalCode());
+        return organization;
+    }
+
+    private Practitioner toPractitioner(IndividualProvider individualProvider) {
+        Practitioner practitioner = new Practitioner();
+        practitioner.setId(new IdType(individualProvider.getNpi()));
+        practitioner.addIdentifier().setSystem(fhirProperties.getNpi().getSystem()).setValue(individualProvider.getNpi());
+        //setting the name element
+        HumanName indName = new HumanName();
+        indName.setFamily(individualProvider.getLastName());
+        indName.addGiven(individualProvider.getFirstName());
+        practitioner.addName(indName);
+        //setting the address
+        practitioner.addAddress().addLine(individualProvider.getFirstLinePracticeLocationAddress())
+                .setCity(individualProvider.getPracticeLocationAddressCityName())
+                .setState(individualProvider.getPracticeLocationAddressStateName())
+                .setPostalCode(individualProvider.getPracticeLocationAddressPostalCode());
+        return practitioner;
+    }
+
+    private Function<String, String> getPurposeOfUseCode = new Function<String, String>() {
+        @Override
+        public String apply(String codeString) {
+            if (codeString != null && !"".equals(codeString)) {
+                if ("TREATMENT".equalsIgnoreCase(codeString)) {
+                    return V3ActReason.TREAT.toString();
+                } else if ("PAYMENT".equalsIgnoreCase(codeString)) {
+                    return V3ActReason.HPAYMT.toString();
+                } else if ("RESEARCH".equalsIgnoreCase(codeString)) {
+                    return V3ActReason.HRESCH.toString();
+                } else {
+                    throw new IllegalArgumentException("Unknown Purpose of Use code \'" + codeString + "\'");
+                }
+            } else {
+                return "";
+            }
+        }
+    };
+}
@@ -25,9 +25,13 @@
  ******************************************************************************/
 package gov.samhsa.c2s.pcm.service.fhir;
 
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.service.identifier.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
 
-import java.util.UUID;
+import javax.annotation.PostConstruct;
 
 /**
  * The Class UniqueOidProviderImpl.
@@ -35,6 +39,23 @@
 @Service
 public class UniqueOidProviderImpl implements UniqueOidProvider {
 
+	@Autowired
+	private IdentifierGenerator identifierGenerator;
+
+	@Autowired
+	private PcmProperties pcmProperties;
+
+	/**
+	 * Fails startup when no OID root is configured. The root must be an OID
+	 * arc owned by this deployment, otherwise the generated OIDs could collide
+	 * with OIDs issued by other organizations.
+	 */
+	@PostConstruct
+	public void afterPropertiesSet() {
+		Assert.hasText(pcmProperties.getIdentifier().getOidRoot(),
+				"c2s.pcm.identifier.oidRoot must be set to an OID arc owned by this deployment");
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -42,22 +63,9 @@ public class UniqueOidProviderImpl implements UniqueOidProvider {
 	 */
 	@Override
 	public String getOid() {
-		final UUID uuid = UUID.randomUUID();
-		String id = String.valueOf(uuid);
-
-		id = id.replace("-", ".");
-
-		id = id.replace("a", "10");
-		id = id.replace("b", "11");
-		id = id.replace("c", "12");
-		id = id.replace("d", "13");
-		id = id.replace("e", "14");
-		id = id.replace("f", "15");
-
-		// Removes leading zeroes
-		id = id.replaceFirst("^0+(?!$)", "");
-
-		return id;
+		// the generated value is a new arc under the configured root, so it is unique without further checks
+		return pcmProperties.getIdentifier().getOidRoot() + "."
+				+ identifierGenerator.nextValue(IdentifierGenerator.Sequence.OID);
 	}
 
 }
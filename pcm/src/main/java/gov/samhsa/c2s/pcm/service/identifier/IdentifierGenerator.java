@@ -0,0 +1,29 @@
+package gov.samhsa.c2s.pcm.service.identifier;
+
+/**
+ * Hands out values of identifier sequences that are unique across all PCM nodes without checking the identifiers
+ * already in use.
+ */
+public interface IdentifierGenerator {
+
+    /**
+     * Gets the next value of the sequence. Values increase on a node but are not consecutive, and values handed out
+     * by different nodes interleave.
+     */
+    long nextValue(Sequence sequence);
+
+    enum Sequence {
+        OID("oid"),
+        POLICY_ID("policy_id");
+
+        private final String name;
+
+        Sequence(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package gov.samhsa.c2s.pcm.service.identifier;
+
+import gov.samhsa.c2s.common.log.Logger;
+import gov.samhsa.c2s.common.log.LoggerFactory;
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hi/lo generator backed by the {@code identifier_block} table. A node reserves a block of values with one row
+ * update in its own transaction, and hands the values of the block out from memory. The values left in a block when
+ * the node stops are never used.
+ */
+@Service
+public class IdentifierGeneratorImpl implements IdentifierGenerator {
+
+    private static final String SELECT_NEXT_VALUE_SQL = "SELECT next_value FROM identifier_block WHERE name = ? FOR UPDATE";
+    private static final String UPDATE_NEXT_VALUE_SQL = "UPDATE identifier_block SET next_value = ? WHERE name = ?";
+
+    /**
+     * The logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    private final ConcurrentMap<Sequence, Block> blocks = new ConcurrentHashMap<>();
+
+    @Override
+    public long nextValue(Sequence sequence) {
+        final Block block = blocks.get(sequence);
+        if (block != null) {
+            final long value = block.next.getAndIncrement();
+            if (value < block.limit) {
+                return value;
+            }
+        }
+
+        // Reserved without holding a lock: the reservation needs a second connection, and a caller waiting for it
+        // while holding a lock would block every other caller that already holds a connection. Callers that find
+        // the block used up at the same time each reserve their own block; the values left in the replaced blocks
+        // are never used, the same as the values left when a node stops.
+        final Block reserved = reserveBlock(sequence);
+        final long value = reserved.next.getAndIncrement();
+        blocks.put(sequence, reserved);
+        return value;
+    }
+
+    private Block reserveBlock(Sequence sequence) {
+        final int blockSize = pcmProperties.getIdentifier().getBlockSize();
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // the reservation must not be rolled back with the caller's transaction, or another node could reuse it
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        final Long first = transactionTemplate.execute(status -> {
+            final Long nextValue = jdbcTemplate.queryForObject(SELECT_NEXT_VALUE_SQL, Long.class, sequence.getName());
+            jdbcTemplate.update(UPDATE_NEXT_VALUE_SQL, nextValue + blockSize, sequence.getName());
+            return nextValue;
+        });
+        logger.debug(() -> "Reserved " + sequence.getName() + " values " + first + " to " + (first + blockSize - 1));
+        return new Block(first, first + blockSize);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long limit;
+
+        private Block(long next, long limit) {
+            this.next = new AtomicLong(next);
+            this.limit = limit;
+        }
+    }
+}
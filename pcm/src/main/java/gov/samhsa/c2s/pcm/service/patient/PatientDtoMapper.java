@@ -0,0 +1,24 @@
+package gov.samhsa.c2s.pcm.service.patient;
+
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.service.dto.PatientAdminDto;
+import gov.samhsa.c2s.pcm.service.dto.PatientProfileDto;
+import gov.samhsa.c2s.pcm.service.dto.RecentPatientDto;
+
+/**
+ * Maps patient entities to the patient DTO family and back with plain getters and setters.
+ */
+public interface PatientDtoMapper {
+
+    PatientProfileDto toPatientProfileDto(Patient patient);
+
+    /**
+     * Maps a patient profile to a new patient entity; the coded concepts are resolved by code from the
+     * reference code registry, and the providers are left to the caller.
+     */
+    Patient toPatient(PatientProfileDto patientProfileDto);
+
+    PatientAdminDto toPatientAdminDto(Patient patient);
+
+    RecentPatientDto toRecentPatientDto(Patient patient);
+}
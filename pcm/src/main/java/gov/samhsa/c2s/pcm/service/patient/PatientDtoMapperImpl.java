@@ -0,0 +1,174 @@
+package gov.samhsa.c2s.pcm.service.patient;
+
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.domain.reference.AbstractLocalDBLookupCodedConcept;
+import gov.samhsa.c2s.pcm.domain.reference.AdministrativeGenderCode;
+import gov.samhsa.c2s.pcm.domain.reference.CountryCode;
+import gov.samhsa.c2s.pcm.domain.reference.EthnicGroupCode;
+import gov.samhsa.c2s.pcm.domain.reference.LanguageCode;
+import gov.samhsa.c2s.pcm.domain.reference.MaritalStatusCode;
+import gov.samhsa.c2s.pcm.domain.reference.RaceCode;
+import gov.samhsa.c2s.pcm.domain.reference.ReligiousAffiliationCode;
+import gov.samhsa.c2s.pcm.domain.reference.StateCode;
+import gov.samhsa.c2s.pcm.domain.reference.TelecomUseCode;
+import gov.samhsa.c2s.pcm.domain.valueobject.Address;
+import gov.samhsa.c2s.pcm.domain.valueobject.Telephone;
+import gov.samhsa.c2s.pcm.service.dto.LookupDto;
+import gov.samhsa.c2s.pcm.service.dto.PatientAdminDto;
+import gov.samhsa.c2s.pcm.service.dto.PatientProfileDto;
+import gov.samhsa.c2s.pcm.service.dto.RecentPatientDto;
+import gov.samhsa.c2s.pcm.service.provider.ProviderDtoMapper;
+import gov.samhsa.c2s.pcm.service.reference.ReferenceCodeRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * The Class PatientDtoMapperImpl.
+ */
+@Service
+public class PatientDtoMapperImpl implements PatientDtoMapper {
+
+    /**
+     * The provider dto mapper.
+     */
+    @Autowired
+    private ProviderDtoMapper providerDtoMapper;
+
+    /**
+     * The reference code registry.
+     */
+    @Autowired
+    private ReferenceCodeRegistry referenceCodeRegistry;
+
+    @Override
+    public PatientProfileDto toPatientProfileDto(Patient patient) {
+        if (patient == null) {
+            return null;
+        }
+        PatientProfileDto patientProfileDto = new PatientProfileDto();
+        patientProfileDto.setId(patient.getId());
+        patientProfileDto.setFirstName(patient.getFirstName());
+        patientProfileDto.setLastName(patient.getLastName());
+        patientProfileDto.setPrefix(patient.getPrefix());
+        Address address = patient.getAddress();
+        if (address != null) {
+            patientProfileDto.setAddressStreetAddressLine(address.getStreetAddressLine());
+            patientProfileDto.setAddressCity(address.getCity());
+            patientProfileDto.setAddressStateCode(toCode(address.getStateCode()));
+            patientProfileDto.setAddressPostalCode(address.getPostalCode());
+            patientProfileDto.setAddressCountryCode(toCode(address.getCountryCode()));
+        }
+        Telephone telephone = patient.getTelephone();
+        if (telephone != null) {
+            patientProfileDto.setTelephoneTelephone(telephone.getTelephone());
+            patientProfileDto.setTelephoneTelecomUseCode(toCode(telephone.getTelecomUseCode()));
+        }
+        patientProfileDto.setEmail(patient.getEmail());
+        patientProfileDto.setBirthDate(patient.getBirthDay());
+        patientProfileDto.setUsername(patient.getUsername());
+        patientProfileDto.setVerificationCode(patient.getVerificationCode());
+        patientProfileDto.setSocialSecurityNumber(patient.getSocialSecurityNumber());
+        patientProfileDto.setAdministrativeGenderCode(toCode(patient.getAdministrativeGenderCode()));
+        patientProfileDto.setMaritalStatusCode(toLookupDto(patient.getMaritalStatusCode()));
+        patientProfileDto.setReligiousAffiliationCode(toLookupDto(patient.getReligiousAffiliationCode()));
+        patientProfileDto.setRaceCode(toLookupDto(patient.getRaceCode()));
+        patientProfileDto.setEthnicGroupCode(toLookupDto(patient.getEthnicGroupCode()));
+        patientProfileDto.setLanguageCode(toLookupDto(patient.getLanguageCode()));
+        patientProfileDto.setMedicalRecordNumber(patient.getMedicalRecordNumber());
+        patientProfileDto.setEnterpriseIdentifier(patient.getEnterpriseIdentifier());
+        patientProfileDto.setIndividualProviders(
+                providerDtoMapper.toIndividualProviderDtos(patient.getIndividualProviders()));
+        patientProfileDto.setOrganizationalProviders(
+                providerDtoMapper.toOrganizationalProviderDtos(patient.getOrganizationalProviders()));
+        return patientProfileDto;
+    }
+
+    @Override
+    public Patient toPatient(PatientProfileDto patientProfileDto) {
+        if (patientProfileDto == null) {
+            return null;
+        }
+        Patient patient = new Patient();
+        patient.setId(patientProfileDto.getId());
+        patient.setFirstName(patientProfileDto.getFirstName());
+        patient.setLastName(patientProfileDto.getLastName());
+        patient.setPrefix(patientProfileDto.getPrefix());
+        Address address = new Address();
+        address.setStreetAddressLine(patientProfileDto.getAddressStreetAddressLine());
+        address.setCity(patientProfileDto.getAddressCity());
+        address.setStateCode(referenceCodeRegistry.findByCode(StateCode.class,
+                patientProfileDto.getAddressStateCode()));
+        address.setPostalCode(patientProfileDto.getAddressPostalCode());
+        address.setCountryCode(referenceCodeRegistry.findByCode(CountryCode.class,
+                patientProfileDto.getAddressCountryCode()));
+        patient.setAddress(address);
+        Telephone telephone = new Telephone();
+        telephone.setTelephone(patientProfileDto.getTelephoneTelephone());
+        telephone.setTelecomUseCode(referenceCodeRegistry.findByCode(TelecomUseCode.class,
+                patientProfileDto.getTelephoneTelecomUseCode()));
+        patient.setTelephone(telephone);
+        patient.setEmail(patientProfileDto.getEmail());
+        patient.setBirthDay(patientProfileDto.getBirthDate());
+        patient.setUsername(patientProfileDto.getUsername());
+        patient.setVerificationCode(patientProfileDto.getVerificationCode());
+        patient.setSocialSecurityNumber(patientProfileDto.getSocialSecurityNumber());
+        patient.setAdministrativeGenderCode(referenceCodeRegistry.findByCode(AdministrativeGenderCode.class,
+                patientProfileDto.getAdministrativeGenderCode()));
+        patient.setMaritalStatusCode(referenceCodeRegistry.findByCode(MaritalStatusCode.class,
+                toCode(patientProfileDto.getMaritalStatusCode())));
+        patient.setReligiousAffiliationCode(referenceCodeRegistry.findByCode(ReligiousAffiliationCode.class,
+                toCode(patientProfileDto.getReligiousAffiliationCode())));
+        patient.setRaceCode(referenceCodeRegistry.findByCode(RaceCode.class,
+                toCode(patientProfileDto.getRaceCode())));
+        patient.setEthnicGroupCode(referenceCodeRegistry.findByCode(EthnicGroupCode.class,
+                toCode(patientProfileDto.getEthnicGroupCode())));
+        patient.setLanguageCode(referenceCodeRegistry.findByCode(LanguageCode.class,
+                toCode(patientProfileDto.getLanguageCode())));
+        patient.setMedicalRecordNumber(patientProfileDto.getMedicalRecordNumber());
+        patient.setEnterpriseIdentifier(patientProfileDto.getEnterpriseIdentifier());
+        return patient;
+    }
+
+    @Override
+    public PatientAdminDto toPatientAdminDto(Patient patient) {
+        PatientAdminDto patientAdminDto = new PatientAdminDto();
+        patientAdminDto.setId(patient.getId());
+        patientAdminDto.setFirstName(patient.getFirstName());
+        patientAdminDto.setLastName(patient.getLastName());
+        patientAdminDto.setBirthDay(patient.getBirthDay() == null ? null : patient.getBirthDay().toString());
+        patientAdminDto.setSocialSecurityNumber(patient.getSocialSecurityNumber());
+        return patientAdminDto;
+    }
+
+    @Override
+    public RecentPatientDto toRecentPatientDto(Patient patient) {
+        RecentPatientDto recentPatientDto = new RecentPatientDto();
+        recentPatientDto.setId(patient.getId());
+        recentPatientDto.setFirstName(patient.getFirstName());
+        recentPatientDto.setLastName(patient.getLastName());
+        recentPatientDto.setBirthDate(patient.getBirthDay());
+        recentPatientDto.setAdministrativeGenderCode(toCode(patient.getAdministrativeGenderCode()));
+        return recentPatientDto;
+    }
+
+    private static String toCode(AbstractLocalDBLookupCodedConcept codedConcept) {
+        return codedConcept == null ? null : codedConcept.getCode();
+    }
+
+    private static String toCode(LookupDto lookupDto) {
+        return lookupDto == null ? null : lookupDto.getCode();
+    }
+
+    private static LookupDto toLookupDto(AbstractLocalDBLookupCodedConcept codedConcept) {
+        if (codedConcept == null) {
+            return null;
+        }
+        LookupDto lookupDto = new LookupDto();
+        lookupDto.setCode(codedConcept.getCode());
+        lookupDto.setCodeSystem(codedConcept.getCodeSystem());
+        lookupDto.setDisplayName(codedConcept.getDisplayName());
+        lookupDto.setCodeSystemName(codedConcept.getCodeSystemName());
+        lookupDto.setOriginalText(codedConcept.getOriginalText());
+        return lookupDto;
+    }
+}
@@ -35,9 +35,8 @@
 import gov.samhsa.c2s.pcm.domain.patient.PatientRepository;
 import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
 import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProvider;
-import gov.samhsa.c2s.pcm.infrastructure.PhrService;
 import gov.samhsa.c2s.pcm.infrastructure.dto.PatientDto;
-import org.modelmapper.ModelMapper;
+import gov.samhsa.c2s.pcm.service.provider.ProviderDtoMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -79,10 +78,16 @@ public class PatientServiceImpl implements PatientService {
     private PatientLegalRepresentativeAssociationRepository patientLegalRepresentativeAssociationRepository;
 
     /**
-     * The model mapper.
+     * The patient dto mapper.
      */
     @Autowired
-    private ModelMapper modelMapper;
+    private PatientDtoMapper patientDtoMapper;
+
+    /**
+     * The provider dto mapper.
+     */
+    @Autowired
+    private ProviderDtoMapper providerDtoMapper;
 
     /**
      * The password encoder.
@@ -97,7 +102,7 @@ public class PatientServiceImpl implements PatientService {
     private EmailSender emailSender;
 
     @Autowired
-    private PhrService phrService;
+    private PhrProfileCache phrProfileCache;
 
     /*
      * (non-Javadoc)
@@ -123,8 +128,7 @@ public long countAllPatients() {
     @Transactional(readOnly = true)
     public PatientProfileDto findPatient(Long id) {
         Patient patient = patientRepository.findOne(id);
-        PatientProfileDto patientDto = modelMapper.map(patient,
-                PatientProfileDto.class);
+        PatientProfileDto patientDto = patientDtoMapper.toPatientProfileDto(patient);
         return patientDto;
     }
 
@@ -165,8 +169,7 @@ public List<PatientAdminDto> findAllPatientByFirstNameAndLastName(
     @Transactional(readOnly = true)
     public PatientProfileDto findByUsername(String username) {
         Patient patient = patientRepository.findByUsername(username);
-        PatientProfileDto patientDto = modelMapper.map(patient,
-                PatientProfileDto.class);
+        PatientProfileDto patientDto = patientDtoMapper.toPatientProfileDto(patient);
         return patientDto;
     }
 
@@ -218,8 +221,7 @@ public String findPatientEmailByUsername(String username) {
     @Transactional(readOnly = true)
     public PatientProfileDto findPatientProfileByUsername(String username) {
         Patient patient = patientRepository.findByUsername(username);
-        PatientProfileDto patientDto = modelMapper.map(patient,
-                PatientProfileDto.class);
+        PatientProfileDto patientDto = patientDtoMapper.toPatientProfileDto(patient);
 
         return patientDto;
     }
@@ -227,8 +229,7 @@ public PatientProfileDto findPatientProfileByUsername(String username) {
     @Override
     public PatientProfileDto findPatientProfileByPatientId(Long patientId) {
         Patient patient = patientRepository.findOne(patientId);
-        PatientProfileDto patientDto = modelMapper.map(patient,
-                PatientProfileDto.class);
+        PatientProfileDto patientDto = patientDtoMapper.toPatientProfileDto(patient);
         return patientDto;
     }
 
@@ -255,8 +256,7 @@ public PatientConnectionDto findPatientConnectionByUsername(String username) {
     @Override
     @Transactional(readOnly = true)
     public PatientConnectionDto findPatientConnectionByPatient(Patient patient) {
-        PatientConnectionDto patientConnectionDto = modelMapper.map(patient,
-                PatientConnectionDto.class);
+        PatientConnectionDto patientConnectionDto = toPatientConnectionDto(patient);
 
         Set<IndividualProvider> consentIndividualProviders = new HashSet<IndividualProvider>();
         Set<OrganizationalProvider> consentOrganizationalProviders = new HashSet<OrganizationalProvider>();
@@ -355,8 +355,7 @@ public Set<ProviderDto> findProvidersByUsername(String username) {
     @Override
     @Transactional(readOnly = true)
     public Set<ProviderDto> findProvidersByPatient(Patient patient) {
-        PatientConnectionDto patientConnectionDto = modelMapper.map(patient,
-                PatientConnectionDto.class);
+        PatientConnectionDto patientConnectionDto = toPatientConnectionDto(patient);
 
         Set<IndividualProvider> consentIndividualProviders = new HashSet<IndividualProvider>();
         Set<OrganizationalProvider> consentOrganizationalProviders = new HashSet<OrganizationalProvider>();
@@ -416,7 +415,7 @@ public Set<ProviderDto> findProvidersByPatient(Patient patient) {
                             individualProvider.getNpi()))
                         individualProviderDto.setDeletable(false);
                 }
-                ProviderDto providerDto = modelMapper.map(individualProviderDto, ProviderDto.class);
+                ProviderDto providerDto = providerDtoMapper.toProviderDto(individualProviderDto);
                 providerDto.setEntityType("Individual");
                 providerDtos.add(providerDto);
 
@@ -432,7 +431,7 @@ public Set<ProviderDto> findProvidersByPatient(Patient patient) {
                             organizationalProvider.getNpi()))
                         organizationalProviderDto.setDeletable(false);
                 }
-                ProviderDto providerDto = modelMapper.map(organizationalProviderDto, ProviderDto.class);
+                ProviderDto providerDto = providerDtoMapper.toProviderDto(organizationalProviderDto);
                 providerDto.setEntityType("Organization");
                 providerDtos.add(providerDto);
             }
@@ -476,8 +475,7 @@ public List<PatientProfileDto> findPatientEntries(int pageNumber,
         List<PatientProfileDto> patientDtoList = new ArrayList<PatientProfileDto>();
 
         for (Patient patient : patientList) {
-            PatientProfileDto patientProfileDto = modelMapper.map(patient,
-                    PatientProfileDto.class);
+            PatientProfileDto patientProfileDto = patientDtoMapper.toPatientProfileDto(patient);
             patientDtoList.add(patientProfileDto);
         }
 
@@ -494,10 +492,9 @@ public List<PatientProfileDto> findPatientEntries(int pageNumber,
     @Override
     @Transactional
     public PatientProfileDto savePatient(PatientProfileDto patientDto) {
-        Patient patient = modelMapper.map(patientDto, Patient.class);
+        Patient patient = patientDtoMapper.toPatient(patientDto);
         patientRepository.save(patient);
-        PatientProfileDto patientProfileDto = modelMapper.map(patient,
-                PatientProfileDto.class);
+        PatientProfileDto patientProfileDto = patientDtoMapper.toPatientProfileDto(patient);
 
         return patientProfileDto;
     }
@@ -507,6 +504,10 @@ public void updatePatientFromPHR(PatientDto patientDto) {
         Optional<Patient> patientOptional = patientRepository.findOneAsOptional(patientDto.getId());
         if (patientOptional.isPresent()) {
             Patient patient = patientOptional.get();
+            // An unchanged profile must not be saved again, every save of the patient is an audit revision
+            if (PhrProfileFingerprint.of(patientDto).equals(PhrProfileFingerprint.of(patient))) {
+                return;
+            }
             patient.setFirstName(patientDto.getFirstName());
             patient.setLastName(patientDto.getLastName());
             patient.setMedicalRecordNumber(patientDto.getMedicalRecordNumber());
@@ -531,7 +532,7 @@ public void updatePatientFromPHR(PatientDto patientDto) {
     @Transactional
     public void updatePatient(PatientProfileDto patientDto) {
         logger.info("{} being run...", "updatePatient");
-        Patient patient = modelMapper.map(patientDto, Patient.class);
+        Patient patient = patientDtoMapper.toPatient(patientDto);
 
         // Save
         patientRepository.save(patient);
@@ -562,9 +563,8 @@ public List<AddConsentIndividualProviderDto> findAddConsentIndividualProviderDto
         Iterator<IndividualProvider> individualProvidersIterator = individualProviders
                 .iterator();
         while (individualProvidersIterator.hasNext()) {
-            individualProvidersDto.add(modelMapper.map(
-                    individualProvidersIterator.next(),
-                    AddConsentIndividualProviderDto.class));
+            individualProvidersDto.add(providerDtoMapper.toAddConsentIndividualProviderDto(
+                    individualProvidersIterator.next()));
         }
         return individualProvidersDto;
     }
@@ -586,9 +586,8 @@ public List<AddConsentOrganizationalProviderDto> findAddConsentOrganizationalPro
         Iterator<OrganizationalProvider> organizationalProvidersIterator = organizationalProviders
                 .iterator();
         while (organizationalProvidersIterator.hasNext()) {
-            organizationalProvidersDto.add(modelMapper.map(
-                    organizationalProvidersIterator.next(),
-                    AddConsentOrganizationalProviderDto.class));
+            organizationalProvidersDto.add(providerDtoMapper.toAddConsentOrganizationalProviderDto(
+                    organizationalProvidersIterator.next()));
         }
         return organizationalProvidersDto;
     }
@@ -610,9 +609,8 @@ public List<AddConsentIndividualProviderDto> findAddConsentIndividualProviderDto
         Iterator<IndividualProvider> individualProvidersIterator = individualProviders
                 .iterator();
         while (individualProvidersIterator.hasNext()) {
-            individualProvidersDto.add(modelMapper.map(
-                    individualProvidersIterator.next(),
-                    AddConsentIndividualProviderDto.class));
+            individualProvidersDto.add(providerDtoMapper.toAddConsentIndividualProviderDto(
+                    individualProvidersIterator.next()));
         }
         return individualProvidersDto;
     }
@@ -634,9 +632,8 @@ public List<AddConsentOrganizationalProviderDto> findAddConsentOrganizationalPro
         Iterator<OrganizationalProvider> organizationalProvidersIterator = organizationalProviders
                 .iterator();
         while (organizationalProvidersIterator.hasNext()) {
-            organizationalProvidersDto.add(modelMapper.map(
-                    organizationalProvidersIterator.next(),
-                    AddConsentOrganizationalProviderDto.class));
+            organizationalProvidersDto.add(providerDtoMapper.toAddConsentOrganizationalProviderDto(
+                    organizationalProvidersIterator.next()));
         }
         return organizationalProvidersDto;
     }
@@ -675,9 +672,8 @@ public boolean isLegalRepForCurrentUser(String username, Long legalRepId) {
     public List<RecentPatientDto> findRecentPatientDtosById(List<String> ids) {
         List<RecentPatientDto> patients = new ArrayList<RecentPatientDto>();
         for (String id : ids) {
-            patients.add(modelMapper.map(
-                    patientRepository.findOne(Long.parseLong(id)),
-                    RecentPatientDto.class));
+            patients.add(patientDtoMapper.toRecentPatientDto(
+                    patientRepository.findOne(Long.parseLong(id))));
         }
 
         return patients;
@@ -687,7 +683,7 @@ public List<RecentPatientDto> findRecentPatientDtosById(List<String> ids) {
     @Override
     @Transactional
     public Long createNewPatientWithOAuth2AuthenticationIfNotExists() {
-        final PatientDto patientProfile = phrService.getPatientProfile();
+        final PatientDto patientProfile = phrProfileCache.getPatientProfile();
         if (!patientRepository.findOneAsOptional(patientProfile.getId()).isPresent()) {
             Patient patient = new Patient();
             patient.setId(patientProfile.getId());
@@ -702,6 +698,22 @@ public Long createNewPatientWithOAuth2AuthenticationIfNotExists() {
         return patientProfile.getId();
     }
 
+    /**
+     * Map patient to patient connection dto.
+     *
+     * @param patient the patient
+     * @return the patient connection dto
+     */
+    private PatientConnectionDto toPatientConnectionDto(Patient patient) {
+        PatientConnectionDto patientConnectionDto = new PatientConnectionDto();
+        patientConnectionDto.setUsername(patient.getUsername());
+        patientConnectionDto.setIndividualProviders(providerDtoMapper.toIndividualProviderDtos(
+                patient.getIndividualProviders()));
+        patientConnectionDto.setOrganizationalProviders(providerDtoMapper.toOrganizationalProviderDtos(
+                patient.getOrganizationalProviders()));
+        return patientConnectionDto;
+    }
+
     /**
      * Map patient list to patient admin dto list.
      *
@@ -712,8 +724,7 @@ private List<PatientAdminDto> mapPatientListToPatientAdminDtoList(
             List<Patient> patients) {
         List<PatientAdminDto> patientAdminDtoList = new ArrayList<PatientAdminDto>();
         for (Patient patient : patients) {
-            PatientAdminDto patientAdminDto = modelMapper.map(patient,
-                    PatientAdminDto.class);
+            PatientAdminDto patientAdminDto = patientDtoMapper.toPatientAdminDto(patient);
             String fullSSN = patientAdminDto.getSocialSecurityNumber();
             if (fullSSN != null)
                 patientAdminDto
@@ -0,0 +1,17 @@
+package gov.samhsa.c2s.pcm.service.patient;
+
+import gov.samhsa.c2s.pcm.infrastructure.dto.PatientDto;
+
+/**
+ * Short-lived cache of the PHR patient profile of the current access token.
+ */
+public interface PhrProfileCache {
+
+    /**
+     * Gets the patient profile of the current access token, asking PHR only when the token has no recent profile.
+     * The returned profile is shared by the requests of the token and must not be modified.
+     *
+     * @return the patient profile
+     */
+    PatientDto getPatientProfile();
+}
@@ -0,0 +1,86 @@
+package gov.samhsa.c2s.pcm.service.patient;
+
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.infrastructure.PhrService;
+import gov.samhsa.c2s.pcm.infrastructure.dto.PatientDto;
+import gov.samhsa.c2s.pcm.service.util.ContentHashUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.authentication.OAuth2AuthenticationDetails;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the PHR profile per access token in a size-bounded LRU map. Tokens are only kept as SHA-256 hashes.
+ * Requests without an OAuth2 access token always ask PHR.
+ */
+@Service
+public class PhrProfileCacheImpl implements PhrProfileCache {
+
+    @SuppressWarnings("SpringJavaAutowiringInspection")
+    @Autowired
+    private PhrService phrService;
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Guarded by itself; iterates in access order so that the eldest entry is the least recently used one.
+     */
+    private final Map<String, CachedProfile> cachedProfiles = new LinkedHashMap<String, CachedProfile>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedProfile> eldest) {
+            return size() > pcmProperties.getPhrProfileCache().getMaxSize();
+        }
+    };
+
+    @Override
+    public PatientDto getPatientProfile() {
+        final String tokenValue = currentTokenValue();
+        if (tokenValue == null) {
+            return phrService.getPatientProfile();
+        }
+
+        final String key = ContentHashUtil.sha256Hex(tokenValue.getBytes(StandardCharsets.UTF_8));
+        final long now = clock.millis();
+        synchronized (cachedProfiles) {
+            final CachedProfile cachedProfile = cachedProfiles.get(key);
+            if (cachedProfile != null && now - cachedProfile.loadedAt < pcmProperties.getPhrProfileCache().getTtlInMs()) {
+                return cachedProfile.profile;
+            }
+        }
+
+        final PatientDto profile = phrService.getPatientProfile();
+        if (profile != null) {
+            synchronized (cachedProfiles) {
+                cachedProfiles.put(key, new CachedProfile(profile, now));
+            }
+        }
+        return profile;
+    }
+
+    private static String currentTokenValue() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getDetails() instanceof OAuth2AuthenticationDetails) {
+            return ((OAuth2AuthenticationDetails) authentication.getDetails()).getTokenValue();
+        }
+        return null;
+    }
+
+    private static final class CachedProfile {
+        private final PatientDto profile;
+        private final long loadedAt;
+
+        private CachedProfile(PatientDto profile, long loadedAt) {
+            this.profile = profile;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
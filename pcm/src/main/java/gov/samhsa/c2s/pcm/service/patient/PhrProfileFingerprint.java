@@ -0,0 +1,46 @@
+package gov.samhsa.c2s.pcm.service.patient;
+
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.infrastructure.dto.PatientDto;
+import gov.samhsa.c2s.pcm.service.util.ContentHashUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * SHA-256 of the patient fields copied from the PHR profile, computed the same way from the profile and from the
+ * stored patient so that the two can be compared.
+ */
+final class PhrProfileFingerprint {
+
+    private static final char SEPARATOR = '\u001f';
+    private static final String NULL = "\u0000";
+
+    private PhrProfileFingerprint() {
+    }
+
+    static String of(PatientDto patientDto) {
+        return hash(patientDto.getFirstName(), patientDto.getLastName(), patientDto.getMedicalRecordNumber(),
+                patientDto.getEmail(), patientDto.getEmail(), toDay(patientDto.getBirthDate()));
+    }
+
+    static String of(Patient patient) {
+        return hash(patient.getFirstName(), patient.getLastName(), patient.getMedicalRecordNumber(),
+                patient.getEmail(), patient.getUsername(), toDay(patient.getBirthDay()));
+    }
+
+    /**
+     * Birth dates are compared by day, since the stored value may come back as a java.sql type with a different time.
+     */
+    private static String toDay(Date date) {
+        return date == null ? null : new java.sql.Date(date.getTime()).toLocalDate().toString();
+    }
+
+    private static String hash(String... fields) {
+        final StringBuilder builder = new StringBuilder();
+        for (String field : fields) {
+            builder.append(field == null ? NULL : field).append(SEPARATOR);
+        }
+        return ContentHashUtil.sha256Hex(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
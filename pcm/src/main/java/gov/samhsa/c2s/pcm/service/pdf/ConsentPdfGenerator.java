@@ -18,8 +18,23 @@ public interface ConsentPdfGenerator {
 
     void addConsentReferenceNumberAndPatientInfo(Consent consent, Patient patient, float startYCoordinate, PDFont defaultFont, PDPageContentStream contentStream) throws IOException;
 
+    /**
+     * Adds the labels of the consent reference number and patient information section, which are the same for every
+     * consent and can be part of a template.
+     */
+    void addConsentReferenceNumberAndPatientInfoLabels(float startYCoordinate, PDFont defaultFont, PDPageContentStream contentStream) throws IOException;
+
+    /**
+     * Adds the values of the consent reference number and patient information section next to the labels.
+     */
+    void addConsentReferenceNumberAndPatientInfoValues(Consent consent, Patient patient, float startYCoordinate, PDFont defaultFont, PDPageContentStream contentStream) throws IOException;
+
     void addConsentSigningDetails(Patient patient, Date signedOnDateTime, float startYCoordinate, PDFont defaultFont, PDPageContentStream contentStream) throws IOException;
 
+    void addConsentSigningDetailsLabels(float startYCoordinate, PDFont defaultFont, PDPageContentStream contentStream) throws IOException;
+
+    void addConsentSigningDetailsValues(Patient patient, Date signedOnDateTime, float startYCoordinate, PDFont defaultFont, PDPageContentStream contentStream) throws IOException;
+
     /**
      * Generate consent pdf.
      *
@@ -17,9 +17,11 @@
 import gov.samhsa.c2s.pcm.infrastructure.pdfbox.Column;
 import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfBoxService;
 import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfBoxStyle;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfTemplate;
 import gov.samhsa.c2s.pcm.infrastructure.pdfbox.TableAttribute;
 import gov.samhsa.c2s.pcm.infrastructure.pdfbox.TextAlignment;
 import gov.samhsa.c2s.pcm.infrastructure.pdfbox.util.PdfBoxHandler;
+import gov.samhsa.c2s.pcm.service.util.ContentHashUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -35,6 +37,7 @@
 import java.awt.*;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -49,14 +52,19 @@ public class ConsentPdfGeneratorImpl implements ConsentPdfGenerator {
     private static final String CONSENT_PDF = "consent-pdf";
     private static final String DATE_FORMAT_PATTERN = "MM/dd/yyyy";
     private static final String SPACE_PATTERN = " ";
+    private static final String ATTESTER_FULL_NAME_KEY = "ATTESTER_FULL_NAME";
+    private static final float DOB_LABEL_X_COORDINATE = 310f;
+    private static final float PURPOSE_OF_USE_X_COORDINATE = 326f;
 
     private final PdfBoxService pdfBoxService;
+    private final PdfTemplateCache pdfTemplateCache;
     private final MessageSource messageSource;
     private final ValueSetCategoryRepository valueSetCategoryRepository;
 
     @Autowired
-    public ConsentPdfGeneratorImpl(PdfBoxService pdfBoxService, MessageSource messageSource, ValueSetCategoryRepository valueSetCategoryRepository) {
+    public ConsentPdfGeneratorImpl(PdfBoxService pdfBoxService, PdfTemplateCache pdfTemplateCache, MessageSource messageSource, ValueSetCategoryRepository valueSetCategoryRepository) {
         this.pdfBoxService = pdfBoxService;
+        this.pdfTemplateCache = pdfTemplateCache;
         this.messageSource = messageSource;
         this.valueSetCategoryRepository = valueSetCategoryRepository;
     }
@@ -74,6 +82,33 @@ public void addConsentTitle(String titleMessageKey, float startYCoordinate, PDPa
 
     @Override
     public void addConsentReferenceNumberAndPatientInfo(Consent consent, Patient patient, float startYCoordinate, PDFont defaultFont, PDPageContentStream contentStream) throws IOException {
+        addConsentReferenceNumberAndPatientInfoLabels(startYCoordinate, defaultFont, contentStream);
+        addConsentReferenceNumberAndPatientInfoValues(consent, patient, startYCoordinate, defaultFont, contentStream);
+    }
+
+    @Override
+    public void addConsentReferenceNumberAndPatientInfoLabels(float startYCoordinate, PDFont defaultFont, PDPageContentStream contentStream) throws IOException {
+        final Color textColor = Color.BLACK;
+        final float fontSize = PdfBoxStyle.TEXT_SMALL_SIZE;
+
+        // Add Consent Created On label
+        pdfBoxService.addTextAtOffset(getI18nMessage("REVOCATION.PDF.DATE"), defaultFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, startYCoordinate, contentStream);
+
+        // Add Consent Reference Number label
+        final float crnLabelYCoordinate = startYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
+        pdfBoxService.addTextAtOffset(getI18nMessage("CONSENT.REFERENCE.NUMBER"), defaultFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, crnLabelYCoordinate, contentStream);
+
+        // Add patient name label, below the consent reference number
+        final float crnYCoordinate = crnLabelYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
+        final float nameYCoordinate = crnYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
+        pdfBoxService.addTextAtOffset(getI18nMessage("PATIENT.NAME"), defaultFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, nameYCoordinate, contentStream);
+
+        // Add patient DOB label
+        pdfBoxService.addTextAtOffset(getI18nMessage("PATIENT.DOB"), defaultFont, fontSize, textColor, DOB_LABEL_X_COORDINATE, nameYCoordinate, contentStream);
+    }
+
+    @Override
+    public void addConsentReferenceNumberAndPatientInfoValues(Consent consent, Patient patient, float startYCoordinate, PDFont defaultFont, PDPageContentStream contentStream) throws IOException {
         String consentCreatedOn = PdfBoxHandler.formatDate(consent.getCreatedDateTime(), DATE_FORMAT_PATTERN);
         String consentReferenceNumber = consent.getConsentReferenceId();
         String patientFullName = patient.getFirstName().concat(SPACE_PATTERN + patient.getLastName());
@@ -85,34 +120,46 @@ public void addConsentReferenceNumberAndPatientInfo(Consent consent, Patient pat
 
         // Add Consent Created On
         final String createdOnLabel = getI18nMessage("REVOCATION.PDF.DATE");
-        pdfBoxService.addTextAtOffset(createdOnLabel, defaultFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, startYCoordinate, contentStream);
         final float createdOnXCoordinate = PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER + PdfBoxHandler.targetedStringWidth(createdOnLabel, defaultFont, fontSize);
         pdfBoxService.addTextAtOffset(consentCreatedOn, contentFont, fontSize, textColor, createdOnXCoordinate, startYCoordinate, contentStream);
 
         // Add Consent Reference Number
         final float crnLabelYCoordinate = startYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
-        final String crnLabel = getI18nMessage("CONSENT.REFERENCE.NUMBER");
-        pdfBoxService.addTextAtOffset(crnLabel, defaultFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, crnLabelYCoordinate, contentStream);
         final float crnYCoordinate = crnLabelYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
         pdfBoxService.addTextAtOffset(consentReferenceNumber, contentFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, crnYCoordinate, contentStream);
 
         // Add patient name
         final float nameYCoordinate = crnYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
         final String nameLabel = getI18nMessage("PATIENT.NAME");
-        pdfBoxService.addTextAtOffset(nameLabel, defaultFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, nameYCoordinate, contentStream);
         final float nameXCoordinate = PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER + PdfBoxHandler.targetedStringWidth(nameLabel, defaultFont, fontSize);
         pdfBoxService.addTextAtOffset(patientFullName, contentFont, fontSize, textColor, nameXCoordinate, nameYCoordinate, contentStream);
 
         // Add patient DOB
         final String dobLabel = getI18nMessage("PATIENT.DOB");
-        final float dobLabelXCoordinate = 310f;
-        pdfBoxService.addTextAtOffset(dobLabel, defaultFont, fontSize, textColor, dobLabelXCoordinate, nameYCoordinate, contentStream);
-        final float dobXCoordinate = dobLabelXCoordinate + PdfBoxHandler.targetedStringWidth(dobLabel, defaultFont, fontSize);
+        final float dobXCoordinate = DOB_LABEL_X_COORDINATE + PdfBoxHandler.targetedStringWidth(dobLabel, defaultFont, fontSize);
         pdfBoxService.addTextAtOffset(patientBirthDate, contentFont, fontSize, textColor, dobXCoordinate, nameYCoordinate, contentStream);
     }
 
     @Override
     public void addConsentSigningDetails(Patient patient, Date signedOnDateTime, float startYCoordinate, PDFont defaultFont, PDPageContentStream contentStream) throws IOException {
+        addConsentSigningDetailsLabels(startYCoordinate, defaultFont, contentStream);
+        addConsentSigningDetailsValues(patient, signedOnDateTime, startYCoordinate, defaultFont, contentStream);
+    }
+
+    @Override
+    public void addConsentSigningDetailsLabels(float startYCoordinate, PDFont defaultFont, PDPageContentStream contentStream) throws IOException {
+        final Color textColor = Color.BLACK;
+        final float fontSize = PdfBoxStyle.TEXT_SMALL_SIZE;
+
+        pdfBoxService.addTextAtOffset(getI18nMessage("SIGNED.BY"), defaultFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, startYCoordinate, contentStream);
+        final float emailYCoordinate = startYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
+        pdfBoxService.addTextAtOffset(getI18nMessage("EMAIL"), defaultFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, emailYCoordinate, contentStream);
+        final float signedOnYCoordinate = emailYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
+        pdfBoxService.addTextAtOffset(getI18nMessage("SIGNED.ON"), defaultFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, signedOnYCoordinate, contentStream);
+    }
+
+    @Override
+    public void addConsentSigningDetailsValues(Patient patient, Date signedOnDateTime, float startYCoordinate, PDFont defaultFont, PDPageContentStream contentStream) throws IOException {
         String patientName = patient.getFirstName().concat(SPACE_PATTERN + patient.getLastName());
         String email = patient.getEmail();
 
@@ -125,19 +172,16 @@ public void addConsentSigningDetails(Patient patient, Date signedOnDateTime, flo
         final float fontSize = PdfBoxStyle.TEXT_SMALL_SIZE;
 
         // Add Signed by
-        pdfBoxService.addTextAtOffset(signedByLabel, defaultFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, startYCoordinate, contentStream);
         final float crnXCoordinate = PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER + PdfBoxHandler.targetedStringWidth(signedByLabel, defaultFont, fontSize);
         pdfBoxService.addTextAtOffset(patientName, contentFont, fontSize, textColor, crnXCoordinate, startYCoordinate, contentStream);
 
         // Add Email
         final float emailYCoordinate = startYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
-        pdfBoxService.addTextAtOffset(emailLabel, defaultFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, emailYCoordinate, contentStream);
         final float nameXCoordinate = PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER + PdfBoxHandler.targetedStringWidth(emailLabel, defaultFont, fontSize);
         pdfBoxService.addTextAtOffset(email, contentFont, fontSize, textColor, nameXCoordinate, emailYCoordinate, contentStream);
 
         // Add Signed on
         final float signedOnYCoordinate = emailYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
-        pdfBoxService.addTextAtOffset(signedOnLabel, defaultFont, fontSize, textColor, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, signedOnYCoordinate, contentStream);
         final float dobXCoordinate = PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER + PdfBoxHandler.targetedStringWidth(signedOnLabel, defaultFont, fontSize);
         pdfBoxService.addTextAtOffset(PdfBoxHandler.formatDate(signedOnDateTime, DATE_FORMAT_PATTERN), contentFont, fontSize, textColor, dobXCoordinate, signedOnYCoordinate, contentStream);
     }
@@ -169,21 +213,36 @@ public byte[] generateConsentPdf(Consent consent, Patient patient, boolean isSig
             final float consentEffectiveDateSectionStartYCoordinate = 105f;
             final float consentSigningSectionStartYCoordinate = 70f;
 
-            // Title
-            final String titleMessageKey = "CONSENT.PDF.TITLE";
-            addConsentTitle(titleMessageKey, titleSectionStartYCoordinate, page, contentStream);
+            // Titles, labels, section headers and the terms that do not name the patient are the same for every
+            // consent, so they are laid out once per terms text, locale and page configuration
+            final boolean isTermsStatic = !consentTerms.contains(ATTESTER_FULL_NAME_KEY);
+            final String templateContentKey = isTermsStatic ? ContentHashUtil.sha256Hex(consentTerms.getBytes(StandardCharsets.UTF_8)) : ATTESTER_FULL_NAME_KEY;
+            PdfTemplate template = pdfTemplateCache.getTemplate(CONSENT_PDF, templateContentKey, (templatePage, templateContentStream) -> {
+                // Title
+                final String titleMessageKey = "CONSENT.PDF.TITLE";
+                addConsentTitle(titleMessageKey, titleSectionStartYCoordinate, templatePage, templateContentStream);
+
+                addConsentReferenceNumberAndPatientInfoLabels(consentReferenceNumberSectionStartYCoordinate, defaultFont, templateContentStream);
+                addAuthorizationToDiscloseLayout(authorizationSectionStartYCoordinate, defaultFont, templatePage, templateContentStream);
+                addHealthInformationToBeDiscloseLayout(healthInformationSectionStartYCoordinate, defaultFont, templatePage, templateContentStream);
+                addConsentTermsLayout(isTermsStatic ? consentTerms : null, consentTermsSectionStartYCoordinate, defaultFont, templatePage, templateContentStream);
+            });
+            pdfBoxService.addTemplate(template, document, contentStream);
 
             // Consent Reference Number and Patient information
-            addConsentReferenceNumberAndPatientInfo(consent, patient, consentReferenceNumberSectionStartYCoordinate, defaultFont, contentStream);
+            addConsentReferenceNumberAndPatientInfoValues(consent, patient, consentReferenceNumberSectionStartYCoordinate, defaultFont, contentStream);
 
             // Authorization to disclose section
-            addAuthorizationToDisclose(consent, authorizationSectionStartYCoordinate, defaultFont, page, contentStream);
+            addAuthorizationToDisclose(consent, page, contentStream);
 
             // Health information to be disclosed section
-            addHealthInformationToBeDisclose(consent, healthInformationSectionStartYCoordinate, defaultFont, page, contentStream);
+            addHealthInformationToBeDisclose(consent, healthInformationSectionStartYCoordinate, defaultFont, contentStream);
 
             // Consent terms section
-            addConsentTerms(consentTerms, patient, consentTermsSectionStartYCoordinate, defaultFont, page, contentStream);
+            if (!isTermsStatic) {
+                addConsentTerms(consentTerms.replace(ATTESTER_FULL_NAME_KEY, patient.getFirstName().concat(SPACE_PATTERN + patient.getLastName())),
+                        consentTermsSectionStartYCoordinate, defaultFont, page, contentStream);
+            }
 
             // Consent effective and expiration date
             addEffectiveAndExpirationDate(consent, consentEffectiveDateSectionStartYCoordinate, contentStream);
@@ -210,30 +269,41 @@ public byte[] generateConsentPdf(Consent consent, Patient patient, boolean isSig
         }
     }
 
-    private void addAuthorizationToDisclose(Consent consent, float startYCoordinate, PDFont font, PDPage page, PDPageContentStream contentStream) throws IOException {
+    private void addAuthorizationToDiscloseLayout(float startYCoordinate, PDFont font, PDPage page, PDPageContentStream contentStream) throws IOException {
         final float cardXCoordinate = PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER;
-        final float colAWidth = 180f;
-        final float colBWidth = 90f;
-        final float colCWidth = 200f;
-        final float colDWidth = 90f;
         String title = getI18nMessage("CONSENT.PDF.SECTION1.TITLE");
         drawSectionHeader(title, cardXCoordinate, startYCoordinate, page, contentStream);
 
-        List<Column> tableColumns = Arrays.asList(new Column(colAWidth), new Column(colBWidth), new Column(colCWidth), new Column(colDWidth));
+        List<Column> tableColumns = getAuthorizationTableColumns();
 
         // Provider permitted to disclose
         float providerPermittedStartYCoordinate = startYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
-        addProviderPermittedToDisclose(consent, tableColumns, providerPermittedStartYCoordinate, font, page, contentStream);
+        addAuthorizationTableHeader(getI18nMessage("CONSENT.PDF.SECTION1.CONTENT1"), providerPermittedStartYCoordinate, tableColumns, font, contentStream);
 
         // Provider disclosure is made to
         float providerDisclosureIsMadeToStartYCoordinate = 485f;
-        addProviderDisclosureIsMadeTo(consent, tableColumns, providerDisclosureIsMadeToStartYCoordinate, font, page, contentStream);
+        addAuthorizationTableHeader(getI18nMessage("CONSENT.PDF.SECTION1.CONTENT2"), providerDisclosureIsMadeToStartYCoordinate, tableColumns, font, contentStream);
     }
 
-    private void addProviderPermittedToDisclose(Consent consent, List<Column> tableColumns, float startYCoordinate, PDFont font, PDPage page, PDPageContentStream contentStream) throws IOException {
-        String label = getI18nMessage("CONSENT.PDF.SECTION1.CONTENT1");
-        addAuthorizationTableHeader(label, startYCoordinate, tableColumns, font, contentStream);
+    private void addAuthorizationToDisclose(Consent consent, PDPage page, PDPageContentStream contentStream) throws IOException {
+        List<Column> tableColumns = getAuthorizationTableColumns();
+
+        // Provider permitted to disclose
+        addProviderPermittedToDisclose(consent, tableColumns, page, contentStream);
+
+        // Provider disclosure is made to
+        addProviderDisclosureIsMadeTo(consent, tableColumns, page, contentStream);
+    }
 
+    private List<Column> getAuthorizationTableColumns() {
+        final float colAWidth = 180f;
+        final float colBWidth = 90f;
+        final float colCWidth = 200f;
+        final float colDWidth = 90f;
+        return Arrays.asList(new Column(colAWidth), new Column(colBWidth), new Column(colCWidth), new Column(colDWidth));
+    }
+
+    private void addProviderPermittedToDisclose(Consent consent, List<Column> tableColumns, PDPage page, PDPageContentStream contentStream) throws IOException {
         // From providers details
         final float fromProviderDetailsYCoordinate = 257f;
         Set<OrganizationalProvider> fromOrganizations = consent.getOrganizationalProvidersPermittedToDisclose().stream()
@@ -247,10 +317,7 @@ private void addProviderPermittedToDisclose(Consent consent, List<Column> tableC
         addConsentProvidersDetails(fromOrganizations, fromPractitioners, tableColumns, fromProviderDetailsYCoordinate, page, contentStream);
     }
 
-    private void addProviderDisclosureIsMadeTo(Consent consent, List<Column> tableColumns, float startYCoordinate, PDFont font, PDPage page, PDPageContentStream contentStream) throws IOException {
-        String label = getI18nMessage("CONSENT.PDF.SECTION1.CONTENT2");
-        addAuthorizationTableHeader(label, startYCoordinate, tableColumns, font, contentStream);
-
+    private void addProviderDisclosureIsMadeTo(Consent consent, List<Column> tableColumns, PDPage page, PDPageContentStream contentStream) throws IOException {
         // To providers details
         final float toProviderDetailsYCoordinate = 342f;
         Set<OrganizationalProvider> fromOrganizations = consent.getOrganizationalProvidersDisclosureIsMadeTo().stream()
@@ -337,13 +404,25 @@ private void addAuthorizationTableHeader(String label, float labelYCoordinate, L
         pdfBoxService.addTableContent(contentStream, tableAttribute, header);
     }
 
-    private void addHealthInformationToBeDisclose(Consent consent, float startYCoordinate, PDFont font, PDPage page, PDPageContentStream contentStream) throws IOException {
+    private void addHealthInformationToBeDiscloseLayout(float startYCoordinate, PDFont font, PDPage page, PDPageContentStream contentStream) throws IOException {
         float cardXCoordinate = PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER;
         float labelYCoordinate = startYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
 
         String title = getI18nMessage("CONSENT.PDF.SECTION2.TITLE");
         drawSectionHeader(title, cardXCoordinate, startYCoordinate, page, contentStream);
 
+        // Medical Information
+        float subLabelYCoordinate = labelYCoordinate - 15f;
+        pdfBoxService.addTextAtOffset(getI18nMessage("CONSENT.PDF.CATEGORY.TITLE"), PDType1Font.TIMES_BOLD, PdfBoxStyle.TEXT_SMALL_SIZE, Color.BLACK, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, labelYCoordinate, contentStream);
+        pdfBoxService.addTextAtOffset(getI18nMessage("SENSITIVE.CATEGORY"), font, PdfBoxStyle.TEXT_SMALL_SIZE, Color.BLACK, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, subLabelYCoordinate, contentStream);
+
+        // Purposes of use
+        pdfBoxService.addTextAtOffset(getI18nMessage("CONSENT.PDF.PURPOSE.TITLE"), PDType1Font.TIMES_BOLD, PdfBoxStyle.TEXT_SMALL_SIZE, Color.BLACK, PURPOSE_OF_USE_X_COORDINATE, labelYCoordinate, contentStream);
+    }
+
+    private void addHealthInformationToBeDisclose(Consent consent, float startYCoordinate, PDFont font, PDPageContentStream contentStream) throws IOException {
+        float labelYCoordinate = startYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
+
         // Medical Information
         addMedicalInformation(consent, labelYCoordinate, font, contentStream);
 
@@ -355,13 +434,7 @@ private void addMedicalInformation(Consent consent, float labelYCoordinate, PDFo
         final float xCoordinate = PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER;
         final float listWidth = 286f;
         final String itemMarkerSymbol = "-";
-        float subLabelYCoordinate = labelYCoordinate - 15f;
         float listYCoordinate = labelYCoordinate - 20f;
-        String label = getI18nMessage("CONSENT.PDF.CATEGORY.TITLE");
-        String subLabel = getI18nMessage("SENSITIVE.CATEGORY");
-
-        pdfBoxService.addTextAtOffset(label, PDType1Font.TIMES_BOLD, PdfBoxStyle.TEXT_SMALL_SIZE, Color.BLACK, xCoordinate, labelYCoordinate, contentStream);
-        pdfBoxService.addTextAtOffset(subLabel, font, PdfBoxStyle.TEXT_SMALL_SIZE, Color.BLACK, xCoordinate, subLabelYCoordinate, contentStream);
 
         List<String> sensitivityCategories = getMedicalInformation(consent);
 
@@ -386,17 +459,13 @@ private List<String> getMedicalInformation(Consent consent) {
     }
 
     private void addPurposeOfUse(Consent consent, float labelYCoordinate, PDFont font, PDPageContentStream contentStream) throws IOException {
-        final float xCoordinate = 326f;
         final float listWidth = 280f;
         final String itemMarkerSymbol = "-";
         float listYCoordinate = labelYCoordinate - 5f;
-        String label = getI18nMessage("CONSENT.PDF.PURPOSE.TITLE");
-
-        pdfBoxService.addTextAtOffset(label, PDType1Font.TIMES_BOLD, PdfBoxStyle.TEXT_SMALL_SIZE, Color.BLACK, xCoordinate, labelYCoordinate, contentStream);
 
         List<String> purposes = getPurposeOfUse(consent);
 
-        pdfBoxService.addUnorderedListContent(purposes, itemMarkerSymbol, xCoordinate, listYCoordinate, listWidth, font, PdfBoxStyle.TEXT_SMALL_SIZE, contentStream);
+        pdfBoxService.addUnorderedListContent(purposes, itemMarkerSymbol, PURPOSE_OF_USE_X_COORDINATE, listYCoordinate, listWidth, font, PdfBoxStyle.TEXT_SMALL_SIZE, contentStream);
     }
 
     private List<String> getPurposeOfUse(Consent consent) {
@@ -407,18 +476,24 @@ private List<String> getPurposeOfUse(Consent consent) {
         return new ArrayList<>(purposesOfUseList);
     }
 
-    private void addConsentTerms(String consentTerms, Patient patient, float startYCoordinate, PDFont font, PDPage page, PDPageContentStream contentStream) throws IOException {
+    /**
+     * Draws the section header, and the terms too unless they are null.
+     */
+    private void addConsentTermsLayout(String consentTerms, float startYCoordinate, PDFont font, PDPage page, PDPageContentStream contentStream) throws IOException {
         float cardXCoordinate = PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER;
-        final float paragraphYCoordinate = startYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
         final String title = getI18nMessage("CONSENT.PDF.SECTION3.TITLE");
 
         drawSectionHeader(title, cardXCoordinate, startYCoordinate, page, contentStream);
 
-        final String userNameKey = "ATTESTER_FULL_NAME";
-        String termsWithAttestedName = consentTerms.replace(userNameKey, patient.getFirstName().concat(SPACE_PATTERN + patient.getLastName()));
+        if (consentTerms != null) {
+            addConsentTerms(consentTerms, startYCoordinate, font, page, contentStream);
+        }
+    }
 
+    private void addConsentTerms(String consentTerms, float startYCoordinate, PDFont font, PDPage page, PDPageContentStream contentStream) {
+        final float paragraphYCoordinate = startYCoordinate - PdfBoxStyle.XLARGE_LINE_SPACE;
         try {
-            pdfBoxService.addWrappedParagraphByLineBreaks(termsWithAttestedName, font, PdfBoxStyle.TEXT_SMALL_SIZE, Color.BLACK, paragraphYCoordinate, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, page, contentStream);
+            pdfBoxService.addWrappedParagraphByLineBreaks(consentTerms, font, PdfBoxStyle.TEXT_SMALL_SIZE, Color.BLACK, paragraphYCoordinate, PdfBoxStyle.LEFT_RIGHT_MARGINS_OF_LETTER, page, contentStream);
         } catch (Exception e) {
             log.error("Invalid character for cast specification", e);
             throw new InvalidContentException(e);
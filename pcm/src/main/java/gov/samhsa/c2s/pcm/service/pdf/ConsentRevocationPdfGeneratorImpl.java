@@ -6,6 +6,8 @@
 import gov.samhsa.c2s.pcm.infrastructure.exception.PdfGenerationException;
 import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfBoxService;
 import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfBoxStyle;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfTemplate;
+import gov.samhsa.c2s.pcm.service.util.ContentHashUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -18,6 +20,7 @@
 import java.awt.*;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
 @Service
@@ -26,11 +29,13 @@ public class ConsentRevocationPdfGeneratorImpl implements ConsentRevocationPdfGe
     private static final String CONSENT_REVOCATION_PDF = "consent-revocation-pdf";
 
     private final PdfBoxService pdfBoxService;
+    private final PdfTemplateCache pdfTemplateCache;
     private final ConsentPdfGenerator consentPdfGenerator;
 
     @Autowired
-    public ConsentRevocationPdfGeneratorImpl(PdfBoxService pdfBoxService, ConsentPdfGenerator consentPdfGenerator) {
+    public ConsentRevocationPdfGeneratorImpl(PdfBoxService pdfBoxService, PdfTemplateCache pdfTemplateCache, ConsentPdfGenerator consentPdfGenerator) {
         this.pdfBoxService = pdfBoxService;
+        this.pdfTemplateCache = pdfTemplateCache;
         this.consentPdfGenerator = consentPdfGenerator;
     }
 
@@ -57,18 +62,27 @@ public byte[] generateConsentRevocationPdf(Consent consent, Patient patient, Dat
             final float consentRevocationTermsSectionStartYCoordinate = 570f;
             final float consentRevocationSigningSectionStartYCoordinate = 230f;
 
-            // Title
-            final String titleMessageKey = "REVOCATION.PDF.TITLE";
-            consentPdfGenerator.addConsentTitle(titleMessageKey, titleSectionStartYCoordinate, page, contentStream);
+            // Everything but the consent, patient and signing values is laid out once per terms text, locale and page configuration
+            final String templateContentKey = ContentHashUtil.sha256Hex(consentRevocationTerm.getBytes(StandardCharsets.UTF_8));
+            PdfTemplate template = pdfTemplateCache.getTemplate(CONSENT_REVOCATION_PDF, templateContentKey, (templatePage, templateContentStream) -> {
+                // Title
+                final String titleMessageKey = "REVOCATION.PDF.TITLE";
+                consentPdfGenerator.addConsentTitle(titleMessageKey, titleSectionStartYCoordinate, templatePage, templateContentStream);
 
-            // Consent Reference Number and Patient information
-            consentPdfGenerator.addConsentReferenceNumberAndPatientInfo(consent, patient, consentReferenceNumberSectionStartYCoordinate, defaultFont, contentStream);
+                consentPdfGenerator.addConsentReferenceNumberAndPatientInfoLabels(consentReferenceNumberSectionStartYCoordinate, defaultFont, templateContentStream);
+
+                // Consent revocation terms
+                addConsentRevocationTerms(consentRevocationTerm, consentRevocationTermsSectionStartYCoordinate, defaultFont, templatePage, templateContentStream);
 
-            // Consent revocation terms
-            addConsentRevocationTerms(consentRevocationTerm, consentRevocationTermsSectionStartYCoordinate, defaultFont, page, contentStream);
+                consentPdfGenerator.addConsentSigningDetailsLabels(consentRevocationSigningSectionStartYCoordinate, defaultFont, templateContentStream);
+            });
+            pdfBoxService.addTemplate(template, document, contentStream);
+
+            // Consent Reference Number and Patient information
+            consentPdfGenerator.addConsentReferenceNumberAndPatientInfoValues(consent, patient, consentReferenceNumberSectionStartYCoordinate, defaultFont, contentStream);
 
             // Revocation signing details
-            consentPdfGenerator.addConsentSigningDetails(patient, revokedOnDateTime, consentRevocationSigningSectionStartYCoordinate, defaultFont, contentStream);
+            consentPdfGenerator.addConsentSigningDetailsValues(patient, revokedOnDateTime, consentRevocationSigningSectionStartYCoordinate, defaultFont, contentStream);
 
             // Make sure that the content stream is closed
             contentStream.close();
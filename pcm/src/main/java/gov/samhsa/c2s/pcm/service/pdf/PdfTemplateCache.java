@@ -0,0 +1,22 @@
+package gov.samhsa.c2s.pcm.service.pdf;
+
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfTemplate;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfTemplateWriter;
+
+import java.io.IOException;
+
+/**
+ * Keeps the static page content of the generated PDFs, so that it is laid out once per PDF type, locale, page
+ * configuration and content instead of for every PDF.
+ */
+public interface PdfTemplateCache {
+
+    /**
+     * Gets the template of the PDF type for the current locale, rendering it with the writer on the first use.
+     *
+     * @param typeOfPdf  the PDF type whose page configuration is used
+     * @param contentKey identifies the content the writer draws besides the PDF type and the locale, for example
+     *                   the hash of the terms text
+     */
+    PdfTemplate getTemplate(String typeOfPdf, String contentKey, PdfTemplateWriter templateWriter) throws IOException;
+}
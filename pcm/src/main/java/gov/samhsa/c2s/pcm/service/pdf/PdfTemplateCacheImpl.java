@@ -0,0 +1,60 @@
+package gov.samhsa.c2s.pcm.service.pdf;
+
+import gov.samhsa.c2s.pcm.config.PdfProperties;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfBoxService;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfTemplate;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfTemplateWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@Slf4j
+public class PdfTemplateCacheImpl implements PdfTemplateCache {
+
+    private final PdfBoxService pdfBoxService;
+    private final PdfProperties pdfProperties;
+
+    /**
+     * Guarded by itself; iterates in access order so that the eldest entry is the least recently used one.
+     */
+    private final Map<String, PdfTemplate> templates = new LinkedHashMap<String, PdfTemplate>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PdfTemplate> eldest) {
+            return size() > pdfProperties.getPdfTemplateCacheMaxSize();
+        }
+    };
+
+    @Autowired
+    public PdfTemplateCacheImpl(PdfBoxService pdfBoxService, PdfProperties pdfProperties) {
+        this.pdfBoxService = pdfBoxService;
+        this.pdfProperties = pdfProperties;
+    }
+
+    @Override
+    public PdfTemplate getTemplate(String typeOfPdf, String contentKey, PdfTemplateWriter templateWriter) throws IOException {
+        final String key = typeOfPdf + "|" + LocaleContextHolder.getLocale()
+                + "|" + pdfBoxService.getConfiguredPdfPageSize(typeOfPdf)
+                + "|" + pdfBoxService.getConfiguredPdfFont(typeOfPdf).getName()
+                + "|" + contentKey;
+        synchronized (templates) {
+            final PdfTemplate template = templates.get(key);
+            if (template != null) {
+                return template;
+            }
+        }
+
+        // rendered outside of the lock; a template rendered twice by concurrent requests is the same
+        final PdfTemplate template = pdfBoxService.createTemplate(typeOfPdf, templateWriter);
+        log.debug("Rendered PDF template " + key);
+        synchronized (templates) {
+            templates.put(key, template);
+        }
+        return template;
+    }
+}
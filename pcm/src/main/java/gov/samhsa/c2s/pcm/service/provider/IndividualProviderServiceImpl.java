@@ -32,7 +32,6 @@
 import gov.samhsa.c2s.pcm.domain.provider.IndividualProviderRepository;
 import gov.samhsa.c2s.pcm.infrastructure.dto.ProviderDto;
 import gov.samhsa.c2s.pcm.service.dto.IndividualProviderDto;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -62,10 +61,10 @@ public class IndividualProviderServiceImpl implements IndividualProviderService
     private IndividualProviderRepository individualProviderRepository;
 
     /**
-     * The model mapper.
+     * The provider dto mapper.
      */
     @Autowired
-    private ModelMapper modelMapper;
+    private ProviderDtoMapper providerDtoMapper;
 
     /**
      * The patient repository.
@@ -464,7 +463,7 @@ public List<IndividualProviderDto> findAllIndividualProvidersDto() {
         List<IndividualProviderDto> providers = new ArrayList<IndividualProviderDto>();
 
         for (IndividualProvider entity : individualProviderRepository.findAll()) {
-            providers.add(modelMapper.map(entity, IndividualProviderDto.class));
+            providers.add(providerDtoMapper.toIndividualProviderDto(entity));
         }
         return providers;
     }
@@ -478,8 +477,7 @@ public List<IndividualProviderDto> findAllIndividualProvidersDto() {
     @Override
     public IndividualProviderDto findIndividualProviderDto(Long id) {
         IndividualProvider provider = individualProviderRepository.findOne(id);
-        IndividualProviderDto providerDto = modelMapper.map(provider,
-                IndividualProviderDto.class);
+        IndividualProviderDto providerDto = providerDtoMapper.toIndividualProviderDto(provider);
 
         return providerDto;
     }
@@ -32,7 +32,6 @@
 import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProviderRepository;
 import gov.samhsa.c2s.pcm.infrastructure.dto.ProviderDto;
 import gov.samhsa.c2s.pcm.service.dto.OrganizationalProviderDto;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -55,10 +54,10 @@ public class OrganizationalProviderServiceImpl implements
     private PatientRepository patientRepository;
 
     /**
-     * The model mapper.
+     * The provider dto mapper.
      */
     @Autowired
-    private ModelMapper modelMapper;
+    private ProviderDtoMapper providerDtoMapper;
 
     /**
      * The organizational provider repository.
@@ -171,8 +170,7 @@ public OrganizationalProvider findOrganizationalProvider(Long id) {
     public OrganizationalProviderDto findOrganizationalProviderDto(Long id) {
         OrganizationalProvider provider = organizationalProviderRepository
                 .findOne(id);
-        OrganizationalProviderDto providerDto = modelMapper.map(provider,
-                OrganizationalProviderDto.class);
+        OrganizationalProviderDto providerDto = providerDtoMapper.toOrganizationalProviderDto(provider);
 
         return providerDto;
     }
@@ -0,0 +1,22 @@
+package gov.samhsa.c2s.pcm.service.provider;
+
+import gov.samhsa.c2s.pcm.infrastructure.dto.ProviderDto;
+
+/**
+ * Local copy of the PLS provider directory, keyed by NPI.
+ */
+public interface ProviderDirectoryCache {
+
+    /**
+     * Gets a provider, asking PLS only when the NPI is not cached or its cached provider is too old to be served.
+     *
+     * @param npi the npi
+     * @return the provider
+     */
+    ProviderDto getProvider(String npi);
+
+    /**
+     * Looks up the NPIs of the providers already stored in PCM in the background.
+     */
+    void warmUp();
+}
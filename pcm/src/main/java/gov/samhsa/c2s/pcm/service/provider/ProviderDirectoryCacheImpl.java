@@ -0,0 +1,202 @@
+package gov.samhsa.c2s.pcm.service.provider;
+
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.config.ProviderDirectoryConfig;
+import gov.samhsa.c2s.pcm.domain.provider.IndividualProviderRepository;
+import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProviderRepository;
+import gov.samhsa.c2s.pcm.infrastructure.PlsService;
+import gov.samhsa.c2s.pcm.infrastructure.dto.ProviderDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves providers from a size-bounded LRU map. A provider younger than the TTL is served as is; within the
+ * stale-while-revalidate window after the TTL it is still served while one background reload asks PLS again.
+ * Older providers are reloaded on the calling thread, and the old copy is served if PLS cannot be reached.
+ */
+@Service
+public class ProviderDirectoryCacheImpl implements ProviderDirectoryCache {
+
+    private static final String METRIC_NAME = "provider.directory.";
+
+    /**
+     * The logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private PlsService plsService;
+
+    @Autowired
+    private IndividualProviderRepository individualProviderRepository;
+
+    @Autowired
+    private OrganizationalProviderRepository organizationalProviderRepository;
+
+    @Autowired
+    private PcmProperties pcmProperties;
+
+    @Autowired
+    @Qualifier(ProviderDirectoryConfig.PROVIDER_DIRECTORY_EXECUTOR)
+    private TaskExecutor providerDirectoryExecutor;
+
+    @Autowired
+    private GaugeService gaugeService;
+
+    @Autowired
+    private CounterService counterService;
+
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Guarded by itself; iterates in access order so that the eldest entry is the least recently used one.
+     */
+    private final Map<String, CachedProvider> cachedProviders = new LinkedHashMap<String, CachedProvider>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedProvider> eldest) {
+            return size() > pcmProperties.getProviderDirectory().getMaxSize();
+        }
+    };
+
+    private final Set<String> refreshingNpis = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong lookups = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    @Override
+    public ProviderDto getProvider(String npi) {
+        final PcmProperties.ProviderDirectory providerDirectory = pcmProperties.getProviderDirectory();
+        final CachedProvider cachedProvider;
+        synchronized (cachedProviders) {
+            cachedProvider = cachedProviders.get(npi);
+        }
+
+        if (cachedProvider != null) {
+            final long age = clock.millis() - cachedProvider.loadedAt;
+            if (age < providerDirectory.getTtlInMs()) {
+                recordLookup("hit", true);
+                return cachedProvider.provider;
+            }
+            if (age < providerDirectory.getTtlInMs() + providerDirectory.getStaleWhileRevalidateInMs()) {
+                recordLookup("stale", true);
+                reloadInBackground(npi);
+                return cachedProvider.provider;
+            }
+        }
+
+        recordLookup("miss", false);
+        try {
+            return load(npi);
+        } catch (RuntimeException e) {
+            if (cachedProvider == null) {
+                throw e;
+            }
+            logger.warn("Serving the cached provider with NPI " + npi + " because PLS could not be reached: " + e.getMessage());
+            counterService.increment(METRIC_NAME + "stale-on-error");
+            return cachedProvider.provider;
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!pcmProperties.getProviderDirectory().isWarmUpEnabled()) {
+            return;
+        }
+        try {
+            providerDirectoryExecutor.execute(this::loadStoredProviders);
+        } catch (TaskRejectedException e) {
+            logger.warn("Provider directory warm-up could not be started: " + e.getMessage());
+        }
+    }
+
+    private void loadStoredProviders() {
+        final Set<String> npis = new LinkedHashSet<>(individualProviderRepository.findAllNpis());
+        npis.addAll(organizationalProviderRepository.findAllNpis());
+        final int maxSize = pcmProperties.getProviderDirectory().getMaxSize();
+        int loaded = 0;
+        for (String npi : npis) {
+            if (loaded >= maxSize) {
+                break;
+            }
+            try {
+                if (load(npi) != null) {
+                    loaded++;
+                }
+            } catch (RuntimeException e) {
+                // PLS is most likely down; the remaining providers are loaded on first use
+                logger.warn("Provider directory warm-up stopped after " + loaded + " providers: " + e.getMessage());
+                return;
+            }
+        }
+        logger.info("Provider directory warmed up with " + loaded + " providers");
+    }
+
+    private void reloadInBackground(String npi) {
+        if (!refreshingNpis.add(npi)) {
+            return;
+        }
+        try {
+            providerDirectoryExecutor.execute(() -> {
+                try {
+                    load(npi);
+                } catch (RuntimeException e) {
+                    logger.warn("Provider with NPI " + npi + " could not be reloaded: " + e.getMessage());
+                    counterService.increment(METRIC_NAME + "reload-failure");
+                } finally {
+                    refreshingNpis.remove(npi);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            refreshingNpis.remove(npi);
+        }
+    }
+
+    private ProviderDto load(String npi) {
+        final ProviderDto provider = plsService.getProvider(npi);
+        if (provider != null) {
+            final int size;
+            synchronized (cachedProviders) {
+                cachedProviders.put(npi, new CachedProvider(provider, clock.millis()));
+                size = cachedProviders.size();
+            }
+            gaugeService.submit(METRIC_NAME + "size", size);
+        }
+        return provider;
+    }
+
+    private void recordLookup(String outcome, boolean hit) {
+        final long lookupCount = lookups.incrementAndGet();
+        final long hitCount = hit ? hits.incrementAndGet() : hits.get();
+        counterService.increment(METRIC_NAME + outcome);
+        gaugeService.submit(METRIC_NAME + "hit-rate", (double) hitCount / lookupCount);
+    }
+
+    private static final class CachedProvider {
+        private final ProviderDto provider;
+        private final long loadedAt;
+
+        private CachedProvider(ProviderDto provider, long loadedAt) {
+            this.provider = provider;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package gov.samhsa.c2s.pcm.service.provider;
+
+import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
+import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProvider;
+import gov.samhsa.c2s.pcm.service.dto.AddConsentIndividualProviderDto;
+import gov.samhsa.c2s.pcm.service.dto.AddConsentOrganizationalProviderDto;
+import gov.samhsa.c2s.pcm.service.dto.IndividualProviderDto;
+import gov.samhsa.c2s.pcm.service.dto.OrganizationalProviderDto;
+import gov.samhsa.c2s.pcm.service.dto.ProviderDto;
+
+import java.util.Set;
+
+/**
+ * Maps provider entities to the provider DTO family with plain getters and setters.
+ */
+public interface ProviderDtoMapper {
+
+    IndividualProviderDto toIndividualProviderDto(IndividualProvider individualProvider);
+
+    OrganizationalProviderDto toOrganizationalProviderDto(OrganizationalProvider organizationalProvider);
+
+    Set<IndividualProviderDto> toIndividualProviderDtos(Set<IndividualProvider> individualProviders);
+
+    Set<OrganizationalProviderDto> toOrganizationalProviderDtos(Set<OrganizationalProvider> organizationalProviders);
+
+    /**
+     * Copies the fields shown in a provider list; the entity type is left to the caller.
+     */
+    ProviderDto toProviderDto(IndividualProviderDto individualProviderDto);
+
+    /**
+     * Copies the fields shown in a provider list; the entity type is left to the caller.
+     */
+    ProviderDto toProviderDto(OrganizationalProviderDto organizationalProviderDto);
+
+    AddConsentIndividualProviderDto toAddConsentIndividualProviderDto(IndividualProvider individualProvider);
+
+    AddConsentOrganizationalProviderDto toAddConsentOrganizationalProviderDto(
+            OrganizationalProvider organizationalProvider);
+}
@@ -0,0 +1,143 @@
+package gov.samhsa.c2s.pcm.service.provider;
+
+import gov.samhsa.c2s.pcm.domain.provider.AbstractProvider;
+import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
+import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProvider;
+import gov.samhsa.c2s.pcm.service.dto.AbstractProviderDto;
+import gov.samhsa.c2s.pcm.service.dto.AddConsentIndividualProviderDto;
+import gov.samhsa.c2s.pcm.service.dto.AddConsentOrganizationalProviderDto;
+import gov.samhsa.c2s.pcm.service.dto.IndividualProviderDto;
+import gov.samhsa.c2s.pcm.service.dto.OrganizationalProviderDto;
+import gov.samhsa.c2s.pcm.service.dto.ProviderDto;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The Class ProviderDtoMapperImpl.
+ */
+@Service
+public class ProviderDtoMapperImpl implements ProviderDtoMapper {
+
+    @Override
+    public IndividualProviderDto toIndividualProviderDto(IndividualProvider individualProvider) {
+        if (individualProvider == null) {
+            return null;
+        }
+        IndividualProviderDto individualProviderDto = new IndividualProviderDto();
+        copyProvider(individualProvider, individualProviderDto);
+        individualProviderDto.setLastName(individualProvider.getLastName());
+        individualProviderDto.setFirstName(individualProvider.getFirstName());
+        individualProviderDto.setMiddleName(individualProvider.getMiddleName());
+        return individualProviderDto;
+    }
+
+    @Override
+    public OrganizationalProviderDto toOrganizationalProviderDto(OrganizationalProvider organizationalProvider) {
+        if (organizationalProvider == null) {
+            return null;
+        }
+        OrganizationalProviderDto organizationalProviderDto = new OrganizationalProviderDto();
+        copyProvider(organizationalProvider, organizationalProviderDto);
+        organizationalProviderDto.setOrgName(organizationalProvider.getOrgName());
+        return organizationalProviderDto;
+    }
+
+    @Override
+    public Set<IndividualProviderDto> toIndividualProviderDtos(Set<IndividualProvider> individualProviders) {
+        if (individualProviders == null) {
+            return null;
+        }
+        Set<IndividualProviderDto> individualProviderDtos = new HashSet<>();
+        for (IndividualProvider individualProvider : individualProviders) {
+            individualProviderDtos.add(toIndividualProviderDto(individualProvider));
+        }
+        return individualProviderDtos;
+    }
+
+    @Override
+    public Set<OrganizationalProviderDto> toOrganizationalProviderDtos(
+            Set<OrganizationalProvider> organizationalProviders) {
+        if (organizationalProviders == null) {
+            return null;
+        }
+        Set<OrganizationalProviderDto> organizationalProviderDtos = new HashSet<>();
+        for (OrganizationalProvider organizationalProvider : organizationalProviders) {
+            organizationalProviderDtos.add(toOrganizationalProviderDto(organizationalProvider));
+        }
+        return organizationalProviderDtos;
+    }
+
+    @Override
+    public ProviderDto toProviderDto(IndividualProviderDto individualProviderDto) {
+        ProviderDto providerDto = toListedProviderDto(individualProviderDto);
+        providerDto.setLastName(individualProviderDto.getLastName());
+        providerDto.setFirstName(individualProviderDto.getFirstName());
+        return providerDto;
+    }
+
+    @Override
+    public ProviderDto toProviderDto(OrganizationalProviderDto organizationalProviderDto) {
+        ProviderDto providerDto = toListedProviderDto(organizationalProviderDto);
+        providerDto.setOrgName(organizationalProviderDto.getOrgName());
+        return providerDto;
+    }
+
+    @Override
+    public AddConsentIndividualProviderDto toAddConsentIndividualProviderDto(IndividualProvider individualProvider) {
+        AddConsentIndividualProviderDto addConsentIndividualProviderDto = new AddConsentIndividualProviderDto();
+        addConsentIndividualProviderDto.setNpi(individualProvider.getNpi());
+        addConsentIndividualProviderDto.setLastName(individualProvider.getLastName());
+        addConsentIndividualProviderDto.setFirstName(individualProvider.getFirstName());
+        return addConsentIndividualProviderDto;
+    }
+
+    @Override
+    public AddConsentOrganizationalProviderDto toAddConsentOrganizationalProviderDto(
+            OrganizationalProvider organizationalProvider) {
+        AddConsentOrganizationalProviderDto addConsentOrganizationalProviderDto = new AddConsentOrganizationalProviderDto();
+        addConsentOrganizationalProviderDto.setNpi(organizationalProvider.getNpi());
+        addConsentOrganizationalProviderDto.setOrgName(organizationalProvider.getOrgName());
+        return addConsentOrganizationalProviderDto;
+    }
+
+    private static void copyProvider(AbstractProvider provider, AbstractProviderDto providerDto) {
+        providerDto.setId(provider.getId() == null ? null : provider.getId().toString());
+        providerDto.setNpi(provider.getNpi());
+        providerDto.setEntityType(provider.getEntityType());
+        providerDto.setFirstLineMailingAddress(provider.getFirstLineMailingAddress());
+        providerDto.setSecondLineMailingAddress(provider.getSecondLineMailingAddress());
+        providerDto.setMailingAddressCityName(provider.getMailingAddressCityName());
+        providerDto.setMailingAddressStateName(provider.getMailingAddressStateName());
+        providerDto.setMailingAddressPostalCode(provider.getMailingAddressPostalCode());
+        providerDto.setMailingAddressCountryCode(provider.getMailingAddressCountryCode());
+        providerDto.setMailingAddressTelephoneNumber(provider.getMailingAddressTelephoneNumber());
+        providerDto.setMailingAddressFaxNumber(provider.getMailingAddressFaxNumber());
+        providerDto.setFirstLinePracticeLocationAddress(provider.getFirstLinePracticeLocationAddress());
+        providerDto.setSecondLinePracticeLocationAddress(provider.getSecondLinePracticeLocationAddress());
+        providerDto.setPracticeLocationAddressCityName(provider.getPracticeLocationAddressCityName());
+        providerDto.setPracticeLocationAddressStateName(provider.getPracticeLocationAddressStateName());
+        providerDto.setPracticeLocationAddressPostalCode(provider.getPracticeLocationAddressPostalCode());
+        providerDto.setPracticeLocationAddressCountryCode(provider.getPracticeLocationAddressCountryCode());
+        providerDto.setPracticeLocationAddressTelephoneNumber(provider.getPracticeLocationAddressTelephoneNumber());
+        providerDto.setPracticeLocationAddressFaxNumber(provider.getPracticeLocationAddressFaxNumber());
+        providerDto.setEnumerationDate(provider.getEnumerationDate());
+        providerDto.setLastUpdateDate(provider.getLastUpdateDate());
+    }
+
+    private static ProviderDto toListedProviderDto(AbstractProviderDto providerDto) {
+        ProviderDto listedProviderDto = new ProviderDto();
+        listedProviderDto.setNpi(providerDto.getNpi());
+        listedProviderDto.setFirstLinePracticeLocationAddress(providerDto.getFirstLinePracticeLocationAddress());
+        listedProviderDto.setSecondLinePracticeLocationAddress(providerDto.getSecondLinePracticeLocationAddress());
+        listedProviderDto.setPracticeLocationAddressCityName(providerDto.getPracticeLocationAddressCityName());
+        listedProviderDto.setPracticeLocationAddressStateName(providerDto.getPracticeLocationAddressStateName());
+        listedProviderDto.setPracticeLocationAddressPostalCode(providerDto.getPracticeLocationAddressPostalCode());
+        listedProviderDto.setPracticeLocationAddressCountryCode(providerDto.getPracticeLocationAddressCountryCode());
+        listedProviderDto.setPracticeLocationAddressTelephoneNumber(
+                providerDto.getPracticeLocationAddressTelephoneNumber());
+        listedProviderDto.setDeletable(providerDto.isDeletable());
+        return listedProviderDto;
+    }
+}
@@ -29,9 +29,7 @@
 import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
 import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProvider;
 import gov.samhsa.c2s.pcm.domain.reference.EntityType;
-import gov.samhsa.c2s.pcm.infrastructure.PlsService;
 import gov.samhsa.c2s.pcm.infrastructure.dto.ProviderDto;
-import gov.samhsa.c2s.pcm.service.dto.LookupDto;
 import gov.samhsa.c2s.pcm.service.dto.MultiProviderRequestDto;
 import gov.samhsa.c2s.pcm.service.exception.ProviderAlreadyInUseException;
 import gov.samhsa.c2s.pcm.service.exception.ProviderNotFoundException;
@@ -42,7 +40,6 @@
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.Principal;
-import java.util.List;
 
 /**
  * The Class ProviderSearchLookupServiceImpl.
@@ -56,7 +53,7 @@ public class ProviderSearchLookupServiceImpl implements ProviderSearchLookupServ
     final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     @Autowired
-    PlsService plsService;
+    ProviderDirectoryCache providerDirectoryCache;
 
     /**
      * The provider search url.
@@ -112,7 +109,7 @@ public ProviderSearchLookupServiceImpl(
      */
     @Override
     public ProviderDto providerSearchByNpi(String npi) {
-        return plsService.getProvider(npi);
+        return providerDirectoryCache.getProvider(npi);
     }
 
     @Override
@@ -176,21 +173,8 @@ public boolean isValidatedSearch(String usstate, String city,
         if (usstate != null) {
             if (usstate.matches("[a-zA-Z][a-zA-Z]") == true) {
 
-                // Get a list of all valid US states from database via
-                // stateCodeService service
-                List<LookupDto> stateCodes = stateCodeService
-                        .findAllStateCodes();
-                boolean isValidStateCode = false;
-
-                // Loop through list of valid state codes and check if usstate
-                // value
-                // matches a valid state
-                for (LookupDto stateCode : stateCodes) {
-                    if (usstate.compareToIgnoreCase(stateCode.getCode()) == 0) {
-                        isValidStateCode = true;
-                        break;
-                    }
-                }
+                // Check the value against the valid US states
+                boolean isValidStateCode = stateCodeService.isStateCode(usstate);
 
                 // If no state in the list matched the input value for usstate,
                 // then
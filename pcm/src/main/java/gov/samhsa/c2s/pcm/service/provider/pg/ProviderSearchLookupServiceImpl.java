@@ -25,7 +25,6 @@
  ******************************************************************************/
 package gov.samhsa.c2s.pcm.service.provider.pg;
 
-import gov.samhsa.c2s.pcm.service.dto.LookupDto;
 import gov.samhsa.c2s.pcm.service.provider.IndividualProviderService;
 import gov.samhsa.c2s.pcm.service.provider.OrganizationalProviderService;
 import gov.samhsa.c2s.pcm.service.reference.StateCodeService;
@@ -35,8 +34,6 @@
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
 /**
  * The Class ProviderSearchLookupServiceImpl.
  */
@@ -107,21 +104,8 @@ public boolean isValidatedSearch(String usstate, String city,
         if (usstate != null) {
             if (usstate.matches("[a-zA-Z][a-zA-Z]") == true) {
 
-                // Get a list of all valid US states from database via
-                // stateCodeService service
-                List<LookupDto> stateCodes = stateCodeService
-                        .findAllStateCodes();
-                boolean isValidStateCode = false;
-
-                // Loop through list of valid state codes and check if usstate
-                // value
-                // matches a valid state
-                for (LookupDto stateCode : stateCodes) {
-                    if (usstate.compareToIgnoreCase(stateCode.getCode()) == 0) {
-                        isValidStateCode = true;
-                        break;
-                    }
-                }
+                // Check the value against the valid US states
+                boolean isValidStateCode = stateCodeService.isStateCode(usstate);
 
                 // If no state in the list matched the input value for usstate,
                 // then
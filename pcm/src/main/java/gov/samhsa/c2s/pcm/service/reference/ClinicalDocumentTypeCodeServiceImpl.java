@@ -27,9 +27,7 @@
 
 import gov.samhsa.c2s.vss.service.dto.AddConsentFieldsDto;
 import gov.samhsa.c2s.pcm.domain.reference.ClinicalDocumentTypeCode;
-import gov.samhsa.c2s.pcm.domain.reference.ClinicalDocumentTypeCodeRepository;
 import gov.samhsa.c2s.pcm.service.dto.LookupDto;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -45,13 +43,9 @@
 public class ClinicalDocumentTypeCodeServiceImpl implements
         ClinicalDocumentTypeCodeService {
 
-    /** The clinical document type code repository. */
+    /** The reference code registry. */
     @Autowired
-    private ClinicalDocumentTypeCodeRepository clinicalDocumentTypeCodeRepository;
-
-    /** The model mapper. */
-    @Autowired
-    private ModelMapper modelMapper;
+    private ReferenceCodeRegistry referenceCodeRegistry;
 
     /*
      * (non-Javadoc)
@@ -62,15 +56,7 @@ public class ClinicalDocumentTypeCodeServiceImpl implements
      */
     @Override
     public List<LookupDto> findAllClinicalDocumentTypeCodes() {
-        List<LookupDto> lookups = new ArrayList<LookupDto>();
-
-        List<ClinicalDocumentTypeCode> clinicalDocumentTypeCodeList = clinicalDocumentTypeCodeRepository
-                .findAll();
-
-        for (ClinicalDocumentTypeCode entity : clinicalDocumentTypeCodeList) {
-            lookups.add(modelMapper.map(entity, LookupDto.class));
-        }
-        return lookups;
+        return referenceCodeRegistry.findAllLookupDtos(ClinicalDocumentTypeCode.class);
     }
 
     /*
@@ -83,8 +69,8 @@ public List<LookupDto> findAllClinicalDocumentTypeCodes() {
     @Override
     public List<AddConsentFieldsDto> findAllClinicalDocumentTypeCodesAddConsentFieldsDto() {
         List<AddConsentFieldsDto> clinicalDocumentTypeDto = new ArrayList<AddConsentFieldsDto>();
-        List<ClinicalDocumentTypeCode> clinicalDocumentTypeCodeList = clinicalDocumentTypeCodeRepository
-                .findAll();
+        List<ClinicalDocumentTypeCode> clinicalDocumentTypeCodeList = referenceCodeRegistry
+                .findAll(ClinicalDocumentTypeCode.class);
         for (ClinicalDocumentTypeCode clinicalDocumentTypeCode : clinicalDocumentTypeCodeList) {
             AddConsentFieldsDto clinicalDocumentTypeItem = new AddConsentFieldsDto();
             clinicalDocumentTypeItem
@@ -26,7 +26,6 @@
 package gov.samhsa.c2s.pcm.service.reference;
 
 import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCode;
-import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCodeRepository;
 import gov.samhsa.c2s.vss.service.dto.AddConsentFieldsDto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -42,9 +41,9 @@
 @Service
 public class PurposeOfUseCodeServiceImpl implements PurposeOfUseCodeService {
 
-    /** The purpose of use code repository. */
+    /** The reference code registry. */
     @Autowired
-    private PurposeOfUseCodeRepository purposeOfUseCodeRepository;
+    private ReferenceCodeRegistry referenceCodeRegistry;
 
     /*
      * (non-Javadoc)
@@ -55,8 +54,8 @@ public class PurposeOfUseCodeServiceImpl implements PurposeOfUseCodeService {
     @Override
     public List<AddConsentFieldsDto> findAllPurposeOfUseCodesAddConsentFieldsDto() {
         List<AddConsentFieldsDto> purposeOfUseDto = new ArrayList<AddConsentFieldsDto>();
-        List<PurposeOfUseCode> purposeOfUse = purposeOfUseCodeRepository
-                .findAll();
+        List<PurposeOfUseCode> purposeOfUse = referenceCodeRegistry
+                .findAll(PurposeOfUseCode.class);
         for (PurposeOfUseCode purposeOfUseCode : purposeOfUse) {
             AddConsentFieldsDto purposeOfUseDtoItem = new AddConsentFieldsDto();
             purposeOfUseDtoItem.setCode(purposeOfUseCode.getCode());
@@ -0,0 +1,201 @@
+package gov.samhsa.c2s.pcm.service.reference;
+
+import gov.samhsa.c2s.pcm.domain.reference.AbstractLocalDBLookupCodedConcept;
+import gov.samhsa.c2s.pcm.domain.reference.ReferenceCodeChangedEvent;
+import gov.samhsa.c2s.pcm.service.dto.LookupDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory copy of every coded concept lookup table, keyed by entity class and code.
+ * <p>
+ * The tables are loaded when the application context starts, which is after the Flyway migrations ran, and
+ * reloaded in full after every committed {@link ReferenceCodeChangedEvent}. A reload swaps in a new immutable
+ * snapshot, so lookups never see a partially loaded registry and never block on a reload.
+ * <p>
+ * The returned entities are detached and shared; callers must not change them.
+ */
+@Service
+public class ReferenceCodeRegistry {
+
+    /**
+     * The logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private volatile Map<Class<?>, CodeTable> snapshot;
+
+    /**
+     * Finds a coded concept by code.
+     *
+     * @param type the coded concept entity class
+     * @param code the code, matched ignoring case and surrounding whitespace like the database lookup
+     * @return the coded concept, or null if there is none with the code
+     */
+    public <T extends AbstractLocalDBLookupCodedConcept> T findByCode(Class<T> type, String code) {
+        if (code == null) {
+            return null;
+        }
+        return type.cast(getCodeTable(type).codesByKey.get(toKey(code)));
+    }
+
+    /**
+     * Checks whether a lookup table has the code.
+     *
+     * @param type the coded concept entity class
+     * @param code the code, matched ignoring case and surrounding whitespace
+     * @return true if the code exists
+     */
+    public boolean containsCode(Class<? extends AbstractLocalDBLookupCodedConcept> type, String code) {
+        return code != null && getCodeTable(type).codesByKey.containsKey(toKey(code));
+    }
+
+    /**
+     * Finds all the coded concepts of a lookup table.
+     *
+     * @param type the coded concept entity class
+     * @return the unmodifiable list of coded concepts in id order
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends AbstractLocalDBLookupCodedConcept> List<T> findAll(Class<T> type) {
+        return (List<T>) getCodeTable(type).codes;
+    }
+
+    /**
+     * Finds all the coded concepts of a lookup table as lookup DTOs, which are built once per load.
+     *
+     * @param type the coded concept entity class
+     * @return the unmodifiable list of lookup DTOs in id order
+     */
+    public List<LookupDto> findAllLookupDtos(Class<? extends AbstractLocalDBLookupCodedConcept> type) {
+        return getCodeTable(type).lookupDtos;
+    }
+
+    /**
+     * Loads the registry when the application context holding it is refreshed. Child contexts, such as the Feign
+     * client contexts, also publish their refresh events to this listener and are ignored. The root context is not
+     * used for the check, because it is the Spring Cloud bootstrap context.
+     *
+     * @param event the context refreshed event
+     */
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        if (event.getApplicationContext() == applicationContext) {
+            reload();
+        }
+    }
+
+    /**
+     * Reloads the registry once the change to the reference data is committed, or right away when the change
+     * was made outside of a transaction.
+     *
+     * @param event the reference code changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceCodeChanged(ReferenceCodeChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * Loads every coded concept lookup table and swaps in the new registry.
+     */
+    public synchronized void reload() {
+        final long start = System.currentTimeMillis();
+        final Map<Class<?>, CodeTable> newSnapshot = new HashMap<>();
+        int codeCount = 0;
+        for (EntityType<?> entityType : entityManager.getMetamodel().getEntities()) {
+            if (AbstractLocalDBLookupCodedConcept.class.isAssignableFrom(entityType.getJavaType())) {
+                final List<? extends AbstractLocalDBLookupCodedConcept> codes = entityManager
+                        .createQuery("select c from " + entityType.getName() + " c order by c.id",
+                                entityType.getJavaType().asSubclass(AbstractLocalDBLookupCodedConcept.class))
+                        .getResultList();
+                newSnapshot.put(entityType.getJavaType(), new CodeTable(codes));
+                codeCount += codes.size();
+            }
+        }
+        snapshot = newSnapshot;
+        logger.info("Reference code registry loaded with " + codeCount + " codes of " + newSnapshot.size()
+                + " lookup tables in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private CodeTable getCodeTable(Class<? extends AbstractLocalDBLookupCodedConcept> type) {
+        Map<Class<?>, CodeTable> current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        final CodeTable codeTable = current.get(type);
+        if (codeTable == null) {
+            throw new IllegalArgumentException(type.getName() + " is not a coded concept lookup table");
+        }
+        return codeTable;
+    }
+
+    /**
+     * Normalizes the code the way the default case insensitive collation compares it.
+     */
+    private static String toKey(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static LookupDto toLookupDto(AbstractLocalDBLookupCodedConcept codedConcept) {
+        final LookupDto lookupDto = new LookupDto();
+        lookupDto.setCode(codedConcept.getCode());
+        lookupDto.setCodeSystem(codedConcept.getCodeSystem());
+        lookupDto.setDisplayName(codedConcept.getDisplayName());
+        lookupDto.setCodeSystemName(codedConcept.getCodeSystemName());
+        lookupDto.setOriginalText(codedConcept.getOriginalText());
+        return lookupDto;
+    }
+
+    private static final class CodeTable {
+
+        private final List<AbstractLocalDBLookupCodedConcept> codes;
+
+        private final Map<String, AbstractLocalDBLookupCodedConcept> codesByKey;
+
+        private final List<LookupDto> lookupDtos;
+
+        private CodeTable(List<? extends AbstractLocalDBLookupCodedConcept> codes) {
+            final Map<String, AbstractLocalDBLookupCodedConcept> codesByKey = new LinkedHashMap<>();
+            final List<LookupDto> lookupDtos = new ArrayList<>(codes.size());
+            for (AbstractLocalDBLookupCodedConcept codedConcept : codes) {
+                // codes are unique in practice; should a table repeat one, the row with the lowest id wins
+                if (codedConcept.getCode() != null) {
+                    codesByKey.putIfAbsent(toKey(codedConcept.getCode()), codedConcept);
+                }
+                lookupDtos.add(toLookupDto(codedConcept));
+            }
+            this.codes = Collections.unmodifiableList(new ArrayList<>(codes));
+            this.codesByKey = Collections.unmodifiableMap(codesByKey);
+            this.lookupDtos = Collections.unmodifiableList(lookupDtos);
+        }
+    }
+}
@@ -41,4 +41,12 @@ public interface StateCodeService {
      * @return the list
      */
     List<LookupDto> findAllStateCodes();
+
+    /**
+     * Checks whether the code is a state code, ignoring case.
+     *
+     * @param code the code
+     * @return true if the code is a state code
+     */
+    boolean isStateCode(String code);
 }
@@ -29,10 +29,8 @@
 import gov.samhsa.c2s.pcm.domain.reference.StateCodeRepository;
 import gov.samhsa.c2s.pcm.domain.reference.StateCode;
 import gov.samhsa.c2s.pcm.service.dto.LookupDto;
-import org.modelmapper.ModelMapper;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -47,21 +45,21 @@ public class StateCodeServiceImpl implements StateCodeService {
     protected StateCodeRepository stateCodeRepository;
 
     /**
-     * The model mapper.
+     * The reference code registry.
      */
-    protected ModelMapper modelMapper;
+    protected ReferenceCodeRegistry referenceCodeRegistry;
 
     /**
      * Instantiates a new state code service impl.
      *
      * @param stateCodeRepository the state code repository
-     * @param modelMapper         the model mapper
+     * @param referenceCodeRegistry the reference code registry
      */
     public StateCodeServiceImpl(StateCodeRepository stateCodeRepository,
-                                ModelMapper modelMapper) {
+                                ReferenceCodeRegistry referenceCodeRegistry) {
         super();
         this.stateCodeRepository = stateCodeRepository;
-        this.modelMapper = modelMapper;
+        this.referenceCodeRegistry = referenceCodeRegistry;
     }
 
     /*
@@ -73,13 +71,11 @@ public StateCodeServiceImpl(StateCodeRepository stateCodeRepository,
      */
     @Override
     public List<LookupDto> findAllStateCodes() {
-        List<LookupDto> lookups = new ArrayList<LookupDto>();
-
-        List<StateCode> stateCodeList = stateCodeRepository.findAll();
+        return referenceCodeRegistry.findAllLookupDtos(StateCode.class);
+    }
 
-        for (StateCode entity : stateCodeList) {
-            lookups.add(modelMapper.map(entity, LookupDto.class));
-        }
-        return lookups;
+    @Override
+    public boolean isStateCode(String code) {
+        return referenceCodeRegistry.containsCode(StateCode.class, code);
     }
 }
@@ -27,14 +27,15 @@
 
 import gov.samhsa.c2s.pcm.domain.reference.StateCodeRepository;
 import gov.samhsa.c2s.pcm.service.dto.LookupDto;
+import gov.samhsa.c2s.pcm.service.reference.ReferenceCodeRegistry;
 import gov.samhsa.c2s.pcm.service.reference.StateCodeServiceImpl;
 import gov.samhsa.c2s.pcm.domain.reference.StateCode;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -45,18 +46,23 @@
 public class StateCodeServicePgImpl extends StateCodeServiceImpl implements
         StateCodeServicePg {
 
+    /**
+     * The state codes of Maryland, the District of Columbia and Virginia.
+     */
+    private static final List<String> PG_STATE_CODES = Arrays.asList("MD", "DC", "VA");
+
     /**
      * Instantiates a new state code service pg impl.
      *
      * @param stateCodeRepository
      *            the state code repository
-     * @param modelMapper
-     *            the model mapper
+     * @param referenceCodeRegistry
+     *            the reference code registry
      */
     @Autowired
     public StateCodeServicePgImpl(StateCodeRepository stateCodeRepository,
-                                  ModelMapper modelMapper) {
-        super(stateCodeRepository, modelMapper);
+                                  ReferenceCodeRegistry referenceCodeRegistry) {
+        super(stateCodeRepository, referenceCodeRegistry);
     }
 
     /*
@@ -69,11 +75,10 @@ public StateCodeServicePgImpl(StateCodeRepository stateCodeRepository,
     public List<LookupDto> findByMDAndDCAndVAStates() {
         List<LookupDto> lookups = new ArrayList<LookupDto>();
 
-        List<StateCode> stateCodeList = stateCodeRepository
-                .findByCodeOrCodeOrCode("MD", "DC", "VA");
-
-        for (StateCode entity : stateCodeList) {
-            lookups.add(modelMapper.map(entity, LookupDto.class));
+        for (LookupDto lookup : referenceCodeRegistry.findAllLookupDtos(StateCode.class)) {
+            if (PG_STATE_CODES.contains(lookup.getCode())) {
+                lookups.add(lookup);
+            }
         }
         return lookups;
     }
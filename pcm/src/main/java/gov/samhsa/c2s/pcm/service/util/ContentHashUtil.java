@@ -0,0 +1,44 @@
+package gov.samhsa.c2s.pcm.service.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 helpers for the content hashes used as artifact keys and ETags.
+ */
+public final class ContentHashUtil {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private ContentHashUtil() {
+    }
+
+    public static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Computes the lowercase hex SHA-256 of the content.
+     *
+     * @param content the content
+     * @return the 64 character hash
+     */
+    public static String sha256Hex(byte[] content) {
+        return toHex(newSha256Digest().digest(content));
+    }
+
+    public static String toHex(byte[] digest) {
+        final char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
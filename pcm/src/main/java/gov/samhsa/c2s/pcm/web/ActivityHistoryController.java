@@ -27,6 +27,7 @@
 
 import gov.samhsa.c2s.pcm.service.audit.AuditService;
 import gov.samhsa.c2s.pcm.service.dto.ActivityHistoryListDto;
+import gov.samhsa.c2s.pcm.service.dto.ActivityHistorySliceDto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -52,4 +53,11 @@ public class ActivityHistoryController {
     public ActivityHistoryListDto activityHistory(Principal principal, @RequestParam("pageNumber") int pageNumber) {
         return auditService.findAllActivityHistoryPageable(principal.getName(), pageNumber);
     }
+
+    @RequestMapping(value = "/activities", method = RequestMethod.GET)
+    public ActivityHistorySliceDto activityHistorySlice(Principal principal,
+                                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                                        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        return auditService.findActivityHistorySlice(principal.getName(), cursor, includeTotal);
+    }
 }
@@ -26,15 +26,15 @@
 package gov.samhsa.c2s.pcm.web;
 
 import gov.samhsa.c2s.pcm.infrastructure.eventlistener.EventService;
-import gov.samhsa.c2s.pcm.infrastructure.security.ClamAVClientNotAvailableException;
-import gov.samhsa.c2s.pcm.infrastructure.security.ClamAVService;
 import gov.samhsa.c2s.pcm.infrastructure.security.InfectedFileException;
 import gov.samhsa.c2s.pcm.infrastructure.securityevent.FileDownloadedEvent;
 import gov.samhsa.c2s.pcm.infrastructure.securityevent.FileUploadedEvent;
 import gov.samhsa.c2s.pcm.infrastructure.securityevent.MaliciousFileDetectedEvent;
 import gov.samhsa.c2s.pcm.service.clinicaldata.ClinicalDocumentService;
+import gov.samhsa.c2s.pcm.service.clinicaldata.ClinicalDocumentUploadService;
 import gov.samhsa.c2s.pcm.service.dto.CCDDto;
 import gov.samhsa.c2s.pcm.service.dto.ClinicalDocumentDto;
+import gov.samhsa.c2s.pcm.service.dto.DownloadDto;
 import gov.samhsa.c2s.pcm.service.dto.LookupDto;
 import gov.samhsa.c2s.pcm.service.exception.*;
 import gov.samhsa.c2s.pcm.service.patient.PatientService;
@@ -50,11 +50,11 @@
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.InputStream;
 import java.security.Principal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
  * The Class ClinicalDocumentController.
@@ -83,9 +83,11 @@ public class ClinicalDocumentRestController {
     @Autowired
     private ClinicalDocumentTypeCodeService clinicalDocumentTypeCodeService;
     @Autowired
-    private ClamAVService clamAVUtil;
+    private ClinicalDocumentUploadService clinicalDocumentUploadService;
     @Autowired
     private EventService eventService;
+    @Autowired
+    private DownloadResponseWriter downloadResponseWriter;
 
     /**
      * List clinical documents.
@@ -111,51 +113,28 @@ public void uploadClinicalDocuments(
             @RequestParam("description") String description,
             @RequestParam("documentType") String documentTypeCode) {
         final String username = principal.getName();
-        if (scanMultipartFile(file) == "error") {
-            throw new InternalServerErrorException("An unknown error has occured.");
-        } else {
-            if (scanMultipartFile(file) == "false") {
-                eventService.raiseSecurityEvent(new MaliciousFileDetectedEvent(request.getRemoteAddr(),
-                        username, documentName));
-                throw new InfectedFileException("Virus detected");
-            }
-        }
-        if (clinicalDocumentService.isDocumentOversized(file))
-            throw new OversizedFileException("Size over limits");
-        if (!clinicalDocumentService.isDocumentExtensionPermitted(file))
-            throw new InvalidFileExtensionException("Extension not permitted");
-
-        //Validate Clinical Document
+        final ClinicalDocumentDto clinicalDocumentDto;
         try {
-            clinicalDocumentService.validate(file);
-        } catch (Exception e) {
-            logger.error(e.getMessage());
-            throw new InvalidClinicalDocumentException("Invalid Clinical Document");
+            clinicalDocumentDto = clinicalDocumentUploadService.prepareUpload(file);
+        } catch (InfectedFileException e) {
+            eventService.raiseSecurityEvent(new MaliciousFileDetectedEvent(request.getRemoteAddr(),
+                    username, documentName));
+            throw e;
         }
 
-        ClinicalDocumentDto clinicalDocumentDto = new ClinicalDocumentDto();
+        clinicalDocumentDto.setName(documentName);
+        clinicalDocumentDto.setDescription(description);
+        clinicalDocumentDto.setPatientId(patientService
+                .findIdByUsername(username));
 
-        try {
-            clinicalDocumentDto.setName(documentName);
-            clinicalDocumentDto.setDescription(description);
-            clinicalDocumentDto.setContent(file.getBytes());
-            clinicalDocumentDto.setFilename(file.getOriginalFilename());
-            clinicalDocumentDto.setContentType(file.getContentType());
-            clinicalDocumentDto.setDocumentSize(file.getSize());
-            clinicalDocumentDto.setPatientId(patientService
-                    .findIdByUsername(username));
-
-            LookupDto clinicalDocumentTypeCode = new LookupDto();
-            clinicalDocumentTypeCode.setCode(documentTypeCode);
-            clinicalDocumentDto
-                    .setClinicalDocumentTypeCode(clinicalDocumentTypeCode);
+        LookupDto clinicalDocumentTypeCode = new LookupDto();
+        clinicalDocumentTypeCode.setCode(documentTypeCode);
+        clinicalDocumentDto
+                .setClinicalDocumentTypeCode(clinicalDocumentTypeCode);
 
-            clinicalDocumentService.saveClinicalDocument(clinicalDocumentDto);
-            eventService.raiseSecurityEvent(new FileUploadedEvent(request
-                    .getRemoteAddr(), username, documentName));
-        } catch (IOException e) {
-            logger.error(e.getMessage(), e);
-        }
+        clinicalDocumentService.saveClinicalDocument(clinicalDocumentDto);
+        eventService.raiseSecurityEvent(new FileUploadedEvent(request
+                .getRemoteAddr(), username, documentName));
     }
 
     /**
@@ -164,7 +143,7 @@ public void uploadClinicalDocuments(
     @RequestMapping(value = "clinicaldocuments/{documentId}", method = RequestMethod.DELETE)
     public void removeClinicalDocument(Principal principal, @PathVariable("documentId") Long documentId) {
         ClinicalDocumentDto clinicalDocumentDto = clinicalDocumentService
-                .findClinicalDocumentDto(principal.getName(), documentId);
+                .findClinicalDocumentMetadataDto(principal.getName(), documentId);
 
         if (clinicalDocumentService
                 .isDocumentBelongsToThisUser(principal.getName(), clinicalDocumentDto)) {
@@ -204,22 +183,29 @@ public Map<String, String> downloadClinicalDocument(Principal principal,
         return map;
     }
 
+    /**
+     * Streams the clinical document content.
+     */
+    @RequestMapping(value = "clinicaldocuments/{documentId}/content", method = RequestMethod.GET)
+    public void downloadClinicalDocumentContent(Principal principal,
+                                                @PathVariable("documentId") Long documentId,
+                                                HttpServletRequest request,
+                                                HttpServletResponse response) throws IOException {
+        final DownloadDto downloadDto;
+        try {
+            downloadDto = clinicalDocumentService.findClinicalDocumentDownloadDto(principal.getName(), documentId);
+        } catch (NoSuchElementException e) {
+            throw new InternalServerErrorException("Resource Not Found");
+        }
+        eventService
+                .raiseSecurityEvent(new FileDownloadedEvent(request
+                        .getRemoteAddr(), principal.getName(), "Clinical_Document_"
+                        + documentId));
+        downloadResponseWriter.write(downloadDto, request, response);
+    }
+
     @RequestMapping(value = "clinicaldocuments/ccd/{documentId}", method = RequestMethod.GET)
     public CCDDto getClinicalDocument(Principal principal, @PathVariable("documentId") Long documentId) {
         return clinicalDocumentService.findCCDDto(principal.getName(), documentId);
     }
-
-    String scanMultipartFile(MultipartFile file) {
-        Boolean isItClean = null;
-        try (InputStream inputStream = file.getInputStream()) {
-            isItClean = clamAVUtil.fileScanner(inputStream);
-        } catch (ClamAVClientNotAvailableException e) {
-            logger.error(e.getMessage());
-            return "error";
-        } catch (Exception e) {
-            logger.error(e.getMessage());
-            return "error";
-        }
-        return isItClean.toString();
-    }
 }
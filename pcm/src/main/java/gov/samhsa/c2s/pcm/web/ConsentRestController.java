@@ -33,15 +33,14 @@
 import gov.samhsa.c2s.pcm.service.consent.ConsentHelper;
 import gov.samhsa.c2s.pcm.service.consent.ConsentService;
 import gov.samhsa.c2s.pcm.service.consent.ConsentStatus;
-import gov.samhsa.c2s.pcm.service.dto.AbstractPdfDto;
 import gov.samhsa.c2s.pcm.service.dto.AttestationDto;
 import gov.samhsa.c2s.pcm.service.dto.AttestedDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentAttestationDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentDto;
-import gov.samhsa.c2s.pcm.service.dto.ConsentPdfDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentRevocationAttestationDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentValidationDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentsListDto;
+import gov.samhsa.c2s.pcm.service.dto.DownloadDto;
 import gov.samhsa.c2s.pcm.service.dto.PatientProfileDto;
 import gov.samhsa.c2s.pcm.service.dto.RevocationDto;
 import gov.samhsa.c2s.pcm.service.dto.SpecificMedicalInfoDto;
@@ -78,6 +77,7 @@
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.security.Principal;
 import java.util.ArrayList;
@@ -144,12 +144,16 @@ public class ConsentRestController {
     @Autowired
     private MessageSource messageSource;
 
+    @Autowired
+    private DownloadResponseWriter downloadResponseWriter;
+
     @RequestMapping(value = "consents/pageNumber/{pageNumber}")
-    public ConsentsListDto listConsents(@PathVariable("pageNumber") String pageNumber) {
+    public ConsentsListDto listConsents(@PathVariable("pageNumber") String pageNumber,
+                                        @RequestParam(value = "pageSize", defaultValue = "5") int pageSize) {
         // FIXME (#7): remove this line when patient creation concept in PCM is finalized
         final Long patientId = patientService.createNewPatientWithOAuth2AuthenticationIfNotExists();
         ConsentsListDto consentsListDto = new ConsentsListDto(consentService
-                .findAllConsentsDtoByPatientAndPage(patientId, pageNumber));
+                .findAllConsentsDtoByPatientAndPage(patientId, pageNumber, pageSize));
         return consentsListDto;
     }
 
@@ -500,32 +504,31 @@ public ConsentAttestationDto getConsentAttestationDto(Principal principal, @Path
     }
 
     @RequestMapping(value = "consents/{consentId}/unattested", method = RequestMethod.GET)
-    public byte[] getUnAttestedConsentPDF(Principal principal, @PathVariable("consentId") Long consentId) throws ConsentGenException {
+    public void getUnAttestedConsentPDF(HttpServletRequest request, HttpServletResponse response, Principal principal, @PathVariable("consentId") Long consentId) throws IOException {
         final Long patientId = patientService.findIdByUsername(principal.getName());
 
         if (consentService.isConsentBelongToThisUser(consentId, patientId) && consentService.getConsentStatus(consentId).equals(ConsentStatus.CONSENT_SAVED)) {
-            ConsentPdfDto consentPdfDto = consentService.findConsentPdfDto(consentId);
-            return consentPdfDto.getContent();
+            downloadResponseWriter.write(consentService.findConsentPdfDownloadDto(consentId), request, response);
         } else
             throw new InternalServerErrorException("Consent Attestation PDF Not Found");
     }
 
     @RequestMapping(value = "consents/{consentId}/attested/download", method = RequestMethod.GET)
-    public byte[] getAttestedConsent(Principal principal, @PathVariable("consentId") Long consentId) throws ConsentGenException {
+    public void getAttestedConsent(HttpServletRequest request, HttpServletResponse response, Principal principal, @PathVariable("consentId") Long consentId) throws IOException {
         final Long patientId = patientService.findIdByUsername(principal.getName());
         if (consentService.isConsentBelongToThisUser(consentId, patientId)
                 &&( consentService.getConsentStatus(consentId).equals(ConsentStatus.CONSENT_SIGNED) || consentService.getConsentStatus(consentId).equals(ConsentStatus.REVOCATION_REVOKED))) {
-            return consentService.getAttestedConsentPdf(consentId);
+            downloadResponseWriter.write(consentService.getAttestedConsentPdfDownloadDto(consentId), request, response);
         } else
             throw new InternalServerErrorException("Resource Not Found");
     }
 
     @RequestMapping(value = "consents/{consentId}/revoked/download", method = RequestMethod.GET)
-    public byte[] getAttestedConsentRevoked(Principal principal, @PathVariable("consentId") Long consentId) throws ConsentGenException {
+    public void getAttestedConsentRevoked(HttpServletRequest request, HttpServletResponse response, Principal principal, @PathVariable("consentId") Long consentId) throws IOException {
         final Long patientId = patientService.findIdByUsername(principal.getName());
         if (consentService.isConsentBelongToThisUser(consentId, patientId)
                 && consentService.getConsentStatus(consentId).equals(ConsentStatus.REVOCATION_REVOKED)) {
-            return consentService.getAttestedConsentRevokedPdf(consentId);
+            downloadResponseWriter.write(consentService.getAttestedConsentRevokedPdfDownloadDto(consentId), request, response);
         } else
             throw new InternalServerErrorException("Resource Not Found");
     }
@@ -562,24 +565,24 @@ public Map<String, String>  exportConsentDirective(HttpServletRequest request, P
     }
 
     @RequestMapping(value = "consents/download/{docType}/{consentId}", method = RequestMethod.GET, produces = "application/pdf")
-    public byte[] downloadConsentPdfFile(HttpServletRequest request, Principal principal, @PathVariable("consentId") Long consentId, @PathVariable("docType") String docType) throws IOException {
+    public void downloadConsentPdfFile(HttpServletRequest request, HttpServletResponse response, Principal principal, @PathVariable("consentId") Long consentId, @PathVariable("docType") String docType) throws IOException {
         final Long patientId = patientService.findIdByUsername(principal.getName());
         if (consentService
                 .isConsentBelongToThisUser(consentId, patientId)) {
-            final AbstractPdfDto pdfDto = getPdfDto(docType, consentId);
+            final DownloadDto downloadDto = getPdfDownloadDto(docType, consentId);
             eventService.raiseSecurityEvent(new FileDownloadedEvent(request
                     .getRemoteAddr(), "User_" + principal.getName(),
                     "Consent_" + consentId));
-            return pdfDto.getContent();
+            downloadResponseWriter.write(downloadDto, request, response);
         } else
             throw new InternalServerErrorException("Resource Not Found");
     }
 
-    private AbstractPdfDto getPdfDto(String docType, long consentId) {
+    private DownloadDto getPdfDownloadDto(String docType, long consentId) {
         if (docType.equals("revokation")) {
-            return consentService.findConsentRevokationPdfDto(consentId);
+            return consentService.findConsentRevokationPdfDownloadDto(consentId);
         }
-        return consentService.findConsentPdfDto(consentId);
+        return consentService.findConsentPdfDownloadDto(consentId);
     }
 
 
@@ -0,0 +1,122 @@
+package gov.samhsa.c2s.pcm.web;
+
+import gov.samhsa.c2s.pcm.service.dto.DownloadDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes a {@link DownloadDto} to the servlet response, answering conditional ({@code If-None-Match})
+ * and single byte range ({@code Range}, {@code If-Range}) requests without reading the content
+ * more than needed.
+ */
+@Component
+public class DownloadResponseWriter {
+
+    /** Cache-Control of the documents that never change under the same URL, such as signed consents. */
+    static final String IMMUTABLE_CACHE_CONTROL = "private, max-age=31536000, immutable";
+
+    /** Cache-Control of the documents that must be revalidated on every use. */
+    static final String REVALIDATE_CACHE_CONTROL = "private, no-cache";
+
+    private static final String BYTES = "bytes";
+
+    /**
+     * Writes the download to the response.
+     *
+     * @param downloadDto the download
+     * @param request     the request
+     * @param response    the response
+     * @throws IOException if the content cannot be written
+     */
+    public void write(DownloadDto downloadDto, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        // documents stored before their hash was recorded are served without validator
+        final String etag = downloadDto.getEtag() == null ? null : "\"" + downloadDto.getEtag() + "\"";
+        final long contentLength = downloadDto.getContentLength();
+
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                downloadDto.isImmutable() ? IMMUTABLE_CACHE_CONTROL : REVALIDATE_CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES);
+
+        if (matchesIfNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long offset = 0;
+        long length = contentLength;
+        final String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.hasText(rangeHeader) && matchesIfRange(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            final List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                sendRangeNotSatisfiable(response, contentLength);
+                return;
+            }
+            // multiple ranges would need a multipart/byteranges body, so they are answered with the whole content
+            if (ranges.size() == 1) {
+                final HttpRange range = ranges.get(0);
+                final long start = range.getRangeStart(contentLength);
+                final long end = range.getRangeEnd(contentLength);
+                if (start >= contentLength || start > end) {
+                    sendRangeNotSatisfiable(response, contentLength);
+                    return;
+                }
+                offset = start;
+                length = end - start + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        BYTES + " " + start + "-" + end + "/" + contentLength);
+            }
+        }
+
+        response.setContentType(downloadDto.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(length));
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+        final OutputStream out = response.getOutputStream();
+        downloadDto.getContentWriter().write(out, offset, length);
+        out.flush();
+    }
+
+    private void sendRangeNotSatisfiable(HttpServletResponse response, long contentLength) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES + " */" + contentLength);
+    }
+
+    private boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (etag == null || !StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+            candidate = candidate.trim();
+            // If-None-Match uses the weak comparison
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || etag.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesIfRange(String ifRange, String etag) {
+        // If-Range uses the strong comparison; a date never matches, so the whole content is sent
+        return !StringUtils.hasText(ifRange) || ifRange.trim().equals(etag);
+    }
+}
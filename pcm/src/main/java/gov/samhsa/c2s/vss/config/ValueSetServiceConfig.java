@@ -7,6 +7,8 @@
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
 public class ValueSetServiceConfig {
@@ -30,17 +32,82 @@ public ValueSetCategoryService valueSetCategoryService() {
         return new ValueSetCategoryServiceImpl(valueSetCategoryRepository, consentRepository, valueSetMgmtHelper());
     }
 
+    @Bean
+    public CodeSystemService codeSystemService(CodeSystemRepository codeSystemRepository) {
+        return new CodeSystemServiceImpl(codeSystemRepository, valueSetMgmtHelper());
+    }
+
+    @Bean
+    public CodeSystemVersionService codeSystemVersionService(CodeSystemVersionRepository codeSystemVersionRepository,
+                                                             CodeSystemRepository codeSystemRepository) {
+        return new CodeSystemVersionServiceImpl(codeSystemVersionRepository, codeSystemRepository,
+                valueSetMgmtHelper());
+    }
+
+    @Bean
+    public ValueSetService valueSetService(ValueSetRepository valueSetRepository,
+                                           ConceptCodeValueSetRepository conceptCodeValueSetRepository) {
+        return new ValueSetServiceImpl(vssProperties.getValueSetListPageSize(),
+                valueSetRepository,
+                valueSetCategoryRepository,
+                conceptCodeValueSetRepository,
+                valueSetMgmtHelper());
+    }
+
+    @Bean
+    public ValueSetCategoryIndex valueSetCategoryIndex(CodeSystemVersionRepository codeSystemVersionRepository,
+                                                       ConceptCodeRepository conceptCodeRepository,
+                                                       ConceptCodeValueSetRepository conceptCodeValueSetRepository) {
+        return new ValueSetCategoryIndex(codeSystemVersionRepository, conceptCodeRepository,
+                conceptCodeValueSetRepository);
+    }
+
+    @Bean
+    public ConceptCodeBulkImporter conceptCodeBulkImporter(JdbcOperations jdbcOperations,
+                                                           PlatformTransactionManager transactionManager,
+                                                           CodeSystemVersionRepository codeSystemVersionRepository,
+                                                           ValueSetRepository valueSetRepository,
+                                                           ConceptCodeRepository conceptCodeRepository,
+                                                           ConceptCodeValueSetRepository conceptCodeValueSetRepository) {
+        return new ConceptCodeBulkImporter(vssProperties.getConceptCodeImportChunkSize(),
+                jdbcOperations,
+                transactionManager,
+                codeSystemVersionRepository,
+                valueSetRepository,
+                conceptCodeRepository,
+                conceptCodeValueSetRepository);
+    }
+
+    @Bean
+    public ConceptCodeService conceptCodeService(ConceptCodeRepository conceptCodeRepository,
+                                                 ValueSetRepository valueSetRepository,
+                                                 CodeSystemRepository codeSystemRepository,
+                                                 CodeSystemVersionRepository codeSystemVersionRepository,
+                                                 ConceptCodeValueSetRepository conceptCodeValueSetRepository,
+                                                 ConceptCodeBulkImporter conceptCodeBulkImporter) {
+        return new ConceptCodeServiceImpl(vssProperties.getConceptCodeListPageSize(),
+                conceptCodeRepository,
+                valueSetRepository,
+                codeSystemRepository,
+                codeSystemVersionRepository,
+                conceptCodeValueSetRepository,
+                valueSetMgmtHelper(),
+                conceptCodeBulkImporter);
+    }
+
     @Bean
     public ValueSetLookupService valueSetLookupService(ConceptCodeRepository conceptCodeRepository,
                                                        ValueSetRepository valueSetRepository,
                                                        CodeSystemRepository codeSystemRepository,
                                                        CodeSystemVersionRepository codeSystemVersionRepository,
-                                                       ConceptCodeValueSetRepository conceptCodeValueSetRepository) {
+                                                       ConceptCodeValueSetRepository conceptCodeValueSetRepository,
+                                                       ValueSetCategoryIndex valueSetCategoryIndex) {
         return new ValueSetLookupServiceImpl(conceptCodeRepository,
                 valueSetRepository,
                 codeSystemRepository,
                 codeSystemVersionRepository,
                 conceptCodeValueSetRepository,
-                valueSetMgmtHelper());
+                valueSetMgmtHelper(),
+                valueSetCategoryIndex);
     }
 }
\ No newline at end of file
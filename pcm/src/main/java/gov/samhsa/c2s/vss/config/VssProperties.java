@@ -15,4 +15,12 @@ public class VssProperties {
     @NotNull
     @Min(0)
     private int conceptCodeListPageSize;
+
+    @NotNull
+    @Min(1)
+    private int valueSetListPageSize;
+
+    @NotNull
+    @Min(1)
+    private int conceptCodeImportChunkSize;
 }
\ No newline at end of file
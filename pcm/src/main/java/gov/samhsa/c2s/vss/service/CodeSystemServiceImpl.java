@@ -5,6 +5,8 @@
 import gov.samhsa.c2s.vss.service.dto.CodeSystemDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -12,11 +14,16 @@
 /**
  * The Class CodeSystemServiceImpl.
  */
-public class CodeSystemServiceImpl implements CodeSystemService {
+public class CodeSystemServiceImpl implements CodeSystemService,
+        ApplicationEventPublisherAware {
 
     private final Logger logger
             = LoggerFactory
             .getLogger(this.getClass());
+    /**
+     * The application event publisher.
+     */
+    private ApplicationEventPublisher applicationEventPublisher;
     /**
      * The value set mgmt helper.
      */
@@ -59,6 +66,7 @@ public CodeSystemDto create(CodeSystemDto created) {
 
         codeSystem = codeSystemRepository.save(codeSystem);
 
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return valueSetMgmtHelper.createCodeSystemDtoFromEntity(codeSystem);
     }
 
@@ -80,6 +88,7 @@ public CodeSystemDto delete(Long codeSystemId)
             throw new CodeSystemNotFoundException();
         }
         codeSystemRepository.delete(deleted);
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return valueSetMgmtHelper.createCodeSystemDtoFromEntity(deleted);
     }
 
@@ -132,6 +141,7 @@ public CodeSystemDto update(CodeSystemDto updated)
         codeSystem.update(updated.getCodeSystemOId(), updated.getCode(),
                 updated.getName(), updated.getDisplayName(),
                 updated.getUserName());
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return valueSetMgmtHelper.createCodeSystemDtoFromEntity(codeSystem);
     }
 
@@ -144,4 +154,9 @@ protected void setCodeSystemRepository(
             CodeSystemRepository codeSystemRepository) {
         this.codeSystemRepository = codeSystemRepository;
     }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
 }
@@ -8,6 +8,8 @@
 import gov.samhsa.c2s.vss.service.dto.CodeSystemVersionCSDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
@@ -17,12 +19,17 @@
 /**
  * The Class CodeSystemVersionServiceImpl.
  */
-public class CodeSystemVersionServiceImpl implements CodeSystemVersionService {
+public class CodeSystemVersionServiceImpl implements CodeSystemVersionService,
+        ApplicationEventPublisherAware {
 
     /**
      * The logger.
      */
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    /**
+     * The application event publisher.
+     */
+    private ApplicationEventPublisher applicationEventPublisher;
     /**
      * The code system version mgmt helper.
      */
@@ -90,6 +97,7 @@ public CodeSystemVersionDto create(CodeSystemVersionDto created)
                 .createCodeSystemVersionDtoFromEntity(codeSystemVersion);
         codeSystemVersionDto.setCodeSystemName(selected.getName());
 
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return codeSystemVersionDto;
     }
 
@@ -114,6 +122,7 @@ public CodeSystemVersionDto delete(Long codeSystemVersionId)
             throw new CodeSystemVersionNotFoundException();
         }
         codeSystemVersionRepository.delete(deleted);
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return codeSystemVersionMgmtHelper
                 .createCodeSystemVersionDtoFromEntity(deleted);
     }
@@ -210,6 +219,7 @@ public CodeSystemVersionDto update(CodeSystemVersionDto updated)
             // save the association
             codeSystemVersion.setCodeSystem(codeSystem);
         }
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return codeSystemVersionMgmtHelper
                 .createCodeSystemVersionDtoFromEntity(codeSystemVersion);
     }
@@ -269,4 +279,9 @@ protected void setCodeSystemVersionRepository(
             CodeSystemVersionRepository codeSystemVersionRepository) {
         this.codeSystemVersionRepository = codeSystemVersionRepository;
     }
-}
\ No newline at end of file
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+}
@@ -0,0 +1,413 @@
+package gov.samhsa.c2s.vss.service;
+
+import gov.samhsa.c2s.pcm.domain.valueset.CodeSystemVersionRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ConceptCode;
+import gov.samhsa.c2s.pcm.domain.valueset.ConceptCodeRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ConceptCodeValueSetRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ValueSetRepository;
+import gov.samhsa.c2s.vss.service.dto.ConceptCodeDto;
+import org.hibernate.envers.RevisionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Imports the concept codes of a batch upload in bulk. The codes and value set associations that already exist
+ * in the code system version are loaded once and every row is compared to them in memory. The new codes and
+ * associations are then written with JDBC batch inserts, one transaction per chunk of rows, so a large value set
+ * costs neither several queries per row nor a single transaction for the whole file.
+ * <p>
+ * The inserts bypass Hibernate, so each chunk records its own audit revision for the concept codes it adds.
+ */
+public class ConceptCodeBulkImporter {
+
+    private static final String INSERT_CONCEPT_CODE_SQL = "INSERT INTO concept_code (creation_time, modification_time, user_name, code, name, description, fk_code_system_version_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CONCEPT_CODE_VALUE_SET_SQL = "INSERT INTO conceptcode_valueset (fk_concept_code_id, fk_valueset_id) VALUES (?, ?)";
+
+    private static final String INSERT_REVISION_SQL = "INSERT INTO revinfo (revtstmp, username) VALUES (?, ?)";
+
+    private static final String INSERT_MODIFIED_ENTITY_TYPE_SQL = "INSERT INTO modified_entity_type_entity (entity_class_name, revision_type, revision_rev) VALUES (?, ?, ?)";
+
+    private static final String INSERT_CONCEPT_CODE_AUDIT_SQL = "INSERT INTO concept_code_aud (concept_code_id, rev, revtype, description, fk_code_system_version_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final int chunkSize;
+
+    private final JdbcOperations jdbcOperations;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final CodeSystemVersionRepository codeSystemVersionRepository;
+
+    private final ValueSetRepository valueSetRepository;
+
+    private final ConceptCodeRepository conceptCodeRepository;
+
+    private final ConceptCodeValueSetRepository conceptCodeValueSetRepository;
+
+    /**
+     * Instantiates a new concept code bulk importer.
+     *
+     * @param chunkSize                     the number of rows written in one transaction
+     * @param jdbcOperations                the jdbc operations
+     * @param transactionManager            the transaction manager
+     * @param codeSystemVersionRepository   the code system version repository
+     * @param valueSetRepository            the value set repository
+     * @param conceptCodeRepository         the concept code repository
+     * @param conceptCodeValueSetRepository the concept code value set repository
+     */
+    public ConceptCodeBulkImporter(int chunkSize,
+                                   JdbcOperations jdbcOperations,
+                                   PlatformTransactionManager transactionManager,
+                                   CodeSystemVersionRepository codeSystemVersionRepository,
+                                   ValueSetRepository valueSetRepository,
+                                   ConceptCodeRepository conceptCodeRepository,
+                                   ConceptCodeValueSetRepository conceptCodeValueSetRepository) {
+        this.chunkSize = chunkSize;
+        this.jdbcOperations = jdbcOperations;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.codeSystemVersionRepository = codeSystemVersionRepository;
+        this.valueSetRepository = valueSetRepository;
+        this.conceptCodeRepository = conceptCodeRepository;
+        this.conceptCodeValueSetRepository = conceptCodeValueSetRepository;
+    }
+
+    /**
+     * Imports the concept codes read from a batch upload file into the given value sets.
+     *
+     * @param conceptCodeDtos     the concept codes, in the order of the file rows
+     * @param codeSystemVersionId the code system version id
+     * @param valueSetIds         the value set ids
+     * @param userName            the user name
+     * @return the import result
+     * @throws CodeSystemNotFoundException the code system not found exception
+     * @throws ValueSetNotFoundException   the value set not found exception
+     * @see #begin(Long, List, String)
+     */
+    public ConceptCodeImportResult importConceptCodes(List<ConceptCodeDto> conceptCodeDtos,
+                                                      Long codeSystemVersionId,
+                                                      List<Long> valueSetIds,
+                                                      String userName)
+            throws CodeSystemNotFoundException, ValueSetNotFoundException {
+        final ConceptCodeImport conceptCodeImport = begin(codeSystemVersionId, valueSetIds, userName);
+        conceptCodeDtos.forEach(conceptCodeImport::add);
+        return conceptCodeImport.finish();
+    }
+
+    /**
+     * Starts an import of concept codes into the given value sets. The rows are then added one at a time, in the
+     * order of the file, so the upload never needs to be held in memory. A row is reported as duplicate when its
+     * code is already associated with every one of the value sets. A failing chunk stops the import; the chunks
+     * written before it stay committed.
+     *
+     * @param codeSystemVersionId the code system version id
+     * @param valueSetIds         the value set ids
+     * @param userName            the user name
+     * @return the started import
+     * @throws CodeSystemNotFoundException the code system not found exception
+     * @throws ValueSetNotFoundException   the value set not found exception
+     */
+    public ConceptCodeImport begin(Long codeSystemVersionId, List<Long> valueSetIds, String userName)
+            throws CodeSystemNotFoundException, ValueSetNotFoundException {
+        if (codeSystemVersionId == null || !codeSystemVersionRepository.exists(codeSystemVersionId)) {
+            logger.debug("No Code System version found with an id: " + codeSystemVersionId);
+            throw new CodeSystemNotFoundException();
+        }
+        if (valueSetIds == null || valueSetIds.isEmpty()) {
+            throw new ValueSetNotFoundException("Need to Associate atleast one valueset to the codes");
+        }
+        for (Long valueSetId : valueSetIds) {
+            if (!valueSetRepository.exists(valueSetId)) {
+                logger.debug("No valueSet found with an id: " + valueSetId);
+                throw new ValueSetNotFoundException();
+            }
+        }
+        return new ConceptCodeImport(codeSystemVersionId, valueSetIds, userName);
+    }
+
+    private void writeChunk(Chunk chunk, Long codeSystemVersionId, String userName,
+                            Map<String, Long> conceptCodeIds) {
+        if (chunk.valueSetAssociations.isEmpty()) {
+            return;
+        }
+        transactionTemplate.execute(status -> {
+            final List<Long> ids = insertConceptCodes(chunk.conceptCodeDtos, codeSystemVersionId, userName);
+            for (int i = 0; i < ids.size(); i++) {
+                conceptCodeIds.put(chunk.conceptCodeKeys.get(i), ids.get(i));
+            }
+            jdbcOperations.batchUpdate(INSERT_CONCEPT_CODE_VALUE_SET_SQL, chunk.valueSetAssociations.stream()
+                    .map(association -> new Object[]{conceptCodeIds.get(association.codeKey), association.valueSetId})
+                    .collect(toList()));
+            if (!ids.isEmpty()) {
+                auditConceptCodes(ids, chunk.conceptCodeDtos, codeSystemVersionId, userName);
+            }
+            return null;
+        });
+    }
+
+    private List<Long> insertConceptCodes(List<ConceptCodeDto> conceptCodeDtos, Long codeSystemVersionId,
+                                          String userName) {
+        if (conceptCodeDtos.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        return jdbcOperations.execute((ConnectionCallback<List<Long>>) (Connection connection) -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_CONCEPT_CODE_SQL,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (ConceptCodeDto conceptCodeDto : conceptCodeDtos) {
+                    ps.setTimestamp(1, now);
+                    ps.setTimestamp(2, now);
+                    ps.setString(3, userName);
+                    ps.setString(4, conceptCodeDto.getCode());
+                    ps.setString(5, conceptCodeDto.getName());
+                    ps.setString(6, getDescription(conceptCodeDto));
+                    ps.setLong(7, codeSystemVersionId);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                final List<Long> ids = new ArrayList<>(conceptCodeDtos.size());
+                try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+                    while (generatedKeys.next()) {
+                        ids.add(generatedKeys.getLong(1));
+                    }
+                }
+                if (ids.size() != conceptCodeDtos.size()) {
+                    throw new IllegalStateException("Expected " + conceptCodeDtos.size()
+                            + " generated concept code ids but got " + ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+
+    private void auditConceptCodes(List<Long> ids, List<ConceptCodeDto> conceptCodeDtos, Long codeSystemVersionId,
+                                   String userName) {
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcOperations.update(connection -> {
+            final PreparedStatement ps = connection.prepareStatement(INSERT_REVISION_SQL,
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, System.currentTimeMillis());
+            ps.setString(2, userName);
+            return ps;
+        }, keyHolder);
+        final long rev = keyHolder.getKey().longValue();
+        final byte revisionType = RevisionType.ADD.getRepresentation();
+
+        jdbcOperations.update(INSERT_MODIFIED_ENTITY_TYPE_SQL, ConceptCode.class.getName(), revisionType, rev);
+        final List<Object[]> auditRows = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            auditRows.add(new Object[]{ids.get(i), rev, revisionType, getDescription(conceptCodeDtos.get(i)),
+                    codeSystemVersionId});
+        }
+        jdbcOperations.batchUpdate(INSERT_CONCEPT_CODE_AUDIT_SQL, auditRows);
+    }
+
+    private static String getDescription(ConceptCodeDto conceptCodeDto) {
+        return conceptCodeDto.getDescription() != null ? conceptCodeDto.getDescription() : "";
+    }
+
+    /**
+     * An import in progress. It is not thread safe.
+     */
+    public final class ConceptCodeImport {
+
+        private final long startTime = System.currentTimeMillis();
+
+        private final Long codeSystemVersionId;
+
+        private final List<Long> valueSetIds;
+
+        private final String userName;
+
+        private final Map<String, Long> conceptCodeIds = new HashMap<>();
+
+        private final Map<String, Set<Long>> assignedValueSetIds = new HashMap<>();
+
+        private final ConceptCodeImportResult result = new ConceptCodeImportResult();
+
+        private Chunk chunk = new Chunk();
+
+        private int rowIndex;
+
+        private ConceptCodeImport(Long codeSystemVersionId, List<Long> valueSetIds, String userName) {
+            this.codeSystemVersionId = codeSystemVersionId;
+            this.valueSetIds = valueSetIds;
+            this.userName = userName;
+
+            // load the existing codes of the version and their associations with the selected value sets once
+            final Map<Long, String> codeKeys = new HashMap<>();
+            for (Object[] row : conceptCodeRepository.findIdAndCodeByCodeSystemVersionId(codeSystemVersionId)) {
+                final String codeKey = ValueSetCategoryIndex.toKey((String) row[1]);
+                conceptCodeIds.put(codeKey, (Long) row[0]);
+                codeKeys.put((Long) row[0], codeKey);
+            }
+            for (Object[] row : conceptCodeValueSetRepository
+                    .findConceptCodeIdAndValueSetIdByCodeSystemVersionId(codeSystemVersionId, valueSetIds)) {
+                assignedValueSetIds.computeIfAbsent(codeKeys.get(row[0]), key -> new HashSet<>())
+                        .add((Long) row[1]);
+            }
+        }
+
+        /**
+         * Adds the next row of the file, writing the current chunk once it is full.
+         *
+         * @param conceptCodeDto the concept code of the row
+         */
+        public void add(ConceptCodeDto conceptCodeDto) {
+            final String codeKey = ValueSetCategoryIndex.toKey(conceptCodeDto.getCode());
+
+            Set<Long> assigned = assignedValueSetIds.get(codeKey);
+            if (assigned == null) {
+                assigned = new HashSet<>();
+                assignedValueSetIds.put(codeKey, assigned);
+                if (!conceptCodeIds.containsKey(codeKey)) {
+                    chunk.conceptCodeKeys.add(codeKey);
+                    chunk.conceptCodeDtos.add(conceptCodeDto);
+                }
+            }
+            boolean isNewVS = false;
+            for (Long valueSetId : valueSetIds) {
+                if (assigned.add(valueSetId)) {
+                    chunk.valueSetAssociations.add(new ValueSetAssociation(codeKey, valueSetId));
+                    isNewVS = true;
+                }
+            }
+            if (!isNewVS) {
+                // adjusting for header row
+                result.duplicateRowNumbers.add(rowIndex + 2);
+            }
+            rowIndex++;
+
+            if (rowIndex % chunkSize == 0) {
+                flush();
+            }
+        }
+
+        /**
+         * Writes the last chunk and ends the import.
+         *
+         * @return the import result
+         */
+        public ConceptCodeImportResult finish() {
+            if (rowIndex % chunkSize != 0) {
+                flush();
+            }
+            result.elapsedMillis = System.currentTimeMillis() - startTime;
+            logger.info("Concept code import finished: " + result);
+            return result;
+        }
+
+        private void flush() {
+            writeChunk(chunk, codeSystemVersionId, userName, conceptCodeIds);
+            result.rowsRead = rowIndex;
+            result.conceptCodesInserted += chunk.conceptCodeDtos.size();
+            result.valueSetAssociationsInserted += chunk.valueSetAssociations.size();
+            result.elapsedMillis = System.currentTimeMillis() - startTime;
+            logger.info("Imported " + result.rowsRead + " concept code rows (" + result.getRowsPerSecond()
+                    + " rows/s)");
+            chunk = new Chunk();
+        }
+    }
+
+    /**
+     * The rows of a chunk that need to be written.
+     */
+    private static final class Chunk {
+
+        private final List<String> conceptCodeKeys = new ArrayList<>();
+
+        private final List<ConceptCodeDto> conceptCodeDtos = new ArrayList<>();
+
+        private final List<ValueSetAssociation> valueSetAssociations = new ArrayList<>();
+    }
+
+    private static final class ValueSetAssociation {
+
+        private final String codeKey;
+
+        private final Long valueSetId;
+
+        private ValueSetAssociation(String codeKey, Long valueSetId) {
+            this.codeKey = codeKey;
+            this.valueSetId = valueSetId;
+        }
+    }
+
+    /**
+     * The outcome of a concept code import.
+     */
+    public static final class ConceptCodeImportResult {
+
+        private int rowsRead;
+
+        private int conceptCodesInserted;
+
+        private int valueSetAssociationsInserted;
+
+        private final List<Integer> duplicateRowNumbers = new ArrayList<>();
+
+        private long elapsedMillis;
+
+        public int getRowsRead() {
+            return rowsRead;
+        }
+
+        public int getConceptCodesInserted() {
+            return conceptCodesInserted;
+        }
+
+        public int getValueSetAssociationsInserted() {
+            return valueSetAssociationsInserted;
+        }
+
+        /**
+         * Gets the spreadsheet row numbers, counting the header row, of the duplicate rows.
+         *
+         * @return the duplicate row numbers
+         */
+        public List<Integer> getDuplicateRowNumbers() {
+            return duplicateRowNumbers;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public long getRowsPerSecond() {
+            return rowsRead * 1000L / Math.max(elapsedMillis, 1L);
+        }
+
+        @Override
+        public String toString() {
+            return rowsRead + " rows read, " + conceptCodesInserted + " concept codes and "
+                    + valueSetAssociationsInserted + " value set associations inserted, "
+                    + duplicateRowNumbers.size() + " duplicate rows, " + elapsedMillis + " ms ("
+                    + getRowsPerSecond() + " rows/s)";
+        }
+    }
+}
@@ -6,7 +6,8 @@
 import org.apache.poi.POIXMLException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -25,7 +26,8 @@
 /**
  * The Class ConceptCodeServiceImpl.
  */
-public class ConceptCodeServiceImpl implements ConceptCodeService {
+public class ConceptCodeServiceImpl implements ConceptCodeService,
+        ApplicationEventPublisherAware {
 
     /**
      * The concept code page size.
@@ -35,6 +37,10 @@ public class ConceptCodeServiceImpl implements ConceptCodeService {
      * The logger.
      */
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    /**
+     * The application event publisher.
+     */
+    private ApplicationEventPublisher applicationEventPublisher;
     /**
      * The code system repository.
      */
@@ -59,6 +65,10 @@ public class ConceptCodeServiceImpl implements ConceptCodeService {
      * The value set repository.
      */
     private ValueSetRepository valueSetRepository;
+    /**
+     * The concept code bulk importer.
+     */
+    private ConceptCodeBulkImporter conceptCodeBulkImporter;
 
     /**
      * Instantiates a new concept code service impl.
@@ -70,6 +80,7 @@ public class ConceptCodeServiceImpl implements ConceptCodeService {
      * @param codeSystemVersionRepository   the code system version repository
      * @param conceptCodeValueSetRepository the concept code value set repository
      * @param valueSetMgmtHelper            the value set mgmt helper
+     * @param conceptCodeBulkImporter       the concept code bulk importer
      */
     public ConceptCodeServiceImpl(int conceptCodePageSize,
                                   ConceptCodeRepository conceptCodeRepository,
@@ -77,7 +88,8 @@ public ConceptCodeServiceImpl(int conceptCodePageSize,
                                   CodeSystemRepository codeSystemRepository,
                                   CodeSystemVersionRepository codeSystemVersionRepository,
                                   ConceptCodeValueSetRepository conceptCodeValueSetRepository,
-                                  ValueSetMgmtHelper valueSetMgmtHelper) {
+                                  ValueSetMgmtHelper valueSetMgmtHelper,
+                                  ConceptCodeBulkImporter conceptCodeBulkImporter) {
         super();
         CONCEPT_CODE_PAGE_SIZE = conceptCodePageSize;
         this.conceptCodeRepository = conceptCodeRepository;
@@ -86,6 +98,7 @@ public ConceptCodeServiceImpl(int conceptCodePageSize,
         this.codeSystemVersionRepository = codeSystemVersionRepository;
         this.conceptCodeValueSetRepository = conceptCodeValueSetRepository;
         this.valueSetMgmtHelper = valueSetMgmtHelper;
+        this.conceptCodeBulkImporter = conceptCodeBulkImporter;
     }
 
     /*
@@ -106,6 +119,7 @@ public ConceptCodeDto delete(Long conceptCodeId)
             throw new ConceptCodeNotFoundException();
         }
         conceptCodeRepository.delete(deleted);
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return valueSetMgmtHelper.createConceptCodeDtoFromEntity(deleted);
     }
 
@@ -220,6 +234,7 @@ public ConceptCodeDto update(ConceptCodeDto updated)
         // set the selected ones back to concept code
         conceptCode.setValueSets(selCodeValueSets);
 
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return valueSetMgmtHelper.createConceptCodeDtoFromEntity(conceptCode);
     }
 
@@ -503,6 +518,7 @@ public ConceptCodeDto create(ConceptCodeDto created)
         if (!isNewVS) {
             throw new DuplicateConceptCodeException();
         }
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return conceptCodeDto;
 
     }
@@ -517,7 +533,6 @@ public ConceptCodeDto create(ConceptCodeDto created)
      * java.lang.String, java.lang.Long)
      */
     @Override
-    @Transactional(rollbackFor = DataIntegrityViolationException.class)
     public ConceptCodeDto conceptCodeBatchUpload(ConceptCodeDto conceptCodeDto,
                                                  MultipartFile file, String codeSystemId, Long codeSystemVersionId,
                                                  List<Long> valueSetIds) throws ValueSetNotFoundException,
@@ -526,28 +541,23 @@ public ConceptCodeDto conceptCodeBatchUpload(ConceptCodeDto conceptCodeDto,
         String userName = conceptCodeDto.getUserName();
 
         try {
-            List<ConceptCodeDto> listOfConceptCodeDtos = valueSetMgmtHelper
-                    .readConceptCodesFromFile(file, codeSystemId,
-                            codeSystemVersionId, valueSetIds, userName);
-
-            int rowsUpdated = 0;
-            // for batch upload
-            List<Integer> listOfDuplicateCodes = new ArrayList<Integer>();
-
-            // iterate rows with value set fields
-            for (int i = 0; i < listOfConceptCodeDtos.size(); i++) {
-
-                try {
-                    conceptCodeDto = create(listOfConceptCodeDtos.get(i));
-                    rowsUpdated = rowsUpdated
-                            + conceptCodeDto.getConceptCodesInserted();
-                } catch (DuplicateConceptCodeException e) {
-                    // adjusting for header row
-                    listOfDuplicateCodes.add(i + 2);
-                }
-            }
-            conceptCodeDto.setConceptCodesInserted(rowsUpdated);
-            conceptCodeDto.setListOfDuplicatesCodes(listOfDuplicateCodes);
+            // validate every row before the first chunk is written, so an
+            // invalid file leaves no partial import behind
+            valueSetMgmtHelper.readConceptCodesFromFile(file, codeSystemId,
+                    codeSystemVersionId, valueSetIds, userName, row -> {
+                    });
+
+            ConceptCodeBulkImporter.ConceptCodeImport conceptCodeImport = conceptCodeBulkImporter
+                    .begin(codeSystemVersionId, valueSetIds, userName);
+            valueSetMgmtHelper.readConceptCodesFromFile(file, codeSystemId,
+                    codeSystemVersionId, valueSetIds, userName,
+                    conceptCodeImport::add);
+            ConceptCodeBulkImporter.ConceptCodeImportResult importResult = conceptCodeImport
+                    .finish();
+            conceptCodeDto.setConceptCodesInserted(importResult
+                    .getValueSetAssociationsInserted());
+            conceptCodeDto.setListOfDuplicatesCodes(importResult
+                    .getDuplicateRowNumbers());
 
         } catch (ValueSetNotFoundException ex) {
             logger.debug("Missing required field while doing batch upload: "
@@ -575,6 +585,7 @@ public ConceptCodeDto conceptCodeBatchUpload(ConceptCodeDto conceptCodeDto,
                     .setErrorMessage("An error occurred. Please check with administrator: "
                             + ex.getMessage());
         }
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return conceptCodeDto;
     }
 
@@ -637,4 +648,9 @@ private List<Long> getAllValueSetIdsForConceptCode(Long conceptCodeId) {
         }
         return selValueSetIds;
     }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
 }
@@ -0,0 +1,413 @@
+package gov.samhsa.c2s.vss.service;
+
+import org.apache.poi.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads the rows of an uploaded spreadsheet one at a time. An .xlsx upload is parsed with SAX straight from the
+ * sheet XML instead of being loaded as a workbook, and a CSV upload is parsed as it is read, so the memory used
+ * does not grow with the number of rows. Only the shared strings table of an .xlsx file is held in memory, as
+ * the cells refer to it by index.
+ */
+final class SpreadsheetRowReader {
+
+    private static final String INVALID_CELL_MESSAGE = "Value stored in cell is invalid! Valid types are Numbers or Strings.";
+
+    private static final byte[] ZIP_SIGNATURE = {0x50, 0x4B, 0x03, 0x04};
+
+    private static final byte[] OLE2_SIGNATURE = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0};
+
+    private SpreadsheetRowReader() {
+    }
+
+    /**
+     * Reads the rows of the first sheet of an .xlsx upload, or of a CSV upload, and hands them to the handler
+     * in order. The format is told apart by the content of the file, not by its name.
+     *
+     * @param file    the uploaded file
+     * @param handler the row handler
+     * @throws IOException if the file cannot be read
+     */
+    static void read(MultipartFile file, RowHandler handler) throws IOException {
+        try (PushbackInputStream in = new PushbackInputStream(file.getInputStream(), ZIP_SIGNATURE.length)) {
+            final byte[] signature = new byte[ZIP_SIGNATURE.length];
+            int read = 0;
+            while (read < signature.length) {
+                final int n = in.read(signature, read, signature.length - read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            in.unread(signature, 0, read);
+
+            if (startsWith(signature, read, ZIP_SIGNATURE)) {
+                readXlsx(in, handler);
+            } else if (startsWith(signature, read, OLE2_SIGNATURE)) {
+                throw new POIXMLException("The .xls format is not supported");
+            } else {
+                readCsv(in, handler);
+            }
+        }
+    }
+
+    private static void readXlsx(InputStream in, RowHandler handler) throws IOException {
+        // opening the package from a file reads the zip entries on demand instead of buffering all of them
+        final Path tempFile = Files.createTempFile("vss-upload-", ".xlsx");
+        try {
+            Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            final OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ);
+            try {
+                final XSSFReader xssfReader = new XSSFReader(pkg);
+                final ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+                final StylesTable styles = xssfReader.getStylesTable();
+                final Iterator<InputStream> sheets = xssfReader.getSheetsData();
+                if (sheets.hasNext()) {
+                    try (InputStream sheet = sheets.next()) {
+                        final XMLReader xmlReader = newSaxParserFactory().newSAXParser().getXMLReader();
+                        xmlReader.setContentHandler(new SheetHandler(sharedStrings, styles, handler));
+                        xmlReader.parse(new InputSource(sheet));
+                    }
+                }
+            } finally {
+                // the package is read only, so there is nothing to save
+                pkg.revert();
+            }
+        } catch (OpenXML4JException | ParserConfigurationException e) {
+            throw new POIXMLException(e);
+        } catch (SAXException e) {
+            if (e.getException() instanceof RuntimeException) {
+                throw (RuntimeException) e.getException();
+            }
+            throw new POIXMLException(e);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static void readCsv(InputStream in, RowHandler handler) throws IOException {
+        final Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        final StringBuilder value = new StringBuilder();
+        SpreadsheetRow row = new SpreadsheetRow(0);
+        int column = 0;
+        boolean quoted = false;
+        boolean rowStarted = false;
+        boolean afterCarriageReturn = false;
+
+        int c = reader.read();
+        if (c == '\uFEFF') {
+            c = reader.read();
+        }
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                value.append((char) c);
+            } else if (c == '\n' && afterCarriageReturn) {
+                // second half of a CRLF line break
+                afterCarriageReturn = false;
+            } else if (c == '\r' || c == '\n') {
+                row.setValue(column, value);
+                // blank lines are skipped, as a sheet leaves out rows without cells
+                if (!row.isEmpty()) {
+                    handler.handleRow(row);
+                }
+                row = new SpreadsheetRow(row.getRowNum() + 1);
+                value.setLength(0);
+                column = 0;
+                rowStarted = false;
+                afterCarriageReturn = c == '\r';
+            } else {
+                afterCarriageReturn = false;
+                rowStarted = true;
+                if (c == ',') {
+                    row.setValue(column++, value);
+                    value.setLength(0);
+                } else if (c == '"' && value.length() == 0) {
+                    quoted = true;
+                } else {
+                    value.append((char) c);
+                }
+            }
+            c = reader.read();
+        }
+        if (rowStarted) {
+            row.setValue(column, value);
+            if (!row.isEmpty()) {
+                handler.handleRow(row);
+            }
+        }
+    }
+
+    private static SAXParserFactory newSaxParserFactory() throws ParserConfigurationException, SAXException {
+        final SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        return factory;
+    }
+
+    private static boolean startsWith(byte[] bytes, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Receives the rows of a spreadsheet as they are read.
+     */
+    @FunctionalInterface
+    interface RowHandler {
+
+        /**
+         * Handles the next row. Rows without any cell may be skipped.
+         *
+         * @param row the row
+         */
+        void handleRow(SpreadsheetRow row);
+    }
+
+    /**
+     * A row of a spreadsheet with the values of its cells as text.
+     */
+    static final class SpreadsheetRow {
+
+        private final int rowNum;
+
+        private final List<String> values = new ArrayList<>();
+
+        private final BitSet invalidCells = new BitSet();
+
+        SpreadsheetRow(int rowNum) {
+            this.rowNum = rowNum;
+        }
+
+        /**
+         * Gets the row number, starting from 0 like {@link org.apache.poi.ss.usermodel.Row#getRowNum()}.
+         *
+         * @return the row number
+         */
+        int getRowNum() {
+            return rowNum;
+        }
+
+        /**
+         * Tells whether the cell has no value, like a cell returned as null for
+         * {@link org.apache.poi.ss.usermodel.Row#RETURN_BLANK_AS_NULL}.
+         *
+         * @param column the column index
+         * @return true if the cell is blank
+         */
+        boolean isBlank(int column) {
+            return !invalidCells.get(column) && getValue(column) == null;
+        }
+
+        /**
+         * Tells whether no cell of the row has a value.
+         *
+         * @return true if every cell is blank
+         */
+        boolean isEmpty() {
+            return invalidCells.isEmpty() && values.stream().allMatch(Objects::isNull);
+        }
+
+        /**
+         * Gets the value of the cell as text.
+         *
+         * @param column the column index
+         * @return the value, or null if the cell is blank
+         * @throws InvalidCSVException if the cell holds neither a number nor a string
+         */
+        String getCellValue(int column) {
+            if (invalidCells.get(column)) {
+                throw new InvalidCSVException(INVALID_CELL_MESSAGE);
+            }
+            return getValue(column);
+        }
+
+        private String getValue(int column) {
+            return column < values.size() ? values.get(column) : null;
+        }
+
+        private void setValue(int column, CharSequence value) {
+            while (values.size() <= column) {
+                values.add(null);
+            }
+            values.set(column, value.length() == 0 ? null : value.toString());
+        }
+
+        private void setInvalid(int column) {
+            invalidCells.set(column);
+        }
+    }
+
+    /**
+     * Turns the SAX events of a sheet into rows. Cells are formatted the way
+     * {@link ValueSetMgmtHelper#getCellValueAsString(org.apache.poi.ss.usermodel.Cell)} formats them.
+     */
+    private static final class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+
+        private final StylesTable styles;
+
+        private final RowHandler handler;
+
+        private final DataFormatter dataFormatter = new DataFormatter();
+
+        private final StringBuilder value = new StringBuilder();
+
+        private SpreadsheetRow row;
+
+        private int nextRowNum;
+
+        private int column;
+
+        private String cellType;
+
+        private int styleIndex;
+
+        private boolean hasValue;
+
+        private boolean hasFormula;
+
+        private boolean inValue;
+
+        private SheetHandler(ReadOnlySharedStringsTable sharedStrings, StylesTable styles, RowHandler handler) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    final String rowRef = attributes.getValue("r");
+                    row = new SpreadsheetRow(rowRef == null ? nextRowNum : Integer.parseInt(rowRef) - 1);
+                    column = -1;
+                    break;
+                case "c":
+                    final String cellRef = attributes.getValue("r");
+                    column = cellRef == null ? column + 1 : new CellReference(cellRef).getCol();
+                    cellType = attributes.getValue("t");
+                    final String style = attributes.getValue("s");
+                    styleIndex = style == null ? -1 : Integer.parseInt(style);
+                    hasValue = false;
+                    hasFormula = false;
+                    value.setLength(0);
+                    break;
+                case "f":
+                    hasFormula = true;
+                    break;
+                case "v":
+                case "t":
+                    inValue = true;
+                    hasValue = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                value.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                case "t":
+                    inValue = false;
+                    break;
+                case "c":
+                    endCell();
+                    break;
+                case "row":
+                    handler.handleRow(row);
+                    nextRowNum = row.getRowNum() + 1;
+                    row = null;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void endCell() {
+            if (hasFormula || "b".equals(cellType) || "e".equals(cellType)) {
+                row.setInvalid(column);
+            } else if (!hasValue) {
+                // a blank cell that only carries a style
+                return;
+            } else if ("s".equals(cellType)) {
+                row.setValue(column, sharedStrings.getEntryAt(Integer.parseInt(value.toString())));
+            } else if (cellType == null || "n".equals(cellType)) {
+                row.setValue(column, formatNumber(Double.parseDouble(value.toString())));
+            } else {
+                // inline strings and ISO 8601 dates are kept as written
+                row.setValue(column, value);
+            }
+        }
+
+        private String formatNumber(double number) {
+            int formatIndex = 0;
+            String formatString = null;
+            if (styleIndex >= 0 && styles != null) {
+                final XSSFCellStyle cellStyle = styles.getStyleAt(styleIndex);
+                formatIndex = cellStyle.getDataFormat();
+                formatString = cellStyle.getDataFormatString();
+            }
+            if (formatString == null) {
+                formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+            }
+            return dataFormatter.formatRawCellContents(number, formatIndex, formatString);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package gov.samhsa.c2s.vss.service;
+
+import gov.samhsa.c2s.pcm.domain.valueset.CodeSystemVersionRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ConceptCodeRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ConceptCodeValueSetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * In-memory index of the value set category codes of every concept code of the latest version of
+ * each code system, keyed by code system oid and code.
+ * <p>
+ * The index is loaded on first use and rebuilt in full after every committed {@link ValueSetChangedEvent}.
+ * A rebuild swaps in a new immutable snapshot, so lookups never see a partially built index and never
+ * block on a rebuild.
+ */
+public class ValueSetCategoryIndex {
+
+    /**
+     * The logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final CodeSystemVersionRepository codeSystemVersionRepository;
+
+    private final ConceptCodeRepository conceptCodeRepository;
+
+    private final ConceptCodeValueSetRepository conceptCodeValueSetRepository;
+
+    private volatile Map<String, CodeSystemEntry> snapshot;
+
+    public ValueSetCategoryIndex(CodeSystemVersionRepository codeSystemVersionRepository,
+                                 ConceptCodeRepository conceptCodeRepository,
+                                 ConceptCodeValueSetRepository conceptCodeValueSetRepository) {
+        this.codeSystemVersionRepository = codeSystemVersionRepository;
+        this.conceptCodeRepository = conceptCodeRepository;
+        this.conceptCodeValueSetRepository = conceptCodeValueSetRepository;
+    }
+
+    /**
+     * Finds the value set category codes of the concept code in the latest version of the code system.
+     *
+     * @param code          the code, matched ignoring case and surrounding whitespace like the database lookup
+     * @param codeSystemOid the code system oid
+     * @return the unmodifiable set of value set category codes, empty if the code is in no value set
+     * @throws CodeSystemVersionNotFoundException if the code system has no version
+     * @throws ConceptCodeNotFoundException       if the code is not in the latest version of the code system
+     */
+    public Set<String> findValueSetCategoryCodes(String code, String codeSystemOid)
+            throws CodeSystemVersionNotFoundException, ConceptCodeNotFoundException {
+        if (null == code || code.length() <= 0) {
+            throw new ConceptCodeNotFoundException();
+        }
+        final CodeSystemEntry codeSystemEntry = getSnapshot().get(codeSystemOid);
+        if (codeSystemEntry == null) {
+            logger.debug("No CodeSystem found with the oid: " + codeSystemOid);
+            throw new CodeSystemVersionNotFoundException(
+                    "No Code System Versions found for the given codesystem oid"
+                            + codeSystemOid);
+        }
+        final Set<String> valueSetCategoryCodes = codeSystemEntry.valueSetCategoryCodes.get(toKey(code));
+        if (valueSetCategoryCodes == null) {
+            throw new ConceptCodeNotFoundException(
+                    "No Concept Code found for the given Code System  oid: "
+                            + codeSystemOid + " And its latest version name: "
+                            + codeSystemEntry.versionName);
+        }
+        return valueSetCategoryCodes;
+    }
+
+    /**
+     * Gets the value set category codes of all the concept codes of the latest version of the code system,
+     * as used by the bulk lookups to resolve the code system once for all of its codes.
+     *
+     * @param codeSystemOid the code system oid
+     * @return the unmodifiable value set category codes keyed by {@link #toKey(String) code key}, or null if
+     * the code system has no version
+     */
+    Map<String, Set<String>> findValueSetCategoryCodesByCode(String codeSystemOid) {
+        final CodeSystemEntry codeSystemEntry = getSnapshot().get(codeSystemOid);
+        return codeSystemEntry == null ? null : Collections.unmodifiableMap(codeSystemEntry.valueSetCategoryCodes);
+    }
+
+    /**
+     * Rebuilds the index once the change to the value sets is committed, or right away when the
+     * change was made outside of a transaction.
+     *
+     * @param event the value set changed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onValueSetChanged(ValueSetChangedEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Loads the value set data and swaps in the new index.
+     */
+    public synchronized void rebuild() {
+        final long start = System.currentTimeMillis();
+
+        // concept code id -> category codes, sharing one set instance per distinct combination
+        final Map<Long, Set<String>> categoryCodesByConceptCodeId = new HashMap<>();
+        for (Object[] row : conceptCodeValueSetRepository.findAllConceptCodeIdAndValueSetCategoryCode()) {
+            categoryCodesByConceptCodeId
+                    .computeIfAbsent((Long) row[0], id -> new TreeSet<>())
+                    .add((String) row[1]);
+        }
+        final Map<Set<String>, Set<String>> canonicalSets = new HashMap<>();
+        canonicalSets.put(Collections.emptySet(), Collections.emptySet());
+
+        final Map<Long, CodeSystemEntry> codeSystemEntriesByVersionId = new HashMap<>();
+        final Map<String, CodeSystemEntry> newSnapshot = new HashMap<>();
+        for (Object[] row : codeSystemVersionRepository.findLatestVersionOfEachCodeSystem()) {
+            final CodeSystemEntry codeSystemEntry = new CodeSystemEntry((String) row[2]);
+            newSnapshot.put((String) row[0], codeSystemEntry);
+            codeSystemEntriesByVersionId.put((Long) row[1], codeSystemEntry);
+        }
+
+        int conceptCodeCount = 0;
+        if (!codeSystemEntriesByVersionId.isEmpty()) {
+            final List<Object[]> conceptCodes = conceptCodeRepository
+                    .findIdAndCodeByCodeSystemVersionIds(codeSystemEntriesByVersionId.keySet());
+            for (Object[] row : conceptCodes) {
+                final Set<String> categoryCodes = categoryCodesByConceptCodeId
+                        .getOrDefault((Long) row[0], Collections.emptySet());
+                codeSystemEntriesByVersionId.get((Long) row[1]).valueSetCategoryCodes.put(
+                        toKey((String) row[2]),
+                        canonicalSets.computeIfAbsent(categoryCodes, Collections::unmodifiableSet));
+            }
+            conceptCodeCount = conceptCodes.size();
+        }
+
+        snapshot = newSnapshot;
+        logger.info("Value set category index rebuilt with " + conceptCodeCount + " concept codes of "
+                + newSnapshot.size() + " code systems in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private Map<String, CodeSystemEntry> getSnapshot() {
+        Map<String, CodeSystemEntry> current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Normalizes the code the way the default case insensitive collation compares it. Neither call
+     * allocates for a code that is already trimmed and in upper case.
+     */
+    static String toKey(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static final class CodeSystemEntry {
+
+        private final String versionName;
+
+        private final Map<String, Set<String>> valueSetCategoryCodes = new HashMap<>();
+
+        private CodeSystemEntry(String versionName) {
+            this.versionName = versionName;
+        }
+    }
+}
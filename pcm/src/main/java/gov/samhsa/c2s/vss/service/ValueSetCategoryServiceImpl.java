@@ -7,6 +7,8 @@
 import gov.samhsa.c2s.vss.service.dto.ValueSetCategoryFieldsDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
@@ -15,12 +17,17 @@
 /**
  * The Class ValueSetCategoryServiceImpl.
  */
-public class ValueSetCategoryServiceImpl implements ValueSetCategoryService {
+public class ValueSetCategoryServiceImpl implements ValueSetCategoryService,
+        ApplicationEventPublisherAware {
 
     /**
      * The logger.
      */
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    /**
+     * The application event publisher.
+     */
+    private ApplicationEventPublisher applicationEventPublisher;
     /**
      * The value set mgmt helper.
      */
@@ -69,6 +76,7 @@ public ValueSetCategoryDto create(ValueSetCategoryDto created) {
                 .getBuilder(created.getCode(), created.getName(),
                         created.getUserName()).description(description).build();
         valueSetCategory = valueSetCategoryRepository.save(valueSetCategory);
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return valueSetMgmtHelper.createValuesetCategoryDtoFromEntity(
                 valueSetCategory, consentRepository);
     }
@@ -93,6 +101,7 @@ public ValueSetCategoryDto delete(Long valueSetCategoryId)
             throw new ValueSetCategoryNotFoundException();
         }
         valueSetCategoryRepository.delete(deleted);
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return valueSetMgmtHelper.createValuesetCategoryDtoFromEntity(deleted,
                 consentRepository);
     }
@@ -152,6 +161,7 @@ public ValueSetCategoryDto update(ValueSetCategoryDto updated)
 
         valueSetCategory.update(updated.getCode(), updated.getName(),
                 updated.getDescription(), updated.getUserName());
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return valueSetMgmtHelper.createValuesetCategoryDtoFromEntity(
                 valueSetCategory, consentRepository);
     }
@@ -189,4 +199,9 @@ protected void setValueSetCategoryRepository(
             ValueSetCategoryRepository valueSetCategoryRepository) {
         this.valueSetCategoryRepository = valueSetCategoryRepository;
     }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
 }
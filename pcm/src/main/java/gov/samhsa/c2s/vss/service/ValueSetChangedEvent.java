@@ -0,0 +1,30 @@
+package gov.samhsa.c2s.vss.service;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Published by the value set services whenever they change code systems, concept codes, value sets
+ * or value set categories, so that derived in-memory data can be rebuilt once the change is committed.
+ */
+public class ValueSetChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    public ValueSetChangedEvent(Object source) {
+        super(source);
+    }
+
+    /**
+     * Publishes the event if the publisher is set, which is not the case for the services built
+     * outside of the application context.
+     *
+     * @param publisher the event publisher, or null
+     * @param source    the service that made the change
+     */
+    static void publish(ApplicationEventPublisher publisher, Object source) {
+        if (publisher != null) {
+            publisher.publishEvent(new ValueSetChangedEvent(source));
+        }
+    }
+}
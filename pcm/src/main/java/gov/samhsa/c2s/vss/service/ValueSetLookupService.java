@@ -1,9 +1,13 @@
 package gov.samhsa.c2s.vss.service;
 
+import gov.samhsa.c2s.vss.service.dto.ConceptCodeAndCodeSystemOidDto;
 import gov.samhsa.c2s.vss.service.dto.ValueSetQueryDto;
 import gov.samhsa.c2s.vss.service.dto.ValueSetQueryListDto;
 import gov.samhsa.c2s.vss.service.dto.ValueSetLookUpDto;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface ValueSetLookupService {
 
     public ValueSetLookUpDto lookupValueSetCategories(String code, String codeSystemOid) throws CodeSystemVersionNotFoundException, ConceptCodeNotFoundException, ValueSetNotFoundException;
@@ -12,4 +16,13 @@ public interface ValueSetLookupService {
 
     public ValueSetQueryListDto restfulValueSetCategories(ValueSetQueryListDto valueSetQueryListDtos) throws CodeSystemVersionNotFoundException, ConceptCodeNotFoundException, ValueSetNotFoundException;
 
+    /**
+     * Looks up the value set categories of many concept codes at once. Each code system is resolved once for
+     * all of its codes, and a code that cannot be found only sets the status of its own result.
+     *
+     * @param conceptCodeAndCodeSystemOidDtos the concept codes and their code system oids
+     * @return the lazily computed results, in the order of the given concept codes
+     */
+    public Stream<ValueSetQueryDto> lookupValueSetCategories(List<ConceptCodeAndCodeSystemOidDto> conceptCodeAndCodeSystemOidDtos);
+
 }
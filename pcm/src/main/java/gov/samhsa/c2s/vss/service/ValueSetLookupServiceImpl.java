@@ -1,15 +1,20 @@
 package gov.samhsa.c2s.vss.service;
 
 import gov.samhsa.c2s.pcm.domain.valueset.*;
+import gov.samhsa.c2s.vss.service.dto.ConceptCodeAndCodeSystemOidDto;
 import gov.samhsa.c2s.vss.service.dto.ValueSetQueryDto;
 import gov.samhsa.c2s.vss.service.dto.ValueSetQueryListDto;
 import gov.samhsa.c2s.vss.service.dto.ValueSetLookUpDto;
+import gov.samhsa.c2s.vss.service.dto.ValueSetQueryStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * The Class ValueSetLookupServiceImpl.
@@ -44,6 +49,10 @@ public class ValueSetLookupServiceImpl implements ValueSetLookupService {
      * The value set repository.
      */
     private ValueSetRepository valueSetRepository;
+    /**
+     * The value set category index.
+     */
+    private ValueSetCategoryIndex valueSetCategoryIndex;
 
     /**
      * Instantiates a new value set lookup service impl.
@@ -54,6 +63,7 @@ public class ValueSetLookupServiceImpl implements ValueSetLookupService {
      * @param codeSystemVersionRepository   the code system version repository
      * @param conceptCodeValueSetRepository the concept code value set repository
      * @param valueSetMgmtHelper            the value set mgmt helper
+     * @param valueSetCategoryIndex         the value set category index
      */
     public ValueSetLookupServiceImpl(
             ConceptCodeRepository conceptCodeRepository,
@@ -61,7 +71,8 @@ public ValueSetLookupServiceImpl(
             CodeSystemRepository codeSystemRepository,
             CodeSystemVersionRepository codeSystemVersionRepository,
             ConceptCodeValueSetRepository conceptCodeValueSetRepository,
-            ValueSetMgmtHelper valueSetMgmtHelper) {
+            ValueSetMgmtHelper valueSetMgmtHelper,
+            ValueSetCategoryIndex valueSetCategoryIndex) {
         super();
         this.conceptCodeRepository = conceptCodeRepository;
         this.valueSetRepository = valueSetRepository;
@@ -69,6 +80,7 @@ public ValueSetLookupServiceImpl(
         this.codeSystemVersionRepository = codeSystemVersionRepository;
         this.conceptCodeValueSetRepository = conceptCodeValueSetRepository;
         this.valueSetMgmtHelper = valueSetMgmtHelper;
+        this.valueSetCategoryIndex = valueSetCategoryIndex;
     }
 
     /*
@@ -123,19 +135,75 @@ public ValueSetQueryListDto restfulValueSetCategories(
             ValueSetQueryListDto valueSetQueryListDtos)
             throws CodeSystemVersionNotFoundException,
             ConceptCodeNotFoundException, ValueSetNotFoundException {
-        Set<ValueSetQueryDto> valueSetQueryDtos = valueSetQueryListDtos
-                .getValueSetQueryDtos();
-
-        for (ValueSetQueryDto valueSetQueryDto : valueSetQueryDtos) {
-            valueSetQueryDto.setVsCategoryCodes(valueSetCategoriesInSet(
-                    valueSetQueryDto.getConceptCode(),
-                    valueSetQueryDto.getCodeSystemOid()));
+        final Map<String, Optional<Map<String, Set<String>>>> codeSystems = new HashMap<>();
+        for (ValueSetQueryDto valueSetQueryDto : valueSetQueryListDtos
+                .getValueSetQueryDtos()) {
+            setValueSetCategories(valueSetQueryDto,
+                    findValueSetCategoryCodesByCode(codeSystems, valueSetQueryDto.getCodeSystemOid()));
             logger.debug("ValueSetQueryDto : " + valueSetQueryDto);
         }
 
         return valueSetQueryListDtos;
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see gov.samhsa.c2s.vss.service.ValueSetLookupService#
+     * lookupValueSetCategories(java.util.List)
+     */
+    @Override
+    public Stream<ValueSetQueryDto> lookupValueSetCategories(
+            List<ConceptCodeAndCodeSystemOidDto> conceptCodeAndCodeSystemOidDtos) {
+        final Map<String, Optional<Map<String, Set<String>>>> codeSystems = new HashMap<>();
+        return conceptCodeAndCodeSystemOidDtos.stream().map(dto -> {
+            final ValueSetQueryDto valueSetQueryDto = new ValueSetQueryDto();
+            valueSetQueryDto.setConceptCode(trim(dto.getConceptCode()));
+            valueSetQueryDto.setCodeSystemOid(trim(dto.getCodeSystemOid()));
+            setValueSetCategories(valueSetQueryDto,
+                    findValueSetCategoryCodesByCode(codeSystems, valueSetQueryDto.getCodeSystemOid()));
+            return valueSetQueryDto;
+        });
+    }
+
+    /**
+     * Finds the value set category codes of a code system, resolving each code system only once per bulk lookup.
+     *
+     * @param codeSystems   the code systems already resolved by the bulk lookup
+     * @param codeSystemOid the code system oid
+     * @return the value set category codes by code key, or null if the code system has no version
+     */
+    private Map<String, Set<String>> findValueSetCategoryCodesByCode(
+            Map<String, Optional<Map<String, Set<String>>>> codeSystems, String codeSystemOid) {
+        return codeSystems.computeIfAbsent(codeSystemOid,
+                oid -> Optional.ofNullable(valueSetCategoryIndex.findValueSetCategoryCodesByCode(oid)))
+                .orElse(null);
+    }
+
+    /**
+     * Sets the value set category codes and the status of one bulk lookup result.
+     *
+     * @param valueSetQueryDto      the lookup result
+     * @param valueSetCategoryCodes the value set category codes by code key of its code system, or null
+     */
+    private void setValueSetCategories(ValueSetQueryDto valueSetQueryDto,
+                                       Map<String, Set<String>> valueSetCategoryCodes) {
+        final String code = valueSetQueryDto.getConceptCode();
+        if (valueSetCategoryCodes == null) {
+            valueSetQueryDto.setStatus(ValueSetQueryStatus.CODE_SYSTEM_NOT_FOUND);
+        } else if (code == null || code.trim().isEmpty()
+                || !valueSetCategoryCodes.containsKey(ValueSetCategoryIndex.toKey(code))) {
+            valueSetQueryDto.setStatus(ValueSetQueryStatus.CONCEPT_CODE_NOT_FOUND);
+        } else {
+            valueSetQueryDto.setVsCategoryCodes(valueSetCategoryCodes.get(ValueSetCategoryIndex.toKey(code)));
+            valueSetQueryDto.setStatus(ValueSetQueryStatus.FOUND);
+        }
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
     /**
      * Value set categories in set.
      *
@@ -144,57 +212,10 @@ public ValueSetQueryListDto restfulValueSetCategories(
      * @return the sets the
      * @throws CodeSystemVersionNotFoundException the code system version not found exception
      * @throws ConceptCodeNotFoundException       the concept code not found exception
-     * @throws ValueSetNotFoundException          the value set not found exception
      */
     private Set<String> valueSetCategoriesInSet(String code,
                                                 String codeSystemOid) throws CodeSystemVersionNotFoundException,
-            ConceptCodeNotFoundException, ValueSetNotFoundException {
-
-        Set<String> vsCategories = new HashSet<String>();
-
-        // validate the inputs
-        if (null == code || code.length() <= 0) {
-            throw new ConceptCodeNotFoundException();
-        }
-
-        // 1.Get latest version of Code System version for the given code system
-        // oid
-        List<CodeSystemVersion> codeSystemVersions = codeSystemVersionRepository
-                .findAllByCodeSystemCodeSystemOIdOrderByIdDesc(codeSystemOid);
-        if (codeSystemVersions == null || codeSystemVersions.size() <= 0) {
-            logger.debug("No CodeSystem found with the oid: " + codeSystemOid);
-            throw new CodeSystemVersionNotFoundException(
-                    "No Code System Versions found for the given codesystem oid"
-                            + codeSystemOid);
-        }
-        // Get the latest version
-        CodeSystemVersion codeSystemVersion = codeSystemVersions.get(0);
-
-        // 2.Get the concept code for the given code and the latest code system
-        // version
-        ConceptCode conceptCode = conceptCodeRepository
-                .findByCodeAndCodeSystemVersionId(code.trim(),
-                        codeSystemVersion.getId());
-        if (conceptCode == null) {
-            throw new ConceptCodeNotFoundException(
-                    "No Concept Code found for the given Code System  oid: "
-                            + codeSystemOid + " And its latest version name: "
-                            + codeSystemVersion.getName());
-        }
-
-        // 3.Get the value sets associated to the concept code
-        List<ConceptCodeValueSet> cValueSets = conceptCodeValueSetRepository
-                .findAllByPkConceptCodeId(conceptCode.getId());
-        if (cValueSets == null) {
-            throw new ValueSetNotFoundException(
-                    "No Valusets associated to the given codes" + conceptCode);
-        }
-        for (ConceptCodeValueSet codeValueSet : cValueSets) {
-            // get the category code for the associated valuesets
-            vsCategories.add(codeValueSet.getValueSet().getValueSetCategory()
-                    .getCode());
-        }
-
-        return vsCategories;
+            ConceptCodeNotFoundException {
+        return valueSetCategoryIndex.findValueSetCategoryCodes(code, codeSystemOid);
     }
 }
@@ -8,14 +8,13 @@
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * The Class ValueSetMgmtHelper.
@@ -517,97 +516,83 @@ public ValueSetLookUpDto convertSetToDto(Set<String> catCodes) {
     public List<ConceptCodeDto> readConceptCodesFromFile(MultipartFile file,
                                                          String codeSystemId, Long codeSystemVersionId,
                                                          List<Long> valueSetIds, String userName) throws IOException {
-
-        validateInputs(codeSystemId, codeSystemVersionId, valueSetIds);
-
         List<ConceptCodeDto> listOfConceptCodesDtos = new ArrayList<ConceptCodeDto>();
-        ConceptCodeDto conceptCodeDto;
-
-        // Get the workbook instance for XLS file
-        XSSFWorkbook workbook = new XSSFWorkbook(file.getInputStream());
-
-        // Get first sheet from the workbook
-        XSSFSheet sheet = workbook.getSheetAt(0);
-
-        // Iterate through each rows from first sheet
-        Iterator<Row> rowIterator = sheet.iterator();
+        readConceptCodesFromFile(file, codeSystemId, codeSystemVersionId,
+                valueSetIds, userName, listOfConceptCodesDtos::add);
+        return listOfConceptCodesDtos;
+    }
 
-        Row row = null;
+    /**
+     * Read concept codes from an .xlsx or CSV file one row at a time, without
+     * holding the file in memory.
+     *
+     * @param file                the file
+     * @param codeSystemId        the code system id
+     * @param codeSystemVersionId the code system version id
+     * @param valueSetIds         the value set ids
+     * @param userName            the user name
+     * @param consumer            receives the concept code of each row in order
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void readConceptCodesFromFile(MultipartFile file,
+                                         String codeSystemId, Long codeSystemVersionId,
+                                         List<Long> valueSetIds, String userName,
+                                         Consumer<ConceptCodeDto> consumer) throws IOException {
 
-        // reading header row
-        if (rowIterator.hasNext()) {
-            Row headerRow = rowIterator.next();
+        validateInputs(codeSystemId, codeSystemVersionId, valueSetIds);
 
-            if (headerRow != null) {
-                if (headerRow.getCell(CONCEPTCODES_CODE_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL) == null
-                        || headerRow.getCell(CONCEPTCODES_NAME_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL) == null
-                        || headerRow.getCell(CONCEPTCODES_DESC_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL) == null) {
+        final boolean[] headerRead = {false};
+        SpreadsheetRowReader.read(file, row -> {
+            // reading header row
+            if (!headerRead[0]) {
+                headerRead[0] = true;
+                if (row.isBlank(CONCEPTCODES_CODE_CELL_NUM)
+                        || row.isBlank(CONCEPTCODES_NAME_CELL_NUM)
+                        || row.isBlank(CONCEPTCODES_DESC_CELL_NUM)) {
                     throw new InvalidCSVException(
                             "Header row values in file should be in the following format: Code, Name, Description");
 
-                } else if (!getCellValueAsString(
-                        headerRow.getCell(CONCEPTCODES_CODE_CELL_NUM,
-                                Row.RETURN_BLANK_AS_NULL)).equalsIgnoreCase(
-                        CODE_FIELD)
-                        || !getCellValueAsString(
-                        headerRow.getCell(CONCEPTCODES_NAME_CELL_NUM,
-                                Row.RETURN_BLANK_AS_NULL))
+                } else if (!row.getCellValue(CONCEPTCODES_CODE_CELL_NUM)
+                        .equalsIgnoreCase(CODE_FIELD)
+                        || !row.getCellValue(CONCEPTCODES_NAME_CELL_NUM)
                         .equalsIgnoreCase(NAME_FIELD)
-                        || !getCellValueAsString(
-                        headerRow.getCell(CONCEPTCODES_DESC_CELL_NUM,
-                                Row.RETURN_BLANK_AS_NULL))
+                        || !row.getCellValue(CONCEPTCODES_DESC_CELL_NUM)
                         .equalsIgnoreCase(DESC_FIELD)) {
                     throw new InvalidCSVException(
                             "Header row values in excel file should be in the following format: Code, Name, Description");
                 }
+                return;
             }
-        }
 
-        // iterate rows with value set fields
-        while (rowIterator.hasNext()) {
-            row = rowIterator.next();
-            conceptCodeDto = new ConceptCodeDto();
-
-            if (row != null) {
-
-                Cell codeCell = row.getCell(CONCEPTCODES_CODE_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL);
-                Cell nameCell = row.getCell(CONCEPTCODES_NAME_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL);
-                Cell descriptionCell = row.getCell(CONCEPTCODES_DESC_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL);
-
-                // ignore empty row and throw error on missing fields
-                if (codeCell == null || nameCell == null) {
-
-                    if (codeCell != null || nameCell != null) {
-                        throw new InvalidCSVException(
-                                "Cannot add value set. Required field(s) empty for row: "
-                                        + (row.getRowNum() + 1));
-                    }
-                } else {
-                    conceptCodeDto.setCodeSystemName(codeSystemId);
-                    conceptCodeDto.setCodeSystemVersionId(codeSystemVersionId);
-                    conceptCodeDto.setValueSetIds(valueSetIds);
-                    conceptCodeDto.setUserName(userName);
-                    conceptCodeDto.setCode(getCellValueAsString(codeCell));
-                    conceptCodeDto.setName(getCellValueAsString(nameCell));
-                    conceptCodeDto
-                            .setDescription(getCellValueAsString(descriptionCell));
-
-                    listOfConceptCodesDtos.add(conceptCodeDto);
+            // ignore empty row and throw error on missing fields
+            if (row.isBlank(CONCEPTCODES_CODE_CELL_NUM)
+                    || row.isBlank(CONCEPTCODES_NAME_CELL_NUM)) {
+
+                if (!row.isBlank(CONCEPTCODES_CODE_CELL_NUM)
+                        || !row.isBlank(CONCEPTCODES_NAME_CELL_NUM)) {
+                    throw new InvalidCSVException(
+                            "Cannot add value set. Required field(s) empty for row: "
+                                    + (row.getRowNum() + 1));
                 }
+            } else {
+                ConceptCodeDto conceptCodeDto = new ConceptCodeDto();
+                conceptCodeDto.setCodeSystemName(codeSystemId);
+                conceptCodeDto.setCodeSystemVersionId(codeSystemVersionId);
+                conceptCodeDto.setValueSetIds(valueSetIds);
+                conceptCodeDto.setUserName(userName);
+                conceptCodeDto.setCode(row.getCellValue(CONCEPTCODES_CODE_CELL_NUM));
+                conceptCodeDto.setName(row.getCellValue(CONCEPTCODES_NAME_CELL_NUM));
+                conceptCodeDto
+                        .setDescription(row.getCellValue(CONCEPTCODES_DESC_CELL_NUM));
+
+                consumer.accept(conceptCodeDto);
             }
-        }
-
-        return listOfConceptCodesDtos;
+        });
     }
 
     /**
-     * Read value sets from file.
+     * Read value sets from an .xlsx or CSV file one row at a time, without
+     * holding the file in memory.
      *
      * @param file     the file
      * @param userName the user name
@@ -618,96 +603,56 @@ public List<ValueSetDto> readValueSetsFromFile(MultipartFile file,
                                                    String userName) throws IOException {
         List<ValueSetDto> listOfvalueSets = new ArrayList<ValueSetDto>();
 
-        // Get the workbook instance for XLS file
-        XSSFWorkbook workbook = new XSSFWorkbook(file.getInputStream());
-
-        // Get first sheet from the workbook
-        XSSFSheet sheet = workbook.getSheetAt(0);
-
-        // Iterate through each rows from first sheet
-        Iterator<Row> rowIterator = sheet.iterator();
-
-        Row row = null;
-
-        if (rowIterator.hasNext()) {
-            Row headerRow = rowIterator.next();
-
-            if (headerRow != null) {
-                if (headerRow.getCell(VALUE_SET_CODE_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL) == null
-                        || headerRow.getCell(VALUE_SET_NAME_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL) == null
-                        || headerRow.getCell(VALUE_SET_CATEGORY_NAME_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL) == null
-                        || headerRow.getCell(VALUE_SET_DESC_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL) == null) {
+        final boolean[] headerRead = {false};
+        SpreadsheetRowReader.read(file, row -> {
+            if (!headerRead[0]) {
+                headerRead[0] = true;
+                if (row.isBlank(VALUE_SET_CODE_CELL_NUM)
+                        || row.isBlank(VALUE_SET_NAME_CELL_NUM)
+                        || row.isBlank(VALUE_SET_CATEGORY_NAME_CELL_NUM)
+                        || row.isBlank(VALUE_SET_DESC_CELL_NUM)) {
                     throw new InvalidCSVException(
                             "Header row values in file should be in the following format: Code, Name, Category Name, Description");
 
-                } else if (!getCellValueAsString(
-                        headerRow.getCell(VALUE_SET_CODE_CELL_NUM,
-                                Row.RETURN_BLANK_AS_NULL)).equalsIgnoreCase(
-                        CODE_FIELD)
-                        || !getCellValueAsString(
-                        headerRow.getCell(VALUE_SET_NAME_CELL_NUM,
-                                Row.RETURN_BLANK_AS_NULL))
+                } else if (!row.getCellValue(VALUE_SET_CODE_CELL_NUM)
+                        .equalsIgnoreCase(CODE_FIELD)
+                        || !row.getCellValue(VALUE_SET_NAME_CELL_NUM)
                         .equalsIgnoreCase(NAME_FIELD)
-                        || !getCellValueAsString(
-                        headerRow.getCell(
-                                VALUE_SET_CATEGORY_NAME_CELL_NUM,
-                                Row.RETURN_BLANK_AS_NULL))
+                        || !row.getCellValue(VALUE_SET_CATEGORY_NAME_CELL_NUM)
                         .equalsIgnoreCase(CATEGORY_NAME_FIELD)
-                        || !getCellValueAsString(
-                        headerRow.getCell(VALUE_SET_DESC_CELL_NUM,
-                                Row.RETURN_BLANK_AS_NULL))
+                        || !row.getCellValue(VALUE_SET_DESC_CELL_NUM)
                         .equalsIgnoreCase(DESC_FIELD)) {
                     throw new InvalidCSVException(
                             "Header row values in excel file should be in the following format: Code, Name, Category Name, Description");
                 }
+                return;
             }
-        }
 
-        // iterate rows with value set fields
-        while (rowIterator.hasNext()) {
-            row = rowIterator.next();
-            ValueSetDto valueSetDto = new ValueSetDto();
-
-            if (row != null) {
-
-                Cell codeCell = row.getCell(VALUE_SET_CODE_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL);
-                Cell nameCell = row.getCell(VALUE_SET_NAME_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL);
-                Cell categoryNameCell = row.getCell(
-                        VALUE_SET_CATEGORY_NAME_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL);
-                Cell descriptionCell = row.getCell(VALUE_SET_DESC_CELL_NUM,
-                        Row.RETURN_BLANK_AS_NULL);
-
-                // ignore empty row and throw error on missing fields
-                if (codeCell == null || nameCell == null
-                        || categoryNameCell == null) {
-
-                    if (codeCell != null || nameCell != null
-                            || categoryNameCell != null) {
-                        throw new InvalidCSVException(
-                                "Required field(s) empty for row: "
-                                        + (row.getRowNum() + 1));
-                    }
-                } else {
-                    valueSetDto.setUserName(userName);
-                    valueSetDto.setCode(getCellValueAsString(codeCell));
-                    valueSetDto.setName(getCellValueAsString(nameCell));
-                    valueSetDto
-                            .setDescription(getCellValueAsString(descriptionCell));
-                    valueSetDto
-                            .setValueSetCatName(getCellValueAsString(categoryNameCell));
-
-                    listOfvalueSets.add(valueSetDto);
+            // ignore empty row and throw error on missing fields
+            if (row.isBlank(VALUE_SET_CODE_CELL_NUM)
+                    || row.isBlank(VALUE_SET_NAME_CELL_NUM)
+                    || row.isBlank(VALUE_SET_CATEGORY_NAME_CELL_NUM)) {
 
+                if (!row.isBlank(VALUE_SET_CODE_CELL_NUM)
+                        || !row.isBlank(VALUE_SET_NAME_CELL_NUM)
+                        || !row.isBlank(VALUE_SET_CATEGORY_NAME_CELL_NUM)) {
+                    throw new InvalidCSVException(
+                            "Required field(s) empty for row: "
+                                    + (row.getRowNum() + 1));
                 }
+            } else {
+                ValueSetDto valueSetDto = new ValueSetDto();
+                valueSetDto.setUserName(userName);
+                valueSetDto.setCode(row.getCellValue(VALUE_SET_CODE_CELL_NUM));
+                valueSetDto.setName(row.getCellValue(VALUE_SET_NAME_CELL_NUM));
+                valueSetDto
+                        .setDescription(row.getCellValue(VALUE_SET_DESC_CELL_NUM));
+                valueSetDto
+                        .setValueSetCatName(row.getCellValue(VALUE_SET_CATEGORY_NAME_CELL_NUM));
+
+                listOfvalueSets.add(valueSetDto);
             }
-        }
+        });
 
         return listOfvalueSets;
     }
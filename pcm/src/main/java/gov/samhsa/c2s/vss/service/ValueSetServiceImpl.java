@@ -6,6 +6,8 @@
 import org.apache.poi.POIXMLException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -23,12 +25,17 @@
 /**
  * The Class ValueSetServiceImpl.
  */
-public class ValueSetServiceImpl implements ValueSetService {
+public class ValueSetServiceImpl implements ValueSetService,
+        ApplicationEventPublisherAware {
 
     /**
      * The logger.
      */
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    /**
+     * The application event publisher.
+     */
+    private ApplicationEventPublisher applicationEventPublisher;
 
     /**
      * The value set page size.
@@ -111,6 +118,7 @@ public ValueSetDto create(ValueSetDto created)
                 .createValuesetDtoFromEntity(valueSet);
         valueSetDto.setValueSetCatName(selected.getName());
 
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return valueSetDto;
     }
 
@@ -144,6 +152,7 @@ public ValueSetDto delete(Long valueSetId) throws ValueSetNotFoundException {
                             + valueSetId);
         }
         valueSetRepository.delete(deleted);
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return valueSetMgmtHelper.createValuesetDtoFromEntity(deleted);
     }
 
@@ -219,6 +228,7 @@ public ValueSetDto update(ValueSetDto updated)
             valueSet.setValueSetCategory(valueSetCategory);
         }
 
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return valueSetMgmtHelper.createValuesetDtoFromEntity(valueSet);
     }
 
@@ -451,6 +461,7 @@ public ValueSetDto valueSetBatchUpload(ValueSetDto valueSetDto,
                             + ex.getMessage());
         }
 
+        ValueSetChangedEvent.publish(applicationEventPublisher, this);
         return valueSetDto;
     }
 
@@ -494,4 +505,9 @@ private void validateCSV(MultipartFile file) {
             throw new InvalidCSVException("File cannot be empty");
         }
     }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
 }
@@ -1,5 +1,7 @@
 package gov.samhsa.c2s.vss.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.Set;
 
 public class ValueSetQueryDto {
@@ -10,6 +12,9 @@ public class ValueSetQueryDto {
 	
 	private Set<String> vsCategoryCodes;
 
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private ValueSetQueryStatus status;
+
 	public String getConceptCode() {
 		return conceptCode;
 	}
@@ -33,5 +38,13 @@ public Set<String> getVsCategoryCodes() {
 	public void setVsCategoryCodes(Set<String> vsCategoryCodes) {
 		this.vsCategoryCodes = vsCategoryCodes;
 	}
+
+	public ValueSetQueryStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(ValueSetQueryStatus status) {
+		this.status = status;
+	}
 	
 }
@@ -0,0 +1,16 @@
+package gov.samhsa.c2s.vss.service.dto;
+
+/**
+ * The outcome of the value set category lookup of one concept code.
+ */
+public enum ValueSetQueryStatus {
+
+	/** The concept code is in the latest version of the code system. */
+	FOUND,
+
+	/** The code system has no version. */
+	CODE_SYSTEM_NOT_FOUND,
+
+	/** The concept code is not in the latest version of the code system. */
+	CONCEPT_CODE_NOT_FOUND
+}
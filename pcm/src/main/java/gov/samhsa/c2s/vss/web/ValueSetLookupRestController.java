@@ -7,19 +7,23 @@
 import gov.samhsa.c2s.vss.service.dto.ConceptCodeAndCodeSystemOidDto;
 import gov.samhsa.c2s.vss.service.dto.ValueSetQueryDto;
 import gov.samhsa.c2s.vss.service.dto.ValueSetQueryListDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.Resource;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
-import static java.util.stream.Collectors.toList;
-
 @RestController
 public class ValueSetLookupRestController {
     protected static final String REDIRECT_MAPPING_LIST = "/lookupService";
@@ -31,6 +35,9 @@ public class ValueSetLookupRestController {
     @Resource
     private ValueSetLookupService lookupService;
 
+    @Resource
+    private ObjectMapper objectMapper;
+
     /**
      * Processes create conceptCode requests.
      *
@@ -69,11 +76,27 @@ public List<ValueSetQueryDto> lookupValuesetCategoriesOfMultipleCodesAndCodeSyst
         return valueSetQueryDtoList;
     }
 
+    /**
+     * Looks up the value set categories of many concept codes at once. The results are written to the response
+     * as they are computed, in the order of the request, each with the status of its own lookup.
+     *
+     * @param conceptCodeAndCodeSystemOidDtos the concept codes and their code system oids
+     * @param response                        the response
+     * @throws IOException if the results cannot be written
+     */
     @RequestMapping(value = "/lookupService/valueSetCategories", method = RequestMethod.POST)
-    public List<ValueSetQueryDto> lookupValueSetCategories(@Valid @RequestBody List<ConceptCodeAndCodeSystemOidDto> conceptCodeAndCodeSystemOidDtos) {
-        return conceptCodeAndCodeSystemOidDtos.stream()
-                .map(dto -> getValueSetQueryDto(dto.getConceptCode(), dto.getCodeSystemOid()))
-                .collect(toList());
+    public void lookupValueSetCategories(@Valid @RequestBody List<ConceptCodeAndCodeSystemOidDto> conceptCodeAndCodeSystemOidDtos,
+                                         HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            final Iterator<ValueSetQueryDto> results = lookupService
+                    .lookupValueSetCategories(conceptCodeAndCodeSystemOidDtos).iterator();
+            while (results.hasNext()) {
+                generator.writeObject(results.next());
+            }
+            generator.writeEndArray();
+        }
     }
 
     /**
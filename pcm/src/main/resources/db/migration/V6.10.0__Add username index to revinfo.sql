@@ -0,0 +1,2 @@
+-- Activity history pages look up the patient's revisions by username
+CREATE INDEX `revinfo_username_idx` ON `revinfo`(`username`);
@@ -0,0 +1,30 @@
+-- Denormalized activity history rows, one per shown entity change, written together with the Envers revision
+CREATE TABLE `patient_activity` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `revision_rev` BIGINT NOT NULL,
+  `username` VARCHAR(255) NULL,
+  `revision_timestamp` BIGINT NOT NULL,
+  `revision_type` TINYINT NULL,
+  `rec_type` VARCHAR(255) NULL,
+  `entity_class_name` VARCHAR(255) NULL,
+  CONSTRAINT `PK_PATIENT_ACTIVITY` PRIMARY KEY (`id`),
+  CONSTRAINT `FK_PATIENT_ACTIVITY_REVISION` FOREIGN KEY (`revision_rev`) REFERENCES `revinfo` (`rev`)
+) ENGINE=InnoDB;
+
+CREATE INDEX `patient_activity_username_id_idx` ON `patient_activity`(`username`, `id`);
+
+-- Backfill the existing revisions, keeping their activity ids so the history order and cursors stay the same
+INSERT INTO `patient_activity` (`id`, `revision_rev`, `username`, `revision_timestamp`, `revision_type`, `rec_type`,
+  `entity_class_name`)
+SELECT m.id, r.rev, r.username, r.revtstmp, m.revision_type, rtc.display_name, m.entity_class_name
+FROM `modified_entity_type_entity` m
+  JOIN `revinfo` r ON r.rev = m.revision_rev
+  LEFT JOIN `revision_type_code` rtc ON rtc.code = m.revision_type
+WHERE
+  CASE
+    WHEN m.entity_class_name = 'gov.samhsa.c2s.pcm.domain.patient.Patient'
+      THEN m.revision_type <> 1
+    WHEN m.entity_class_name = 'gov.samhsa.c2s.pcm.domain.consent.Consent'
+      THEN m.revision_type >= 0
+    ELSE TRUE
+  END;
@@ -0,0 +1,8 @@
+-- Next unreserved value of each identifier sequence; every PCM node reserves blocks of values from it
+CREATE TABLE `identifier_block` (
+  `name` VARCHAR(64) NOT NULL,
+  `next_value` BIGINT NOT NULL,
+  CONSTRAINT `PK_IDENTIFIER_BLOCK` PRIMARY KEY (`name`)
+) ENGINE=InnoDB;
+
+INSERT INTO `identifier_block` (`name`, `next_value`) VALUES ('oid', 1), ('policy_id', 1);
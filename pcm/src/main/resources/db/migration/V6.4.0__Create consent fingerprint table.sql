@@ -0,0 +1,39 @@
+-- One row per (from npi, to npi, purpose of use) tuple of a consent, used for conflict detection
+CREATE TABLE `consent_fingerprint` (
+  `id` BIGINT AUTO_INCREMENT NOT NULL,
+  `consent_id` BIGINT NOT NULL,
+  `patient_id` BIGINT NOT NULL,
+  `from_npi` VARCHAR(255) NOT NULL,
+  `to_npi` VARCHAR(255) NOT NULL,
+  `purpose_of_use_code` VARCHAR(250) NOT NULL,
+  `start_date` DATETIME NOT NULL,
+  `end_date` DATETIME NOT NULL,
+  `revoked` BIT(1) NOT NULL,
+  CONSTRAINT `PK_CONSENT_FINGERPRINT` PRIMARY KEY (`id`)
+) ENGINE=InnoDB;
+
+CREATE INDEX `consent_fingerprint_lookup_idx` ON `consent_fingerprint`(`patient_id`, `revoked`, `from_npi`, `to_npi`, `purpose_of_use_code`);
+CREATE INDEX `consent_fingerprint_consent_id_idx` ON `consent_fingerprint`(`consent_id`);
+
+-- Backfill fingerprints of the existing consents
+INSERT INTO `consent_fingerprint` (`consent_id`, `patient_id`, `from_npi`, `to_npi`, `purpose_of_use_code`, `start_date`, `end_date`, `revoked`)
+SELECT DISTINCT c.id, c.patient_id, from_provider.npi, to_provider.npi, pou.code, c.start_date, c.end_date,
+  (c.status = 'REVOCATION_REVOKED' AND c.attested_consent_id IS NOT NULL AND c.attested_consent_revocation_id IS NOT NULL)
+FROM `consent` c
+  JOIN (
+    SELECT cip.consent_id, ip.npi FROM `consent_individual_provider_permitted_to_disclose` cip
+      JOIN `individual_provider` ip ON ip.id = cip.individual_provider_id
+    UNION
+    SELECT cop.consent_id, op.npi FROM `consent_organizational_provider_permitted_to_disclose` cop
+      JOIN `organizational_provider` op ON op.id = cop.organizational_provider_id
+  ) from_provider ON from_provider.consent_id = c.id
+  JOIN (
+    SELECT cip.consent_id, ip.npi FROM `consent_individual_provider_disclosure_is_made_to` cip
+      JOIN `individual_provider` ip ON ip.id = cip.individual_provider_id
+    UNION
+    SELECT cop.consent_id, op.npi FROM `consent_organizational_provider_disclosure_is_made_to` cop
+      JOIN `organizational_provider` op ON op.id = cop.organizational_provider_id
+  ) to_provider ON to_provider.consent_id = c.id
+  JOIN `consent_share_for_purpose_of_use_code` cpou ON cpou.consent_id = c.id
+  JOIN `purpose_of_use_code` pou ON pou.id = cpou.purpose_of_use_code_id
+WHERE c.start_date IS NOT NULL AND c.end_date IS NOT NULL;
@@ -0,0 +1,15 @@
+-- Signed consents waiting to be published to the HIE as FHIR Consent resources
+CREATE TABLE `fhir_consent_outbox` (
+  `id` BIGINT AUTO_INCREMENT NOT NULL,
+  `consent_id` BIGINT NOT NULL,
+  `fhir_consent` LONGTEXT NOT NULL,
+  `status` VARCHAR(255) NOT NULL,
+  `attempts` INT NOT NULL,
+  `created_date_time` DATETIME NOT NULL,
+  `next_attempt_date_time` DATETIME NOT NULL,
+  `published_date_time` DATETIME NULL,
+  `last_error` VARCHAR(2000) NULL,
+  CONSTRAINT `PK_FHIR_CONSENT_OUTBOX` PRIMARY KEY (`id`)
+) ENGINE=InnoDB;
+
+CREATE INDEX `fhir_consent_outbox_status_next_attempt_idx` ON `fhir_consent_outbox`(`status`, `next_attempt_date_time`);
@@ -0,0 +1,72 @@
+-- Denormalized consent list rows, one per consent; multi-valued columns are newline separated
+CREATE TABLE `consent_summary` (
+  `consent_id` BIGINT NOT NULL,
+  `patient_id` BIGINT NOT NULL,
+  `status` VARCHAR(255) NULL,
+  `start_date` DATETIME NULL,
+  `end_date` DATETIME NULL,
+  `to_disclose_names` TEXT NULL,
+  `is_made_to_names` TEXT NULL,
+  `do_not_share_clinical_document_type_names` TEXT NULL,
+  `do_not_share_sensitivity_policy_codes` TEXT NULL,
+  `do_not_share_sensitivity_policy_names` TEXT NULL,
+  `share_for_purpose_of_use_codes` TEXT NULL,
+  `share_for_purpose_of_use_names` TEXT NULL,
+  `do_not_share_clinical_concept_code_names` TEXT NULL,
+  CONSTRAINT `PK_CONSENT_SUMMARY` PRIMARY KEY (`consent_id`)
+) ENGINE=InnoDB;
+
+CREATE INDEX `consent_summary_patient_id_start_date_idx` ON `consent_summary`(`patient_id`, `start_date`);
+
+-- Backfill summaries of the existing consents
+SET SESSION group_concat_max_len = 1000000;
+
+INSERT INTO `consent_summary` (`consent_id`, `patient_id`, `status`, `start_date`, `end_date`, `to_disclose_names`,
+  `is_made_to_names`, `do_not_share_clinical_document_type_names`, `do_not_share_sensitivity_policy_codes`,
+  `do_not_share_sensitivity_policy_names`, `share_for_purpose_of_use_codes`, `share_for_purpose_of_use_names`,
+  `do_not_share_clinical_concept_code_names`)
+SELECT c.id, c.patient_id, c.status, c.start_date, c.end_date,
+  CONCAT_WS('\n',
+    (SELECT GROUP_CONCAT(DISTINCT CONCAT(ip.last_name, ', ', ip.first_name) ORDER BY ip.last_name, ip.first_name SEPARATOR '\n')
+       FROM `consent_individual_provider_permitted_to_disclose` cip
+       JOIN `individual_provider` ip ON ip.id = cip.individual_provider_id
+      WHERE cip.consent_id = c.id),
+    (SELECT GROUP_CONCAT(DISTINCT op.org_name ORDER BY op.org_name SEPARATOR '\n')
+       FROM `consent_organizational_provider_permitted_to_disclose` cop
+       JOIN `organizational_provider` op ON op.id = cop.organizational_provider_id
+      WHERE cop.consent_id = c.id)),
+  CONCAT_WS('\n',
+    (SELECT GROUP_CONCAT(DISTINCT CONCAT(ip.last_name, ', ', ip.first_name) ORDER BY ip.last_name, ip.first_name SEPARATOR '\n')
+       FROM `consent_individual_provider_disclosure_is_made_to` cip
+       JOIN `individual_provider` ip ON ip.id = cip.individual_provider_id
+      WHERE cip.consent_id = c.id),
+    (SELECT GROUP_CONCAT(DISTINCT op.org_name ORDER BY op.org_name SEPARATOR '\n')
+       FROM `consent_organizational_provider_disclosure_is_made_to` cop
+       JOIN `organizational_provider` op ON op.id = cop.organizational_provider_id
+      WHERE cop.consent_id = c.id)),
+  (SELECT GROUP_CONCAT(DISTINCT cdtc.display_name ORDER BY cdtc.display_name SEPARATOR '\n')
+     FROM `consent_do_not_share_clinical_document_type_code` cd
+     JOIN `clinical_document_type_code` cdtc ON cdtc.id = cd.clinical_document_type_code_id
+    WHERE cd.consent_id = c.id),
+  (SELECT GROUP_CONCAT(DISTINCT vsc.code ORDER BY vsc.code SEPARATOR '\n')
+     FROM `consent_do_not_share_sensitivity_policy_code` cs
+     JOIN `value_set_category` vsc ON vsc.id = cs.value_set_category_id
+    WHERE cs.consent_id = c.id),
+  (SELECT GROUP_CONCAT(DISTINCT vsc.name ORDER BY vsc.name SEPARATOR '\n')
+     FROM `consent_do_not_share_sensitivity_policy_code` cs
+     JOIN `value_set_category` vsc ON vsc.id = cs.value_set_category_id
+    WHERE cs.consent_id = c.id),
+  (SELECT GROUP_CONCAT(DISTINCT pou.code ORDER BY pou.code SEPARATOR '\n')
+     FROM `consent_share_for_purpose_of_use_code` cpou
+     JOIN `purpose_of_use_code` pou ON pou.id = cpou.purpose_of_use_code_id
+    WHERE cpou.consent_id = c.id),
+  (SELECT GROUP_CONCAT(DISTINCT pou.display_name ORDER BY pou.display_name SEPARATOR '\n')
+     FROM `consent_share_for_purpose_of_use_code` cpou
+     JOIN `purpose_of_use_code` pou ON pou.id = cpou.purpose_of_use_code_id
+    WHERE cpou.consent_id = c.id),
+  (SELECT GROUP_CONCAT(DISTINCT ccc.display_name ORDER BY ccc.display_name SEPARATOR '\n')
+     FROM `consent_do_not_share_clinical_concept_codes` cc
+     JOIN `clinical_concept_code` ccc ON ccc.id = cc.do_not_share_clinical_concept_codes_id
+    WHERE cc.consent_id = c.id)
+FROM `consent` c
+WHERE c.patient_id IS NOT NULL;
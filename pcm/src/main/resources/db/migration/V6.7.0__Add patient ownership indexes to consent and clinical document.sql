@@ -0,0 +1,4 @@
+-- Ownership lookups resolve the patient through the unique patient_username_idx and then
+-- probe (patient_id, id) on the owned table instead of loading the patient's whole collection
+CREATE INDEX `consent_patient_id_id_idx` ON `consent`(`patient_id`, `id`);
+CREATE INDEX `clinical_document_patient_id_id_idx` ON `clinical_document`(`patient_id`, `id`);
@@ -0,0 +1,79 @@
+-- Content-addressed store for the generated and signed consent documents, keyed by the SHA-256 of the uncompressed content
+CREATE TABLE `artifact` (
+  `artifact_key` CHAR(64) NOT NULL,
+  `content` LONGBLOB NOT NULL,
+  `compressed` BIT(1) NOT NULL,
+  `size` BIGINT NOT NULL,
+  `created_date_time` DATETIME NOT NULL,
+  CONSTRAINT `PK_ARTIFACT` PRIMARY KEY (`artifact_key`)
+) ENGINE=InnoDB;
+
+-- Move the existing documents as they are; the store gzip compresses everything it writes from now on
+INSERT IGNORE INTO `artifact` (`artifact_key`, `content`, `compressed`, `size`, `created_date_time`)
+SELECT SHA2(`exportedcdar2consent`, 256), `exportedcdar2consent`, 0, LENGTH(`exportedcdar2consent`), NOW() FROM `consent` WHERE `exportedcdar2consent` IS NOT NULL;
+INSERT IGNORE INTO `artifact` (`artifact_key`, `content`, `compressed`, `size`, `created_date_time`)
+SELECT SHA2(`exportedxacmlconsent`, 256), `exportedxacmlconsent`, 0, LENGTH(`exportedxacmlconsent`), NOW() FROM `consent` WHERE `exportedxacmlconsent` IS NOT NULL;
+INSERT IGNORE INTO `artifact` (`artifact_key`, `content`, `compressed`, `size`, `created_date_time`)
+SELECT SHA2(`xacml_ccd`, 256), `xacml_ccd`, 0, LENGTH(`xacml_ccd`), NOW() FROM `consent` WHERE `xacml_ccd` IS NOT NULL;
+INSERT IGNORE INTO `artifact` (`artifact_key`, `content`, `compressed`, `size`, `created_date_time`)
+SELECT SHA2(`xacml_pdf_consent_from`, 256), `xacml_pdf_consent_from`, 0, LENGTH(`xacml_pdf_consent_from`), NOW() FROM `consent` WHERE `xacml_pdf_consent_from` IS NOT NULL;
+INSERT IGNORE INTO `artifact` (`artifact_key`, `content`, `compressed`, `size`, `created_date_time`)
+SELECT SHA2(`xacml_pdf_consent_to`, 256), `xacml_pdf_consent_to`, 0, LENGTH(`xacml_pdf_consent_to`), NOW() FROM `consent` WHERE `xacml_pdf_consent_to` IS NOT NULL;
+INSERT IGNORE INTO `artifact` (`artifact_key`, `content`, `compressed`, `size`, `created_date_time`)
+SELECT SHA2(`un_attested_pdf_consent`, 256), `un_attested_pdf_consent`, 0, LENGTH(`un_attested_pdf_consent`), NOW() FROM `consent` WHERE `un_attested_pdf_consent` IS NOT NULL;
+INSERT IGNORE INTO `artifact` (`artifact_key`, `content`, `compressed`, `size`, `created_date_time`)
+SELECT SHA2(`un_attested_pdf_consent_revoke`, 256), `un_attested_pdf_consent_revoke`, 0, LENGTH(`un_attested_pdf_consent_revoke`), NOW() FROM `consent` WHERE `un_attested_pdf_consent_revoke` IS NOT NULL;
+INSERT IGNORE INTO `artifact` (`artifact_key`, `content`, `compressed`, `size`, `created_date_time`)
+SELECT SHA2(`attested_pdf_consent`, 256), `attested_pdf_consent`, 0, LENGTH(`attested_pdf_consent`), NOW() FROM `attested_consent` WHERE `attested_pdf_consent` IS NOT NULL;
+INSERT IGNORE INTO `artifact` (`artifact_key`, `content`, `compressed`, `size`, `created_date_time`)
+SELECT SHA2(`attested_pdf_consent`, 256), `attested_pdf_consent`, 0, LENGTH(`attested_pdf_consent`), NOW() FROM `attested_consent_aud` WHERE `attested_pdf_consent` IS NOT NULL;
+INSERT IGNORE INTO `artifact` (`artifact_key`, `content`, `compressed`, `size`, `created_date_time`)
+SELECT SHA2(`attested_pdf_consent_revoke`, 256), `attested_pdf_consent_revoke`, 0, LENGTH(`attested_pdf_consent_revoke`), NOW() FROM `attested_consent_revocation` WHERE `attested_pdf_consent_revoke` IS NOT NULL;
+INSERT IGNORE INTO `artifact` (`artifact_key`, `content`, `compressed`, `size`, `created_date_time`)
+SELECT SHA2(`attested_pdf_consent_revoke`, 256), `attested_pdf_consent_revoke`, 0, LENGTH(`attested_pdf_consent_revoke`), NOW() FROM `attested_consent_revocation_aud` WHERE `attested_pdf_consent_revoke` IS NOT NULL;
+
+-- Replace the documents in the consent tables with their artifact keys
+ALTER TABLE `consent`
+  ADD `exported_cdar2_consent_artifact_key` CHAR(64) NULL,
+  ADD `exported_xacml_consent_artifact_key` CHAR(64) NULL,
+  ADD `xacml_ccd_artifact_key` CHAR(64) NULL,
+  ADD `xacml_pdf_consent_from_artifact_key` CHAR(64) NULL,
+  ADD `xacml_pdf_consent_to_artifact_key` CHAR(64) NULL,
+  ADD `un_attested_pdf_consent_artifact_key` CHAR(64) NULL,
+  ADD `un_attested_pdf_consent_revoke_artifact_key` CHAR(64) NULL;
+UPDATE `consent` SET
+  `exported_cdar2_consent_artifact_key` = SHA2(`exportedcdar2consent`, 256),
+  `exported_xacml_consent_artifact_key` = SHA2(`exportedxacmlconsent`, 256),
+  `xacml_ccd_artifact_key` = SHA2(`xacml_ccd`, 256),
+  `xacml_pdf_consent_from_artifact_key` = SHA2(`xacml_pdf_consent_from`, 256),
+  `xacml_pdf_consent_to_artifact_key` = SHA2(`xacml_pdf_consent_to`, 256),
+  `un_attested_pdf_consent_artifact_key` = SHA2(`un_attested_pdf_consent`, 256),
+  `un_attested_pdf_consent_revoke_artifact_key` = SHA2(`un_attested_pdf_consent_revoke`, 256);
+ALTER TABLE `consent`
+  DROP COLUMN `exportedcdar2consent`,
+  DROP COLUMN `exportedxacmlconsent`,
+  DROP COLUMN `xacml_ccd`,
+  DROP COLUMN `xacml_pdf_consent_from`,
+  DROP COLUMN `xacml_pdf_consent_to`,
+  DROP COLUMN `un_attested_pdf_consent`,
+  DROP COLUMN `un_attested_pdf_consent_revoke`;
+
+ALTER TABLE `attested_consent` ADD `attested_pdf_consent_artifact_key` CHAR(64) NULL;
+UPDATE `attested_consent` SET `attested_pdf_consent_artifact_key` = SHA2(`attested_pdf_consent`, 256);
+ALTER TABLE `attested_consent` MODIFY `attested_pdf_consent_artifact_key` CHAR(64) NOT NULL;
+ALTER TABLE `attested_consent` DROP COLUMN `attested_pdf_consent`;
+
+ALTER TABLE `attested_consent_aud` ADD `attested_pdf_consent_artifact_key` CHAR(64) NULL;
+UPDATE `attested_consent_aud` SET `attested_pdf_consent_artifact_key` = SHA2(`attested_pdf_consent`, 256);
+ALTER TABLE `attested_consent_aud` DROP COLUMN `attested_pdf_consent`;
+ALTER TABLE `attested_consent_aud` CHANGE COLUMN `attested_pdf_consent_mod` `attested_pdf_consent_artifact_key_mod` BIT(1) DEFAULT NULL;
+
+ALTER TABLE `attested_consent_revocation` ADD `attested_pdf_consent_revoke_artifact_key` CHAR(64) NULL;
+UPDATE `attested_consent_revocation` SET `attested_pdf_consent_revoke_artifact_key` = SHA2(`attested_pdf_consent_revoke`, 256);
+ALTER TABLE `attested_consent_revocation` MODIFY `attested_pdf_consent_revoke_artifact_key` CHAR(64) NOT NULL;
+ALTER TABLE `attested_consent_revocation` DROP COLUMN `attested_pdf_consent_revoke`;
+
+ALTER TABLE `attested_consent_revocation_aud` ADD `attested_pdf_consent_revoke_artifact_key` CHAR(64) NULL;
+UPDATE `attested_consent_revocation_aud` SET `attested_pdf_consent_revoke_artifact_key` = SHA2(`attested_pdf_consent_revoke`, 256);
+ALTER TABLE `attested_consent_revocation_aud` DROP COLUMN `attested_pdf_consent_revoke`;
+ALTER TABLE `attested_consent_revocation_aud` CHANGE COLUMN `attested_pdf_consent_revoke_mod` `attested_pdf_consent_revoke_artifact_key_mod` BIT(1) DEFAULT NULL;
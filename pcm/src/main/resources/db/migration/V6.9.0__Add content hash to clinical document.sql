@@ -0,0 +1,9 @@
+-- SHA-256 of the document content, served as the strong ETag so that revalidating a download
+-- never reads the content LOB
+ALTER TABLE `clinical_document` ADD COLUMN `content_hash` CHAR(64);
+ALTER TABLE `clinical_document_audit` ADD COLUMN `content_hash` CHAR(64);
+
+-- Backfill the existing documents; document_size is the Content-Length of the streamed download,
+-- so it is aligned with the stored content as well
+UPDATE `clinical_document` SET `content_hash` = SHA2(`content`, 256), `document_size` = LENGTH(`content`);
+UPDATE `clinical_document_audit` SET `content_hash` = SHA2(`content`, 256) WHERE `content` IS NOT NULL;
@@ -0,0 +1,51 @@
+package gov.samhsa.c2s.pcm.domain.audit;
+
+import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import org.hibernate.envers.RevisionType;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RevisionListenerImplTest {
+
+    private RevisionListenerImpl sut;
+
+    private RevisionInfoEntity revisionEntity;
+
+    @Before
+    public void setUp() {
+        sut = new RevisionListenerImpl();
+        revisionEntity = new RevisionInfoEntity();
+        revisionEntity.setUsername("alice");
+        revisionEntity.setTimestamp(1500000000000L);
+    }
+
+    @Test
+    public void testEntityChanged_adds_patient_activity() {
+        // Act
+        sut.entityChanged(Consent.class, Consent.class.getName(), 1L, RevisionType.DEL, revisionEntity);
+
+        // Assert
+        assertEquals(1, revisionEntity.getModifiedEntityTypes().size());
+        assertEquals(1, revisionEntity.getPatientActivities().size());
+        final PatientActivity patientActivity = revisionEntity.getPatientActivities().iterator().next();
+        assertEquals("alice", patientActivity.getUsername());
+        assertEquals(1500000000000L, patientActivity.getRevisionTimestamp());
+        assertEquals(Byte.valueOf((byte) 2), patientActivity.getRevisionType());
+        assertEquals("Delete entry", patientActivity.getRecType());
+        assertEquals(Consent.class.getName(), patientActivity.getEntityClassName());
+    }
+
+    @Test
+    public void testEntityChanged_skips_patient_updates() {
+        // Act
+        sut.entityChanged(Patient.class, Patient.class.getName(), 1L, RevisionType.MOD, revisionEntity);
+
+        // Assert
+        assertEquals(1, revisionEntity.getModifiedEntityTypes().size());
+        assertTrue(revisionEntity.getPatientActivities().isEmpty());
+    }
+}
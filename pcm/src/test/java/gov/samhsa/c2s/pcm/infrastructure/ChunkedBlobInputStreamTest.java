@@ -0,0 +1,105 @@
+package gov.samhsa.c2s.pcm.infrastructure;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ChunkedBlobInputStreamTest {
+
+    private static final String CHUNK_SQL = "SELECT SUBSTRING(content, ?, ?) FROM artifact WHERE artifact_key = ?";
+
+    private static final String KEY = "key";
+
+    @Mock
+    private JdbcOperations jdbcOperations;
+
+    private byte[] content;
+
+    @Before
+    public void setUp() {
+        content = new byte[25];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        // answers like MySQL SUBSTRING, with a 1-based position
+        when(jdbcOperations.queryForList(eq(CHUNK_SQL), eq(byte[].class), anyVararg())).thenAnswer(invocation -> {
+            final Object[] arguments = invocation.getArguments();
+            final int from = (int) ((Long) arguments[2] - 1);
+            final int to = Math.min(content.length, from + (Integer) arguments[3]);
+            return Collections.singletonList(from >= content.length ? new byte[0] : Arrays.copyOfRange(content, from, to));
+        });
+    }
+
+    @Test
+    public void testRead_whole_content_in_chunks() throws Exception {
+        // Arrange
+        final ChunkedBlobInputStream sut = new ChunkedBlobInputStream(jdbcOperations, CHUNK_SQL, KEY, 0,
+                Long.MAX_VALUE, 10);
+
+        // Act
+        final byte[] read = StreamUtils.copyToByteArray(sut);
+
+        // Assert
+        assertArrayEquals(content, read);
+        verify(jdbcOperations, times(3)).queryForList(eq(CHUNK_SQL), eq(byte[].class), anyVararg());
+    }
+
+    @Test
+    public void testRead_range_queries_only_the_range() throws Exception {
+        // Arrange
+        final ChunkedBlobInputStream sut = new ChunkedBlobInputStream(jdbcOperations, CHUNK_SQL, KEY, 12, 5, 10);
+
+        // Act
+        final byte[] read = StreamUtils.copyToByteArray(sut);
+
+        // Assert
+        assertArrayEquals(Arrays.copyOfRange(content, 12, 17), read);
+        verify(jdbcOperations).queryForList(CHUNK_SQL, byte[].class, 13L, 5, KEY);
+    }
+
+    @Test
+    public void testSkip_does_not_query_the_skipped_bytes() throws Exception {
+        // Arrange
+        final ChunkedBlobInputStream sut = new ChunkedBlobInputStream(jdbcOperations, CHUNK_SQL, KEY, 0,
+                Long.MAX_VALUE, 10);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        StreamUtils.copyRange(sut, out, 21, 30);
+
+        // Assert
+        assertArrayEquals(Arrays.copyOfRange(content, 21, 25), out.toByteArray());
+        verify(jdbcOperations).queryForList(CHUNK_SQL, byte[].class, 22L, 10, KEY);
+    }
+
+    @Test
+    public void testRead_when_content_is_null() throws Exception {
+        // Arrange
+        when(jdbcOperations.queryForList(eq(CHUNK_SQL), eq(byte[].class), anyVararg()))
+                .thenReturn(Collections.<byte[]>singletonList(null));
+        final ChunkedBlobInputStream sut = new ChunkedBlobInputStream(jdbcOperations, CHUNK_SQL, KEY);
+
+        // Act
+        final int read = sut.read();
+
+        // Assert
+        assertEquals(-1, read);
+    }
+}
@@ -0,0 +1,140 @@
+package gov.samhsa.c2s.pcm.infrastructure.pagination;
+
+import gov.samhsa.c2s.pcm.infrastructure.SqlScriptProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JdbcPagingRepositoryImplTest {
+
+    private static final String SQL_SCRIPT = "SELECT m.id AS activity_id, r.username AS username FROM modified_entity_type_entity m LEFT JOIN revinfo AS r ON r.rev = m.revision_rev";
+    private static final String FROM_CLAUSE = " modified_entity_type_entity m LEFT JOIN revinfo AS r ON r.rev = m.revision_rev";
+
+    @Mock
+    JdbcOperations jdbcOperations;
+
+    @Mock
+    SqlScriptProvider sqlScriptProvider;
+
+    @Mock
+    SetQueryInfoMapping queryInfoMapping;
+
+    @InjectMocks
+    JdbcPagingRepositoryImpl sut;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+        when(sqlScriptProvider.getSqlScript()).thenReturn(SQL_SCRIPT);
+        when(queryInfoMapping.getTableName()).thenReturn("revinfo");
+        when(queryInfoMapping.getIdColumn()).thenReturn("r.username");
+        when(queryInfoMapping.getKeysetColumn()).thenReturn("m.id");
+        when(queryInfoMapping.getKeysetColumnLabel()).thenReturn("activity_id");
+        when(queryInfoMapping.getRowMapper()).thenReturn((RowMapper<Long>) (rs, rowNum) -> rs.getLong("activity_id"));
+        sut.parseSqlScript();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFindAllByArgs_binds_paging_and_skips_count_for_short_first_page() {
+        // Arrange
+        when(jdbcOperations.query(anyString(), any(RowMapper.class), (Object[]) anyVararg()))
+                .thenReturn(new ArrayList<>(Arrays.asList(9L, 8L)));
+
+        // Act
+        final Page<Long> page = sut.findAllByArgs(new PageRequest(0, 10, Sort.Direction.DESC, "activity_id"), "alice");
+
+        // Assert
+        assertEquals(2, page.getTotalElements());
+        verify(jdbcOperations).query(eq("SELECT  m.id AS activity_id, r.username AS username  FROM " + FROM_CLAUSE
+                        + " WHERE r.username = ? ORDER BY activity_id DESC LIMIT ?, ?"),
+                any(RowMapper.class), eq("alice"), eq(0), eq(10));
+        verify(jdbcOperations, never()).queryForObject(anyString(), eq(Long.class), (Object[]) anyVararg());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFindAllByArgs_counts_full_page() {
+        // Arrange
+        when(jdbcOperations.query(anyString(), any(RowMapper.class), (Object[]) anyVararg()))
+                .thenReturn(new ArrayList<>(Arrays.asList(9L, 8L)));
+        when(jdbcOperations.queryForObject("SELECT COUNT(*) FROM " + FROM_CLAUSE + " WHERE r.username = ?",
+                Long.class, "alice")).thenReturn(5L);
+
+        // Act
+        final Page<Long> page = sut.findAllByArgs(new PageRequest(1, 2), "alice");
+
+        // Assert
+        assertEquals(5, page.getTotalElements());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFindAllByArgsBeforeKey() throws Exception {
+        // Arrange
+        final ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("activity_id")).thenReturn(7L, 7L, 6L, 6L, 5L, 5L);
+        when(jdbcOperations.query(eq("SELECT  m.id AS activity_id, r.username AS username  FROM " + FROM_CLAUSE
+                        + " WHERE r.username = ? AND m.id < ? ORDER BY m.id DESC LIMIT ?"),
+                any(RowMapper.class), eq("alice"), eq(8L), eq(3))).thenAnswer(invocation -> {
+            final RowMapper<Long> rowMapper = (RowMapper<Long>) invocation.getArguments()[1];
+            final List<Long> rows = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                rows.add(rowMapper.mapRow(resultSet, i));
+            }
+            return rows;
+        });
+
+        // Act
+        final KeysetSlice<Long> slice = sut.findAllByArgsBeforeKey(8L, 2, false, "alice");
+
+        // Assert
+        assertEquals(Arrays.asList(7L, 6L), slice.getContent());
+        assertTrue(slice.hasNext());
+        assertEquals(Long.valueOf(6L), slice.getLastKey());
+        assertNull(slice.getTotalElements());
+    }
+
+    @Test
+    public void testKeysetCursor_round_trip() {
+        // Act
+        final String cursor = KeysetCursor.encode(42L);
+
+        // Assert
+        assertEquals(42L, KeysetCursor.decode(cursor));
+        assertFalse(cursor.contains("42"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeysetCursor_decode_when_cursor_is_tampered() {
+        // Act
+        KeysetCursor.decode("NDI");
+    }
+}
@@ -0,0 +1,133 @@
+package gov.samhsa.c2s.pcm.service.artifact;
+
+import gov.samhsa.c2s.pcm.service.exception.ArtifactStoreException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FileSystemArtifactStoreTest {
+
+    private static final byte[] CONTENT = "<Policy>consent</Policy>".getBytes();
+    private static final String CONTENT_KEY = "63f3e8aafd5c5faed25c7477b0d92472809c4c23ddfd2467b5fd7e2e39a1a6aa";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private ArtifactStore fallbackArtifactStore;
+
+    private FileSystemArtifactStore sut;
+
+    @Before
+    public void setUp() throws Exception {
+        sut = new FileSystemArtifactStore(temporaryFolder.getRoot().toPath(), fallbackArtifactStore);
+    }
+
+    @Test
+    public void testStore_round_trip() {
+        // Act
+        String key = sut.store(CONTENT);
+
+        // Assert
+        assertEquals(CONTENT_KEY, key);
+        assertTrue(sut.contains(key));
+        assertArrayEquals(CONTENT, sut.read(key));
+    }
+
+    @Test
+    public void testStore_keeps_a_single_compressed_copy() throws Exception {
+        // Act
+        String firstKey = sut.store(CONTENT);
+        String secondKey = sut.store(CONTENT.clone());
+
+        // Assert
+        assertEquals(firstKey, secondKey);
+        try (Stream<Path> files = Files.walk(temporaryFolder.getRoot().toPath())) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+        Path file = temporaryFolder.getRoot().toPath()
+                .resolve(firstKey.substring(0, 2)).resolve(firstKey.substring(2, 4)).resolve(firstKey + ".gz");
+        byte[] stored = Files.readAllBytes(file);
+        // gzip magic number
+        assertEquals((byte) 0x1f, stored[0]);
+        assertEquals((byte) 0x8b, stored[1]);
+    }
+
+    @Test
+    public void testCopyTo_reads_missing_artifact_from_fallback() {
+        // Arrange
+        OutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        sut.copyTo(CONTENT_KEY, out);
+
+        // Assert
+        verify(fallbackArtifactStore).copyTo(CONTENT_KEY, out, 0, Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testCopyTo_range() {
+        // Arrange
+        String key = sut.store(CONTENT);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        sut.copyTo(key, out, 8, 7);
+
+        // Assert
+        assertEquals("consent", new String(out.toByteArray()));
+    }
+
+    @Test
+    public void testGetSize_reads_uncompressed_size() {
+        // Arrange
+        String key = sut.store(CONTENT);
+
+        // Act
+        long size = sut.getSize(key);
+
+        // Assert
+        assertEquals(CONTENT.length, size);
+    }
+
+    @Test
+    public void testStore_skips_artifact_already_in_fallback() {
+        // Arrange
+        when(fallbackArtifactStore.contains(CONTENT_KEY)).thenReturn(true);
+
+        // Act
+        String key = sut.store(CONTENT);
+
+        // Assert
+        assertEquals(CONTENT_KEY, key);
+        assertEquals(0, temporaryFolder.getRoot().list().length);
+        verify(fallbackArtifactStore, never()).copyTo(anyString(), any(OutputStream.class), anyLong(), anyLong());
+    }
+
+    @Test(expected = ArtifactStoreException.class)
+    public void testRead_rejects_invalid_key() {
+        // Act
+        sut.read("../../etc/passwd");
+    }
+}
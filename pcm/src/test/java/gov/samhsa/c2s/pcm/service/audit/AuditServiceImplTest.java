@@ -0,0 +1,137 @@
+package gov.samhsa.c2s.pcm.service.audit;
+
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.domain.patient.PatientName;
+import gov.samhsa.c2s.pcm.domain.patient.PatientRepository;
+import gov.samhsa.c2s.pcm.infrastructure.pagination.JdbcPagingRepository;
+import gov.samhsa.c2s.pcm.infrastructure.pagination.KeysetSlice;
+import gov.samhsa.c2s.pcm.service.audit.domain.ActivityHistory;
+import gov.samhsa.c2s.pcm.service.dto.ActivityHistorySliceDto;
+import gov.samhsa.c2s.pcm.service.dto.HistoryDto;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AuditServiceImplTest {
+
+    @Mock
+    PatientRepository patientRepository;
+
+    @Mock
+    JdbcPagingRepository jdbcPagingRepository;
+
+    @Spy
+    ActivityHistoryMapper activityHistoryMapper = new ActivityHistoryMapperImpl();
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    PcmProperties pcmProperties;
+
+    @Mock
+    MessageSource messageSource;
+
+    @InjectMocks
+    AuditServiceImpl sut;
+
+    @Before
+    public void setUp() {
+        when(patientRepository.findNamesByUsernameIn(anyCollectionOf(String.class)))
+                .thenReturn(Collections.singletonList(new PatientName("alice", "Alice", "Smith")));
+        when(jdbcPagingRepository.findAllByArgsBeforeKey(any(Long.class), anyInt(), anyBoolean(), eq("alice")))
+                .thenReturn(new KeysetSlice<>(Arrays.asList(
+                        new ActivityHistory(3L, 30L, "alice", "Create new entry", "gov.samhsa.c2s.pcm.domain.consent.AttestedConsent", "01/01/2017 00:00:00"),
+                        new ActivityHistory(2L, 20L, "alice", "Changed entry", "gov.samhsa.c2s.pcm.domain.provider.IndividualProvider", "01/01/2017 00:00:00"),
+                        new ActivityHistory(1L, 10L, "alice", "Create new entry", "gov.samhsa.c2s.pcm.domain.provider.IndividualProvider", "01/01/2017 00:00:00")),
+                        10, false, 1L, null));
+    }
+
+    @After
+    public void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    public void testFindActivityHistorySlice_resolves_names_once_per_page() {
+        // Arrange
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+
+        // Act
+        final ActivityHistorySliceDto slice = sut.findActivityHistorySlice("alice", null, false);
+
+        // Assert
+        verify(patientRepository, times(1)).findNamesByUsernameIn(Collections.singleton("alice"));
+        verify(patientRepository, never()).findByUsername(any(String.class));
+        verify(messageSource, never()).getMessage(any(String.class), any(Object[].class), any(Locale.class));
+        assertEquals(3, slice.getHistoryDtoList().size());
+        final HistoryDto attestedConsent = slice.getHistoryDtoList().get(0);
+        assertEquals("Smith, Alice", attestedConsent.getChangedBy());
+        assertEquals("Sign entry", attestedConsent.getRecType());
+        assertEquals("Attested Consent", attestedConsent.getType());
+        final HistoryDto provider = slice.getHistoryDtoList().get(1);
+        assertEquals("Changed entry", provider.getRecType());
+        assertEquals("Patient Provider", provider.getType());
+        assertNull(slice.getNextCursor());
+    }
+
+    @Test
+    public void testFindActivityHistorySlice_memoizes_translations() {
+        // Arrange
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+        when(messageSource.getMessage("REV.TYPE.PATIENT.PROVIDER", null, Locale.FRENCH)).thenReturn("Fournisseur");
+        when(messageSource.getMessage("TYPE.CREATE.NEW.ENTRY", null, Locale.FRENCH)).thenReturn("Nouvelle entrée");
+
+        // Act
+        sut.findActivityHistorySlice("alice", null, false);
+        final ActivityHistorySliceDto slice = sut.findActivityHistorySlice("alice", null, false);
+
+        // Assert
+        final HistoryDto provider = slice.getHistoryDtoList().get(2);
+        assertEquals("Nouvelle entrée", provider.getRecType());
+        assertEquals("Fournisseur", provider.getType());
+        verify(messageSource, times(1)).getMessage("REV.TYPE.PATIENT.PROVIDER", null, Locale.FRENCH);
+        verify(messageSource, times(1)).getMessage("TYPE.CREATE.NEW.ENTRY", null, Locale.FRENCH);
+    }
+
+    @Test
+    public void testFindActivityHistorySlice_keeps_translations_for_a_bounded_number_of_locales() {
+        // Arrange
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+        when(messageSource.getMessage("REV.TYPE.PATIENT.PROVIDER", null, Locale.FRENCH)).thenReturn("Fournisseur");
+        sut.findActivityHistorySlice("alice", null, false);
+        for (int i = 0; i < 16; i++) {
+            LocaleContextHolder.setLocale(new Locale("x" + i));
+            sut.findActivityHistorySlice("alice", null, false);
+        }
+
+        // Act
+        LocaleContextHolder.setLocale(Locale.FRENCH);
+        sut.findActivityHistorySlice("alice", null, false);
+
+        // Assert
+        verify(messageSource, times(2)).getMessage("REV.TYPE.PATIENT.PROVIDER", null, Locale.FRENCH);
+    }
+}
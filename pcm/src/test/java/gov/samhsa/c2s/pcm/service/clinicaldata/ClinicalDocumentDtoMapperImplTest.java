@@ -0,0 +1,102 @@
+package gov.samhsa.c2s.pcm.service.clinicaldata;
+
+import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocument;
+import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentMetadata;
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.domain.reference.ClinicalDocumentTypeCode;
+import gov.samhsa.c2s.pcm.service.dto.ClinicalDocumentDto;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ClinicalDocumentDtoMapperImplTest {
+
+    private final ClinicalDocumentDtoMapperImpl sut = new ClinicalDocumentDtoMapperImpl();
+
+    @Test
+    public void testToClinicalDocumentDto() {
+        // Arrange
+        ClinicalDocumentTypeCode clinicalDocumentTypeCode = new ClinicalDocumentTypeCode();
+        clinicalDocumentTypeCode.setCode("34133-9");
+        clinicalDocumentTypeCode.setDisplayName("Summarization of episode note");
+        Patient patient = new Patient();
+        patient.setId(5L);
+        ClinicalDocument clinicalDocument = new ClinicalDocument();
+        clinicalDocument.setId(11L);
+        clinicalDocument.setVersion(2);
+        clinicalDocument.setName("CCD");
+        clinicalDocument.setClinicalDocumentTypeCode(clinicalDocumentTypeCode);
+        clinicalDocument.setFilename("ccd.xml");
+        clinicalDocument.setContent(new byte[]{1, 2, 3});
+        clinicalDocument.setContentHash("039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81");
+        clinicalDocument.setContentType("text/xml");
+        clinicalDocument.setDocumentSize(3L);
+        clinicalDocument.setPatient(patient);
+
+        // Act
+        ClinicalDocumentDto clinicalDocumentDto = sut.toClinicalDocumentDto(clinicalDocument);
+
+        // Assert
+        assertEquals("11", clinicalDocumentDto.getId());
+        assertEquals(Integer.valueOf(2), clinicalDocumentDto.getVersion());
+        assertEquals("CCD", clinicalDocumentDto.getName());
+        assertEquals("34133-9", clinicalDocumentDto.getClinicalDocumentTypeCode().getCode());
+        assertEquals("Summarization of episode note",
+                clinicalDocumentDto.getClinicalDocumentTypeCode().getDisplayName());
+        assertEquals("ccd.xml", clinicalDocumentDto.getFilename());
+        assertArrayEquals(new byte[]{1, 2, 3}, clinicalDocumentDto.getContent());
+        assertEquals("039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81",
+                clinicalDocumentDto.getContentHash());
+        assertEquals("text/xml", clinicalDocumentDto.getContentType());
+        assertEquals(Long.valueOf(3L), clinicalDocumentDto.getDocumentSize());
+        assertEquals(5L, clinicalDocumentDto.getPatientId());
+        assertNull(clinicalDocumentDto.getDescription());
+    }
+
+    @Test
+    public void testToClinicalDocumentDto_without_type_code_and_patient() {
+        // Act
+        ClinicalDocumentDto clinicalDocumentDto = sut.toClinicalDocumentDto(new ClinicalDocument());
+
+        // Assert
+        assertNull(clinicalDocumentDto.getId());
+        assertNull(clinicalDocumentDto.getClinicalDocumentTypeCode());
+        assertEquals(0L, clinicalDocumentDto.getPatientId());
+    }
+
+    @Test
+    public void testToClinicalDocumentDto_from_metadata() {
+        // Arrange
+        ClinicalDocumentMetadata metadata = new ClinicalDocumentMetadata(11L, 2, "CCD", "Discharge", "ccd.xml",
+                "text/xml", 3L, null, 5L, "34133-9", "2.16.840.1.113883.6.1", "Summarization of episode note",
+                "LOINC", null);
+
+        // Act
+        ClinicalDocumentDto clinicalDocumentDto = sut.toClinicalDocumentDto(metadata);
+
+        // Assert
+        assertEquals("11", clinicalDocumentDto.getId());
+        assertEquals(Integer.valueOf(2), clinicalDocumentDto.getVersion());
+        assertEquals("Discharge", clinicalDocumentDto.getDescription());
+        assertEquals("34133-9", clinicalDocumentDto.getClinicalDocumentTypeCode().getCode());
+        assertEquals("LOINC", clinicalDocumentDto.getClinicalDocumentTypeCode().getCodeSystemName());
+        assertEquals(Long.valueOf(3L), clinicalDocumentDto.getDocumentSize());
+        assertEquals(5L, clinicalDocumentDto.getPatientId());
+        assertNull(clinicalDocumentDto.getContent());
+    }
+
+    @Test
+    public void testToClinicalDocumentDto_from_metadata_without_type_code() {
+        // Arrange
+        ClinicalDocumentMetadata metadata = new ClinicalDocumentMetadata(11L, 0, "CCD", null, "ccd.xml",
+                "text/xml", 3L, null, 5L, null, null, null, null, null);
+
+        // Act
+        ClinicalDocumentDto clinicalDocumentDto = sut.toClinicalDocumentDto(metadata);
+
+        // Assert
+        assertNull(clinicalDocumentDto.getClinicalDocumentTypeCode());
+    }
+}
@@ -2,10 +2,14 @@
 
 import gov.samhsa.c2s.pcm.config.PcmProperties;
 import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocument;
+import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentContentMetadata;
+import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentContentRepository;
+import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentMetadata;
 import gov.samhsa.c2s.pcm.domain.clinicaldata.ClinicalDocumentRepository;
 import gov.samhsa.c2s.pcm.domain.patient.Patient;
 import gov.samhsa.c2s.pcm.domain.patient.PatientRepository;
 import gov.samhsa.c2s.pcm.domain.reference.ClinicalDocumentTypeCodeRepository;
+import gov.samhsa.c2s.pcm.service.dto.CCDDto;
 import gov.samhsa.c2s.pcm.service.dto.ClinicalDocumentDto;
 import gov.samhsa.c2s.pcm.service.dto.PatientProfileDto;
 import jdk.nashorn.internal.ir.annotations.Ignore;
@@ -14,19 +18,28 @@
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
-import org.modelmapper.ModelMapper;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Validator;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -47,10 +60,10 @@ public class ClinicalDocumentServiceImplTest {
     ClinicalDocumentTypeCodeRepository clinicalDocumentTypeCodeRepository;
 
     /**
-     * The model mapper.
+     * The clinical document dto mapper.
      */
     @Mock
-    ModelMapper modelMapper;
+    ClinicalDocumentDtoMapper clinicalDocumentDtoMapper;
 
     /**
      * The patient repository.
@@ -64,6 +77,12 @@ public class ClinicalDocumentServiceImplTest {
     @Mock
     Validator validator;
 
+    /**
+     * The clinical document content repository.
+     */
+    @Mock
+    ClinicalDocumentContentRepository clinicalDocumentContentRepository;
+
     /**
      * The sut.
      */
@@ -94,8 +113,10 @@ public void setUp() throws Exception {
         ClinicalDocumentServiceImpl clinicalDocumentServiceImpl = new ClinicalDocumentServiceImpl(
                 pcmProperties,
                 clinicalDocumentRepository, clinicalDocumentTypeCodeRepository,
-                modelMapper, patientRepository, validator);
+                clinicalDocumentDtoMapper, patientRepository, validator);
         clinicalDocumentServiceImpl.afterPropertiesSet();
+        ReflectionTestUtils.setField(clinicalDocumentServiceImpl, "clinicalDocumentContentRepository",
+                clinicalDocumentContentRepository);
         sut = spy(clinicalDocumentServiceImpl);
     }
 
@@ -201,4 +222,92 @@ public void testFindClinicalDocumentDtoByPatientId() {
         assertEquals(dtos, response);
     }
 
+    @Test
+    public void testFindClinicalDocument() {
+        // Arrange
+        ClinicalDocument clinicalDocument = mock(ClinicalDocument.class);
+        when(clinicalDocumentRepository.findByIdAndPatientUsername(1L, "user1")).thenReturn(clinicalDocument);
+
+        // Act
+        final ClinicalDocument response = sut.findClinicalDocument("user1", 1L);
+
+        // Assert
+        assertEquals(clinicalDocument, response);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testFindClinicalDocument_when_document_is_not_owned() {
+        // Arrange
+        when(clinicalDocumentRepository.findByIdAndPatientUsername(1L, "other")).thenReturn(null);
+
+        // Act
+        sut.findClinicalDocument("other", 1L);
+    }
+
+    @Test
+    public void testIsDocumentBelongsToThisUser() {
+        // Arrange
+        ClinicalDocumentDto clinicalDocumentDto = new ClinicalDocumentDto();
+        clinicalDocumentDto.setId("1");
+        when(clinicalDocumentRepository.countByIdAndPatientUsername(1L, "Owner")).thenReturn(1L);
+
+        // Act
+        final boolean response = sut.isDocumentBelongsToThisUser("Owner", clinicalDocumentDto);
+
+        // Assert
+        assertTrue(response);
+        verify(clinicalDocumentRepository, never()).findByPatientId(anyLong());
+    }
+
+    @Test
+    public void testIsDocumentBelongsToThisUser_when_document_is_not_owned() {
+        // Arrange
+        ClinicalDocumentDto clinicalDocumentDto = new ClinicalDocumentDto();
+        clinicalDocumentDto.setId("1");
+        when(clinicalDocumentRepository.countByIdAndPatientUsername(1L, "other")).thenReturn(0L);
+
+        // Act
+        final boolean response = sut.isDocumentBelongsToThisUser("other", clinicalDocumentDto);
+
+        // Assert
+        assertFalse(response);
+    }
+
+    @Test
+    public void testFindDtoByPatient_does_not_load_the_content() {
+        // Arrange
+        Patient patient = mock(Patient.class);
+        when(patient.getId()).thenReturn(10L);
+        ClinicalDocumentMetadata metadata = mock(ClinicalDocumentMetadata.class);
+        ClinicalDocumentDto clinicalDocumentDto = new ClinicalDocumentDto();
+        when(clinicalDocumentRepository.findMetadataByPatientId(10L)).thenReturn(Arrays.asList(metadata));
+        when(clinicalDocumentDtoMapper.toClinicalDocumentDto(metadata)).thenReturn(clinicalDocumentDto);
+
+        // Act
+        final List<ClinicalDocumentDto> response = sut.findDtoByPatient(patient);
+
+        // Assert
+        assertEquals(Arrays.asList(clinicalDocumentDto), response);
+        assertEquals(10L, clinicalDocumentDto.getPatientId());
+        verify(clinicalDocumentRepository, never()).findByPatientId(anyLong());
+    }
+
+    @Test
+    public void testFindCCDDto_when_document_size_is_unknown() throws Exception {
+        // Arrange
+        final byte[] content = "<ClinicalDocument/>".getBytes(StandardCharsets.UTF_8);
+        when(clinicalDocumentRepository.findContentMetadataByIdAndPatientUsername(1L, "username"))
+                .thenReturn(new ClinicalDocumentContentMetadata(1L, null, null, "text/xml"));
+        when(clinicalDocumentContentRepository.copyContentTo(eq(1L), any(OutputStream.class), eq(0L), eq(Long.MAX_VALUE)))
+                .thenAnswer(invocation -> {
+                    ((OutputStream) invocation.getArguments()[1]).write(content);
+                    return true;
+                });
+
+        // Act
+        final CCDDto response = sut.findCCDDto("username", 1L);
+
+        // Assert
+        assertArrayEquals(content, response.getCCDFile());
+    }
 }
@@ -0,0 +1,155 @@
+package gov.samhsa.c2s.pcm.service.clinicaldata;
+
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.infrastructure.security.ClamAVClientNotAvailableException;
+import gov.samhsa.c2s.pcm.infrastructure.security.ClamAVService;
+import gov.samhsa.c2s.pcm.infrastructure.security.InfectedFileException;
+import gov.samhsa.c2s.pcm.service.dto.ClinicalDocumentDto;
+import gov.samhsa.c2s.pcm.service.exception.InternalServerErrorException;
+import gov.samhsa.c2s.pcm.service.exception.InvalidClinicalDocumentException;
+import gov.samhsa.c2s.pcm.service.exception.OversizedFileException;
+import gov.samhsa.c2s.pcm.service.util.ContentHashUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClinicalDocumentUploadServiceImplTest {
+
+    private static final byte[] CONTENT = "<ClinicalDocument/>".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    ClinicalDocumentService clinicalDocumentService;
+
+    @Mock
+    ClamAVService clamAVService;
+
+    @Mock
+    GaugeService gaugeService;
+
+    @Mock
+    CounterService counterService;
+
+    @InjectMocks
+    ClinicalDocumentUploadServiceImpl sut;
+
+    private MockMultipartFile file;
+
+    @Before
+    public void setUp() {
+        PcmProperties pcmProperties = PcmProperties.builder()
+                .clinicaldata(PcmProperties.ClinicalData.builder()
+                        .upload(PcmProperties.ClinicalData.Upload.builder()
+                                .poolSize(2)
+                                .timeoutInMs(1000L)
+                                .build())
+                        .build())
+                .build();
+        ReflectionTestUtils.setField(sut, "pcmProperties", pcmProperties);
+        ReflectionTestUtils.setField(sut, "clinicalDocumentUploadExecutor", new ConcurrentTaskExecutor(Runnable::run));
+
+        file = new MockMultipartFile("file", "ccd.xml", "text/xml", CONTENT);
+        when(clinicalDocumentService.isDocumentOversized(file)).thenReturn(false);
+        when(clinicalDocumentService.isDocumentExtensionPermitted(file)).thenReturn(true);
+    }
+
+    @Test
+    public void testPrepareUpload() {
+        // Arrange
+        when(clamAVService.scan(any(byte[].class))).thenReturn(true);
+
+        // Act
+        final ClinicalDocumentDto clinicalDocumentDto = sut.prepareUpload(file);
+
+        // Assert
+        assertArrayEquals(CONTENT, clinicalDocumentDto.getContent());
+        assertEquals(ContentHashUtil.sha256Hex(CONTENT), clinicalDocumentDto.getContentHash());
+        assertEquals("ccd.xml", clinicalDocumentDto.getFilename());
+        assertEquals("text/xml", clinicalDocumentDto.getContentType());
+        assertEquals(Long.valueOf(CONTENT.length), clinicalDocumentDto.getDocumentSize());
+        verify(clinicalDocumentService).validate(CONTENT, ContentHashUtil.sha256Hex(CONTENT));
+    }
+
+    @Test(expected = OversizedFileException.class)
+    public void testPrepareUpload_when_file_is_oversized_then_it_is_not_read() {
+        // Arrange
+        when(clinicalDocumentService.isDocumentOversized(file)).thenReturn(true);
+
+        // Act
+        try {
+            sut.prepareUpload(file);
+        } finally {
+            // Assert
+            verify(clamAVService, never()).scan(any(byte[].class));
+            verify(clinicalDocumentService, never()).validate(any(byte[].class), any(String.class));
+        }
+    }
+
+    @Test(expected = InfectedFileException.class)
+    public void testPrepareUpload_when_virus_is_detected() {
+        // Arrange
+        when(clamAVService.scan(any(byte[].class))).thenReturn(false);
+
+        // Act
+        sut.prepareUpload(file);
+    }
+
+    @Test(expected = InvalidClinicalDocumentException.class)
+    public void testPrepareUpload_when_dss_rejects_the_document() {
+        // Arrange
+        when(clamAVService.scan(any(byte[].class))).thenReturn(true);
+        doThrow(new RuntimeException("invalid")).when(clinicalDocumentService).validate(CONTENT, ContentHashUtil.sha256Hex(CONTENT));
+
+        // Act
+        sut.prepareUpload(file);
+    }
+
+    @Test(expected = InfectedFileException.class)
+    public void testPrepareUpload_when_dss_rejects_the_document_before_the_virus_is_detected() {
+        // Arrange
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        ReflectionTestUtils.setField(sut, "clinicalDocumentUploadExecutor", new ConcurrentTaskExecutor(executorService));
+        when(clamAVService.scan(any(byte[].class))).thenAnswer(invocation -> {
+            Thread.sleep(200L);
+            return false;
+        });
+        doThrow(new RuntimeException("invalid")).when(clinicalDocumentService).validate(CONTENT, ContentHashUtil.sha256Hex(CONTENT));
+
+        // Act
+        try {
+            sut.prepareUpload(file);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test(expected = InternalServerErrorException.class)
+    public void testPrepareUpload_when_clamd_is_not_available() {
+        // Arrange
+        when(clamAVService.scan(any(byte[].class)))
+                .thenThrow(new ClamAVClientNotAvailableException("down"));
+
+        // Act
+        sut.prepareUpload(file);
+    }
+}
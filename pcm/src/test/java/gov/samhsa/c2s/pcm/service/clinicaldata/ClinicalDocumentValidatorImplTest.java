@@ -0,0 +1,155 @@
+package gov.samhsa.c2s.pcm.service.clinicaldata;
+
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.infrastructure.DssService;
+import gov.samhsa.c2s.pcm.infrastructure.dto.ClinicalDocumentValidationRequest;
+import gov.samhsa.c2s.pcm.infrastructure.dto.ClinicalDocumentValidationResult;
+import gov.samhsa.c2s.pcm.service.util.ContentHashUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MultiValueMap;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClinicalDocumentValidatorImplTest {
+
+    private static final long TTL = 1000L;
+    private static final byte[] CONTENT = "<ClinicalDocument/>".getBytes(StandardCharsets.UTF_8);
+    private static final String CONTENT_HASH = ContentHashUtil.sha256Hex(CONTENT);
+
+    @Mock
+    DssService dssService;
+
+    @Mock
+    CounterService counterService;
+
+    @InjectMocks
+    ClinicalDocumentValidatorImpl sut;
+
+    private PcmProperties.ClinicalData.Validation validation;
+
+    private ClinicalDocumentValidationResult result;
+
+    @Before
+    public void setUp() {
+        validation = PcmProperties.ClinicalData.Validation.builder()
+                .transport(PcmProperties.ClinicalData.Validation.Transport.JSON)
+                .dssSchemaVersion("1")
+                .cacheMaxSize(2)
+                .cacheTtlInMs(TTL)
+                .build();
+        PcmProperties pcmProperties = PcmProperties.builder()
+                .clinicaldata(PcmProperties.ClinicalData.builder().validation(validation).build())
+                .build();
+        ReflectionTestUtils.setField(sut, "pcmProperties", pcmProperties);
+        setTime(0L);
+
+        result = new ClinicalDocumentValidationResult();
+        result.setValidDocument(true);
+        when(dssService.validateClinicalDocument(any(ClinicalDocumentValidationRequest.class))).thenReturn(result);
+    }
+
+    @Test
+    public void testValidate_when_document_was_validated_then_dss_is_not_called_again() {
+        // Arrange
+        sut.validate(CONTENT, CONTENT_HASH);
+        setTime(TTL - 1);
+
+        // Act
+        final ClinicalDocumentValidationResult actual = sut.validate(CONTENT.clone(), ContentHashUtil.sha256Hex(CONTENT.clone()));
+
+        // Assert
+        assertSame(result, actual);
+        verify(dssService, times(1)).validateClinicalDocument(any(ClinicalDocumentValidationRequest.class));
+    }
+
+    @Test
+    public void testValidate_when_result_is_expired() {
+        // Arrange
+        sut.validate(CONTENT, CONTENT_HASH);
+        setTime(TTL);
+
+        // Act
+        sut.validate(CONTENT, CONTENT_HASH);
+
+        // Assert
+        verify(dssService, times(2)).validateClinicalDocument(any(ClinicalDocumentValidationRequest.class));
+    }
+
+    @Test
+    public void testValidate_when_dss_schema_version_changes() {
+        // Arrange
+        sut.validate(CONTENT, CONTENT_HASH);
+        validation.setDssSchemaVersion("2");
+
+        // Act
+        sut.validate(CONTENT, CONTENT_HASH);
+
+        // Assert
+        verify(dssService, times(2)).validateClinicalDocument(any(ClinicalDocumentValidationRequest.class));
+    }
+
+    @Test
+    public void testValidate_when_dss_fails_then_nothing_is_cached() {
+        // Arrange
+        when(dssService.validateClinicalDocument(any(ClinicalDocumentValidationRequest.class)))
+                .thenThrow(new RuntimeException("unavailable"))
+                .thenReturn(result);
+        try {
+            sut.validate(CONTENT, CONTENT_HASH);
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        // Act
+        final ClinicalDocumentValidationResult actual = sut.validate(CONTENT, CONTENT_HASH);
+
+        // Assert
+        assertSame(result, actual);
+        verify(dssService, times(2)).validateClinicalDocument(any(ClinicalDocumentValidationRequest.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testValidate_when_transport_is_multipart() throws Exception {
+        // Arrange
+        validation.setTransport(PcmProperties.ClinicalData.Validation.Transport.MULTIPART);
+        when(dssService.validateClinicalDocumentFile(any(MultiValueMap.class))).thenReturn(result);
+
+        // Act
+        final ClinicalDocumentValidationResult actual = sut.validate(CONTENT, CONTENT_HASH);
+
+        // Assert
+        assertSame(result, actual);
+        final ArgumentCaptor<MultiValueMap> parts = ArgumentCaptor.forClass(MultiValueMap.class);
+        verify(dssService).validateClinicalDocumentFile(parts.capture());
+        final ByteArrayResource document = (ByteArrayResource) parts.getValue()
+                .getFirst(ClinicalDocumentValidatorImpl.DOCUMENT_PART);
+        assertArrayEquals(CONTENT, document.getByteArray());
+        verify(dssService, never()).validateClinicalDocument(any(ClinicalDocumentValidationRequest.class));
+    }
+
+    private void setTime(long millis) {
+        ReflectionTestUtils.setField(sut, "clock", Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,118 @@
+package gov.samhsa.c2s.pcm.service.consent;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class C32SegmentationTaggerImplTest {
+
+    private static final String C32 = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<ClinicalDocument xmlns=\"urn:hl7-org:v3\"><component><structuredBody>"
+            + "<component><section><title>Problems</title>"
+            + "<entry><act><id root=\"p1\"/></act></entry>"
+            + "<entry><act><id root=\"p2\"/></act></entry>"
+            + "</section></component>"
+            + "<component><section><title>Vital Signs</title>"
+            + "<entry><observation><id root=\"v1\"/></observation></entry>"
+            + "</section></component>"
+            + "</structuredBody></component></ClinicalDocument>";
+
+    private static final String SMART_C32 = "<ClinicalDocument xmlns=\"urn:hl7-org:v3\"><component><structuredBody>"
+            + "<component><section><title>Medications</title>"
+            + "<entry><substanceAdministration><entryRelationship><observation>"
+            + "<text><reference value=\"#m1\"/></text></observation></entryRelationship></substanceAdministration></entry>"
+            + "<entry><substanceAdministration><entryRelationship><observation>"
+            + "<text><reference value=\"#m2\"/></text></observation></entryRelationship></substanceAdministration></entry>"
+            + "</section></component>"
+            + "<component><section><title>Encounters</title>"
+            + "<entry><encounter><entryRelationship><observation>"
+            + "<text><reference value=\"#e1\"/></text></observation></entryRelationship></encounter></entry>"
+            + "</section></component>"
+            + "</structuredBody></component></ClinicalDocument>";
+
+    private final C32SegmentationTaggerImpl sut = new C32SegmentationTaggerImpl();
+
+    @Test
+    public void testCollectEntryIds() throws Exception {
+        // Act
+        final Set<String> entryIds = sut.collectEntryIds(toStream(C32), false);
+
+        // Assert
+        assertEquals(new HashSet<>(Arrays.asList("p1", "p2", "v1")), entryIds);
+    }
+
+    @Test
+    public void testCollectEntryIds_smart_reads_redactable_sections_only() throws Exception {
+        // Act
+        final Set<String> entryIds = sut.collectEntryIds(toStream(SMART_C32), true);
+
+        // Assert
+        assertEquals(new HashSet<>(Arrays.asList("#m1", "#m2")), entryIds);
+    }
+
+    @Test
+    public void testTagRedactedEntries() throws Exception {
+        // Arrange
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        sut.tagRedactedEntries(toStream(C32), new HashSet<>(Arrays.asList("p1", "v1")), false, out);
+
+        // Assert
+        final String tagged = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(tagged.contains("<entry redact=\"redact\"><act><id root=\"p2\"></id></act></entry>")
+                || tagged.contains("<entry redact=\"redact\"><act><id root=\"p2\"/></act></entry>"));
+        assertEquals(1, countOccurrences(tagged, "redact=\"redact\""));
+        assertTrue(tagged.contains("<title>Vital Signs</title>"));
+    }
+
+    @Test
+    public void testTagRedactedEntries_smart() throws Exception {
+        // Arrange
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        sut.tagRedactedEntries(toStream(SMART_C32), Collections.singleton("#m2"), true, out);
+
+        // Assert
+        final String tagged = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(1, countOccurrences(tagged, "redact=\"redact\""));
+        assertTrue(tagged.indexOf("redact=\"redact\"") < tagged.indexOf("#m1"));
+        // entries outside problem, medication, result and allergy sections are never tagged
+        assertFalse(tagged.substring(tagged.indexOf("Encounters")).contains("redact"));
+    }
+
+    @Test
+    public void testTagRedactedEntries_when_nothing_was_segmented() throws Exception {
+        // Arrange
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        sut.tagRedactedEntries(toStream(C32), sut.collectEntryIds(toStream(C32), false), false, out);
+
+        // Assert
+        assertFalse(new String(out.toByteArray(), StandardCharsets.UTF_8).contains("redact"));
+    }
+
+    private static ByteArrayInputStream toStream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int countOccurrences(String text, String token) {
+        int count = 0;
+        for (int index = text.indexOf(token); index >= 0; index = text.indexOf(token, index + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
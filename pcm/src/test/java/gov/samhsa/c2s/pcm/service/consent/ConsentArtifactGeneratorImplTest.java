@@ -0,0 +1,157 @@
+package gov.samhsa.c2s.pcm.service.consent;
+
+import gov.samhsa.c2s.common.consentgen.ConsentDto;
+import gov.samhsa.c2s.common.consentgen.ConsentGenException;
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.service.artifact.ArtifactStore;
+import gov.samhsa.c2s.pcm.service.consentexport.ConsentExportMapper;
+import gov.samhsa.c2s.pcm.service.consentexport.ConsentExportService;
+import gov.samhsa.c2s.pcm.service.exception.ConsentArtifactGenerationException;
+import gov.samhsa.c2s.pcm.service.exception.ConsentPdfGenerationException;
+import gov.samhsa.c2s.pcm.service.pdf.ConsentPdfGenerator;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConsentArtifactGeneratorImplTest {
+
+    private static final String TERMS = "TERMS";
+
+    @Mock
+    private ConsentPdfGenerator consentPdfGenerator;
+
+    @Mock
+    private ConsentExportService consentExportService;
+
+    @Mock
+    private ConsentExportMapper consentExportMapper;
+
+    @Mock
+    private ArtifactStore artifactStore;
+
+    @Mock
+    private GaugeService gaugeService;
+
+    @Mock
+    private CounterService counterService;
+
+    @InjectMocks
+    private ConsentArtifactGeneratorImpl sut;
+
+    private Consent consent;
+
+    private Patient patient;
+
+    private ConsentDto consentDto;
+
+    @Before
+    public void setUp() throws Exception {
+        PcmProperties pcmProperties = PcmProperties.builder()
+                .consentArtifact(PcmProperties.ConsentArtifact.builder()
+                        .poolSize(5)
+                        .queueCapacity(0)
+                        .timeoutInMs(500)
+                        .build())
+                .build();
+        ReflectionTestUtils.setField(sut, "pcmProperties", pcmProperties);
+        ReflectionTestUtils.setField(sut, "consentArtifactExecutor", new SimpleAsyncTaskExecutor());
+
+        consent = new Consent();
+        patient = new Patient();
+        consentDto = new ConsentDto();
+        when(consentExportMapper.map(consent)).thenReturn(consentDto);
+        when(consentPdfGenerator.generateConsentPdf(consent, patient, false, null, TERMS)).thenReturn("pdf".getBytes());
+        when(consentExportService.exportConsent2XACML(consentDto)).thenReturn("xacml");
+        when(consentExportService.exportConsent2XacmlPdfConsentFrom(consentDto)).thenReturn("from");
+        when(consentExportService.exportConsent2XacmlPdfConsentTo(consentDto)).thenReturn("to");
+        when(consentExportService.exportConsent2CDAR2ConsentDirective(consentDto)).thenReturn("cdar2");
+        when(artifactStore.store(any(byte[].class)))
+                .thenAnswer(invocation -> "key-" + new String((byte[]) invocation.getArguments()[0]));
+    }
+
+    @Test
+    public void testGenerateArtifacts_sets_all_artifacts() throws Exception {
+        // Act
+        sut.generateArtifacts(consent, patient, TERMS);
+
+        // Assert
+        verify(consentExportMapper).map(consent);
+        verify(consentExportService, never()).exportConsent2XACML(any(Consent.class));
+        assertEquals("key-pdf", consent.getUnAttestedPdfConsentArtifactKey());
+        assertEquals("key-xacml", consent.getXacmlCcdArtifactKey());
+        assertEquals("key-from", consent.getXacmlPdfConsentFromArtifactKey());
+        assertEquals("key-to", consent.getXacmlPdfConsentToArtifactKey());
+        assertEquals("key-cdar2", consent.getExportedCDAR2ConsentArtifactKey());
+    }
+
+    @Test
+    public void testGenerateArtifacts_rethrows_first_failure_with_others_suppressed() throws Exception {
+        // Arrange
+        when(consentPdfGenerator.generateConsentPdf(consent, patient, false, null, TERMS))
+                .thenThrow(new IOException("pdf failed"));
+        ConsentGenException xacmlFailure = new ConsentGenException("xacml failed");
+        when(consentExportService.exportConsent2XACML(consentDto)).thenThrow(xacmlFailure);
+
+        // Act
+        try {
+            sut.generateArtifacts(consent, patient, TERMS);
+            fail("Expected ConsentPdfGenerationException");
+        } catch (ConsentPdfGenerationException e) {
+            // Assert
+            assertEquals("pdf failed", e.getCause().getMessage());
+            assertEquals(1, e.getSuppressed().length);
+            assertEquals(xacmlFailure, e.getSuppressed()[0]);
+        }
+        assertEquals(null, consent.getXacmlCcdArtifactKey());
+    }
+
+    @Test(expected = ConsentGenException.class)
+    public void testGenerateArtifacts_rethrows_ConsentGenException() throws Exception {
+        // Arrange
+        when(consentExportService.exportConsent2CDAR2ConsentDirective(consentDto))
+                .thenThrow(new ConsentGenException("cdar2 failed"));
+
+        // Act
+        sut.generateArtifacts(consent, patient, TERMS);
+    }
+
+    @Test
+    public void testGenerateArtifacts_times_out_slow_artifact() throws Exception {
+        // Arrange
+        when(consentExportService.exportConsent2XacmlPdfConsentTo(consentDto)).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return "to";
+        });
+
+        // Act
+        try {
+            sut.generateArtifacts(consent, patient, TERMS);
+            fail("Expected ConsentArtifactGenerationException");
+        } catch (ConsentArtifactGenerationException e) {
+            // Assert
+            assertTrue(e.getMessage().contains(ConsentArtifactGeneratorImpl.XACML_PDF_CONSENT_TO));
+        }
+        verify(counterService).increment(eq("consent.artifact." + ConsentArtifactGeneratorImpl.XACML_PDF_CONSENT_TO + ".timeout"));
+    }
+}
@@ -1,11 +1,15 @@
 package gov.samhsa.c2s.pcm.service.consent;
 
 import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentFingerprint;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentFingerprintRepository;
 import gov.samhsa.c2s.pcm.domain.consent.ConsentRepository;
-import gov.samhsa.c2s.pcm.service.consent.ConsentCheckServiceImpl;
-import gov.samhsa.c2s.pcm.service.consent.ConsentHelper;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentShareForPurposeOfUseCode;
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCode;
 import gov.samhsa.c2s.pcm.service.dto.ConsentDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentValidationDto;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -13,240 +17,232 @@
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ConsentCheckServiceImplTest {
 
+    private static final String USERNAME = "usernamemock";
+
     @Mock
     ConsentHelper consentHelperMock;
     @InjectMocks
     ConsentCheckServiceImpl cst;
     @Mock
     private ConsentRepository consentRepositoryMock;
+    @Mock
+    private ConsentFingerprintRepository consentFingerprintRepositoryMock;
+
+    private ConsentDto consentDto;
+
+    @Before
+    public void setUp() {
+        consentDto = new ConsentDto();
+        consentDto.setId("2");
+        consentDto.setUsername(USERNAME);
+        consentDto.setConsentStart(new Date());
+        consentDto.setConsentEnd(new Date());
+        consentDto.setShareForPurposeOfUseCodes(new HashSet<String>(Collections.singletonList("TREATMENT")));
+
+        when(consentHelperMock.getDtoProviderToDiscloseToNpi(consentDto))
+                .thenReturn(new HashSet<String>(Collections.singletonList("NPI_FROM")));
+        when(consentHelperMock.getDtoProviderIsMadeToNpi(consentDto))
+                .thenReturn(new HashSet<String>(Collections.singletonList("NPI_TO")));
+    }
 
     @Test
-    public void testGetConflictConsent_no_overlap() {
+    public void testGetConflictConsent_no_candidate() {
         // Arrange
-        ConsentDto consentDtoMock = mock(ConsentDto.class);
-        consentDtoMock.setId("2");
-
-        String userNameMock = "usernamemock";
-        when(consentDtoMock.getUsername()).thenReturn(userNameMock);
+        when(consentFingerprintRepositoryMock.findConflictingConsentIdsByPatientUsername(
+                eq(USERNAME), anyLong(), anyCollectionOf(String.class), anyCollectionOf(String.class),
+                anyCollectionOf(String.class), any(Date.class), any(Date.class)))
+                .thenReturn(new ArrayList<Long>());
 
-        List<Consent> consentList = new ArrayList<Consent>();
-        Consent consent = new Consent();
-        consent.setId(new Long(1));
-        consent.setStartDate(new Date());
-        consent.setEndDate(new Date());
-        consentList.add(consent);
-
-        when(consentRepositoryMock.findAllByPatientUsername(userNameMock))
-                .thenReturn(consentList);
-        when(
-                consentHelperMock.isConsentTermOverlap(consentDtoMock,
-                        consent.getStartDate(), consent.getEndDate()))
-                .thenReturn(false);
         // Act
         ConsentValidationDto consentValidationDto = cst
-                .getConflictConsent(consentDtoMock);
+                .getConflictConsent(consentDto);
 
         // Assert
         assertNull(consentValidationDto);
-
+        verify(consentRepositoryMock, never()).findOne(anyLong());
     }
 
     @Test
-    public void testGetConflictConsent_no_poumatch() {
+    public void testGetConflictConsent_editconsent_excludes_itself() {
         // Arrange
-        ConsentDto consentDtoMock = mock(ConsentDto.class);
-        consentDtoMock.setId("2");
+        when(consentFingerprintRepositoryMock.findConflictingConsentIdsByPatientUsername(
+                eq(USERNAME), eq(2L), anyCollectionOf(String.class), anyCollectionOf(String.class),
+                anyCollectionOf(String.class), any(Date.class), any(Date.class)))
+                .thenReturn(new ArrayList<Long>());
 
-        String userNameMock = "usernamemock";
-        when(consentDtoMock.getUsername()).thenReturn(userNameMock);
-
-        List<Consent> consentList = new ArrayList<Consent>();
-        Consent consent = new Consent();
-        consent.setId(new Long(1));
-        consent.setStartDate(new Date());
-        consent.setEndDate(new Date());
-        consentList.add(consent);
-
-        when(consentRepositoryMock.findAllByPatientUsername(userNameMock))
-                .thenReturn(consentList);
-        when(
-                consentHelperMock.isConsentTermOverlap(consentDtoMock,
-                        consent.getStartDate(), consent.getEndDate()))
-                .thenReturn(true);
-        when(
-                consentHelperMock.isPOUMatches(
-                        consentDtoMock.getShareForPurposeOfUseCodes(),
-                        consent.getShareForPurposeOfUseCodes())).thenReturn(
-                false);
         // Act
         ConsentValidationDto consentValidationDto = cst
-                .getConflictConsent(consentDtoMock);
+                .getConflictConsent(consentDto);
 
         // Assert
         assertNull(consentValidationDto);
-
+        verify(consentFingerprintRepositoryMock).findConflictingConsentIdsByPatientUsername(
+                eq(USERNAME), eq(2L), anyCollectionOf(String.class), anyCollectionOf(String.class),
+                anyCollectionOf(String.class), any(Date.class), any(Date.class));
     }
 
     @Test
-    public void testGetConflictConsent_no_providermatch() {
+    public void testGetConflictConsent_no_poucodes() {
         // Arrange
-        ConsentDto consentDtoMock = mock(ConsentDto.class);
-        consentDtoMock.setId("2");
+        consentDto.setShareForPurposeOfUseCodes(new HashSet<String>());
 
-        String userNameMock = "usernamemock";
-        when(consentDtoMock.getUsername()).thenReturn(userNameMock);
-
-        List<Consent> consentList = new ArrayList<Consent>();
-        Consent consent = new Consent();
-        consent.setId(new Long(1));
-        consent.setStartDate(new Date());
-        consent.setEndDate(new Date());
-
-        consentList.add(consent);
-
-        when(consentRepositoryMock.findAllByPatientUsername(userNameMock))
-                .thenReturn(consentList);
-        when(
-                consentHelperMock.isConsentTermOverlap(consentDtoMock,
-                        consent.getStartDate(), consent.getEndDate()))
-                .thenReturn(true);
-        when(
-                consentHelperMock.isPOUMatches(
-                        consentDtoMock.getShareForPurposeOfUseCodes(),
-                        consent.getShareForPurposeOfUseCodes())).thenReturn(
-                true);
-        when(consentHelperMock.isProviderComboMatch(consent, consentDtoMock))
-                .thenReturn(false);
         // Act
         ConsentValidationDto consentValidationDto = cst
-                .getConflictConsent(consentDtoMock);
+                .getConflictConsent(consentDto);
 
         // Assert
         assertNull(consentValidationDto);
-
+        verifyZeroInteractions(consentFingerprintRepositoryMock);
     }
 
     @Test
-    public void testGetConflictConsent_no_consentrevokedmatch() {
+    public void testGetConflictConsent_no_providers() {
         // Arrange
-        ConsentDto consentDtoMock = mock(ConsentDto.class);
-        consentDtoMock.setId("2");
+        when(consentHelperMock.getDtoProviderIsMadeToNpi(consentDto))
+                .thenReturn(new HashSet<String>());
 
-        String userNameMock = "usernamemock";
-        when(consentDtoMock.getUsername()).thenReturn(userNameMock);
+        // Act
+        ConsentValidationDto consentValidationDto = cst
+                .getConflictConsent(consentDto);
 
-        List<Consent> consentList = new ArrayList<Consent>();
-        Consent consent = new Consent();
-        consent.setId(new Long(1));
-        consent.setStartDate(new Date());
-        consent.setEndDate(new Date());
-        consentList.add(consent);
-
-        when(consentRepositoryMock.findAllByPatientUsername(userNameMock))
-                .thenReturn(consentList);
-        when(
-                consentHelperMock.isConsentTermOverlap(consentDtoMock,
-                        consent.getStartDate(), consent.getEndDate()))
-                .thenReturn(true);
-        when(
-                consentHelperMock.isPOUMatches(
-                        consentDtoMock.getShareForPurposeOfUseCodes(),
-                        consent.getShareForPurposeOfUseCodes())).thenReturn(
-                true);
-        when(consentHelperMock.isProviderComboMatch(consent, consentDtoMock))
-                .thenReturn(true);
-        when(consentHelperMock.isConsentRevoked(consent)).thenReturn(true);
+        // Assert
+        assertNull(consentValidationDto);
+        verifyZeroInteractions(consentFingerprintRepositoryMock);
+    }
+
+    @Test
+    public void testGetConflictConsent_by_patientId() {
+        // Arrange
+        consentDto.setUsername(null);
+        consentDto.setPatientId(5L);
+        when(consentFingerprintRepositoryMock.findConflictingConsentIdsByPatientId(
+                eq(5L), anyLong(), anyCollectionOf(String.class), anyCollectionOf(String.class),
+                anyCollectionOf(String.class), any(Date.class), any(Date.class)))
+                .thenReturn(new ArrayList<Long>());
 
         // Act
         ConsentValidationDto consentValidationDto = cst
-                .getConflictConsent(consentDtoMock);
+                .getConflictConsent(consentDto);
 
         // Assert
         assertNull(consentValidationDto);
-
+        verify(consentFingerprintRepositoryMock, never()).findConflictingConsentIdsByPatientUsername(
+                anyString(), anyLong(), anyCollectionOf(String.class), anyCollectionOf(String.class),
+                anyCollectionOf(String.class), any(Date.class), any(Date.class));
     }
 
     @Test
-    public void testGetConflictConsent_editconsent() {
+    public void testGetConflictConsent_allmatch() {
         // Arrange
-        ConsentDto consentDto = new ConsentDto();
-        consentDto.setId("2");
-        consentDto.setUsername("usernamemock");
-
-        List<Consent> consentList = new ArrayList<Consent>();
         Consent consent = new Consent();
-        consent.setId(new Long(2));
-        consent.setStartDate(new Date());
-        consent.setEndDate(new Date());
-
-        consentList.add(consent);
+        consent.setId(1L);
+        when(consentFingerprintRepositoryMock.findConflictingConsentIdsByPatientUsername(
+                eq(USERNAME), anyLong(), anyCollectionOf(String.class), anyCollectionOf(String.class),
+                anyCollectionOf(String.class), any(Date.class), any(Date.class)))
+                .thenReturn(Arrays.asList(1L, 3L));
+        when(consentRepositoryMock.findOne(1L)).thenReturn(consent);
 
-        when(consentRepositoryMock.findAllByPatientUsername("usernamemock"))
-                .thenReturn(consentList);
+        ConsentValidationDto consentValidationDtoMock = new ConsentValidationDto();
+        when(consentHelperMock.convertConsentToConsentListDto(consent, consentDto))
+                .thenReturn(consentValidationDtoMock);
 
         // Act
         ConsentValidationDto consentValidationDto = cst
                 .getConflictConsent(consentDto);
 
         // Assert
-        assertNull(consentValidationDto);
-
+        assertEquals(consentValidationDtoMock, consentValidationDto);
     }
 
     @Test
-    public void testGetConflictConsent_allmatch() {
+    public void testMakeConsentFingerprints_one_row_per_tuple() {
         // Arrange
-        ConsentDto consentDtoMock = mock(ConsentDto.class);
-        consentDtoMock.setId("2");
+        Patient patient = mock(Patient.class);
+        when(patient.getId()).thenReturn(7L);
+        PurposeOfUseCode treatment = mock(PurposeOfUseCode.class);
+        when(treatment.getCode()).thenReturn("TREATMENT");
+        PurposeOfUseCode payment = mock(PurposeOfUseCode.class);
+        when(payment.getCode()).thenReturn("PAYMENT");
+        Set<ConsentShareForPurposeOfUseCode> purposeOfUseCodes = new HashSet<ConsentShareForPurposeOfUseCode>();
+        purposeOfUseCodes.add(new ConsentShareForPurposeOfUseCode(treatment));
+        purposeOfUseCodes.add(new ConsentShareForPurposeOfUseCode(payment));
 
-        String userNameMock = "usernamemock";
-        when(consentDtoMock.getUsername()).thenReturn(userNameMock);
-
-        List<Consent> consentList = new ArrayList<Consent>();
         Consent consent = new Consent();
-        consent.setId(new Long(1));
+        consent.setId(1L);
+        consent.setPatient(patient);
         consent.setStartDate(new Date());
         consent.setEndDate(new Date());
-        consentList.add(consent);
-
-        when(consentRepositoryMock.findAllByPatientUsername(userNameMock))
-                .thenReturn(consentList);
-        when(
-                consentHelperMock.isConsentTermOverlap(consentDtoMock,
-                        consent.getStartDate(), consent.getEndDate()))
-                .thenReturn(true);
-        when(
-                consentHelperMock.isPOUMatches(
-                        consentDtoMock.getShareForPurposeOfUseCodes(),
-                        consent.getShareForPurposeOfUseCodes())).thenReturn(
-                true);
-        when(consentHelperMock.isProviderComboMatch(consent, consentDtoMock))
-                .thenReturn(true);
+        consent.setShareForPurposeOfUseCodes(purposeOfUseCodes);
+        when(consentHelperMock.getProviderToDiscloseToNpi(consent))
+                .thenReturn(new HashSet<String>(Arrays.asList("NPI_B", "NPI_A")));
+        when(consentHelperMock.getProviderIsMadeToNpi(consent))
+                .thenReturn(new HashSet<String>(Collections.singletonList("NPI_C")));
         when(consentHelperMock.isConsentRevoked(consent)).thenReturn(false);
 
-        ConsentValidationDto consentValidationDtoMock = new ConsentValidationDto();
-        when(
-                consentHelperMock.convertConsentToConsentListDto(consent,
-                        consentDtoMock)).thenReturn(consentValidationDtoMock);
-
         // Act
-        ConsentValidationDto consentValidationDto = cst
-                .getConflictConsent(consentDtoMock);
+        List<ConsentFingerprint> fingerprints = cst.makeConsentFingerprints(consent);
 
         // Assert
-        assertEquals(consentValidationDtoMock, consentValidationDto);
+        assertEquals(4, fingerprints.size());
+        assertEquals("NPI_A", fingerprints.get(0).getFromNpi());
+        assertEquals("PAYMENT", fingerprints.get(0).getPurposeOfUseCode());
+        assertEquals("NPI_B", fingerprints.get(3).getFromNpi());
+        assertEquals("TREATMENT", fingerprints.get(3).getPurposeOfUseCode());
+        for (ConsentFingerprint fingerprint : fingerprints) {
+            assertEquals(Long.valueOf(1L), fingerprint.getConsentId());
+            assertEquals(Long.valueOf(7L), fingerprint.getPatientId());
+            assertEquals("NPI_C", fingerprint.getToNpi());
+            assertFalse(fingerprint.getRevoked());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUpdateConsentFingerprint_replaces_rows() {
+        // Arrange
+        Consent consent = new Consent();
+        consent.setId(1L);
+        when(consentHelperMock.isConsentRevoked(consent)).thenReturn(true);
 
+        // Act
+        cst.updateConsentFingerprint(consent);
+
+        // Assert
+        verify(consentFingerprintRepositoryMock).deleteByConsentId(1L);
+        verify(consentFingerprintRepositoryMock).save(any(Collection.class));
     }
 
+    @Test
+    public void testRevokeConsentFingerprint() {
+        // Act
+        cst.revokeConsentFingerprint(1L);
+
+        // Assert
+        verify(consentFingerprintRepositoryMock).markRevokedByConsentId(1L);
+    }
 }
@@ -14,14 +14,15 @@
 import gov.samhsa.c2s.pcm.domain.reference.ClinicalDocumentTypeCodeRepository;
 import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCodeRepository;
 import gov.samhsa.c2s.pcm.domain.reference.SensitivityPolicyCodeRepository;
-import gov.samhsa.c2s.pcm.infrastructure.PhrService;
 import gov.samhsa.c2s.pcm.infrastructure.dto.PatientDto;
-import gov.samhsa.c2s.pcm.service.consentexport.ConsentExportService;
+import gov.samhsa.c2s.pcm.service.artifact.ArtifactStore;
 import gov.samhsa.c2s.pcm.service.dto.ConsentDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentListDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentPdfDto;
 import gov.samhsa.c2s.pcm.service.dto.ConsentRevokationPdfDto;
+import gov.samhsa.c2s.pcm.service.dto.DownloadDto;
 import gov.samhsa.c2s.pcm.service.patient.PatientService;
+import gov.samhsa.c2s.pcm.service.patient.PhrProfileCache;
 import gov.samhsa.c2s.pcm.service.pdf.ConsentPdfGenerator;
 import org.junit.Before;
 import org.junit.Test;
@@ -40,10 +41,12 @@
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -109,7 +112,11 @@ public class ConsentServiceImplTest {
     @Mock
     ConsentCheckService consentCheckService;
     @Mock
-    ConsentExportService consentExportService;
+    ConsentArtifactGenerator consentArtifactGenerator;
+    @Mock
+    ConsentSummaryService consentSummaryService;
+    @Mock
+    ArtifactStore artifactStore;
     @Mock
     Set<ConsentAssertion> consentAssertions;
     @Mock
@@ -119,7 +126,7 @@ public class ConsentServiceImplTest {
     PatientService patientService;
 
     @Mock
-    PhrService phrService;
+    PhrProfileCache phrProfileCache;
 
     @Mock
     ConsentTermsVersionsService consentTermsVersionsService;
@@ -198,6 +205,7 @@ public void testDeleteConsent_Check_if_Repository_and_findConsent_is_called_when
 
         assertTrue(isDeleteSuccess);
         verify(consentRepository).delete(any(Consent.class));
+        verify(consentSummaryService).deleteConsentSummary(1L);
     }
 
     /**
@@ -390,13 +398,17 @@ public void testFindConsentPdfDto_when_Consent_is_Signed() {
                 .thenReturn("John");
         when(patient.getLastName())
                 .thenReturn("Doe");
-        when(attestedConsent.getAttestedPdfConsent())
+        when(attestedConsent.getAttestedPdfConsentArtifactKey())
+                .thenReturn("attestedPdfConsentArtifactKey");
+        when(artifactStore.read("attestedPdfConsentArtifactKey"))
                 .thenReturn(attestedPdfConsentContent);
         when(consent.getPatient())
                 .thenReturn(patient);
         when(consent.getAttestedConsent())
                 .thenReturn(attestedConsent);
-        when(consent.getUnAttestedPdfConsent())
+        when(consent.getUnAttestedPdfConsentArtifactKey())
+                .thenReturn("unattestedPdfConsentArtifactKey");
+        when(artifactStore.read("unattestedPdfConsentArtifactKey"))
                 .thenReturn(unattestedPdfConsentContent);
         when(consent.getName())
                 .thenReturn("A regular consent");
@@ -427,7 +439,7 @@ public void testFindConsentPdfDto_when_Consent_is_Saved() {
         Patient patient = mock(Patient.class);
         byte[] unattestedPdfConsentContent = new byte[]{4, 5, 6};
 
-        when(attestedConsent.getAttestedPdfConsent())
+        when(attestedConsent.getAttestedPdfConsentArtifactKey())
                 .thenReturn(null);
         when(patient.getFirstName())
                 .thenReturn("John");
@@ -439,7 +451,9 @@ public void testFindConsentPdfDto_when_Consent_is_Saved() {
                 .thenReturn(attestedConsent);
         when(consent.getStatus())
                 .thenReturn(ConsentStatus.CONSENT_SAVED);
-        when(consent.getUnAttestedPdfConsent())
+        when(consent.getUnAttestedPdfConsentArtifactKey())
+                .thenReturn("unattestedPdfConsentArtifactKey");
+        when(artifactStore.read("unattestedPdfConsentArtifactKey"))
                 .thenReturn(unattestedPdfConsentContent);
         when(consent.getName())
                 .thenReturn("A regular consent");
@@ -458,6 +472,58 @@ public void testFindConsentPdfDto_when_Consent_is_Saved() {
         verify(consentPdfDto).setId((long) 2);
     }
 
+    /**
+     * Test findConsentPdfDownloadDto when consent is signed.
+     */
+    @Test
+    public void testFindConsentPdfDownloadDto_when_Consent_is_Signed() {
+        // Arrange
+        Consent consent = mock(Consent.class);
+        AttestedConsent attestedConsent = mock(AttestedConsent.class);
+        when(attestedConsent.getAttestedPdfConsentArtifactKey())
+                .thenReturn("attestedPdfConsentArtifactKey");
+        when(consent.getAttestedConsent())
+                .thenReturn(attestedConsent);
+        when(consent.getStatus())
+                .thenReturn(ConsentStatus.CONSENT_SIGNED);
+        when(consentRepository.findOne(2L))
+                .thenReturn(consent);
+        when(artifactStore.getSize("attestedPdfConsentArtifactKey"))
+                .thenReturn(3L);
+
+        // Act
+        DownloadDto downloadDto = cst.findConsentPdfDownloadDto(2L);
+
+        // Assert
+        assertEquals("attestedPdfConsentArtifactKey", downloadDto.getEtag());
+        assertEquals("application/pdf", downloadDto.getContentType());
+        assertEquals(3L, downloadDto.getContentLength());
+        assertTrue(downloadDto.isImmutable());
+        verify(artifactStore, never()).read(anyString());
+    }
+
+    /**
+     * Test findConsentPdfDownloadDto when consent is saved.
+     */
+    @Test
+    public void testFindConsentPdfDownloadDto_when_Consent_is_Saved() {
+        // Arrange
+        Consent consent = mock(Consent.class);
+        when(consent.getUnAttestedPdfConsentArtifactKey())
+                .thenReturn("unattestedPdfConsentArtifactKey");
+        when(consent.getStatus())
+                .thenReturn(ConsentStatus.CONSENT_SAVED);
+        when(consentRepository.findOne(2L))
+                .thenReturn(consent);
+
+        // Act
+        DownloadDto downloadDto = cst.findConsentPdfDownloadDto(2L);
+
+        // Assert
+        assertEquals("unattestedPdfConsentArtifactKey", downloadDto.getEtag());
+        assertFalse(downloadDto.isImmutable());
+    }
+
     /**
      * Test isConsentBelongToThisUser when succeeds.
      */
@@ -500,7 +566,7 @@ public void testSaveConsent() throws Exception {
         Consent consent = mock(Consent.class);
 
         PatientDto patientDto = mock(PatientDto.class);
-        when(phrService.getPatientProfile())
+        when(phrProfileCache.getPatientProfile())
                 .thenReturn(patientDto);
 
         ConsentTermsVersions consentTermsVersions = mock(ConsentTermsVersions.class);
@@ -510,23 +576,8 @@ public void testSaveConsent() throws Exception {
         when(consentTermsVersionsService.getEnabledConsentTermsVersion())
                 .thenReturn(consentTermsVersions);
 
-        String xacmlMock = "xacmlMock";
         String policyIdMock = "policyIdMock";
         when(cstSpy.makeConsent()).thenReturn(consent);
-        when(consentExportService.exportConsent2XACML(any(Consent.class)))
-                .thenReturn(xacmlMock);
-        when(
-                consentExportService
-                        .exportConsent2CDAR2ConsentDirective(any(Consent.class)))
-                .thenReturn(xacmlMock);
-        when(
-                consentExportService
-                        .exportConsent2XacmlPdfConsentFrom(any(Consent.class)))
-                .thenReturn(xacmlMock);
-        when(
-                consentExportService
-                        .exportConsent2XacmlPdfConsentTo(any(Consent.class)))
-                .thenReturn(xacmlMock);
         ConsentDto consentDto = mock(ConsentDto.class);
         when(consentCheckService.getConflictConsent(consentDto)).thenReturn(
                 null);
@@ -545,7 +596,9 @@ public void testSaveConsent() throws Exception {
         cstSpy.saveConsent(consentDto, 0);
 
         // Assert
+        verify(consentArtifactGenerator).generateArtifacts(eq(consent), any(Patient.class), eq("TEST CONSENT TERMS TEXT"));
         verify(consentRepository).save(consent);
+        verify(consentSummaryService).updateConsentSummary(consent);
         verify(consentAssertions).forEach(any(Consumer.class));
     }
 
@@ -673,7 +726,9 @@ public void testFindConsentRevokationPdfDto() {
                 .thenReturn("Doe");
         when(consent.getStatus())
                 .thenReturn(ConsentStatus.REVOCATION_REVOKED);
-        when(attestedConsentRevocation.getAttestedPdfConsentRevoke())
+        when(attestedConsentRevocation.getAttestedPdfConsentRevokeArtifactKey())
+                .thenReturn("attestedPdfConsentRevokeArtifactKey");
+        when(artifactStore.read("attestedPdfConsentRevokeArtifactKey"))
                 .thenReturn(new byte[]{1, 2, 3});
 
         consentService.findConsentRevokationPdfDto((long) 1);
@@ -707,6 +762,31 @@ public void testGetConsentStatusWhenConsentIsRevoked() {
         assertEquals(ConsentStatus.REVOCATION_REVOKED, cst.getConsentStatus((long) 1));
     }
 
+    @Test
+    public void testFindConsentById_when_consent_is_not_owned() {
+        // Arrange
+        when(consentRepository.findByIdAndPatientUsername(1L, "other")).thenReturn(null);
+
+        // Act
+        ConsentDto consentDto = cst.findConsentById("other", 1L);
+
+        // Assert
+        assertNull(consentDto);
+        verify(patientRepository, never()).findByUsername("other");
+    }
+
+    @Test
+    public void testFindObligationsConsentById_when_consent_is_not_owned() {
+        // Arrange
+        when(consentRepository.findByIdAndPatientUsername(1L, "other")).thenReturn(null);
+
+        // Act
+        List<String> obligations = cst.findObligationsConsentById("other", 1L);
+
+        // Assert
+        assertTrue(obligations.isEmpty());
+    }
+
     @Test
     public void testValidateConsentDate_when_null() {
         assertEquals(false, cst.validateConsentDate(null, null));
@@ -0,0 +1,129 @@
+package gov.samhsa.c2s.pcm.service.consent;
+
+import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentIndividualProviderPermittedToDisclose;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentOrganizationalProviderDisclosureIsMadeTo;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentShareForPurposeOfUseCode;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentSummary;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentSummaryRepository;
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
+import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProvider;
+import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCode;
+import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCodeRepository;
+import gov.samhsa.c2s.pcm.service.dto.ConsentListDto;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConsentSummaryServiceImplTest {
+
+    @Mock
+    private ConsentSummaryRepository consentSummaryRepository;
+
+    @Mock
+    private PurposeOfUseCodeRepository purposeOfUseCodeRepository;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @InjectMocks
+    private ConsentSummaryServiceImpl sut;
+
+    @After
+    public void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    public void testMakeConsentSummary() {
+        // Arrange
+        Patient patient = new Patient();
+        patient.setId(7L);
+        IndividualProvider individualProvider = new IndividualProvider();
+        individualProvider.setFirstName("John");
+        individualProvider.setLastName("Doe");
+        OrganizationalProvider organizationalProvider = new OrganizationalProvider();
+        organizationalProvider.setOrgName("Clinic");
+        PurposeOfUseCode treatment = mock(PurposeOfUseCode.class);
+        when(treatment.getCode()).thenReturn("TREATMENT");
+        when(treatment.getDisplayName()).thenReturn("Treatment");
+
+        Consent consent = new Consent();
+        consent.setId(1L);
+        consent.setPatient(patient);
+        consent.setStatus(ConsentStatus.CONSENT_SAVED);
+        consent.setProvidersPermittedToDisclose(new HashSet<ConsentIndividualProviderPermittedToDisclose>(
+                Collections.singletonList(new ConsentIndividualProviderPermittedToDisclose(individualProvider))));
+        consent.setOrganizationalProvidersDisclosureIsMadeTo(new HashSet<ConsentOrganizationalProviderDisclosureIsMadeTo>(
+                Collections.singletonList(new ConsentOrganizationalProviderDisclosureIsMadeTo(organizationalProvider))));
+        consent.setShareForPurposeOfUseCodes(new HashSet<ConsentShareForPurposeOfUseCode>(
+                Collections.singletonList(new ConsentShareForPurposeOfUseCode(treatment))));
+
+        // Act
+        ConsentSummary consentSummary = sut.makeConsentSummary(consent);
+
+        // Assert
+        assertEquals(Long.valueOf(1L), consentSummary.getConsentId());
+        assertEquals(Long.valueOf(7L), consentSummary.getPatientId());
+        assertEquals("Doe, John", consentSummary.getToDiscloseNames());
+        assertEquals("Clinic", consentSummary.getIsMadeToNames());
+        assertEquals("TREATMENT", consentSummary.getShareForPurposeOfUseCodes());
+        assertEquals("Treatment", consentSummary.getShareForPurposeOfUseNames());
+        assertEquals("", consentSummary.getDoNotShareSensitivityPolicyCodes());
+    }
+
+    @Test
+    public void testFindConsentListDtosByPatientId_localizes_codes() {
+        // Arrange
+        LocaleContextHolder.setLocale(Locale.forLanguageTag("es"));
+        ConsentSummary consentSummary = new ConsentSummary();
+        consentSummary.setConsentId(1L);
+        consentSummary.setStartDate(new Date());
+        consentSummary.setToDiscloseNames(ConsentSummary.join(new HashSet<String>(
+                Arrays.asList("Doe, John", "Clinic"))));
+        consentSummary.setShareForPurposeOfUseCodes("TREATMENT");
+        consentSummary.setShareForPurposeOfUseNames("Treatment");
+        Page<ConsentSummary> page = new PageImpl<ConsentSummary>(Collections.singletonList(consentSummary));
+        when(consentSummaryRepository.findByPatientId(eq(7L), any(Pageable.class))).thenReturn(page);
+        PurposeOfUseCode treatment = mock(PurposeOfUseCode.class);
+        when(treatment.getCode()).thenReturn("TREATMENT");
+        when(purposeOfUseCodeRepository.findAll()).thenReturn(Collections.singletonList(treatment));
+        when(messageSource.getMessage(eq("TREATMENT.NAME"), any(Object[].class), any(Locale.class)))
+                .thenReturn("Tratamiento");
+
+        // Act
+        Page<ConsentListDto> consentListDtos = sut.findConsentListDtosByPatientId(7L, 0, 5);
+
+        // Assert
+        ConsentListDto consentListDto = consentListDtos.getContent().get(0);
+        assertEquals("1", consentListDto.getId());
+        assertEquals(2, consentListDto.getToDiscloseName().size());
+        assertTrue(consentListDto.getToDiscloseName().contains("Doe, John"));
+        assertTrue(consentListDto.getShareForPurposeOfUseCodes().contains("Tratamiento"));
+        assertTrue(consentListDto.getShareForPurposeOfUse().contains(treatment));
+        assertTrue(consentListDto.getIsMadeToName().isEmpty());
+    }
+}
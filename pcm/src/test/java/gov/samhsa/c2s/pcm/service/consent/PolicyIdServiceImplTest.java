@@ -2,14 +2,10 @@
 
 import gov.samhsa.c2s.pcm.config.PcmProperties;
 import gov.samhsa.c2s.pcm.service.consent.PolicyIdServiceImpl;
-import gov.samhsa.c2s.common.util.UniqueValueGeneratorException;
-import gov.samhsa.c2s.pcm.domain.consent.Consent;
-import gov.samhsa.c2s.pcm.domain.consent.ConsentRepository;
 import gov.samhsa.c2s.pcm.service.dto.ConsentDto;
+import gov.samhsa.c2s.pcm.service.identifier.IdentifierGenerator;
 import org.junit.Before;
-import org.junit.Rule;
 import org.junit.Test;
-import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -17,13 +13,12 @@
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.StringUtils;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -33,11 +28,8 @@ public class PolicyIdServiceImplTest {
     private static final String PIDDOMAINIDMOCK = "PIDDOMAINIDMOCK";
     private static final String PIDDOMAINTYPEMOCK = "PIDDOMAINTYPEMOCK";
 
-    @Rule
-    public ExpectedException thrown = ExpectedException.none();
-
     @Mock
-    private ConsentRepository consentRepository;
+    private IdentifierGenerator identifierGenerator;
 
     @InjectMocks
     private PolicyIdServiceImpl sut;
@@ -57,8 +49,7 @@ public void setUp() throws Exception {
     @Test
     public void testGeneratePolicyId() {
         // Arrange
-        when(consentRepository.findAllByConsentReferenceId(anyString()))
-                .thenReturn(new ArrayList<Consent>(1));
+        when(identifierGenerator.nextValue(IdentifierGenerator.Sequence.POLICY_ID)).thenReturn(1296L);
         ConsentDto consentDto = new ConsentDto();
         Set<String> organizationalProvidersDisclosureIsMadeTo = new HashSet<String>();
         organizationalProvidersDisclosureIsMadeTo.add("111");
@@ -80,10 +71,9 @@ public void testGeneratePolicyId() {
     }
 
     @Test
-    public void testGeneratePolicyId_Throws_UniqueValueGeneratorException() {
+    public void testGeneratePolicyId_Uses_Next_Sequence_Value() {
         // Arrange
-        when(consentRepository.findAllByConsentReferenceId(anyString()))
-                .thenReturn(Arrays.asList(new Consent()));
+        when(identifierGenerator.nextValue(IdentifierGenerator.Sequence.POLICY_ID)).thenReturn(1296L, 1297L);
         ConsentDto consentDto = new ConsentDto();
         Set<String> organizationalProvidersDisclosureIsMadeTo = new HashSet<String>();
         organizationalProvidersDisclosureIsMadeTo.add("111");
@@ -93,15 +83,13 @@ public void testGeneratePolicyId_Throws_UniqueValueGeneratorException() {
                 .setOrganizationalProvidersDisclosureIsMadeToNpi(organizationalProvidersDisclosureIsMadeTo);
         consentDto
                 .setProvidersPermittedToDiscloseNpi(providersPermittedToDisclose);
-        thrown.expect(UniqueValueGeneratorException.class);
 
         // Act
         String policyId = sut.generatePolicyId(consentDto, MRNMOCK);
+        String nextPolicyId = sut.generatePolicyId(consentDto, MRNMOCK);
 
         // Assert
-        assertTrue(StringUtils.hasText(policyId));
-        assertTrue(policyId.startsWith(MRNMOCK));
-        assertTrue(policyId.contains(PIDDOMAINIDMOCK));
-        assertTrue(policyId.contains(PIDDOMAINTYPEMOCK));
+        assertEquals(MRNMOCK + ":&" + PIDDOMAINIDMOCK + "&" + PIDDOMAINTYPEMOCK + ":111:222:0000100", policyId);
+        assertNotEquals(policyId, nextPolicyId);
     }
 }
@@ -90,6 +90,19 @@ public void testCreateConsentDto_ConsentReturns_Successfully() {
         assertEquals(consentDtoMock, consentDto);
     }
 
+    @Test
+    public void testCreateConsentDto_ConsentDtoReturns_Itself() {
+        // Arrange
+        ConsentDto consentDtoMock = mock(ConsentDto.class);
+
+        // Act
+        ConsentDto consentDto = sut.createConsentDto(consentDtoMock);
+
+        // Assert
+        assertEquals(consentDtoMock, consentDto);
+        verifyZeroInteractions(consentExportMapper);
+    }
+
     @Test
     public void testCreateConsentDto_Loong_Returns_Successfully() {
         // Arrange
@@ -0,0 +1,158 @@
+package gov.samhsa.c2s.pcm.service.fhir;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.domain.consent.FhirConsentOutboxEntry;
+import org.hl7.fhir.dstu3.model.Consent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.argThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FhirConsentOutboxPublisherImplTest {
+
+    private static final FhirContext FHIR_CONTEXT = FhirContext.forDstu3();
+
+    @Mock
+    private FhirConsentOutboxService fhirConsentOutboxService;
+
+    @Mock
+    private FhirConsentService fhirConsentService;
+
+    @Mock
+    private GaugeService gaugeService;
+
+    @Mock
+    private CounterService counterService;
+
+    @InjectMocks
+    private FhirConsentOutboxPublisherImpl sut;
+
+    private PcmProperties.HieConnection.Fhir fhir;
+
+    @Before
+    public void setUp() throws Exception {
+        fhir = new PcmProperties.HieConnection.Fhir();
+        fhir.setEnabled(true);
+        PcmProperties pcmProperties = PcmProperties.builder()
+                .hieConnection(PcmProperties.HieConnection.builder().fhir(fhir).build())
+                .build();
+        ReflectionTestUtils.setField(sut, "pcmProperties", pcmProperties);
+        ReflectionTestUtils.setField(sut, "fhirContext", FHIR_CONTEXT);
+    }
+
+    @Test
+    public void testPublishDueConsents_disabled() {
+        // Arrange
+        fhir.setEnabled(false);
+
+        // Act
+        sut.publishDueConsents();
+
+        // Assert
+        verifyZeroInteractions(fhirConsentOutboxService);
+    }
+
+    @Test
+    public void testPublishDueConsents_publishes_batch_in_one_bundle() {
+        // Arrange
+        when(fhirConsentOutboxService.claimDueEntries()).thenReturn(Arrays.asList(entry(1L, "P1"), entry(2L, "P2")));
+
+        // Act
+        sut.publishDueConsents();
+
+        // Assert
+        verify(fhirConsentService).publishFhirConsentsToHie(anyListOf(Consent.class));
+        verify(fhirConsentOutboxService).markPublished(Arrays.asList(1L, 2L));
+        verify(fhirConsentOutboxService, never()).markFailed(anyLong(), any(Exception.class), anyBoolean());
+    }
+
+    @Test
+    public void testPublishDueConsents_isolates_rejected_consent() {
+        // Arrange
+        when(fhirConsentOutboxService.claimDueEntries()).thenReturn(Arrays.asList(entry(1L, "P1"), entry(2L, "P2")));
+        UnprocessableEntityException rejected = new UnprocessableEntityException("rejected");
+        doThrow(rejected).when(fhirConsentService).publishFhirConsentsToHie(
+                argThat(new ConsentsWithPolicy("P1", "P2")));
+        doThrow(rejected).when(fhirConsentService).publishFhirConsentsToHie(
+                argThat(new ConsentsWithPolicy("P2")));
+
+        // Act
+        sut.publishDueConsents();
+
+        // Assert
+        verify(fhirConsentOutboxService).markPublished(Collections.singletonList(1L));
+        verify(fhirConsentOutboxService).markFailed(2L, rejected, false);
+    }
+
+    @Test
+    public void testPublishDueConsents_dead_letters_invalid_consent() {
+        // Arrange
+        when(fhirConsentOutboxService.claimDueEntries()).thenReturn(Collections.singletonList(entry(1L, "P1")));
+        doThrow(new FHIRFormatErrorException("invalid")).when(fhirConsentService).validateFhirConsent(any(Consent.class));
+
+        // Act
+        sut.publishDueConsents();
+
+        // Assert
+        verify(fhirConsentOutboxService).markFailed(eq(1L), any(FHIRFormatErrorException.class), eq(false));
+        verify(fhirConsentService, never()).publishFhirConsentsToHie(anyListOf(Consent.class));
+    }
+
+    private static FhirConsentOutboxEntry entry(Long id, String policy) {
+        Consent fhirConsent = new Consent();
+        fhirConsent.setPolicy(policy);
+        FhirConsentOutboxEntry entry = new FhirConsentOutboxEntry(id,
+                FHIR_CONTEXT.newJsonParser().encodeResourceToString(fhirConsent), new Date());
+        entry.setId(id);
+        return entry;
+    }
+
+    private static class ConsentsWithPolicy extends ArgumentMatcher<List<Consent>> {
+        private final List<String> policies;
+
+        ConsentsWithPolicy(String... policies) {
+            this.policies = Arrays.asList(policies);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean matches(Object argument) {
+            List<Consent> fhirConsents = (List<Consent>) argument;
+            if (fhirConsents.size() != policies.size()) {
+                return false;
+            }
+            for (int i = 0; i < policies.size(); i++) {
+                if (!policies.get(i).equals(fhirConsents.get(i).getPolicy())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package gov.samhsa.c2s.pcm.service.fhir;
+
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.domain.consent.FhirConsentOutboxEntry;
+import gov.samhsa.c2s.pcm.domain.consent.FhirConsentOutboxEntryRepository;
+import gov.samhsa.c2s.pcm.domain.consent.FhirConsentOutboxStatus;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FhirConsentOutboxServiceImplTest {
+
+    @Mock
+    private FhirConsentOutboxEntryRepository fhirConsentOutboxEntryRepository;
+
+    @InjectMocks
+    private FhirConsentOutboxServiceImpl sut;
+
+    private PcmProperties.HieConnection.Fhir.Outbox outbox;
+
+    @Before
+    public void setUp() throws Exception {
+        outbox = new PcmProperties.HieConnection.Fhir.Outbox();
+        outbox.setBatchSize(10);
+        outbox.setMaxAttempts(3);
+        outbox.setInitialBackoffInMs(1000);
+        outbox.setMaxBackoffInMs(3000);
+        outbox.setLeaseInMs(60000);
+        PcmProperties.HieConnection.Fhir fhir = new PcmProperties.HieConnection.Fhir();
+        fhir.setOutbox(outbox);
+        PcmProperties pcmProperties = PcmProperties.builder()
+                .hieConnection(PcmProperties.HieConnection.builder().fhir(fhir).build())
+                .build();
+        ReflectionTestUtils.setField(sut, "pcmProperties", pcmProperties);
+    }
+
+    @Test
+    public void testGetBackoffInMs_doubles_up_to_the_maximum() {
+        assertEquals(1000, sut.getBackoffInMs(1, outbox));
+        assertEquals(2000, sut.getBackoffInMs(2, outbox));
+        assertEquals(3000, sut.getBackoffInMs(3, outbox));
+        assertEquals(3000, sut.getBackoffInMs(60, outbox));
+    }
+
+    @Test
+    public void testClaimDueEntries_leases_the_batch() {
+        // Arrange
+        FhirConsentOutboxEntry entry = new FhirConsentOutboxEntry(1L, "{}", new Date(0));
+        when(fhirConsentOutboxEntryRepository.findDueForUpdate(eq(FhirConsentOutboxStatus.PENDING), any(Date.class),
+                any(Pageable.class))).thenReturn(Collections.singletonList(entry));
+
+        // Act
+        List<FhirConsentOutboxEntry> entries = sut.claimDueEntries();
+
+        // Assert
+        assertEquals(1, entries.size());
+        assertEquals(Integer.valueOf(1), entry.getAttempts());
+        assertTrue(entry.getNextAttemptDateTime().getTime() > System.currentTimeMillis() + 50000);
+    }
+
+    @Test
+    public void testMarkFailed_schedules_retry() {
+        // Arrange
+        FhirConsentOutboxEntry entry = new FhirConsentOutboxEntry(1L, "{}", new Date(0));
+        entry.setAttempts(1);
+        when(fhirConsentOutboxEntryRepository.findOne(5L)).thenReturn(entry);
+
+        // Act
+        boolean deadLetter = sut.markFailed(5L, new RuntimeException("timeout"), true);
+
+        // Assert
+        assertFalse(deadLetter);
+        assertEquals(FhirConsentOutboxStatus.PENDING, entry.getStatus());
+        assertTrue(entry.getLastError().contains("timeout"));
+    }
+
+    @Test
+    public void testMarkFailed_dead_letters_after_max_attempts() {
+        // Arrange
+        FhirConsentOutboxEntry entry = new FhirConsentOutboxEntry(1L, "{}", new Date(0));
+        entry.setAttempts(3);
+        when(fhirConsentOutboxEntryRepository.findOne(5L)).thenReturn(entry);
+
+        // Act
+        boolean deadLetter = sut.markFailed(5L, new RuntimeException("timeout"), true);
+
+        // Assert
+        assertTrue(deadLetter);
+        assertEquals(FhirConsentOutboxStatus.DEAD_LETTER, entry.getStatus());
+    }
+
+    @Test
+    public void testMarkFailed_dead_letters_permanent_failure() {
+        // Arrange
+        FhirConsentOutboxEntry entry = new FhirConsentOutboxEntry(1L, "{}", new Date(0));
+        entry.setAttempts(1);
+        when(fhirConsentOutboxEntryRepository.findOne(5L)).thenReturn(entry);
+
+        // Act
+        boolean deadLetter = sut.markFailed(5L, new FHIRFormatErrorException("invalid"), false);
+
+        // Assert
+        assertTrue(deadLetter);
+        assertEquals(FhirConsentOutboxStatus.DEAD_LETTER, entry.getStatus());
+    }
+}
@@ -0,0 +1,214 @@
+package gov.samhsa.c2s.pcm.service.fhir;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.IParser;
+import ca.uhn.fhir.validation.FhirValidator;
+import ca.uhn.fhir.validation.ValidationResult;
+import gov.samhsa.c2s.pcm.config.FHIRProperties;
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProvider;
+import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCode;
+import org.hl7.fhir.dstu3.model.CodeableConcept;
+import org.hl7.fhir.dstu3.model.Coding;
+import org.hl7.fhir.dstu3.model.Consent;
+import org.hl7.fhir.dstu3.model.Organization;
+import org.hl7.fhir.dstu3.model.Resource;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FhirFragmentCacheImplTest {
+
+    private static final FhirContext FHIR_CONTEXT = FhirContext.forDstu3();
+
+    @Mock
+    private FhirValidator fhirValidator;
+
+    @Mock
+    private ValidationResult validationResult;
+
+    @InjectMocks
+    private FhirFragmentCacheImpl sut;
+
+    @Before
+    public void setUp() throws Exception {
+        final FHIRProperties fhirProperties = new FHIRProperties();
+        fhirProperties.setNpi(new FHIRProperties.Npi());
+        fhirProperties.getNpi().setSystem("http://hl7.org/fhir/sid/us-npi");
+        fhirProperties.setPou(new FHIRProperties.Pou());
+        fhirProperties.getPou().setSystem("http://hl7.org/fhir/v3/ActReason");
+        fhirProperties.setConsentType(new FHIRProperties.ConsentType());
+        fhirProperties.getConsentType().setCode("DISL");
+        ReflectionTestUtils.setField(sut, "fhirProperties", fhirProperties);
+        ReflectionTestUtils.setField(sut, "fhirContext", FHIR_CONTEXT);
+
+        final PcmProperties.HieConnection.Fhir fhir = new PcmProperties.HieConnection.Fhir();
+        fhir.setFragmentCacheMaxSize(2);
+        ReflectionTestUtils.setField(sut, "pcmProperties", PcmProperties.builder()
+                .hieConnection(PcmProperties.HieConnection.builder().fhir(fhir).build())
+                .build());
+
+        when(fhirValidator.validateWithResult(any(Resource.class))).thenReturn(validationResult);
+        when(validationResult.isSuccessful()).thenReturn(true);
+        sut.afterPropertiesSet();
+    }
+
+    @Test
+    public void testGetOrganization_is_validated_once_per_content() {
+        // Arrange
+        final OrganizationalProvider provider = makeOrganizationalProvider("1111111111", 0);
+
+        // Act
+        final Organization first = sut.getOrganization(provider);
+        final Organization second = sut.getOrganization(provider);
+        provider.setOrgName("Renamed");
+        provider.setVersion(1);
+        final Organization updated = sut.getOrganization(provider);
+
+        // Assert
+        assertNotSame(first, second);
+        assertTrue(first.equalsDeep(second));
+        assertEquals("Renamed", updated.getName());
+        verify(fhirValidator, times(2)).validateWithResult(any(Resource.class));
+    }
+
+    @Test
+    public void testGetOrganization_when_rows_of_two_patients_share_the_npi() {
+        // Arrange
+        // provider rows are per patient, so both rows start at version 0
+        final OrganizationalProvider firstPatientRow = makeOrganizationalProvider("1111111111", 0);
+        final OrganizationalProvider secondPatientRow = makeOrganizationalProvider("1111111111", 0);
+        secondPatientRow.setPracticeLocationAddressCityName("Bethesda");
+        sut.getOrganization(firstPatientRow);
+        sut.getOrganization(secondPatientRow);
+
+        // Act
+        final Organization first = sut.getOrganization(firstPatientRow);
+        final Organization second = sut.getOrganization(secondPatientRow);
+
+        // Assert
+        assertEquals("Rockville", first.getAddressFirstRep().getCity());
+        assertEquals("Bethesda", second.getAddressFirstRep().getCity());
+        verify(fhirValidator, times(2)).validateWithResult(any(Resource.class));
+    }
+
+    @Test
+    public void testGetOrganization_evicts_least_recently_used() {
+        // Arrange
+        final OrganizationalProvider provider = makeOrganizationalProvider("1111111111", 0);
+        sut.getOrganization(provider);
+        sut.getOrganization(makeOrganizationalProvider("2222222222", 0));
+        sut.getOrganization(makeOrganizationalProvider("3333333333", 0));
+
+        // Act
+        sut.getOrganization(provider);
+
+        // Assert
+        verify(fhirValidator, times(4)).validateWithResult(any(Resource.class));
+    }
+
+    @Test
+    public void testGetCategory_hands_out_copies() {
+        // Act
+        final CodeableConcept first = sut.getCategory();
+        final CodeableConcept second = sut.getCategory();
+
+        // Assert
+        assertNotSame(first, second);
+        assertEquals("DISL", second.getCodingFirstRep().getCode());
+    }
+
+    @Test
+    public void testIsValidatedFragment_after_json_round_trip() {
+        // Arrange
+        final Consent consent = new Consent();
+        consent.getContained().add(sut.getOrganization(makeOrganizationalProvider("1111111111", 0)));
+        consent.getOrganization().setReference("#1111111111");
+        final IParser parser = FHIR_CONTEXT.newJsonParser();
+        final Consent parsed = parser.parseResource(Consent.class, parser.encodeResourceToString(consent));
+
+        // Act
+        final boolean validated = sut.isValidatedFragment(parsed.getContained().get(0));
+
+        // Assert
+        assertTrue(validated);
+    }
+
+    @Test
+    public void testIsValidatedFragment_when_content_differs() {
+        // Arrange
+        final Organization organization = sut.getOrganization(makeOrganizationalProvider("1111111111", 0)).copy();
+        organization.setName("Changed");
+
+        // Act
+        final boolean validated = sut.isValidatedFragment(organization);
+
+        // Assert
+        assertFalse(validated);
+    }
+
+    @Test
+    public void testIsValidatedFragment_when_fragment_failed_validation() {
+        // Arrange
+        when(validationResult.isSuccessful()).thenReturn(false);
+        final Organization organization = sut.getOrganization(makeOrganizationalProvider("1111111111", 0));
+
+        // Act
+        final boolean validated = sut.isValidatedFragment(organization);
+
+        // Assert
+        assertFalse(validated);
+    }
+
+    @Test
+    public void testGetPurposeOfUseCoding() {
+        // Arrange
+        final PurposeOfUseCode purposeOfUseCode = new PurposeOfUseCode();
+        purposeOfUseCode.setCode("TREATMENT");
+
+        // Act
+        final Coding coding = sut.getPurposeOfUseCoding(purposeOfUseCode);
+
+        // Assert
+        assertEquals("TREAT", coding.getCode());
+        assertEquals("TREATMENT", coding.getDisplay());
+        assertNotSame(coding, sut.getPurposeOfUseCoding(purposeOfUseCode));
+        assertTrue(coding.equalsDeep(sut.getPurposeOfUseCoding(purposeOfUseCode)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetPurposeOfUseCoding_when_code_is_unknown() {
+        // Arrange
+        final PurposeOfUseCode purposeOfUseCode = new PurposeOfUseCode();
+        purposeOfUseCode.setCode("MARKETING");
+
+        // Act
+        sut.getPurposeOfUseCoding(purposeOfUseCode);
+    }
+
+    private static OrganizationalProvider makeOrganizationalProvider(String npi, Integer version) {
+        final OrganizationalProvider provider = new OrganizationalProvider();
+        provider.setNpi(npi);
+        provider.setVersion(version);
+        provider.setOrgName("Org " + npi);
+        provider.setFirstLinePracticeLocationAddress("1 Main St");
+        provider.setPracticeLocationAddressCityName("Rockville");
+        provider.setPracticeLocationAddressStateName("MD");
+        provider.setPracticeLocationAddressPostalCode("20857");
+        return provider;
+    }
+}
@@ -0,0 +1,77 @@
+package gov.samhsa.c2s.pcm.service.identifier;
+
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IdentifierGeneratorImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private IdentifierGeneratorImpl sut;
+
+    @Before
+    public void setUp() throws Exception {
+        ReflectionTestUtils.setField(sut, "pcmProperties", PcmProperties.builder()
+                .identifier(PcmProperties.Identifier.builder().blockSize(2).oidRoot("1.2.3").build())
+                .build());
+    }
+
+    @Test
+    public void testNextValue_reserves_a_block_when_the_current_one_is_used_up() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("oid"))).thenReturn(1L, 11L);
+
+        // Act
+        final long first = sut.nextValue(IdentifierGenerator.Sequence.OID);
+        final long second = sut.nextValue(IdentifierGenerator.Sequence.OID);
+        final long third = sut.nextValue(IdentifierGenerator.Sequence.OID);
+
+        // Assert
+        assertEquals(1L, first);
+        assertEquals(2L, second);
+        assertEquals(11L, third);
+        verify(jdbcTemplate).update(anyString(), eq(3L), eq("oid"));
+        verify(jdbcTemplate).update(anyString(), eq(13L), eq("oid"));
+        verify(transactionManager, times(2)).getTransaction(any(TransactionDefinition.class));
+    }
+
+    @Test
+    public void testNextValue_keeps_a_block_per_sequence() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("oid"))).thenReturn(5L);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("policy_id"))).thenReturn(40L);
+
+        // Act
+        final long oid = sut.nextValue(IdentifierGenerator.Sequence.OID);
+        final long policyId = sut.nextValue(IdentifierGenerator.Sequence.POLICY_ID);
+        final long nextOid = sut.nextValue(IdentifierGenerator.Sequence.OID);
+
+        // Assert
+        assertEquals(5L, oid);
+        assertEquals(40L, policyId);
+        assertEquals(6L, nextOid);
+    }
+}
@@ -162,15 +162,15 @@ public void testcheckConsentSignedStatus_when_consent_is_revoked() {
         Set<Consent> consents = new HashSet<Consent>();
         Consent consent = mock(Consent.class);
         AttestedConsent attestedConsent = mock(AttestedConsent.class);
-        byte[] attestedConsentPDFContent = new byte[] { (byte) 0xba, (byte) 0x8a, };
+        String attestedConsentPDFArtifactKey = "attestedConsentPDFArtifactKey";
         consents.add(consent);
 
         when(consent.getStatus())
                 .thenReturn(ConsentStatus.CONSENT_SIGNED);
         when(consent.getAttestedConsent())
                 .thenReturn(attestedConsent);
-        when(attestedConsent.getAttestedPdfConsent())
-                .thenReturn(attestedConsentPDFContent);
+        when(attestedConsent.getAttestedPdfConsentArtifactKey())
+                .thenReturn(attestedConsentPDFArtifactKey);
 
         boolean result = nst.checkConsentSignedStatus(consents);
 
@@ -0,0 +1,160 @@
+package gov.samhsa.c2s.pcm.service.patient;
+
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
+import gov.samhsa.c2s.pcm.domain.reference.AdministrativeGenderCode;
+import gov.samhsa.c2s.pcm.domain.reference.MaritalStatusCode;
+import gov.samhsa.c2s.pcm.domain.reference.StateCode;
+import gov.samhsa.c2s.pcm.domain.valueobject.Address;
+import gov.samhsa.c2s.pcm.domain.valueobject.Telephone;
+import gov.samhsa.c2s.pcm.service.dto.LookupDto;
+import gov.samhsa.c2s.pcm.service.dto.PatientAdminDto;
+import gov.samhsa.c2s.pcm.service.dto.PatientProfileDto;
+import gov.samhsa.c2s.pcm.service.dto.RecentPatientDto;
+import gov.samhsa.c2s.pcm.service.provider.ProviderDtoMapper;
+import gov.samhsa.c2s.pcm.service.reference.ReferenceCodeRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PatientDtoMapperImplTest {
+
+    @Mock
+    private ProviderDtoMapper providerDtoMapper;
+
+    @Mock
+    private ReferenceCodeRegistry referenceCodeRegistry;
+
+    @InjectMocks
+    private PatientDtoMapperImpl sut;
+
+    @Test
+    public void testToPatientProfileDto() {
+        // Arrange
+        Patient patient = makePatient();
+
+        // Act
+        PatientProfileDto patientProfileDto = sut.toPatientProfileDto(patient);
+
+        // Assert
+        assertEquals(Long.valueOf(3L), patientProfileDto.getId());
+        assertEquals("Albert", patientProfileDto.getFirstName());
+        assertEquals("Smith", patientProfileDto.getLastName());
+        assertEquals("1 Main St", patientProfileDto.getAddressStreetAddressLine());
+        assertEquals("Columbia", patientProfileDto.getAddressCity());
+        assertEquals("MD", patientProfileDto.getAddressStateCode());
+        assertEquals("4105550100", patientProfileDto.getTelephoneTelephone());
+        assertEquals(patient.getBirthDay(), patientProfileDto.getBirthDate());
+        assertEquals("M", patientProfileDto.getAdministrativeGenderCode());
+        assertEquals("S", patientProfileDto.getMaritalStatusCode().getCode());
+        assertEquals("Never Married", patientProfileDto.getMaritalStatusCode().getDisplayName());
+        assertNull(patientProfileDto.getRaceCode());
+        assertEquals("MRN-1", patientProfileDto.getMedicalRecordNumber());
+        assertEquals("albert.smith", patientProfileDto.getUsername());
+    }
+
+    @Test
+    public void testToPatient_resolves_the_coded_concepts_from_the_registry() {
+        // Arrange
+        AdministrativeGenderCode administrativeGenderCode = new AdministrativeGenderCode();
+        StateCode stateCode = new StateCode();
+        when(referenceCodeRegistry.findByCode(AdministrativeGenderCode.class, "F")).thenReturn(administrativeGenderCode);
+        when(referenceCodeRegistry.findByCode(StateCode.class, "VA")).thenReturn(stateCode);
+        PatientProfileDto patientProfileDto = new PatientProfileDto();
+        patientProfileDto.setId(9L);
+        patientProfileDto.setFirstName("Alice");
+        patientProfileDto.setAddressCity("Reston");
+        patientProfileDto.setAddressStateCode("VA");
+        patientProfileDto.setAdministrativeGenderCode("F");
+        LookupDto maritalStatusCode = new LookupDto();
+        maritalStatusCode.setCode("XX");
+        patientProfileDto.setMaritalStatusCode(maritalStatusCode);
+
+        // Act
+        Patient patient = sut.toPatient(patientProfileDto);
+
+        // Assert
+        assertEquals(Long.valueOf(9L), patient.getId());
+        assertEquals("Alice", patient.getFirstName());
+        assertEquals("Reston", patient.getAddress().getCity());
+        assertSame(stateCode, patient.getAddress().getStateCode());
+        assertSame(administrativeGenderCode, patient.getAdministrativeGenderCode());
+        assertNull(patient.getMaritalStatusCode());
+    }
+
+    @Test
+    public void testToPatientAdminDto() {
+        // Arrange
+        Patient patient = makePatient();
+
+        // Act
+        PatientAdminDto patientAdminDto = sut.toPatientAdminDto(patient);
+
+        // Assert
+        assertEquals(Long.valueOf(3L), patientAdminDto.getId());
+        assertEquals("Albert", patientAdminDto.getFirstName());
+        assertEquals(patient.getBirthDay().toString(), patientAdminDto.getBirthDay());
+        assertEquals("123-45-6789", patientAdminDto.getSocialSecurityNumber());
+    }
+
+    @Test
+    public void testToRecentPatientDto() {
+        // Arrange
+        Patient patient = makePatient();
+
+        // Act
+        RecentPatientDto recentPatientDto = sut.toRecentPatientDto(patient);
+
+        // Assert
+        assertEquals(Long.valueOf(3L), recentPatientDto.getId());
+        assertEquals("Smith", recentPatientDto.getLastName());
+        assertEquals(patient.getBirthDay(), recentPatientDto.getBirthDate());
+        assertEquals("M", recentPatientDto.getAdministrativeGenderCode());
+    }
+
+    private static Patient makePatient() {
+        StateCode stateCode = new StateCode();
+        stateCode.setCode("MD");
+        Address address = new Address();
+        address.setStreetAddressLine("1 Main St");
+        address.setCity("Columbia");
+        address.setStateCode(stateCode);
+        address.setPostalCode("21044");
+        Telephone telephone = new Telephone();
+        telephone.setTelephone("4105550100");
+        AdministrativeGenderCode administrativeGenderCode = new AdministrativeGenderCode();
+        administrativeGenderCode.setCode("M");
+        MaritalStatusCode maritalStatusCode = new MaritalStatusCode();
+        maritalStatusCode.setCode("S");
+        maritalStatusCode.setDisplayName("Never Married");
+        IndividualProvider individualProvider = new IndividualProvider();
+        individualProvider.setNpi("1083949036");
+        individualProvider.setLastName("Jones");
+
+        Patient patient = new Patient();
+        patient.setId(3L);
+        patient.setFirstName("Albert");
+        patient.setLastName("Smith");
+        patient.setAddress(address);
+        patient.setTelephone(telephone);
+        patient.setEmail("albert.smith@example.com");
+        patient.setBirthDay(new Date(0));
+        patient.setUsername("albert.smith");
+        patient.setSocialSecurityNumber("123-45-6789");
+        patient.setAdministrativeGenderCode(administrativeGenderCode);
+        patient.setMaritalStatusCode(maritalStatusCode);
+        patient.setMedicalRecordNumber("MRN-1");
+        patient.getIndividualProviders().add(individualProvider);
+        return patient;
+    }
+}
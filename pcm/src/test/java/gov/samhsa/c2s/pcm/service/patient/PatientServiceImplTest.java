@@ -7,10 +7,12 @@
 import gov.samhsa.c2s.pcm.service.patient.PatientServiceImpl;
 import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
 import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProvider;
+import gov.samhsa.c2s.pcm.infrastructure.dto.PatientDto;
 import gov.samhsa.c2s.pcm.service.dto.AddConsentIndividualProviderDto;
 import gov.samhsa.c2s.pcm.service.dto.AddConsentOrganizationalProviderDto;
 import gov.samhsa.c2s.pcm.service.dto.PatientAdminDto;
 import gov.samhsa.c2s.pcm.service.dto.PatientProfileDto;
+import gov.samhsa.c2s.pcm.service.provider.ProviderDtoMapper;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -18,7 +20,6 @@
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -43,7 +44,10 @@ public class PatientServiceImplTest {
     private PatientLegalRepresentativeAssociationRepository patientLegalRepresentativeAssociationRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private PatientDtoMapper patientDtoMapper;
+
+    @Mock
+    private ProviderDtoMapper providerDtoMapper;
 
     @Mock
     private UsersRepository usersRepository;
@@ -76,7 +80,7 @@ public void testFindPatient() {
         final Patient patient = mock(Patient.class);
         when(patientRepository.findOne(anyLong())).thenReturn(patient);
         final PatientProfileDto expectedPatientProfileDto = mock(PatientProfileDto.class);
-        when(modelMapper.map(patient, PatientProfileDto.class)).thenReturn(
+        when(patientDtoMapper.toPatientProfileDto(patient)).thenReturn(
                 expectedPatientProfileDto);
 
         // Act
@@ -122,7 +126,7 @@ public void testFindPatientProfileByUsername() {
         final Patient patient = mock(Patient.class);
         when(patientRepository.findByUsername(anyString())).thenReturn(patient);
         final PatientProfileDto expectedPatientProfileDto = mock(PatientProfileDto.class);
-        when(modelMapper.map(patient, PatientProfileDto.class)).thenReturn(
+        when(patientDtoMapper.toPatientProfileDto(patient)).thenReturn(
                 expectedPatientProfileDto);
 
         // Act
@@ -174,11 +178,11 @@ public boolean matches(Object argument) {
                 .thenReturn(patientPage);
 
         final PatientProfileDto expectedPatientProfileDto1 = mock(PatientProfileDto.class);
-        when(modelMapper.map(patient1, PatientProfileDto.class)).thenReturn(
+        when(patientDtoMapper.toPatientProfileDto(patient1)).thenReturn(
                 expectedPatientProfileDto1);
 
         final PatientProfileDto expectedPatientProfileDto2 = mock(PatientProfileDto.class);
-        when(modelMapper.map(patient2, PatientProfileDto.class)).thenReturn(
+        when(patientDtoMapper.toPatientProfileDto(patient2)).thenReturn(
                 expectedPatientProfileDto2);
 
         // Act
@@ -201,9 +205,9 @@ public void testSavePatient() {
         PatientProfileDto patientProfileDtoInput = mock(PatientProfileDto.class);
         Patient patient = mock(Patient.class);
         PatientProfileDto expectedPatientProfileDto = mock(PatientProfileDto.class);
-        when(modelMapper.map(patient, PatientProfileDto.class)).thenReturn(
+        when(patientDtoMapper.toPatientProfileDto(patient)).thenReturn(
                 expectedPatientProfileDto);
-        when(modelMapper.map(patientProfileDtoInput, Patient.class)).thenReturn(
+        when(patientDtoMapper.toPatient(patientProfileDtoInput)).thenReturn(
                 patient);
 
         // Act
@@ -237,7 +241,7 @@ public void testUpdatePatient_when_authentication_success()
         when(patientRepository.findByUsername(username)).thenReturn(
                 initialpatient);
         when(initialpatient.getEnterpriseIdentifier()).thenReturn("FAM.123");
-        when(modelMapper.map(patientProfileDtoInput, Patient.class)).thenReturn(patient);
+        when(patientDtoMapper.toPatient(patientProfileDtoInput)).thenReturn(patient);
 
         // Act
         sut.updatePatient(patientProfileDtoInput);
@@ -256,7 +260,7 @@ public void testUpdatePatient_when_username_does_not_match_and_so_authentication
         PatientProfileDto patientProfileDtoInput = mock(PatientProfileDto.class);
         when(patientProfileDtoInput.getUsername())
                 .thenReturn("AnotherUsername");
-        when(modelMapper.map(patientProfileDtoInput, Patient.class)).thenReturn(patient);
+        when(patientDtoMapper.toPatient(patientProfileDtoInput)).thenReturn(patient);
 
         // Act
         sut.updatePatient(patientProfileDtoInput);
@@ -310,9 +314,9 @@ public void testFindAddConsentIndividualProviderDtoByUsername() {
         AddConsentIndividualProviderDto providerDto1 = mock(AddConsentIndividualProviderDto.class);
         AddConsentIndividualProviderDto providerDto2 = mock(AddConsentIndividualProviderDto.class);
 
-        when(modelMapper.map(provider1, AddConsentIndividualProviderDto.class))
+        when(providerDtoMapper.toAddConsentIndividualProviderDto(provider1))
                 .thenReturn(providerDto1);
-        when(modelMapper.map(provider2, AddConsentIndividualProviderDto.class))
+        when(providerDtoMapper.toAddConsentIndividualProviderDto(provider2))
                 .thenReturn(providerDto2);
 
         // Act
@@ -349,14 +353,10 @@ public void testFindAddConsentOrganizationalProviderDtoByUsername() {
         AddConsentOrganizationalProviderDto providerDto1 = mock(AddConsentOrganizationalProviderDto.class);
         AddConsentOrganizationalProviderDto providerDto2 = mock(AddConsentOrganizationalProviderDto.class);
 
-        when(
-                modelMapper.map(provider1,
-                        AddConsentOrganizationalProviderDto.class)).thenReturn(
-                providerDto1);
-        when(
-                modelMapper.map(provider2,
-                        AddConsentOrganizationalProviderDto.class)).thenReturn(
-                providerDto2);
+        when(providerDtoMapper.toAddConsentOrganizationalProviderDto(provider1))
+                .thenReturn(providerDto1);
+        when(providerDtoMapper.toAddConsentOrganizationalProviderDto(provider2))
+                .thenReturn(providerDto2);
 
         // Act
         List<AddConsentOrganizationalProviderDto> result = sut
@@ -457,9 +457,9 @@ public void testFindAllPatientByFirstNameAndLastName() {
                         "%john%", "%smith%")).thenReturn(patients);
         PatientAdminDto patientAdminDto = mock(PatientAdminDto.class);
         PatientAdminDto patientAdminDto2 = mock(PatientAdminDto.class);
-        when(modelMapper.map(patient, PatientAdminDto.class)).thenReturn(
+        when(patientDtoMapper.toPatientAdminDto(patient)).thenReturn(
                 patientAdminDto);
-        when(modelMapper.map(patient2, PatientAdminDto.class)).thenReturn(
+        when(patientDtoMapper.toPatientAdminDto(patient2)).thenReturn(
                 patientAdminDto2);
         assertEquals(
                 Arrays.asList(patientAdminDto, patientAdminDto2),
@@ -478,4 +478,58 @@ public void testFindPatientConnectionById() {
         Patient patient = mock(Patient.class);
         when(patientRepository.findOne(anyLong())).thenReturn(patient);
     }
+
+    @Test
+    public void testUpdatePatientFromPHR_when_profile_is_unchanged() {
+        // Arrange
+        Patient patient = makePatientFromPHR();
+        patient.setBirthDay(new java.sql.Date(makePatientDto().getBirthDate().getTime()));
+        when(patientRepository.findOneAsOptional(1L)).thenReturn(Optional.of(patient));
+
+        // Act
+        sut.updatePatientFromPHR(makePatientDto());
+
+        // Assert
+        verify(patientRepository, never()).save(any(Patient.class));
+    }
+
+    @Test
+    public void testUpdatePatientFromPHR_when_profile_has_changed() {
+        // Arrange
+        Patient patient = makePatientFromPHR();
+        when(patientRepository.findOneAsOptional(1L)).thenReturn(Optional.of(patient));
+        PatientDto patientDto = makePatientDto();
+        patientDto.setLastName("Jones");
+
+        // Act
+        sut.updatePatientFromPHR(patientDto);
+
+        // Assert
+        assertEquals("Jones", patient.getLastName());
+        verify(patientRepository).save(patient);
+    }
+
+    private static PatientDto makePatientDto() {
+        PatientDto patientDto = new PatientDto();
+        patientDto.setId(1L);
+        patientDto.setFirstName("John");
+        patientDto.setLastName("Smith");
+        patientDto.setEmail("john.smith@example.com");
+        patientDto.setMedicalRecordNumber("MRN-1");
+        patientDto.setBirthDate(new GregorianCalendar(1980, Calendar.MAY, 17).getTime());
+        return patientDto;
+    }
+
+    private static Patient makePatientFromPHR() {
+        PatientDto patientDto = makePatientDto();
+        Patient patient = new Patient();
+        patient.setId(patientDto.getId());
+        patient.setFirstName(patientDto.getFirstName());
+        patient.setLastName(patientDto.getLastName());
+        patient.setEmail(patientDto.getEmail());
+        patient.setUsername(patientDto.getEmail());
+        patient.setMedicalRecordNumber(patientDto.getMedicalRecordNumber());
+        patient.setBirthDay(patientDto.getBirthDate());
+        return patient;
+    }
 }
@@ -0,0 +1,127 @@
+package gov.samhsa.c2s.pcm.service.patient;
+
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.infrastructure.PhrService;
+import gov.samhsa.c2s.pcm.infrastructure.dto.PatientDto;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.authentication.OAuth2AuthenticationDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PhrProfileCacheImplTest {
+
+    private static final long TTL = 1000L;
+
+    @Mock
+    private PhrService phrService;
+
+    @InjectMocks
+    private PhrProfileCacheImpl sut;
+
+    private PatientDto firstProfile;
+
+    private PatientDto secondProfile;
+
+    @Before
+    public void setUp() {
+        PcmProperties pcmProperties = PcmProperties.builder()
+                .phrProfileCache(PcmProperties.PhrProfileCache.builder()
+                        .maxSize(10)
+                        .ttlInMs(TTL)
+                        .build())
+                .build();
+        ReflectionTestUtils.setField(sut, "pcmProperties", pcmProperties);
+        setTime(0L);
+        firstProfile = new PatientDto();
+        secondProfile = new PatientDto();
+        when(phrService.getPatientProfile()).thenReturn(firstProfile, secondProfile);
+    }
+
+    @After
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testGetPatientProfile_reuses_profile_of_same_token_within_ttl() {
+        // Arrange
+        authenticate("token-a");
+        sut.getPatientProfile();
+        setTime(TTL - 1);
+
+        // Act
+        PatientDto result = sut.getPatientProfile();
+
+        // Assert
+        assertSame(firstProfile, result);
+        verify(phrService, times(1)).getPatientProfile();
+    }
+
+    @Test
+    public void testGetPatientProfile_reloads_profile_after_ttl() {
+        // Arrange
+        authenticate("token-a");
+        sut.getPatientProfile();
+        setTime(TTL);
+
+        // Act
+        PatientDto result = sut.getPatientProfile();
+
+        // Assert
+        assertSame(secondProfile, result);
+    }
+
+    @Test
+    public void testGetPatientProfile_keeps_tokens_apart() {
+        // Arrange
+        authenticate("token-a");
+        sut.getPatientProfile();
+        authenticate("token-b");
+
+        // Act
+        PatientDto result = sut.getPatientProfile();
+
+        // Assert
+        assertSame(secondProfile, result);
+    }
+
+    @Test
+    public void testGetPatientProfile_without_token_always_asks_phr() {
+        // Act
+        sut.getPatientProfile();
+        PatientDto result = sut.getPatientProfile();
+
+        // Assert
+        assertSame(secondProfile, result);
+    }
+
+    private void setTime(long millis) {
+        ReflectionTestUtils.setField(sut, "clock", Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+
+    private static void authenticate(String tokenValue) {
+        OAuth2AuthenticationDetails details = mock(OAuth2AuthenticationDetails.class);
+        when(details.getTokenValue()).thenReturn(tokenValue);
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getDetails()).thenReturn(details);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+}
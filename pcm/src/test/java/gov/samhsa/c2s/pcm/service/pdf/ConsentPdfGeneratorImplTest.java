@@ -0,0 +1,236 @@
+package gov.samhsa.c2s.pcm.service.pdf;
+
+import gov.samhsa.c2s.pcm.config.PdfProperties;
+import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentIndividualProviderDisclosureIsMadeTo;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentOrganizationalProviderPermittedToDisclose;
+import gov.samhsa.c2s.pcm.domain.consent.ConsentShareForPurposeOfUseCode;
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
+import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProvider;
+import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCode;
+import gov.samhsa.c2s.pcm.domain.valueset.ValueSetCategory;
+import gov.samhsa.c2s.pcm.domain.valueset.ValueSetCategoryRepository;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfBoxFont;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfBoxPageSize;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfBoxServiceImpl;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConsentPdfGeneratorImplTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConsentPdfGeneratorImplTest.class);
+
+    private static final String STATIC_TERMS = "I agree to share my records.\n\n\t1. First term.\n\t2. Second term.";
+
+    private PdfBoxServiceImpl pdfBoxService;
+    private PdfProperties pdfProperties;
+    private ResourceBundleMessageSource messageSource;
+    private ValueSetCategoryRepository valueSetCategoryRepository;
+
+    @Before
+    public void setUp() {
+        pdfProperties = new PdfProperties();
+        final PdfProperties.PdfConfig pdfConfig = new PdfProperties.PdfConfig();
+        pdfConfig.setType("consent-pdf");
+        pdfConfig.setPdFont(PdfBoxFont.TIMES_ROMAN);
+        pdfConfig.setPdfPageSize(PdfBoxPageSize.LETTER);
+        pdfProperties.setPdfConfigs(Collections.singletonList(pdfConfig));
+        pdfProperties.setPdfTemplateCacheMaxSize(20);
+
+        pdfBoxService = new PdfBoxServiceImpl();
+        ReflectionTestUtils.setField(pdfBoxService, "pdfProperties", pdfProperties);
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        final ValueSetCategory valueSetCategory = new ValueSetCategory();
+        valueSetCategory.setCode("HIV");
+        valueSetCategory.setName("HIV/AIDS information");
+        valueSetCategoryRepository = mock(ValueSetCategoryRepository.class);
+        when(valueSetCategoryRepository.findAll()).thenReturn(Collections.singletonList(valueSetCategory));
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+    }
+
+    @After
+    public void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    public void testGenerateConsentPdf_draws_template_and_values_when_terms_name_the_patient() throws Exception {
+        // Arrange
+        final PdfTemplateCacheImpl pdfTemplateCache = newCache();
+        final ConsentPdfGeneratorImpl sut = newGenerator(pdfTemplateCache);
+        final String terms = messageSource.getMessage("CONSENT.TERMS.TEXT", null, Locale.ENGLISH);
+        // the first PDF renders the template and the second one reuses it
+        sut.generateConsentPdf(makeConsent("REF-1", "Jane's Clinic"), makePatient("Jane"), true, new Date(), terms);
+
+        // Act
+        final byte[] pdf = sut.generateConsentPdf(makeConsent("REF-2", "John's Clinic"), makePatient("John"), true, new Date(), terms);
+
+        // Assert
+        assertEquals(1, getTemplates(pdfTemplateCache).size());
+        final String text = extractText(pdf);
+        assertLabels(text);
+        assertValues(text);
+        assertTrue(text.contains("I, John Doe, understand"));
+        assertFalse(text.contains("ATTESTER_FULL_NAME"));
+        assertFalse(text.contains("Jane"));
+    }
+
+    @Test
+    public void testGenerateConsentPdf_draws_template_and_values_when_terms_are_static() throws Exception {
+        // Arrange
+        final PdfTemplateCacheImpl pdfTemplateCache = newCache();
+        final ConsentPdfGeneratorImpl sut = newGenerator(pdfTemplateCache);
+        // the first PDF renders the template and the second one reuses it
+        sut.generateConsentPdf(makeConsent("REF-1", "Jane's Clinic"), makePatient("Jane"), true, new Date(), STATIC_TERMS);
+
+        // Act
+        final byte[] pdf = sut.generateConsentPdf(makeConsent("REF-2", "John's Clinic"), makePatient("John"), true, new Date(), STATIC_TERMS);
+
+        // Assert
+        assertEquals(1, getTemplates(pdfTemplateCache).size());
+        final String text = extractText(pdf);
+        assertLabels(text);
+        assertValues(text);
+        assertTrue(text.contains("I agree to share my records."));
+        assertTrue(text.contains("Second term."));
+        assertFalse(text.contains("Jane"));
+    }
+
+    /**
+     * Compares rendering every page from scratch with stamping a cached template, with the shipped consent terms that
+     * name the patient and so are still wrapped for every PDF. Run with {@code -Dpcm.pdf.benchmark=true}.
+     */
+    @Test
+    public void benchmarkGenerateConsentPdf() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("pcm.pdf.benchmark"));
+        final int iterations = 500;
+        final String terms = messageSource.getMessage("CONSENT.TERMS.TEXT", null, Locale.ENGLISH);
+        final ConsentPdfGeneratorImpl cached = newGenerator(newCache());
+
+        // warm up the JIT and the template
+        for (int i = 0; i < iterations; i++) {
+            newGenerator(newCache()).generateConsentPdf(makeConsent("REF-" + i, "Clinic"), makePatient("John"), true, new Date(), terms);
+            cached.generateConsentPdf(makeConsent("REF-" + i, "Clinic"), makePatient("John"), true, new Date(), terms);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            // an empty cache renders the whole page every time, as before templates
+            newGenerator(newCache()).generateConsentPdf(makeConsent("REF-" + i, "Clinic"), makePatient("John"), true, new Date(), terms);
+        }
+        final long uncachedNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            cached.generateConsentPdf(makeConsent("REF-" + i, "Clinic"), makePatient("John"), true, new Date(), terms);
+        }
+        final long cachedNanos = System.nanoTime() - start;
+
+        LOGGER.info(String.format("Consent PDF: %.3f ms rendered, %.3f ms from template, %.1fx",
+                uncachedNanos / 1e6 / iterations, cachedNanos / 1e6 / iterations, (double) uncachedNanos / cachedNanos));
+        assertTrue("Stamping a cached template should be faster than rendering the page", cachedNanos < uncachedNanos);
+    }
+
+    private static void assertLabels(String text) {
+        assertTrue(text.contains("Consent to Share My Health Information"));
+        assertTrue(text.contains("Consent Reference Number"));
+        assertTrue(text.contains("Patient Name:"));
+        assertTrue(text.contains("AUTHORIZATION TO DISCLOSE"));
+        assertTrue(text.contains("Authorizes:"));
+        assertTrue(text.contains("To disclose to:"));
+        assertTrue(text.contains("Provider Name"));
+        assertTrue(text.contains("HEALTH INFORMATION TO BE DISCLOSED"));
+        assertTrue(text.contains("To SHARE the following medical information:"));
+        assertTrue(text.contains("CONSENT TERMS"));
+        assertTrue(text.contains("Signed by:"));
+    }
+
+    private static void assertValues(String text) {
+        assertTrue(text.contains("REF-2"));
+        assertTrue(text.contains("John Doe"));
+        assertTrue(text.contains("John's Clinic"));
+        assertTrue(text.contains("1234567890"));
+        assertTrue(text.contains("Ann Smith"));
+        assertTrue(text.contains("HIV/AIDS information"));
+        assertTrue(text.contains("Healthcare Treatment"));
+        assertTrue(text.contains("doe@example.com"));
+    }
+
+    private PdfTemplateCacheImpl newCache() {
+        return new PdfTemplateCacheImpl(pdfBoxService, pdfProperties);
+    }
+
+    private ConsentPdfGeneratorImpl newGenerator(PdfTemplateCache pdfTemplateCache) {
+        return new ConsentPdfGeneratorImpl(pdfBoxService, pdfTemplateCache, messageSource, valueSetCategoryRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, ?> getTemplates(PdfTemplateCacheImpl pdfTemplateCache) {
+        return (Map<String, ?>) ReflectionTestUtils.getField(pdfTemplateCache, "templates");
+    }
+
+    private static String extractText(byte[] pdf) throws Exception {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    private static Consent makeConsent(String consentReferenceId, String orgName) {
+        final OrganizationalProvider organizationalProvider = new OrganizationalProvider();
+        organizationalProvider.setOrgName(orgName);
+        organizationalProvider.setNpi("1234567890");
+        organizationalProvider.setFirstLinePracticeLocationAddress("1 Main St");
+        organizationalProvider.setPracticeLocationAddressTelephoneNumber("4105550100");
+        final IndividualProvider individualProvider = new IndividualProvider();
+        individualProvider.setFirstName("Ann");
+        individualProvider.setLastName("Smith");
+        individualProvider.setNpi("1083949036");
+        individualProvider.setFirstLinePracticeLocationAddress("2 Main St");
+        individualProvider.setPracticeLocationAddressTelephoneNumber("4105550101");
+        final PurposeOfUseCode purposeOfUseCode = new PurposeOfUseCode();
+        purposeOfUseCode.setCode("TREATMENT");
+        purposeOfUseCode.setDisplayName("Healthcare Treatment");
+
+        final Consent consent = new Consent();
+        consent.setConsentReferenceId(consentReferenceId);
+        consent.setCreatedDateTime(new Date());
+        consent.setStartDate(new Date());
+        consent.setEndDate(new Date());
+        consent.getOrganizationalProvidersPermittedToDisclose().add(new ConsentOrganizationalProviderPermittedToDisclose(organizationalProvider));
+        consent.getProvidersDisclosureIsMadeTo().add(new ConsentIndividualProviderDisclosureIsMadeTo(individualProvider));
+        consent.getShareForPurposeOfUseCodes().add(new ConsentShareForPurposeOfUseCode(purposeOfUseCode));
+        return consent;
+    }
+
+    private static Patient makePatient(String firstName) {
+        final Patient patient = new Patient();
+        patient.setFirstName(firstName);
+        patient.setLastName("Doe");
+        patient.setEmail("doe@example.com");
+        patient.setBirthDay(new Date());
+        return patient;
+    }
+}
@@ -0,0 +1,149 @@
+package gov.samhsa.c2s.pcm.service.pdf;
+
+import gov.samhsa.c2s.pcm.config.PdfProperties;
+import gov.samhsa.c2s.pcm.domain.consent.Consent;
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.domain.valueset.ValueSetCategoryRepository;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfBoxFont;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfBoxPageSize;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfBoxServiceImpl;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ConsentRevocationPdfGeneratorImplTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConsentRevocationPdfGeneratorImplTest.class);
+
+    private static final String REVOCATION_TERMS = "I revoke my consent.\n\n\t1. First term.\n\t2. Second term.";
+
+    private PdfBoxServiceImpl pdfBoxService;
+    private ResourceBundleMessageSource messageSource;
+    private ConsentPdfGeneratorImpl consentPdfGenerator;
+
+    @Before
+    public void setUp() {
+        final PdfProperties pdfProperties = new PdfProperties();
+        final PdfProperties.PdfConfig pdfConfig = new PdfProperties.PdfConfig();
+        pdfConfig.setType("consent-revocation-pdf");
+        pdfConfig.setPdFont(PdfBoxFont.TIMES_ROMAN);
+        pdfConfig.setPdfPageSize(PdfBoxPageSize.LETTER);
+        pdfProperties.setPdfConfigs(Collections.singletonList(pdfConfig));
+        pdfProperties.setPdfTemplateCacheMaxSize(20);
+
+        pdfBoxService = new PdfBoxServiceImpl();
+        ReflectionTestUtils.setField(pdfBoxService, "pdfProperties", pdfProperties);
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        consentPdfGenerator = new ConsentPdfGeneratorImpl(pdfBoxService, new PdfTemplateCacheImpl(pdfBoxService, pdfProperties),
+                messageSource, mock(ValueSetCategoryRepository.class));
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+    }
+
+    @After
+    public void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    public void testGenerateConsentRevocationPdf_draws_template_and_values() throws Exception {
+        // Arrange
+        final ConsentRevocationPdfGeneratorImpl sut = newGenerator(newCache());
+        // the first PDF renders the template and the second one reuses it
+        sut.generateConsentRevocationPdf(makeConsent("REF-1"), makePatient("Jane"), new Date(), REVOCATION_TERMS);
+
+        // Act
+        final byte[] pdf = sut.generateConsentRevocationPdf(makeConsent("REF-2"), makePatient("John"), new Date(), REVOCATION_TERMS);
+
+        // Assert
+        final String text = extractText(pdf);
+        assertTrue(text.contains("Revocation of Consent"));
+        assertTrue(text.contains("Second term."));
+        assertTrue(text.contains("REF-2"));
+        assertTrue(text.contains("John Doe"));
+        assertFalse(text.contains("Jane"));
+    }
+
+    /**
+     * Compares rendering every page from scratch with stamping a cached template. Run with
+     * {@code -Dpcm.pdf.benchmark=true}.
+     */
+    @Test
+    public void benchmarkGenerateConsentRevocationPdf() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("pcm.pdf.benchmark"));
+        final int iterations = 500;
+        final String terms = messageSource.getMessage("REVOCATION.TERMS.TEXT", null, Locale.ENGLISH);
+        final ConsentRevocationPdfGeneratorImpl cached = newGenerator(newCache());
+
+        // warm up the JIT and the template
+        for (int i = 0; i < iterations; i++) {
+            newGenerator(newCache()).generateConsentRevocationPdf(makeConsent("REF-" + i), makePatient("John"), new Date(), terms);
+            cached.generateConsentRevocationPdf(makeConsent("REF-" + i), makePatient("John"), new Date(), terms);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            // an empty cache renders the whole page every time, as before templates
+            newGenerator(newCache()).generateConsentRevocationPdf(makeConsent("REF-" + i), makePatient("John"), new Date(), terms);
+        }
+        final long uncachedNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            cached.generateConsentRevocationPdf(makeConsent("REF-" + i), makePatient("John"), new Date(), terms);
+        }
+        final long cachedNanos = System.nanoTime() - start;
+
+        LOGGER.info(String.format("Revocation PDF: %.3f ms rendered, %.3f ms from template, %.1fx",
+                uncachedNanos / 1e6 / iterations, cachedNanos / 1e6 / iterations, (double) uncachedNanos / cachedNanos));
+        assertTrue("Stamping a cached template should be faster than rendering the page", cachedNanos < uncachedNanos);
+    }
+
+    private PdfTemplateCacheImpl newCache() {
+        final PdfProperties pdfProperties = (PdfProperties) ReflectionTestUtils.getField(pdfBoxService, "pdfProperties");
+        return new PdfTemplateCacheImpl(pdfBoxService, pdfProperties);
+    }
+
+    private ConsentRevocationPdfGeneratorImpl newGenerator(PdfTemplateCache pdfTemplateCache) {
+        return new ConsentRevocationPdfGeneratorImpl(pdfBoxService, pdfTemplateCache, consentPdfGenerator);
+    }
+
+    private static String extractText(byte[] pdf) throws Exception {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    private static Consent makeConsent(String consentReferenceId) {
+        final Consent consent = new Consent();
+        consent.setConsentReferenceId(consentReferenceId);
+        consent.setCreatedDateTime(new Date());
+        return consent;
+    }
+
+    private static Patient makePatient(String firstName) {
+        final Patient patient = new Patient();
+        patient.setFirstName(firstName);
+        patient.setLastName("Doe");
+        patient.setEmail("doe@example.com");
+        patient.setBirthDay(new Date());
+        return patient;
+    }
+}
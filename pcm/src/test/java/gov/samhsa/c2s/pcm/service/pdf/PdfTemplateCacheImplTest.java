@@ -0,0 +1,100 @@
+package gov.samhsa.c2s.pcm.service.pdf;
+
+import gov.samhsa.c2s.pcm.config.PdfProperties;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfBoxService;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfTemplate;
+import gov.samhsa.c2s.pcm.infrastructure.pdfbox.PdfTemplateWriter;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PdfTemplateCacheImplTest {
+
+    private static final String CONSENT_PDF = "consent-pdf";
+
+    @Mock
+    private PdfBoxService pdfBoxService;
+
+    @Mock
+    private PdfTemplateWriter templateWriter;
+
+    private PdfProperties pdfProperties;
+
+    private PdfTemplateCacheImpl sut;
+
+    @Before
+    public void setUp() throws Exception {
+        pdfProperties = new PdfProperties();
+        pdfProperties.setPdfTemplateCacheMaxSize(2);
+        when(pdfBoxService.getConfiguredPdfPageSize(CONSENT_PDF)).thenReturn(PDRectangle.LETTER);
+        when(pdfBoxService.getConfiguredPdfFont(CONSENT_PDF)).thenReturn(PDType1Font.TIMES_ROMAN);
+        when(pdfBoxService.createTemplate(eq(CONSENT_PDF), any(PdfTemplateWriter.class)))
+                .thenAnswer(invocation -> mock(PdfTemplate.class));
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+        sut = new PdfTemplateCacheImpl(pdfBoxService, pdfProperties);
+    }
+
+    @After
+    public void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    public void testGetTemplate_renders_once_per_content_key() throws Exception {
+        // Act
+        final PdfTemplate first = sut.getTemplate(CONSENT_PDF, "terms-1", templateWriter);
+        final PdfTemplate second = sut.getTemplate(CONSENT_PDF, "terms-1", templateWriter);
+        final PdfTemplate otherTerms = sut.getTemplate(CONSENT_PDF, "terms-2", templateWriter);
+
+        // Assert
+        assertSame(first, second);
+        assertNotSame(first, otherTerms);
+        verify(pdfBoxService, times(2)).createTemplate(CONSENT_PDF, templateWriter);
+    }
+
+    @Test
+    public void testGetTemplate_renders_once_per_locale() throws Exception {
+        // Arrange
+        final PdfTemplate english = sut.getTemplate(CONSENT_PDF, "terms-1", templateWriter);
+        LocaleContextHolder.setLocale(new Locale("es"));
+
+        // Act
+        final PdfTemplate spanish = sut.getTemplate(CONSENT_PDF, "terms-1", templateWriter);
+
+        // Assert
+        assertNotSame(english, spanish);
+    }
+
+    @Test
+    public void testGetTemplate_evicts_least_recently_used() throws Exception {
+        // Arrange
+        final PdfTemplate first = sut.getTemplate(CONSENT_PDF, "terms-1", templateWriter);
+        sut.getTemplate(CONSENT_PDF, "terms-2", templateWriter);
+        sut.getTemplate(CONSENT_PDF, "terms-3", templateWriter);
+
+        // Act
+        final PdfTemplate rendered = sut.getTemplate(CONSENT_PDF, "terms-1", templateWriter);
+
+        // Assert
+        assertNotSame(first, rendered);
+        verify(pdfBoxService, times(4)).createTemplate(CONSENT_PDF, templateWriter);
+    }
+}
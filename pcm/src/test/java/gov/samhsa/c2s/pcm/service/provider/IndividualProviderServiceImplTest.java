@@ -3,7 +3,6 @@
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
-import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,7 +19,6 @@
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
-import org.modelmapper.ModelMapper;
 
 @RunWith(MockitoJUnitRunner.class)
 public class IndividualProviderServiceImplTest {
@@ -29,7 +27,7 @@ public class IndividualProviderServiceImplTest {
     IndividualProviderRepository individualProviderRepository;
 
     @Mock
-    ModelMapper modelMapper;
+    ProviderDtoMapper providerDtoMapper;
 
     @Mock
     PatientRepository patientRepository;
@@ -130,8 +128,7 @@ public void testFindAllIndividualProvidersDto() {
     public void testFindIndividualProviderDto() {
         individualProviderService.findIndividualProviderDto(anyLong());
         verify(individualProviderRepository).findOne(anyLong());
-        verify(modelMapper).map(any(IndividualProvider.class),
-                eq(IndividualProviderDto.class));
+        verify(providerDtoMapper).toIndividualProviderDto(any(IndividualProvider.class));
     }
 
 }
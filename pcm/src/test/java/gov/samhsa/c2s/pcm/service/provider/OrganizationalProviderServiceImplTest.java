@@ -3,7 +3,6 @@
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
-import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,7 +19,6 @@
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
-import org.modelmapper.ModelMapper;
 
 @RunWith(MockitoJUnitRunner.class)
 public class OrganizationalProviderServiceImplTest {
@@ -29,7 +27,7 @@ public class OrganizationalProviderServiceImplTest {
     PatientRepository patientRepository;
 
     @Mock
-    ModelMapper modelMapper;
+    ProviderDtoMapper providerDtoMapper;
 
     @Mock
     OrganizationalProviderRepository organizationalProviderRepository;
@@ -96,8 +94,7 @@ public void testFindOrganizationalProviderByNpi() {
     public void testFindOrganizationalProviderDto() {
         organizationalProviderService.findOrganizationalProviderDto(anyLong());
         verify(organizationalProviderRepository).findOne(anyLong());
-        verify(modelMapper).map(any(OrganizationalProvider.class),
-                eq(OrganizationalProviderDto.class));
+        verify(providerDtoMapper).toOrganizationalProviderDto(any(OrganizationalProvider.class));
     }
 
     @Test
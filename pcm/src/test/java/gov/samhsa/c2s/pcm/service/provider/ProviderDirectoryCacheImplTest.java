@@ -0,0 +1,186 @@
+package gov.samhsa.c2s.pcm.service.provider;
+
+import gov.samhsa.c2s.pcm.config.PcmProperties;
+import gov.samhsa.c2s.pcm.domain.provider.IndividualProviderRepository;
+import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProviderRepository;
+import gov.samhsa.c2s.pcm.infrastructure.PlsService;
+import gov.samhsa.c2s.pcm.infrastructure.dto.ProviderDto;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.actuate.metrics.CounterService;
+import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProviderDirectoryCacheImplTest {
+
+    private static final long TTL = 1000L;
+    private static final long STALE_WHILE_REVALIDATE = 500L;
+
+    @Mock
+    private PlsService plsService;
+
+    @Mock
+    private IndividualProviderRepository individualProviderRepository;
+
+    @Mock
+    private OrganizationalProviderRepository organizationalProviderRepository;
+
+    @Mock
+    private GaugeService gaugeService;
+
+    @Mock
+    private CounterService counterService;
+
+    @InjectMocks
+    private ProviderDirectoryCacheImpl sut;
+
+    @Before
+    public void setUp() {
+        PcmProperties pcmProperties = PcmProperties.builder()
+                .providerDirectory(PcmProperties.ProviderDirectory.builder()
+                        .maxSize(2)
+                        .ttlInMs(TTL)
+                        .staleWhileRevalidateInMs(STALE_WHILE_REVALIDATE)
+                        .refreshPoolSize(1)
+                        .warmUpEnabled(true)
+                        .build())
+                .build();
+        ReflectionTestUtils.setField(sut, "pcmProperties", pcmProperties);
+        ReflectionTestUtils.setField(sut, "providerDirectoryExecutor", new SyncTaskExecutor());
+        setTime(0L);
+    }
+
+    @Test
+    public void testGetProvider_serves_cached_provider_within_ttl() {
+        // Arrange
+        ProviderDto provider = makeProvider("1111111111");
+        when(plsService.getProvider("1111111111")).thenReturn(provider);
+        sut.getProvider("1111111111");
+        setTime(TTL - 1);
+
+        // Act
+        ProviderDto result = sut.getProvider("1111111111");
+
+        // Assert
+        assertSame(provider, result);
+        verify(plsService, times(1)).getProvider("1111111111");
+        verify(counterService).increment("provider.directory.hit");
+        verify(gaugeService).submit("provider.directory.hit-rate", 0.5);
+    }
+
+    @Test
+    public void testGetProvider_serves_stale_provider_and_reloads_it() {
+        // Arrange
+        ProviderDto oldProvider = makeProvider("1111111111");
+        ProviderDto newProvider = makeProvider("1111111111");
+        newProvider.setLastName("Renamed");
+        when(plsService.getProvider("1111111111")).thenReturn(oldProvider, newProvider);
+        sut.getProvider("1111111111");
+        setTime(TTL + STALE_WHILE_REVALIDATE - 1);
+
+        // Act
+        ProviderDto staleResult = sut.getProvider("1111111111");
+        ProviderDto reloadedResult = sut.getProvider("1111111111");
+
+        // Assert
+        assertSame(oldProvider, staleResult);
+        assertSame(newProvider, reloadedResult);
+        verify(plsService, times(2)).getProvider("1111111111");
+        verify(counterService).increment("provider.directory.stale");
+    }
+
+    @Test
+    public void testGetProvider_serves_expired_provider_when_pls_fails() {
+        // Arrange
+        ProviderDto provider = makeProvider("1111111111");
+        when(plsService.getProvider("1111111111")).thenReturn(provider).thenThrow(new RuntimeException("timeout"));
+        sut.getProvider("1111111111");
+        setTime(TTL + STALE_WHILE_REVALIDATE);
+
+        // Act
+        ProviderDto result = sut.getProvider("1111111111");
+
+        // Assert
+        assertSame(provider, result);
+        verify(counterService).increment("provider.directory.stale-on-error");
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testGetProvider_rethrows_when_pls_fails_and_nothing_is_cached() {
+        // Arrange
+        when(plsService.getProvider("1111111111")).thenThrow(new RuntimeException("timeout"));
+
+        // Act
+        sut.getProvider("1111111111");
+    }
+
+    @Test
+    public void testGetProvider_evicts_least_recently_used_provider() {
+        // Arrange
+        when(plsService.getProvider(anyString()))
+                .thenAnswer(invocation -> makeProvider((String) invocation.getArguments()[0]));
+        sut.getProvider("1111111111");
+        sut.getProvider("2222222222");
+        sut.getProvider("1111111111");
+
+        // Act
+        sut.getProvider("3333333333");
+        sut.getProvider("1111111111");
+        sut.getProvider("2222222222");
+
+        // Assert
+        verify(plsService, times(1)).getProvider("1111111111");
+        verify(plsService, times(2)).getProvider("2222222222");
+    }
+
+    @Test
+    public void testWarmUp_loads_stored_npis() {
+        // Arrange
+        when(individualProviderRepository.findAllNpis()).thenReturn(Collections.singletonList("1111111111"));
+        when(organizationalProviderRepository.findAllNpis()).thenReturn(Arrays.asList("2222222222", "1111111111"));
+        when(plsService.getProvider(anyString()))
+                .thenAnswer(invocation -> makeProvider((String) invocation.getArguments()[0]));
+
+        // Act
+        sut.warmUp();
+        ProviderDto result = sut.getProvider("2222222222");
+
+        // Assert
+        assertEquals("2222222222", result.getNpi());
+        verify(plsService, times(1)).getProvider("1111111111");
+        verify(plsService, times(1)).getProvider("2222222222");
+        verify(counterService).increment("provider.directory.hit");
+        verify(counterService, never()).increment(eq("provider.directory.miss"));
+    }
+
+    private void setTime(long millis) {
+        ReflectionTestUtils.setField(sut, "clock", Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+
+    private static ProviderDto makeProvider(String npi) {
+        ProviderDto provider = new ProviderDto();
+        provider.setNpi(npi);
+        return provider;
+    }
+}
@@ -0,0 +1,119 @@
+package gov.samhsa.c2s.pcm.service.provider;
+
+import gov.samhsa.c2s.pcm.domain.provider.IndividualProvider;
+import gov.samhsa.c2s.pcm.domain.provider.OrganizationalProvider;
+import gov.samhsa.c2s.pcm.domain.reference.EntityType;
+import gov.samhsa.c2s.pcm.service.dto.AddConsentOrganizationalProviderDto;
+import gov.samhsa.c2s.pcm.service.dto.IndividualProviderDto;
+import gov.samhsa.c2s.pcm.service.dto.OrganizationalProviderDto;
+import gov.samhsa.c2s.pcm.service.dto.ProviderDto;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ProviderDtoMapperImplTest {
+
+    private final ProviderDtoMapperImpl sut = new ProviderDtoMapperImpl();
+
+    @Test
+    public void testToIndividualProviderDto() {
+        // Arrange
+        IndividualProvider individualProvider = new IndividualProvider();
+        individualProvider.setId(7L);
+        individualProvider.setNpi("1083949036");
+        individualProvider.setEntityType(EntityType.Individual);
+        individualProvider.setLastName("Smith");
+        individualProvider.setFirstName("John");
+        individualProvider.setMiddleName("A");
+        individualProvider.setMailingAddressStateName("MD");
+        individualProvider.setPracticeLocationAddressCityName("Columbia");
+        individualProvider.setPracticeLocationAddressTelephoneNumber("4105550100");
+        individualProvider.setEnumerationDate("05/23/2005");
+
+        // Act
+        IndividualProviderDto individualProviderDto = sut.toIndividualProviderDto(individualProvider);
+
+        // Assert
+        assertEquals("7", individualProviderDto.getId());
+        assertEquals("1083949036", individualProviderDto.getNpi());
+        assertEquals(EntityType.Individual, individualProviderDto.getEntityType());
+        assertEquals("Smith", individualProviderDto.getLastName());
+        assertEquals("John", individualProviderDto.getFirstName());
+        assertEquals("A", individualProviderDto.getMiddleName());
+        assertEquals("MD", individualProviderDto.getMailingAddressStateName());
+        assertEquals("Columbia", individualProviderDto.getPracticeLocationAddressCityName());
+        assertEquals("4105550100", individualProviderDto.getPracticeLocationAddressTelephoneNumber());
+        assertEquals("05/23/2005", individualProviderDto.getEnumerationDate());
+        assertNull(individualProviderDto.getPatientId());
+        assertNull(individualProviderDto.getUsername());
+        assertFalse(individualProviderDto.isDeletable());
+    }
+
+    @Test
+    public void testToOrganizationalProviderDtos() {
+        // Arrange
+        OrganizationalProvider organizationalProvider = new OrganizationalProvider();
+        organizationalProvider.setId(3L);
+        organizationalProvider.setNpi("1174858088");
+        organizationalProvider.setOrgName("Health Clinic");
+
+        // Act
+        Set<OrganizationalProviderDto> organizationalProviderDtos = sut.toOrganizationalProviderDtos(
+                Collections.singleton(organizationalProvider));
+
+        // Assert
+        assertEquals(1, organizationalProviderDtos.size());
+        OrganizationalProviderDto organizationalProviderDto = organizationalProviderDtos.iterator().next();
+        assertEquals("3", organizationalProviderDto.getId());
+        assertEquals("Health Clinic", organizationalProviderDto.getOrgName());
+        assertNull(sut.toOrganizationalProviderDtos(null));
+    }
+
+    @Test
+    public void testToProviderDto() {
+        // Arrange
+        IndividualProviderDto individualProviderDto = new IndividualProviderDto();
+        individualProviderDto.setNpi("1083949036");
+        individualProviderDto.setEntityType(EntityType.Individual);
+        individualProviderDto.setLastName("Smith");
+        individualProviderDto.setFirstName("John");
+        individualProviderDto.setFirstLinePracticeLocationAddress("1 Main St");
+        individualProviderDto.setPracticeLocationAddressPostalCode("21044");
+        individualProviderDto.setDeletable(true);
+
+        // Act
+        ProviderDto providerDto = sut.toProviderDto(individualProviderDto);
+
+        // Assert
+        assertEquals("1083949036", providerDto.getNpi());
+        assertEquals("Smith", providerDto.getLastName());
+        assertEquals("John", providerDto.getFirstName());
+        assertEquals("1 Main St", providerDto.getFirstLinePracticeLocationAddress());
+        assertEquals("21044", providerDto.getPracticeLocationAddressPostalCode());
+        assertTrue(providerDto.isDeletable());
+        assertNull(providerDto.getOrgName());
+        assertNull(providerDto.getEntityType());
+    }
+
+    @Test
+    public void testToAddConsentOrganizationalProviderDto() {
+        // Arrange
+        OrganizationalProvider organizationalProvider = new OrganizationalProvider();
+        organizationalProvider.setNpi("1174858088");
+        organizationalProvider.setOrgName("Health Clinic");
+
+        // Act
+        AddConsentOrganizationalProviderDto addConsentOrganizationalProviderDto = sut
+                .toAddConsentOrganizationalProviderDto(organizationalProvider);
+
+        // Assert
+        assertEquals("1174858088", addConsentOrganizationalProviderDto.getNpi());
+        assertEquals("Health Clinic", addConsentOrganizationalProviderDto.getOrgName());
+    }
+}
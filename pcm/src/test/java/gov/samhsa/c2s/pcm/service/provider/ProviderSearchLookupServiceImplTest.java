@@ -1,6 +1,5 @@
 package gov.samhsa.c2s.pcm.service.provider;
 
-import gov.samhsa.c2s.pcm.service.dto.LookupDto;
 import gov.samhsa.c2s.pcm.service.reference.StateCodeService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -8,11 +7,7 @@
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -42,11 +37,7 @@ public void testIsValidatedSearch_When_Only_City_Given() {
 
     @Test
     public void testIsValidatedSearch_When_State_City_Given() {
-        LookupDto stateCode = mock(LookupDto.class);
-        List<LookupDto> stateCodes = new ArrayList<LookupDto>();
-        stateCodes.add(stateCode);
-        when(stateCodeService.findAllStateCodes()).thenReturn(stateCodes);
-        when(stateCode.getCode()).thenReturn("MD");
+        when(stateCodeService.isStateCode("MD")).thenReturn(true);
         Boolean validateCall = providerSearchLookupServiceImpl
                 .isValidatedSearch("MD", "columbia", null, null, null, null,
                         null, null, null);
@@ -0,0 +1,133 @@
+package gov.samhsa.c2s.pcm.service.reference;
+
+import gov.samhsa.c2s.pcm.domain.patient.Patient;
+import gov.samhsa.c2s.pcm.domain.reference.PurposeOfUseCode;
+import gov.samhsa.c2s.pcm.domain.reference.StateCode;
+import gov.samhsa.c2s.pcm.service.dto.LookupDto;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReferenceCodeRegistryTest {
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    Metamodel metamodel;
+
+    @Mock
+    ApplicationContext applicationContext;
+
+    @InjectMocks
+    ReferenceCodeRegistry sut;
+
+    private StateCode maryland;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+        maryland = makeStateCode("MD", "Maryland");
+        final EntityType<StateCode> stateCodeType = mock(EntityType.class);
+        when(stateCodeType.getJavaType()).thenReturn(StateCode.class);
+        when(stateCodeType.getName()).thenReturn("StateCode");
+        final EntityType<Patient> patientType = mock(EntityType.class);
+        when(patientType.getJavaType()).thenReturn(Patient.class);
+        when(entityManager.getMetamodel()).thenReturn(metamodel);
+        when(metamodel.getEntities()).thenReturn(new HashSet<>(Arrays.asList(stateCodeType, patientType)));
+
+        final TypedQuery<StateCode> query = mock(TypedQuery.class);
+        when(query.getResultList()).thenReturn(Arrays.asList(maryland, makeStateCode("VA", "Virginia")));
+        when(entityManager.createQuery("select c from StateCode c order by c.id", StateCode.class)).thenReturn(query);
+    }
+
+    @Test
+    public void testFindByCode() {
+        // Act and Assert
+        assertSame(maryland, sut.findByCode(StateCode.class, "MD"));
+        assertSame(maryland, sut.findByCode(StateCode.class, " md "));
+        assertNull(sut.findByCode(StateCode.class, "DC"));
+        assertTrue(sut.containsCode(StateCode.class, "va"));
+        assertFalse(sut.containsCode(StateCode.class, null));
+    }
+
+    @Test
+    public void testFindAllLookupDtos() {
+        // Act
+        final List<LookupDto> lookupDtos = sut.findAllLookupDtos(StateCode.class);
+
+        // Assert
+        assertEquals(2, lookupDtos.size());
+        assertEquals("MD", lookupDtos.get(0).getCode());
+        assertEquals("Maryland", lookupDtos.get(0).getDisplayName());
+        assertSame(lookupDtos, sut.findAllLookupDtos(StateCode.class));
+    }
+
+    @Test
+    public void testLoadsOnce() {
+        // Act
+        sut.findAll(StateCode.class);
+        sut.findByCode(StateCode.class, "MD");
+
+        // Assert
+        verify(entityManager, times(1)).createQuery(anyString(), any(Class.class));
+    }
+
+    @Test
+    public void testOnContextRefreshed() {
+        // Act
+        sut.onContextRefreshed(new ContextRefreshedEvent(applicationContext));
+
+        // Assert
+        verify(entityManager, times(1)).createQuery(anyString(), any(Class.class));
+    }
+
+    @Test
+    public void testOnContextRefreshed_when_child_context_is_refreshed() {
+        // Act
+        sut.onContextRefreshed(new ContextRefreshedEvent(mock(ApplicationContext.class)));
+
+        // Assert
+        verify(entityManager, never()).createQuery(anyString(), any(Class.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindAll_when_table_is_not_loaded() {
+        // Act
+        sut.findAll(PurposeOfUseCode.class);
+    }
+
+    private static StateCode makeStateCode(String code, String displayName) {
+        final StateCode stateCode = new StateCode();
+        stateCode.setCode(code);
+        stateCode.setDisplayName(displayName);
+        return stateCode;
+    }
+}
@@ -0,0 +1,133 @@
+package gov.samhsa.c2s.pcm.web.rest;
+
+import gov.samhsa.c2s.pcm.service.dto.DownloadDto;
+import gov.samhsa.c2s.pcm.web.DownloadResponseWriter;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+public class DownloadResponseWriterTest {
+
+    private static final String CONTENT = "<ClinicalDocument/>";
+    private static final String HASH = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private DownloadResponseWriter sut;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Before
+    public void setUp() {
+        sut = new DownloadResponseWriter();
+        request = new MockHttpServletRequest("GET", "/patients/clinicaldocuments/1/content");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void testWrite_full_content() throws Exception {
+        // Act
+        sut.write(makeDownloadDto(true), request, response);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + HASH + "\"", response.getHeader("ETag"));
+        assertEquals("private, max-age=31536000, immutable", response.getHeader("Cache-Control"));
+        assertEquals("application/xml", response.getContentType());
+        assertEquals(String.valueOf(CONTENT.length()), response.getHeader("Content-Length"));
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    public void testWrite_revalidated_content() throws Exception {
+        // Act
+        sut.write(makeDownloadDto(false), request, response);
+
+        // Assert
+        assertEquals("private, no-cache", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    public void testWrite_when_etag_matches() throws Exception {
+        // Arrange
+        request.addHeader("If-None-Match", "\"other\", W/\"" + HASH + "\"");
+
+        // Act
+        sut.write(makeDownloadDto(true), request, response);
+
+        // Assert
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void testWrite_range() throws Exception {
+        // Arrange
+        request.addHeader("Range", "bytes=1-8");
+
+        // Act
+        sut.write(makeDownloadDto(true), request, response);
+
+        // Assert
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 1-8/" + CONTENT.length(), response.getHeader("Content-Range"));
+        assertEquals("8", response.getHeader("Content-Length"));
+        assertEquals("Clinical", response.getContentAsString());
+    }
+
+    @Test
+    public void testWrite_range_when_if_range_does_not_match() throws Exception {
+        // Arrange
+        request.addHeader("Range", "bytes=1-8");
+        request.addHeader("If-Range", "\"other\"");
+
+        // Act
+        sut.write(makeDownloadDto(true), request, response);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    public void testWrite_unsatisfiable_range() throws Exception {
+        // Arrange
+        request.addHeader("Range", "bytes=100-");
+
+        // Act
+        sut.write(makeDownloadDto(true), request, response);
+
+        // Assert
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */" + CONTENT.length(), response.getHeader("Content-Range"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void testWrite_head() throws Exception {
+        // Arrange
+        request.setMethod("HEAD");
+
+        // Act
+        sut.write(makeDownloadDto(true), request, response);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(String.valueOf(CONTENT.length()), response.getHeader("Content-Length"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private DownloadDto makeDownloadDto(boolean immutable) {
+        final byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+        return DownloadDto.builder()
+                .etag(HASH)
+                .contentType("application/xml")
+                .contentLength(content.length)
+                .immutable(immutable)
+                .contentWriter((out, offset, length) -> out.write(content, (int) offset, (int) length))
+                .build();
+    }
+}
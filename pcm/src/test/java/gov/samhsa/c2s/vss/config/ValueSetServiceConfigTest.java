@@ -0,0 +1,145 @@
+package gov.samhsa.c2s.vss.config;
+
+import gov.samhsa.c2s.pcm.domain.consent.ConsentRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.CodeSystem;
+import gov.samhsa.c2s.pcm.domain.valueset.CodeSystemRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.CodeSystemVersionRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ConceptCodeRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ConceptCodeValueSetRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ValueSetCategoryRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ValueSetRepository;
+import gov.samhsa.c2s.vss.service.CodeSystemService;
+import gov.samhsa.c2s.vss.service.CodeSystemVersionService;
+import gov.samhsa.c2s.vss.service.ConceptCodeBulkImporter;
+import gov.samhsa.c2s.vss.service.ConceptCodeService;
+import gov.samhsa.c2s.vss.service.ValueSetService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Builds the value set services the way the application context does, with mocked repositories, to check that
+ * they are registered and that their changes reach the listeners of {@link gov.samhsa.c2s.vss.service.ValueSetChangedEvent}.
+ */
+public class ValueSetServiceConfigTest {
+
+    private AnnotationConfigApplicationContext context;
+
+    @Before
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(MockRepositoriesConfig.class, ValueSetServiceConfig.class);
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+    }
+
+    @Test
+    public void testValueSetServicesAreRegistered() {
+        // Assert
+        assertNotNull(context.getBean(CodeSystemService.class));
+        assertNotNull(context.getBean(CodeSystemVersionService.class));
+        assertNotNull(context.getBean(ValueSetService.class));
+    }
+
+    @Test
+    public void testConceptCodeService_imports_through_the_bulk_importer() throws Exception {
+        // Arrange
+        final ConceptCodeService conceptCodeService = context.getBean(ConceptCodeService.class);
+        final Object target = AopUtils.isAopProxy(conceptCodeService)
+                ? ((Advised) conceptCodeService).getTargetSource().getTarget() : conceptCodeService;
+
+        // Assert
+        assertSame(context.getBean(ConceptCodeBulkImporter.class),
+                ReflectionTestUtils.getField(target, "conceptCodeBulkImporter"));
+    }
+
+    @Test
+    public void testCodeSystemChange_rebuilds_the_value_set_category_index() throws Exception {
+        // Arrange
+        final CodeSystem codeSystem = CodeSystem.getBuilder("2.16.840.1.113883.6.1", "LOINC", "LOINC", "user").build();
+        when(context.getBean(CodeSystemRepository.class).findOne(1L)).thenReturn(codeSystem);
+
+        // Act
+        context.getBean(CodeSystemService.class).delete(1L);
+
+        // Assert
+        verify(context.getBean(CodeSystemVersionRepository.class), times(1)).findLatestVersionOfEachCodeSystem();
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class MockRepositoriesConfig {
+
+        @Bean
+        public VssProperties vssProperties() {
+            final VssProperties vssProperties = new VssProperties();
+            vssProperties.setConceptCodeListPageSize(20);
+            vssProperties.setValueSetListPageSize(20);
+            vssProperties.setConceptCodeImportChunkSize(1000);
+            return vssProperties;
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager() {
+            return mock(PlatformTransactionManager.class);
+        }
+
+        @Bean
+        public JdbcOperations jdbcOperations() {
+            return mock(JdbcOperations.class);
+        }
+
+        @Bean
+        public ConsentRepository consentRepository() {
+            return mock(ConsentRepository.class);
+        }
+
+        @Bean
+        public ValueSetCategoryRepository valueSetCategoryRepository() {
+            return mock(ValueSetCategoryRepository.class);
+        }
+
+        @Bean
+        public CodeSystemRepository codeSystemRepository() {
+            return mock(CodeSystemRepository.class);
+        }
+
+        @Bean
+        public CodeSystemVersionRepository codeSystemVersionRepository() {
+            return mock(CodeSystemVersionRepository.class);
+        }
+
+        @Bean
+        public ConceptCodeRepository conceptCodeRepository() {
+            return mock(ConceptCodeRepository.class);
+        }
+
+        @Bean
+        public ConceptCodeValueSetRepository conceptCodeValueSetRepository() {
+            return mock(ConceptCodeValueSetRepository.class);
+        }
+
+        @Bean
+        public ValueSetRepository valueSetRepository() {
+            return mock(ValueSetRepository.class);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package gov.samhsa.c2s.vss.service;
+
+import gov.samhsa.c2s.pcm.domain.valueset.CodeSystemVersionRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ConceptCodeRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ConceptCodeValueSetRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ValueSetRepository;
+import gov.samhsa.c2s.vss.service.dto.ConceptCodeDto;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConceptCodeBulkImporterTest {
+
+    private static final Long CODE_SYSTEM_VERSION_ID = 2L;
+    private static final List<Long> VALUE_SET_IDS = Arrays.asList(10L, 20L);
+
+    @Mock
+    JdbcOperations jdbcOperations;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    CodeSystemVersionRepository codeSystemVersionRepository;
+
+    @Mock
+    ValueSetRepository valueSetRepository;
+
+    @Mock
+    ConceptCodeRepository conceptCodeRepository;
+
+    @Mock
+    ConceptCodeValueSetRepository conceptCodeValueSetRepository;
+
+    ConceptCodeBulkImporter sut;
+
+    @Before
+    public void setUp() {
+        when(codeSystemVersionRepository.exists(CODE_SYSTEM_VERSION_ID)).thenReturn(true);
+        when(valueSetRepository.exists(anyLong())).thenReturn(true);
+        // "A" already exists and is already in value set 10
+        when(conceptCodeRepository.findIdAndCodeByCodeSystemVersionId(CODE_SYSTEM_VERSION_ID))
+                .thenReturn(rows(new Object[]{1L, "A"}));
+        when(conceptCodeValueSetRepository.findConceptCodeIdAndValueSetIdByCodeSystemVersionId(
+                eq(CODE_SYSTEM_VERSION_ID), anyCollectionOf(Long.class)))
+                .thenReturn(rows(new Object[]{1L, 10L}));
+        when(jdbcOperations.update(any(PreparedStatementCreator.class), any(KeyHolder.class))).thenAnswer(invocation -> {
+            ((GeneratedKeyHolder) invocation.getArguments()[1]).getKeyList()
+                    .add(Collections.singletonMap("GENERATED_KEY", 7L));
+            return 1;
+        });
+
+        sut = new ConceptCodeBulkImporter(2, jdbcOperations, transactionManager, codeSystemVersionRepository,
+                valueSetRepository, conceptCodeRepository, conceptCodeValueSetRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testImportConceptCodes() throws Exception {
+        // Arrange
+        when(jdbcOperations.execute(any(ConnectionCallback.class)))
+                .thenReturn(Collections.singletonList(100L), Collections.singletonList(101L));
+        final List<ConceptCodeDto> conceptCodeDtos = Arrays.asList(
+                makeConceptCodeDto("a"), makeConceptCodeDto("B"), makeConceptCodeDto("B"), makeConceptCodeDto("C"));
+
+        // Act
+        final ConceptCodeBulkImporter.ConceptCodeImportResult result = sut.importConceptCodes(conceptCodeDtos,
+                CODE_SYSTEM_VERSION_ID, VALUE_SET_IDS, "admin");
+
+        // Assert
+        assertEquals(4, result.getRowsRead());
+        assertEquals(2, result.getConceptCodesInserted());
+        assertEquals(5, result.getValueSetAssociationsInserted());
+        assertEquals(Collections.singletonList(4), result.getDuplicateRowNumbers());
+        verify(transactionManager, times(2)).getTransaction(any(TransactionDefinition.class));
+
+        final ArgumentCaptor<List> associations = ArgumentCaptor.forClass(List.class);
+        verify(jdbcOperations, times(2)).batchUpdate(eq("INSERT INTO conceptcode_valueset (fk_concept_code_id, fk_valueset_id) VALUES (?, ?)"),
+                associations.capture());
+        final List<Object[]> firstChunk = associations.getAllValues().get(0);
+        assertEquals(3, firstChunk.size());
+        assertArrayEquals(new Object[]{1L, 20L}, firstChunk.get(0));
+        assertArrayEquals(new Object[]{100L, 10L}, firstChunk.get(1));
+        assertArrayEquals(new Object[]{100L, 20L}, firstChunk.get(2));
+        final List<Object[]> secondChunk = associations.getAllValues().get(1);
+        assertArrayEquals(new Object[]{101L, 10L}, secondChunk.get(0));
+    }
+
+    @Test
+    public void testImportConceptCodes_when_every_row_is_duplicate() throws Exception {
+        // Arrange
+        when(conceptCodeValueSetRepository.findConceptCodeIdAndValueSetIdByCodeSystemVersionId(
+                eq(CODE_SYSTEM_VERSION_ID), anyCollectionOf(Long.class)))
+                .thenReturn(rows(new Object[]{1L, 10L}, new Object[]{1L, 20L}));
+
+        // Act
+        final ConceptCodeBulkImporter.ConceptCodeImportResult result = sut.importConceptCodes(
+                Collections.singletonList(makeConceptCodeDto("A")), CODE_SYSTEM_VERSION_ID, VALUE_SET_IDS, "admin");
+
+        // Assert
+        assertEquals(Collections.singletonList(2), result.getDuplicateRowNumbers());
+        verify(transactionManager, never()).getTransaction(any(TransactionDefinition.class));
+        verify(jdbcOperations, never()).batchUpdate(any(String.class), anyListOf(Object[].class));
+    }
+
+    @Test(expected = CodeSystemNotFoundException.class)
+    public void testImportConceptCodes_when_code_system_version_is_unknown() throws Exception {
+        // Act
+        sut.importConceptCodes(Collections.singletonList(makeConceptCodeDto("A")), 3L, VALUE_SET_IDS, "admin");
+    }
+
+    @Test(expected = ValueSetNotFoundException.class)
+    public void testImportConceptCodes_when_value_set_is_unknown() throws Exception {
+        // Arrange
+        when(valueSetRepository.exists(20L)).thenReturn(false);
+
+        // Act
+        sut.importConceptCodes(Collections.singletonList(makeConceptCodeDto("A")), CODE_SYSTEM_VERSION_ID,
+                VALUE_SET_IDS, "admin");
+    }
+
+    private static ConceptCodeDto makeConceptCodeDto(String code) {
+        final ConceptCodeDto conceptCodeDto = new ConceptCodeDto();
+        conceptCodeDto.setCode(code);
+        conceptCodeDto.setName(code + " name");
+        return conceptCodeDto;
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(Arrays.asList(rows));
+    }
+}
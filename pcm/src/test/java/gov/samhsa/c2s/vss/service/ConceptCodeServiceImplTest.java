@@ -45,11 +45,15 @@ public class ConceptCodeServiceImplTest {
     @Mock
     ValueSetMgmtHelper valueSetMgmtHelper;
 
+    @Mock
+    ConceptCodeBulkImporter conceptCodeBulkImporter;
+
     @InjectMocks
     ConceptCodeServiceImpl conceptCodeServiceImpl = new ConceptCodeServiceImpl(
             conceptCodePageSize, conceptCodeRepository, valueSetRepository,
             codeSystemRepository, codeSystemVersionRepository,
-            conceptCodeValueSetRepository, valueSetMgmtHelper);
+            conceptCodeValueSetRepository, valueSetMgmtHelper,
+            conceptCodeBulkImporter);
 
     @Test
     public void testDeleteConceptCode() throws ConceptCodeNotFoundException {
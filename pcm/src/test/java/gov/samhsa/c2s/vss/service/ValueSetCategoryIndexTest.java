@@ -0,0 +1,123 @@
+package gov.samhsa.c2s.vss.service;
+
+import gov.samhsa.c2s.pcm.domain.valueset.CodeSystemVersionRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ConceptCodeRepository;
+import gov.samhsa.c2s.pcm.domain.valueset.ConceptCodeValueSetRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ValueSetCategoryIndexTest {
+
+    private static final String SNOMED_OID = "2.16.840.1.113883.6.96";
+
+    @Mock
+    CodeSystemVersionRepository codeSystemVersionRepository;
+
+    @Mock
+    ConceptCodeRepository conceptCodeRepository;
+
+    @Mock
+    ConceptCodeValueSetRepository conceptCodeValueSetRepository;
+
+    @InjectMocks
+    ValueSetCategoryIndex sut;
+
+    @Before
+    public void setUp() {
+        when(codeSystemVersionRepository.findLatestVersionOfEachCodeSystem())
+                .thenReturn(rows(new Object[]{SNOMED_OID, 2L, "2016"}));
+        when(conceptCodeRepository.findIdAndCodeByCodeSystemVersionIds(anyCollectionOf(Long.class)))
+                .thenReturn(rows(
+                        new Object[]{10L, 2L, "66214007"},
+                        new Object[]{11L, 2L, "191816009"},
+                        new Object[]{12L, 2L, "7200002"},
+                        new Object[]{13L, 2L, "38341003"}));
+        when(conceptCodeValueSetRepository.findAllConceptCodeIdAndValueSetCategoryCode())
+                .thenReturn(rows(
+                        new Object[]{10L, "ETH"},
+                        new Object[]{10L, "PSY"},
+                        new Object[]{11L, "PSY"},
+                        new Object[]{11L, "ETH"},
+                        new Object[]{12L, "ETH"}));
+    }
+
+    @Test
+    public void testFindValueSetCategoryCodes() throws Exception {
+        // Act
+        final Set<String> categoryCodes = sut.findValueSetCategoryCodes(" 66214007 ", SNOMED_OID);
+
+        // Assert
+        assertEquals(new HashSet<>(Arrays.asList("ETH", "PSY")), categoryCodes);
+    }
+
+    @Test
+    public void testFindValueSetCategoryCodes_shares_identical_sets() throws Exception {
+        // Act
+        final Set<String> first = sut.findValueSetCategoryCodes("66214007", SNOMED_OID);
+        final Set<String> second = sut.findValueSetCategoryCodes("191816009", SNOMED_OID);
+
+        // Assert
+        assertSame(first, second);
+        verify(conceptCodeRepository, times(1)).findIdAndCodeByCodeSystemVersionIds(anyCollectionOf(Long.class));
+    }
+
+    @Test
+    public void testFindValueSetCategoryCodes_when_code_is_in_no_value_set() throws Exception {
+        // Act
+        final Set<String> categoryCodes = sut.findValueSetCategoryCodes("38341003", SNOMED_OID);
+
+        // Assert
+        assertTrue(categoryCodes.isEmpty());
+    }
+
+    @Test(expected = ConceptCodeNotFoundException.class)
+    public void testFindValueSetCategoryCodes_when_code_is_unknown() throws Exception {
+        // Act
+        sut.findValueSetCategoryCodes("12345", SNOMED_OID);
+    }
+
+    @Test(expected = CodeSystemVersionNotFoundException.class)
+    public void testFindValueSetCategoryCodes_when_code_system_is_unknown() throws Exception {
+        // Act
+        sut.findValueSetCategoryCodes("66214007", "2.16.840.1.113883.6.1");
+    }
+
+    @Test
+    public void testOnValueSetChanged_rebuilds_index() throws Exception {
+        // Arrange
+        sut.findValueSetCategoryCodes("66214007", SNOMED_OID);
+        when(conceptCodeValueSetRepository.findAllConceptCodeIdAndValueSetCategoryCode())
+                .thenReturn(rows(new Object[]{10L, "HIV"}));
+
+        // Act
+        sut.onValueSetChanged(new ValueSetChangedEvent(this));
+
+        // Assert
+        assertEquals(Collections.singleton("HIV"), sut.findValueSetCategoryCodes("66214007", SNOMED_OID));
+        assertTrue(sut.findValueSetCategoryCodes("191816009", SNOMED_OID).isEmpty());
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(Arrays.asList(rows));
+    }
+}
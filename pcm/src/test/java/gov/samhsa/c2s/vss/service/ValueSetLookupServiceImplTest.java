@@ -0,0 +1,96 @@
+package gov.samhsa.c2s.vss.service;
+
+import gov.samhsa.c2s.vss.service.dto.ConceptCodeAndCodeSystemOidDto;
+import gov.samhsa.c2s.vss.service.dto.ValueSetQueryDto;
+import gov.samhsa.c2s.vss.service.dto.ValueSetQueryStatus;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ValueSetLookupServiceImplTest {
+
+    private static final String SNOMED_OID = "2.16.840.1.113883.6.96";
+    private static final String LOINC_OID = "2.16.840.1.113883.6.1";
+
+    @Mock
+    ValueSetCategoryIndex valueSetCategoryIndex;
+
+    ValueSetLookupServiceImpl sut;
+
+    @Before
+    public void setUp() {
+        final Map<String, Set<String>> snomedCodes = new HashMap<>();
+        snomedCodes.put("66214007", Collections.singleton("ETH"));
+        snomedCodes.put("38341003", Collections.emptySet());
+        when(valueSetCategoryIndex.findValueSetCategoryCodesByCode(SNOMED_OID)).thenReturn(snomedCodes);
+        when(valueSetCategoryIndex.findValueSetCategoryCodesByCode(LOINC_OID)).thenReturn(null);
+
+        sut = new ValueSetLookupServiceImpl(null, null, null, null, null, null, valueSetCategoryIndex);
+    }
+
+    @Test
+    public void testLookupValueSetCategories() {
+        // Arrange
+        final List<ConceptCodeAndCodeSystemOidDto> dtos = Arrays.asList(
+                makeDto(" 66214007 ", SNOMED_OID),
+                makeDto("38341003", SNOMED_OID),
+                makeDto("12345", SNOMED_OID),
+                makeDto("66214007", LOINC_OID));
+
+        // Act
+        final List<ValueSetQueryDto> results = sut.lookupValueSetCategories(dtos).collect(toList());
+
+        // Assert
+        assertEquals(4, results.size());
+        assertEquals("66214007", results.get(0).getConceptCode());
+        assertEquals(ValueSetQueryStatus.FOUND, results.get(0).getStatus());
+        assertEquals(Collections.singleton("ETH"), results.get(0).getVsCategoryCodes());
+        assertEquals(ValueSetQueryStatus.FOUND, results.get(1).getStatus());
+        assertEquals(Collections.emptySet(), results.get(1).getVsCategoryCodes());
+        assertEquals(ValueSetQueryStatus.CONCEPT_CODE_NOT_FOUND, results.get(2).getStatus());
+        assertNull(results.get(2).getVsCategoryCodes());
+        assertEquals(ValueSetQueryStatus.CODE_SYSTEM_NOT_FOUND, results.get(3).getStatus());
+        assertEquals(LOINC_OID, results.get(3).getCodeSystemOid());
+    }
+
+    @Test
+    public void testLookupValueSetCategories_resolves_each_code_system_once() {
+        // Arrange
+        final List<ConceptCodeAndCodeSystemOidDto> dtos = Arrays.asList(
+                makeDto("66214007", SNOMED_OID),
+                makeDto("66214007", LOINC_OID),
+                makeDto("38341003", SNOMED_OID),
+                makeDto("12345", LOINC_OID));
+
+        // Act
+        sut.lookupValueSetCategories(dtos).collect(toList());
+
+        // Assert
+        verify(valueSetCategoryIndex, times(1)).findValueSetCategoryCodesByCode(SNOMED_OID);
+        verify(valueSetCategoryIndex, times(1)).findValueSetCategoryCodesByCode(LOINC_OID);
+    }
+
+    private static ConceptCodeAndCodeSystemOidDto makeDto(String conceptCode, String codeSystemOid) {
+        final ConceptCodeAndCodeSystemOidDto dto = new ConceptCodeAndCodeSystemOidDto();
+        dto.setConceptCode(conceptCode);
+        dto.setCodeSystemOid(codeSystemOid);
+        return dto;
+    }
+}
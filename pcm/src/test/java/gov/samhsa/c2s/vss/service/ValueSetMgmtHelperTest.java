@@ -0,0 +1,196 @@
+package gov.samhsa.c2s.vss.service;
+
+import gov.samhsa.c2s.vss.service.dto.ConceptCodeDto;
+import gov.samhsa.c2s.vss.service.dto.ValueSetDto;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ValueSetMgmtHelperTest {
+
+    private static final List<Long> VALUE_SET_IDS = Collections.singletonList(10L);
+
+    private ValueSetMgmtHelper sut;
+
+    @Before
+    public void setUp() {
+        sut = new ValueSetMgmtHelper(20);
+    }
+
+    @Test
+    public void testReadConceptCodesFromFile_csv() throws Exception {
+        // Arrange
+        final String csv = "\uFEFFCode,Name,Description\r\n"
+                + "66214007,\"Substance abuse, disorder\",\"Said \"\"abuse\"\"\"\r\n"
+                + "\r\n"
+                + "191816009,Drug dependence,\n"
+                + "7200002,Alcoholism";
+        final MockMultipartFile file = new MockMultipartFile("file", "codes.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        final List<ConceptCodeDto> conceptCodeDtos = sut.readConceptCodesFromFile(file, "SNOMED CT", 2L,
+                VALUE_SET_IDS, "admin");
+
+        // Assert
+        assertEquals(3, conceptCodeDtos.size());
+        assertEquals("66214007", conceptCodeDtos.get(0).getCode());
+        assertEquals("Substance abuse, disorder", conceptCodeDtos.get(0).getName());
+        assertEquals("Said \"abuse\"", conceptCodeDtos.get(0).getDescription());
+        assertEquals(Long.valueOf(2L), conceptCodeDtos.get(0).getCodeSystemVersionId());
+        assertEquals("admin", conceptCodeDtos.get(0).getUserName());
+        assertNull(conceptCodeDtos.get(1).getDescription());
+        assertEquals("Alcoholism", conceptCodeDtos.get(2).getName());
+    }
+
+    @Test
+    public void testReadConceptCodesFromFile_xlsx() throws Exception {
+        // Arrange
+        final XSSFWorkbook workbook = new XSSFWorkbook();
+        final XSSFSheet sheet = workbook.createSheet();
+        addRow(sheet, 0, "Code", "Name", "Description");
+        addRow(sheet, 1, 66214007d, "Substance abuse", "Disorder");
+        addRow(sheet, 3, "F10.20", "Alcohol dependence", null);
+
+        // Act
+        final List<ConceptCodeDto> conceptCodeDtos = sut.readConceptCodesFromFile(toMultipartFile(workbook),
+                "SNOMED CT", 2L, VALUE_SET_IDS, "admin");
+
+        // Assert
+        assertEquals(2, conceptCodeDtos.size());
+        assertEquals("66214007", conceptCodeDtos.get(0).getCode());
+        assertEquals("Disorder", conceptCodeDtos.get(0).getDescription());
+        assertEquals("F10.20", conceptCodeDtos.get(1).getCode());
+        assertNull(conceptCodeDtos.get(1).getDescription());
+    }
+
+    @Test(expected = InvalidCSVException.class)
+    public void testReadConceptCodesFromFile_when_header_is_wrong() throws Exception {
+        // Arrange
+        final MockMultipartFile file = new MockMultipartFile("file", "codes.csv", "text/csv",
+                "Code,Display,Description\n1,One,".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        sut.readConceptCodesFromFile(file, "SNOMED CT", 2L, VALUE_SET_IDS, "admin");
+    }
+
+    @Test
+    public void testReadConceptCodesFromFile_csv_skips_blank_lines() throws Exception {
+        // Arrange
+        final String csv = "\r\n"
+                + "\n"
+                + "Code,Name,Description\n"
+                + "\n"
+                + "66214007,Substance abuse,Disorder\r\n"
+                + "\r\n"
+                + "7200002,Alcoholism,\n"
+                + "\n";
+        final MockMultipartFile file = new MockMultipartFile("file", "codes.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        final List<ConceptCodeDto> conceptCodeDtos = sut.readConceptCodesFromFile(file, "SNOMED CT", 2L,
+                VALUE_SET_IDS, "admin");
+
+        // Assert
+        assertEquals(2, conceptCodeDtos.size());
+        assertEquals("66214007", conceptCodeDtos.get(0).getCode());
+        assertEquals("Alcoholism", conceptCodeDtos.get(1).getName());
+    }
+
+    @Test
+    public void testReadConceptCodesFromFile_csv_keeps_line_numbers_of_blank_lines() throws Exception {
+        // Arrange
+        final MockMultipartFile file = new MockMultipartFile("file", "codes.csv", "text/csv",
+                "\r\n\nCode,Name,Description\n\n66214007,,Disorder\n".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        try {
+            sut.readConceptCodesFromFile(file, "SNOMED CT", 2L, VALUE_SET_IDS, "admin");
+        } catch (InvalidCSVException e) {
+            // Assert
+            assertEquals("Cannot add value set. Required field(s) empty for row: 5", e.getMessage());
+            return;
+        }
+        throw new AssertionError("InvalidCSVException expected");
+    }
+
+    @Test
+    public void testReadConceptCodesFromFile_when_required_field_is_empty() throws Exception {
+        // Arrange
+        final XSSFWorkbook workbook = new XSSFWorkbook();
+        final XSSFSheet sheet = workbook.createSheet();
+        addRow(sheet, 0, "Code", "Name", "Description");
+        addRow(sheet, 1, "66214007", null, "Disorder");
+
+        // Act
+        try {
+            sut.readConceptCodesFromFile(toMultipartFile(workbook), "SNOMED CT", 2L, VALUE_SET_IDS, "admin");
+        } catch (InvalidCSVException e) {
+            // Assert
+            assertEquals("Cannot add value set. Required field(s) empty for row: 2", e.getMessage());
+            return;
+        }
+        throw new AssertionError("InvalidCSVException expected");
+    }
+
+    @Test(expected = InvalidCSVException.class)
+    public void testReadConceptCodesFromFile_when_cell_is_boolean() throws Exception {
+        // Arrange
+        final XSSFWorkbook workbook = new XSSFWorkbook();
+        final XSSFSheet sheet = workbook.createSheet();
+        addRow(sheet, 0, "Code", "Name", "Description");
+        addRow(sheet, 1, "66214007", "Substance abuse", null).createCell(2).setCellValue(true);
+
+        // Act
+        sut.readConceptCodesFromFile(toMultipartFile(workbook), "SNOMED CT", 2L, VALUE_SET_IDS, "admin");
+    }
+
+    @Test
+    public void testReadValueSetsFromFile_xlsx() throws Exception {
+        // Arrange
+        final XSSFWorkbook workbook = new XSSFWorkbook();
+        final XSSFSheet sheet = workbook.createSheet();
+        addRow(sheet, 0, "Code", "Name", "Category Name", "Description");
+        addRow(sheet, 1, "ALC", "Alcohol use", "Substance abuse", "Alcohol use disorders");
+
+        // Act
+        final List<ValueSetDto> valueSetDtos = sut.readValueSetsFromFile(toMultipartFile(workbook), "admin");
+
+        // Assert
+        assertEquals(1, valueSetDtos.size());
+        assertEquals("ALC", valueSetDtos.get(0).getCode());
+        assertEquals("Substance abuse", valueSetDtos.get(0).getValueSetCatName());
+        assertEquals("Alcohol use disorders", valueSetDtos.get(0).getDescription());
+    }
+
+    private static XSSFRow addRow(XSSFSheet sheet, int rowNum, Object... values) {
+        final XSSFRow row = sheet.createRow(rowNum);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Double) {
+                row.createCell(i).setCellValue((Double) values[i]);
+            } else if (values[i] != null) {
+                row.createCell(i).setCellValue((String) values[i]);
+            }
+        }
+        return row;
+    }
+
+    private static MockMultipartFile toMultipartFile(XSSFWorkbook workbook) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        return new MockMultipartFile("file", "upload.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", out.toByteArray());
+    }
+}